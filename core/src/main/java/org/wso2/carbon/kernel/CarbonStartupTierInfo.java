@@ -0,0 +1,40 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel;
+
+/**
+ * CarbonStartupTierInfo is registered as an OSGi service when all the startup components of a startup tier are
+ * notified. The name of the tier is available as the {@value #TIER_PROPERTY} service property, hence the readiness
+ * of a tier can be identified with a filter such as (tier=traffic), before the whole server startup is completed.
+ *
+ * @since 5.3.5
+ */
+public class CarbonStartupTierInfo {
+    /**
+     * Name of the service property which holds the name of the startup tier.
+     */
+    public static final String TIER_PROPERTY = "tier";
+
+    private final String tier;
+
+    public CarbonStartupTierInfo(String tier) {
+        this.tier = tier;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+}
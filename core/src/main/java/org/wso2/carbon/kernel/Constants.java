@@ -37,6 +37,26 @@ public final class Constants {
     public static final String TENANT_NAME = "tenant.name";
     public static final String SERVER_PACKAGE = "org.wso2.carbon";
 
+    /**
+     * System property which selects how the CarbonContext is bound to threads, i.e. either
+     * {@link #THREAD_LOCAL_CONTEXT_MODE} or {@link #SCOPED_CONTEXT_MODE}.
+     */
+    public static final String CARBON_CONTEXT_MODE = "carbon.context.mode";
+    public static final String THREAD_LOCAL_CONTEXT_MODE = "threadlocal";
+    public static final String SCOPED_CONTEXT_MODE = "scoped";
+
+    /**
+     * System property which enables the CarbonContext leak detection, by setting the age in seconds after which a
+     * CarbonContext which has not been destroyed is reported as stale.
+     */
+    public static final String CARBON_CONTEXT_LEAK_DETECTION_THRESHOLD = "carbon.context.leakDetectionThreshold";
+
+    /**
+     * System property which sets the maximum number of runtimes the RuntimeService starts or stops concurrently. It
+     * defaults to the number of available processors.
+     */
+    public static final String RUNTIME_PARALLELISM = "carbon.runtime.parallelism";
+
     /**
      * The logger that needs to be used for auditing purposes.
      *
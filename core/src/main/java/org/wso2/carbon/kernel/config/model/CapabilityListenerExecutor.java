@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.config.model;
+
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Config bean for capabilityListenerExecutor.
+ *
+ * @since 5.3.5
+ */
+@Configuration(description = "Configuration for the executor which invokes RequiredCapabilityListeners")
+public class CapabilityListenerExecutor {
+
+    @Element(description = "maximum number of RequiredCapabilityListeners invoked concurrently on a pool of " +
+            "threads. The listener of a startup component waits until the listeners of the components it depends on " +
+            "return. 0 invokes the listeners one at a time on the thread which notifies them")
+    private int poolSize = 0;
+
+    @Element(description = "time in milliseconds after which a RequiredCapabilityListener which has not returned is " +
+            "reported and no longer blocks dependent components. 0 disables the timeout")
+    private long timeout = 0;
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+}
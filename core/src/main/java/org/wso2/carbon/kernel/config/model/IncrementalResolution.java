@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.config.model;
+
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Config bean for incrementalResolution.
+ *
+ * @since 5.3.5
+ */
+@Configuration(description = "Configuration for the incremental resolution of startup components after the startup")
+public class IncrementalResolution {
+
+    @Element(description = "keep the Startup Order Resolver active after the startup, and notify the startup " +
+            "components affected by installed, updated or uninstalled bundles again in the dependency order")
+    private boolean enabled = false;
+
+    @Element(description = "quiet period in milliseconds after the last bundle event, before the affected startup " +
+            "components are resolved again")
+    private long delay = 2000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+}
@@ -19,6 +19,7 @@ package org.wso2.carbon.kernel.config.model;
 
 
 import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
 
 /**
  * Config bean for startupOrderResolver.
@@ -26,15 +27,60 @@ import org.wso2.carbon.config.annotation.Configuration;
 @Configuration(description = "StartupOrderResolver related configurations")
 public class StartupResolverConfig {
 
+    @Element(description = "mode in which RequiredCapabilityListeners are notified. 'timer' checks for satisfiable " +
+            "listeners periodically, 'event' notifies a listener as soon as its last required capability is available")
+    private String mode = "timer";
+
+    @Element(description = "cache the parsed Carbon-Component manifest headers in the bundle data area, so that " +
+            "unchanged bundles are not parsed again on a restart")
+    private boolean manifestHeaderCacheEnabled = true;
+
+    @Element(description = "populate the startup components from the startup resolution plan generated at packaging " +
+            "time, if it matches the installed bundles, instead of processing the Carbon-Component manifest headers")
+    private boolean resolutionPlanEnabled = true;
+
+    @Element(description = "delay in milliseconds after the server is ready, before the remaining lazy startup " +
+            "components are activated in the background. Negative values are invalid, and the default delay is used " +
+            "instead")
+    private long lazyActivationDelay = 30000;
+
     private CapabilityListenerTimer capabilityListenerTimer = new CapabilityListenerTimer();
 
+    private CapabilityListenerExecutor capabilityListenerExecutor = new CapabilityListenerExecutor();
+
     private PendingCapabilityTimer pendingCapabilityTimer = new PendingCapabilityTimer();
 
+    private IncrementalResolution incrementalResolution = new IncrementalResolution();
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isManifestHeaderCacheEnabled() {
+        return manifestHeaderCacheEnabled;
+    }
+
+    public boolean isResolutionPlanEnabled() {
+        return resolutionPlanEnabled;
+    }
+
+    public long getLazyActivationDelay() {
+        return lazyActivationDelay;
+    }
+
     public CapabilityListenerTimer getCapabilityListenerTimer() {
         return capabilityListenerTimer;
     }
 
+    public CapabilityListenerExecutor getCapabilityListenerExecutor() {
+        return capabilityListenerExecutor;
+    }
+
     public PendingCapabilityTimer getPendingCapabilityTimer() {
         return pendingCapabilityTimer;
     }
+
+    public IncrementalResolution getIncrementalResolution() {
+        return incrementalResolution;
+    }
 }
@@ -27,12 +27,13 @@ import java.security.Principal;
  * @since 5.1.0
  */
 public class CarbonContext {
-    private CarbonContextHolder carbonContextHolder = null;
+    private final CarbonContextHolder carbonContextHolder;
 
     /**
      * Making this private so that it will not be instantiated.
      */
     private CarbonContext() {
+        this.carbonContextHolder = null;
     }
 
     /**
@@ -60,7 +61,7 @@ public class CarbonContext {
      * @return the carbon context instance.
      */
     public static CarbonContext getCurrentContext() {
-        return new CarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        return CarbonContextHolder.getCurrentContextHolder().getCarbonContext(CarbonContext::new);
     }
 
     /**
@@ -82,4 +83,17 @@ public class CarbonContext {
     public Object getProperty(String name) {
         return getCarbonContextHolder().getProperty(name);
     }
+
+    /**
+     * Method to lookup the currently stored property with the carbon context instance using the given typed key.
+     *
+     * @param key the key of the property to lookup.
+     * @param <T> the type of the property value.
+     * @return the value stored using the given key, or null if no value is already set.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getProperty(ContextKey<T> key) {
+        // The value is checked against the key type when it is set.
+        return (T) getCarbonContextHolder().getProperty(key.getSlot());
+    }
 }
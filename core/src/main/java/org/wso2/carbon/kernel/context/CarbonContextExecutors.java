@@ -0,0 +1,224 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps executors, so that each task runs with the CarbonContext of the thread which submitted it.
+ * <p>
+ * A {@link CarbonContextSnapshot} is captured when a task is submitted, and restored around the task on the thread
+ * which runs it. Periodic tasks run with the snapshot captured when they were scheduled. The asynchronous stages of a
+ * {@link CompletableFuture} which run on a wrapped executor get the CarbonContext of the thread which completed the
+ * previous stage.
+ *
+ * @since 5.3.5
+ */
+public final class CarbonContextExecutors {
+
+    private CarbonContextExecutors() {
+    }
+
+    /**
+     * Returns an executor which runs tasks on the given executor with the CarbonContext of the submitting thread.
+     *
+     * @param executor the executor to be wrapped
+     * @return the wrapped executor
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(CarbonContextSnapshot.capture().wrap(task));
+    }
+
+    /**
+     * Returns an executor service which runs tasks on the given executor service with the CarbonContext of the
+     * submitting thread.
+     *
+     * @param executorService the executor service to be wrapped
+     * @return the wrapped executor service
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        return new ContextPropagatingExecutorService<>(executorService);
+    }
+
+    /**
+     * Returns a scheduled executor service which runs tasks on the given scheduled executor service with the
+     * CarbonContext of the submitting thread.
+     *
+     * @param scheduledExecutorService the scheduled executor service to be wrapped
+     * @return the wrapped scheduled executor service
+     */
+    public static ScheduledExecutorService wrap(ScheduledExecutorService scheduledExecutorService) {
+        return new ContextPropagatingScheduledExecutorService(scheduledExecutorService);
+    }
+
+    /**
+     * Runs the given task asynchronously on the given executor with the CarbonContext of the current thread.
+     *
+     * @param task     the task to be run
+     * @param executor the executor to run the task on
+     * @return the future which completes once the task returns
+     */
+    public static CompletableFuture<Void> runAsync(Runnable task, Executor executor) {
+        return CompletableFuture.runAsync(CarbonContextSnapshot.capture().wrap(task), executor);
+    }
+
+    /**
+     * Calls the given supplier asynchronously on the given executor with the CarbonContext of the current thread.
+     *
+     * @param supplier the supplier to be called
+     * @param executor the executor to call the supplier on
+     * @param <T>      the result type of the supplier
+     * @return the future which completes with the value returned by the supplier
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(CarbonContextSnapshot.capture().wrap(supplier), executor);
+    }
+
+    private static <T> List<Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
+        CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+        return tasks.stream()
+                .map(snapshot::wrap)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * An {@link ExecutorService} which captures the CarbonContext of the submitting thread for each task.
+     *
+     * @param <E> type of the wrapped executor service
+     */
+    private static class ContextPropagatingExecutorService<E extends ExecutorService> implements ExecutorService {
+        final E executorService;
+
+        ContextPropagatingExecutorService(E executorService) {
+            this.executorService = executorService;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            executorService.execute(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return executorService.invokeAll(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return executorService.invokeAll(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return executorService.invokeAny(wrapAll(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return executorService.invokeAny(wrapAll(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            executorService.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executorService.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executorService.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executorService.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executorService.awaitTermination(timeout, unit);
+        }
+    }
+
+    /**
+     * A {@link ScheduledExecutorService} which captures the CarbonContext of the scheduling thread for each task.
+     */
+    private static class ContextPropagatingScheduledExecutorService
+            extends ContextPropagatingExecutorService<ScheduledExecutorService> implements ScheduledExecutorService {
+
+        ContextPropagatingScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            super(scheduledExecutorService);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+            return executorService.schedule(CarbonContextSnapshot.capture().wrap(task), delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> task, long delay, TimeUnit unit) {
+            return executorService.schedule(CarbonContextSnapshot.capture().wrap(task), delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return executorService.scheduleAtFixedRate(CarbonContextSnapshot.capture().wrap(task), initialDelay,
+                    period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay,
+                                                         TimeUnit unit) {
+            return executorService.scheduleWithFixedDelay(CarbonContextSnapshot.capture().wrap(task), initialDelay,
+                    delay, unit);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.slf4j.MDC;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+
+import java.security.Principal;
+
+/**
+ * A scope within which a CarbonContext is bound to the current thread, along with the "user-name" MDC entry used for
+ * auditing. Closing the scope restores the CarbonContext which was bound to the thread before the scope was opened.
+ * <p>
+ * Scopes are opened using {@link PrivilegedCarbonContext#openScope()}, {@link PrivilegedCarbonContext#openNewScope()}
+ * or {@link CarbonContextSnapshot#restore()}, and must be closed on the thread which opened them.
+ *
+ * @since 5.3.5
+ */
+public final class CarbonContextScope implements AutoCloseable {
+    private final CarbonContextHolder previousContextHolder;
+    private final String previousUserName;
+
+    private CarbonContextScope(CarbonContextHolder previousContextHolder, String previousUserName) {
+        this.previousContextHolder = previousContextHolder;
+        this.previousUserName = previousUserName;
+    }
+
+    /**
+     * Binds the given CarbonContextHolder to the current thread until the returned scope is closed.
+     *
+     * @param carbonContextHolder the CarbonContextHolder to be bound
+     * @return the scope of the binding
+     */
+    static CarbonContextScope bind(CarbonContextHolder carbonContextHolder) {
+        CarbonContextHolder previousContextHolder =
+                CarbonContextHolder.replaceCurrentContextHolder(carbonContextHolder);
+        String previousUserName = MDC.get(PrivilegedCarbonContext.MDC_USER_NAME);
+        Principal userPrincipal = carbonContextHolder.getUserPrincipal();
+        if (userPrincipal != null) {
+            MDC.put(PrivilegedCarbonContext.MDC_USER_NAME, userPrincipal.getName());
+        } else if (previousUserName != null) {
+            MDC.remove(PrivilegedCarbonContext.MDC_USER_NAME);
+        }
+        return new CarbonContextScope(previousContextHolder, previousUserName);
+    }
+
+    @Override
+    public void close() {
+        CarbonContextHolder scopeContextHolder =
+                CarbonContextHolder.replaceCurrentContextHolder(previousContextHolder);
+        if (scopeContextHolder != null && scopeContextHolder != previousContextHolder) {
+            scopeContextHolder.release();
+        }
+        if (previousUserName != null) {
+            MDC.put(PrivilegedCarbonContext.MDC_USER_NAME, previousUserName);
+        } else {
+            MDC.remove(PrivilegedCarbonContext.MDC_USER_NAME);
+        }
+    }
+}
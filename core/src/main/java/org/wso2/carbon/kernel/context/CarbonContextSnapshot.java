@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
+
+import java.security.Principal;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * An immutable snapshot of the current CarbonContext, which can be restored on another thread.
+ * <p>
+ * The CarbonContext is stored at thread local space, hence the user principal and the properties are not visible to
+ * tasks which run on other threads. A snapshot captures them on the submitting thread and binds them to the thread
+ * which runs the task, along with the "user-name" MDC entry used for auditing. The properties are copied on write,
+ * hence capturing and restoring a snapshot does not copy them.
+ * <p>
+ * Capturing, restoring and wrapping tasks require the same permission as the {@link PrivilegedCarbonContext}, since a
+ * snapshot may be passed to code which is not permitted to set the CarbonContext.
+ * <pre>
+ *     CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+ *     executor.execute(() -&gt; {
+ *         try (CarbonContextScope scope = snapshot.restore()) {
+ *             ...
+ *         }
+ *     });
+ * </pre>
+ * See {@link CarbonContextExecutors} for wrapping executors, which capture and restore snapshots for each task.
+ *
+ * @since 5.3.5
+ */
+public final class CarbonContextSnapshot {
+    private final CarbonContextHolder carbonContextHolder;
+
+    private CarbonContextSnapshot(CarbonContextHolder carbonContextHolder) {
+        this.carbonContextHolder = carbonContextHolder;
+    }
+
+    /**
+     * Captures the CarbonContext of the current thread. Later changes to the CarbonContext of the current thread are
+     * not visible to the snapshot.
+     *
+     * @return the snapshot of the current CarbonContext
+     */
+    public static CarbonContextSnapshot capture() {
+        SecurityUtils.checkSecurity();
+        return new CarbonContextSnapshot(CarbonContextHolder.getCurrentContextHolder().copy());
+    }
+
+    /**
+     * Returns the user principal captured by this snapshot.
+     *
+     * @return the user principal, or null if no principal was set
+     */
+    public Principal getUserPrincipal() {
+        return carbonContextHolder.getUserPrincipal();
+    }
+
+    /**
+     * Returns the value of the given property captured by this snapshot.
+     *
+     * @param name property key name to lookup
+     * @return the value of the property, or null if the property was not set
+     */
+    public Object getProperty(String name) {
+        return carbonContextHolder.getProperty(name);
+    }
+
+    /**
+     * Returns the value of the property of the given typed key captured by this snapshot.
+     *
+     * @param key the key of the property to lookup
+     * @param <T> the type of the property value
+     * @return the value of the property, or null if the property was not set
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getProperty(ContextKey<T> key) {
+        return (T) carbonContextHolder.getProperty(key.getSlot());
+    }
+
+    /**
+     * Binds a copy of this snapshot as the CarbonContext of the current thread, until the returned scope is closed.
+     * Changes made to the CarbonContext within the scope are not visible to this snapshot.
+     *
+     * @return the scope which restores the previous CarbonContext of the current thread when closed
+     */
+    public CarbonContextScope restore() {
+        SecurityUtils.checkSecurity();
+        return bind();
+    }
+
+    private CarbonContextScope bind() {
+        return CarbonContextScope.bind(carbonContextHolder.copy());
+    }
+
+    /**
+     * Returns a task which runs the given task with this snapshot restored. The permission is checked when the task is
+     * wrapped, rather than on the thread which runs it.
+     *
+     * @param task the task to be wrapped
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        SecurityUtils.checkSecurity();
+        return () -> {
+            try (CarbonContextScope ignored = bind()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Returns a task which calls the given task with this snapshot restored.
+     *
+     * @param task the task to be wrapped
+     * @param <V>  the result type of the task
+     * @return the wrapped task
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        SecurityUtils.checkSecurity();
+        return () -> {
+            try (CarbonContextScope ignored = bind()) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier which calls the given supplier with this snapshot restored.
+     *
+     * @param supplier the supplier to be wrapped
+     * @param <T>      the result type of the supplier
+     * @return the wrapped supplier
+     */
+    public <T> Supplier<T> wrap(Supplier<T> supplier) {
+        SecurityUtils.checkSecurity();
+        return () -> {
+            try (CarbonContextScope ignored = bind()) {
+                return supplier.get();
+            }
+        };
+    }
+}
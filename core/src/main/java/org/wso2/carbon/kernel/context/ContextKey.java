@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.kernel.internal.context.ContextSlots;
+
+/**
+ * A typed key of a CarbonContext property.
+ * <p>
+ * A key is assigned a fixed slot when it is registered, and the values of the property are stored at that slot of
+ * each CarbonContext. Hence looking up a property by its key is an array load, which neither hashes the property name
+ * nor requires the caller to cast the value. Keys are meant to be registered once and kept as constants.
+ * <pre>
+ *     private static final ContextKey&lt;String&gt; TENANT_DOMAIN =
+ *             ContextKey.register("tenant-domain", String.class);
+ *
+ *     PrivilegedCarbonContext.getCurrentContext().setProperty(TENANT_DOMAIN, "carbon.super");
+ *     String tenantDomain = CarbonContext.getCurrentContext().getProperty(TENANT_DOMAIN);
+ * </pre>
+ * The property remains accessible by its name through {@link CarbonContext#getProperty(String)} and
+ * {@link PrivilegedCarbonContext#setProperty(String, Object)}, which look up the slot registered for the name.
+ *
+ * @param <T> the type of the property values
+ * @since 5.3.5
+ */
+public final class ContextKey<T> {
+    private final String name;
+    private final Class<T> type;
+    private final int slot;
+
+    private ContextKey(String name, Class<T> type, int slot) {
+        this.name = name;
+        this.type = type;
+        this.slot = slot;
+    }
+
+    /**
+     * Registers a CarbonContext property with the given name and type. Registering the same name and type again
+     * returns a key for the same slot. A type is identified by its name, hence a bundle which is updated or refreshed
+     * registers its keys again although its types are loaded by a new class loader.
+     *
+     * @param name the property name
+     * @param type the type of the property values
+     * @param <T>  the type of the property values
+     * @return the key of the property
+     * @throws IllegalArgumentException if the type is primitive, or the name is already registered with a type of a
+     *                                  different name
+     */
+    public static <T> ContextKey<T> register(String name, Class<T> type) {
+        if (name == null || type == null) {
+            throw new IllegalArgumentException("The name and type of a CarbonContext property cannot be null");
+        }
+        if (type.isPrimitive()) {
+            throw new IllegalArgumentException("The type of CarbonContext property " + name + " cannot be primitive, " +
+                    "use the wrapper type instead");
+        }
+        return new ContextKey<>(name, type, ContextSlots.register(name, type));
+    }
+
+    /**
+     * Returns the property name of this key.
+     *
+     * @return the property name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the type of the property values.
+     *
+     * @return the type of the property values
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ContextKey && ((ContextKey<?>) obj).slot == slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey{name=" + name + ", type=" + type.getName() + "}";
+    }
+}
@@ -17,9 +17,10 @@ package org.wso2.carbon.kernel.context;
 
 import org.slf4j.MDC;
 import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
-import org.wso2.carbon.utils.Utils;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
 
 import java.security.Principal;
+import java.util.concurrent.Callable;
 
 
 /**
@@ -31,6 +32,7 @@ import java.security.Principal;
  */
 
 public final class PrivilegedCarbonContext extends CarbonContext {
+    static final String MDC_USER_NAME = "user-name";
 
     private PrivilegedCarbonContext(CarbonContextHolder carbonContextHolder) {
         super(carbonContextHolder);
@@ -42,16 +44,97 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      * @return the carbon context instance.
      */
     public static PrivilegedCarbonContext getCurrentContext() {
-        Utils.checkSecurity();
-        return new PrivilegedCarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        SecurityUtils.checkSecurity();
+        return CarbonContextHolder.getCurrentContextHolder().getPrivilegedCarbonContext(PrivilegedCarbonContext::new);
+    }
+
+    /**
+     * Opens a scope within which a new carbon context instance is bound to the current thread. The new instance starts
+     * with the user principal and properties of the current carbon context, and the changes made to it are discarded
+     * when the scope is closed.
+     * <p>
+     * In the scoped mode, the carbon context can only be modified within a scope.
+     *
+     * @return the scope, which must be closed on the current thread
+     */
+    public static CarbonContextScope openScope() {
+        SecurityUtils.checkSecurity();
+        return CarbonContextScope.bind(CarbonContextHolder.getCurrentContextHolder().copy());
+    }
+
+    /**
+     * Runs the given task within a new carbon context scope.
+     *
+     * @param task the task to be run
+     * @see #openScope()
+     */
+    public static void runInScope(Runnable task) {
+        try (CarbonContextScope ignored = openScope()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Calls the given task within a new carbon context scope.
+     *
+     * @param task the task to be called
+     * @param <V>  the result type of the task
+     * @return the result of the task
+     * @throws Exception if the task fails
+     * @see #openScope()
+     */
+    public static <V> V callInScope(Callable<V> task) throws Exception {
+        try (CarbonContextScope ignored = openScope()) {
+            return task.call();
+        }
+    }
+
+    /**
+     * Opens a scope within which a new, empty carbon context instance is bound to the current thread. Unlike
+     * {@link #openScope()}, the new instance does not inherit the user principal and properties of the current carbon
+     * context, hence a task run within the scope is not affected by a carbon context which a previous task on a pooled
+     * thread failed to destroy. The new instance is discarded when the scope is closed.
+     *
+     * @return the scope, which must be closed on the current thread
+     */
+    public static CarbonContextScope openNewScope() {
+        SecurityUtils.checkSecurity();
+        return CarbonContextScope.bind(CarbonContextHolder.newContextHolder());
+    }
+
+    /**
+     * Runs the given task within a new, empty carbon context scope.
+     *
+     * @param task the task to be run
+     * @see #openNewScope()
+     */
+    public static void runInNewScope(Runnable task) {
+        try (CarbonContextScope ignored = openNewScope()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Calls the given task within a new, empty carbon context scope.
+     *
+     * @param task the task to be called
+     * @param <V>  the result type of the task
+     * @return the result of the task
+     * @throws Exception if the task fails
+     * @see #openNewScope()
+     */
+    public static <V> V callInNewScope(Callable<V> task) throws Exception {
+        try (CarbonContextScope ignored = openNewScope()) {
+            return task.call();
+        }
     }
 
     /**
      * Destroys the current carbon context instance by removing it from thread local space.
      */
     public static void destroyCurrentContext() {
-        Utils.checkSecurity();
-        getCurrentContext().getCarbonContextHolder().destroyCurrentCarbonContextHolder();
+        SecurityUtils.checkSecurity();
+        CarbonContextHolder.getCurrentContextHolder().destroyCurrentCarbonContextHolder();
     }
 
     /**
@@ -62,11 +145,11 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      * @param userPrincipal the jaas principal object to be set.
      */
     public void setUserPrincipal(Principal userPrincipal) {
-        Utils.checkSecurity();
+        SecurityUtils.checkSecurity();
         getCarbonContextHolder().setUserPrincipal(userPrincipal);
 
         //for auditing
-        MDC.put("user-name", userPrincipal.getName());
+        MDC.put(MDC_USER_NAME, userPrincipal.getName());
     }
 
     /**
@@ -74,10 +157,24 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      * replaced with new values by using the same property name.
      *
      * @param name the name of property to be set.
-     * @param value the value of the property to be set.
+     * @param value the value of the property to be set, which is not visible through a {@link ContextKey} of the
+     *              given name unless it is of the type of the key.
      */
     public void setProperty(String name, Object value) {
-        Utils.checkSecurity();
+        SecurityUtils.checkSecurity();
         getCarbonContextHolder().setProperty(name, value);
     }
+
+    /**
+     * Method to set the property of the given typed key with carbon context instance. The property is also visible
+     * through the string based API using the name of the key.
+     *
+     * @param key the key of the property to be set.
+     * @param value the value of the property to be set.
+     * @param <T> the type of the property value.
+     */
+    public <T> void setProperty(ContextKey<T> key, T value) {
+        SecurityUtils.checkSecurity();
+        getCarbonContextHolder().setProperty(key.getSlot(), key.getType().cast(value));
+    }
 }
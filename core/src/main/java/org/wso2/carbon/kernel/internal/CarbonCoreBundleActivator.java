@@ -17,8 +17,11 @@ package org.wso2.carbon.kernel.internal;
 
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.context.CarbonContextLeakDetector;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
 import org.wso2.carbon.kernel.jmx.MBeanRegistrator;
 
 /**
@@ -29,14 +32,34 @@ import org.wso2.carbon.kernel.jmx.MBeanRegistrator;
 public class CarbonCoreBundleActivator implements BundleActivator {
     private static final Logger logger = LoggerFactory.getLogger(CarbonCoreBundleActivator.class);
 
+    private final BundleListener permissionCacheListener = SecurityUtils::onBundleChanged;
+
     @Override
     public void start(BundleContext bundleContext) throws Exception {
         DataHolder.getInstance().setBundleContext(bundleContext);
+        bundleContext.addBundleListener(permissionCacheListener);
+
+        CarbonContextLeakDetector leakDetector = CarbonContextLeakDetector.getInstance();
+        if (leakDetector != null) {
+            leakDetector.start();
+            try {
+                MBeanRegistrator.registerMBean(leakDetector);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to register the CarbonContext leak detector MBean.", e);
+            }
+        }
         logger.debug("Carbon core bundle is started successfully");
     }
 
     @Override
     public void stop(BundleContext bundleContext) throws Exception {
+        bundleContext.removeBundleListener(permissionCacheListener);
+        SecurityUtils.clearPermissionCache();
+        CarbonContextLeakDetector leakDetector = CarbonContextLeakDetector.getInstance();
+        if (leakDetector != null) {
+            leakDetector.stop();
+        }
+        // Unregisters the CarbonContextLeakDetector MBean as well.
         MBeanRegistrator.unregisterAllMBeans();
         logger.debug("Carbon core bundle is stopped successfully");
     }
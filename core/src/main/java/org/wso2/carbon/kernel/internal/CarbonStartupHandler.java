@@ -18,9 +18,12 @@ package org.wso2.carbon.kernel.internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.CarbonServerInfo;
+import org.wso2.carbon.kernel.CarbonStartupTierInfo;
 import org.wso2.carbon.kernel.Constants;
 
 import java.text.DecimalFormat;
+import java.util.Dictionary;
+import java.util.Hashtable;
 
 /**
  * CarbonStartupHandler class handle the startup finalization utilities.
@@ -40,11 +43,17 @@ public class CarbonStartupHandler {
      * @param serverName Server name to be in the log
      */
     public static void logServerStartupTime(String serverName) {
-        double startTime = Long.parseLong(System.getProperty(Constants.START_TIME));
-        double startupTime = (System.currentTimeMillis() - startTime) / 1000;
+        logger.info(serverName + " started in " + getElapsedStartupTime() + " sec");
+    }
 
-        DecimalFormat decimalFormatter = new DecimalFormat("#,##0.000");
-        logger.info(serverName + " started in " + decimalFormatter.format(startupTime) + " sec");
+    /**
+     * Log the time taken to get the given startup tier ready.
+     *
+     * @param serverName Server name to be in the log
+     * @param tier       Name of the startup tier
+     */
+    public static void logStartupTierTime(String serverName, String tier) {
+        logger.info(serverName + " startup tier '" + tier + "' is ready in " + getElapsedStartupTime() + " sec");
     }
 
     /**
@@ -55,4 +64,26 @@ public class CarbonStartupHandler {
         DataHolder.getInstance().getBundleContext().registerService(CarbonServerInfo.class,
                 new CarbonServerInfo(), null);
     }
+
+    /**
+     * Register a CarbonStartupTierInfo as an OSGi service for the given startup tier. Other components can identify
+     * the readiness of the tier by listening to the CarbonStartupTierInfo service registration with the matching tier
+     * service property.
+     *
+     * @param tier Name of the startup tier
+     */
+    public static void registerCarbonStartupTierInfoService(String tier) {
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put(CarbonStartupTierInfo.TIER_PROPERTY, tier);
+        DataHolder.getInstance().getBundleContext().registerService(CarbonStartupTierInfo.class,
+                new CarbonStartupTierInfo(tier), properties);
+    }
+
+    private static String getElapsedStartupTime() {
+        double startTime = Long.parseLong(System.getProperty(Constants.START_TIME));
+        double startupTime = (System.currentTimeMillis() - startTime) / 1000;
+
+        DecimalFormat decimalFormatter = new DecimalFormat("#,##0.000");
+        return decimalFormatter.format(startupTime);
+    }
 }
@@ -15,52 +15,174 @@
  */
 package org.wso2.carbon.kernel.internal.context;
 
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.context.CarbonContext;
+import org.wso2.carbon.kernel.context.PrivilegedCarbonContext;
+
 import java.security.Principal;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * This class will preserve an instance the current CarbonContextHolder as a thread local variable.
  * If a CarbonContextHolder is available on a thread-local-scope this class will do the required lookup and obtain
  * the corresponding instance.
+ * <p>
+ * In the default thread local mode, a CarbonContextHolder is created for a thread on its first lookup, and remains
+ * bound to the thread until it is destroyed. In the scoped mode, which is selected by setting the
+ * {@value Constants#CARBON_CONTEXT_MODE} system property to {@value Constants#SCOPED_CONTEXT_MODE}, a
+ * CarbonContextHolder is only bound for the duration of a scope. Threads outside a scope share a read-only empty
+ * holder, hence short-lived threads which only read the context do not allocate one.
+ * <p>
+ * If {@link CarbonContextLeakDetector leak detection} is enabled, a holder is tracked from the first time it is
+ * modified until it is destroyed or released.
  *
  * @since 5.0.0
  */
 
 public final class CarbonContextHolder {
 
-    private Principal userPrincipal;
-    private Map<String, Object> properties = new HashMap<>();
+    private static final boolean SCOPED_MODE = Constants.SCOPED_CONTEXT_MODE.equalsIgnoreCase(
+            System.getProperty(Constants.CARBON_CONTEXT_MODE, Constants.THREAD_LOCAL_CONTEXT_MODE).trim());
 
-    private static ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<CarbonContextHolder>() {
-        protected CarbonContextHolder initialValue() {
-            return new CarbonContextHolder();
-        }
-    };
+    private static final CarbonContextHolder UNBOUND_CONTEXT_HOLDER =
+            new CarbonContextHolder(null, new ContextPropertyMap(), true);
+
+    private static final CarbonContextLeakDetector leakDetector = CarbonContextLeakDetector.getInstance();
+
+    private static ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<>();
+
+    private Principal userPrincipal;
+    private final ContextPropertyMap properties;
+    private final boolean unbound;
+    private boolean tracked;
+    private CarbonContext carbonContext;
+    private PrivilegedCarbonContext privilegedCarbonContext;
 
     /**
-     * Private Constructor which gets invoked via the static variable above. This gets invoked only once.
+     * Private Constructor which gets invoked on the first lookup from a thread in the thread local mode.
      */
     private CarbonContextHolder() {
+        this(null, new ContextPropertyMap(), false);
+    }
+
+    private CarbonContextHolder(Principal userPrincipal, ContextPropertyMap properties, boolean unbound) {
+        this.userPrincipal = userPrincipal;
+        this.properties = properties;
+        this.unbound = unbound;
     }
 
     /**
      * Method to obtain the current thread local CarbonContextHolder instance.
+     * <p>
+     * In the scoped mode, a read-only empty holder is returned if the current thread is not within a scope.
      *
      * @return the thread local CarbonContextHolder instance.
      */
     public static CarbonContextHolder getCurrentContextHolder() {
-        return currentContextHolder.get();
+        CarbonContextHolder carbonContextHolder = currentContextHolder.get();
+        if (carbonContextHolder == null) {
+            if (SCOPED_MODE) {
+                return UNBOUND_CONTEXT_HOLDER;
+            }
+            carbonContextHolder = new CarbonContextHolder();
+            currentContextHolder.set(carbonContextHolder);
+        }
+        return carbonContextHolder;
+    }
+
+    /**
+     * Creates a new CarbonContextHolder without a user principal or properties, which is not bound to any thread.
+     *
+     * @return the new CarbonContextHolder
+     */
+    public static CarbonContextHolder newContextHolder() {
+        return new CarbonContextHolder();
+    }
+
+    /**
+     * Returns 'true' if CarbonContextHolders are only bound to threads for the duration of a scope.
+     *
+     * @return 'true' in the scoped mode, 'false' in the thread local mode
+     */
+    public static boolean isScopedMode() {
+        return SCOPED_MODE;
+    }
+
+    /**
+     * Binds the given CarbonContextHolder to the current thread, replacing the current thread local instance.
+     *
+     * @param carbonContextHolder the CarbonContextHolder to be bound to the current thread, or null to unbind the
+     *                            current instance
+     * @return the replaced CarbonContextHolder, or null if no instance was bound to the current thread
+     */
+    public static CarbonContextHolder replaceCurrentContextHolder(CarbonContextHolder carbonContextHolder) {
+        CarbonContextHolder previousContextHolder = currentContextHolder.get();
+        if (carbonContextHolder == null) {
+            currentContextHolder.remove();
+        } else {
+            currentContextHolder.set(carbonContextHolder);
+        }
+        return previousContextHolder;
+    }
+
+    /**
+     * Returns a copy of this CarbonContextHolder with the same user principal and properties. The properties are
+     * copied on write, hence neither this holder nor the copy observes the changes made to the other.
+     *
+     * @return the copy of this holder
+     */
+    public CarbonContextHolder copy() {
+        return new CarbonContextHolder(userPrincipal, properties.copy(), false);
     }
 
     /**
      * This method will destroy the current thread local CarbonContextHolder.
      */
     public void destroyCurrentCarbonContextHolder() {
+        release();
         currentContextHolder.remove();
     }
 
+    /**
+     * Releases this CarbonContextHolder once it is no longer bound to a thread, which stops tracking it for leaks.
+     */
+    public void release() {
+        if (tracked) {
+            tracked = false;
+            leakDetector.untrack(this);
+        }
+    }
+
+    /**
+     * Returns the CarbonContext facade bound to this holder, which is created using the given factory on the first
+     * call. This avoids allocating a new facade on every lookup of the current context.
+     *
+     * @param factory creates the CarbonContext facade of a holder
+     * @return the CarbonContext facade bound to this holder
+     */
+    public CarbonContext getCarbonContext(Function<CarbonContextHolder, CarbonContext> factory) {
+        if (carbonContext == null) {
+            carbonContext = factory.apply(this);
+        }
+        return carbonContext;
+    }
+
+    /**
+     * Returns the PrivilegedCarbonContext facade bound to this holder, which is created using the given factory on the
+     * first call.
+     *
+     * @param factory creates the PrivilegedCarbonContext facade of a holder
+     * @return the PrivilegedCarbonContext facade bound to this holder
+     */
+    public PrivilegedCarbonContext getPrivilegedCarbonContext(
+            Function<CarbonContextHolder, PrivilegedCarbonContext> factory) {
+        if (privilegedCarbonContext == null) {
+            privilegedCarbonContext = factory.apply(this);
+        }
+        return privilegedCarbonContext;
+    }
+
     /**
      * Method to obtain a property on this CarbonContext instance.
      *
@@ -68,17 +190,70 @@ public final class CarbonContextHolder {
      * @return the value of the property by the given name.
      */
     public Object getProperty(String name) {
-        return properties.get(name);
+        ContextSlots.Slot slot = ContextSlots.lookup(name);
+        if (slot == null) {
+            return properties.get(name);
+        }
+        Object value = properties.getSlot(slot.index);
+        return value != null || properties.size() == 0 ? value : properties.get(name);
     }
 
     /**
-     * Method to set a property on this CarbonContext instance.
+     * Method to set a property on this CarbonContext instance. If the property is registered in {@link ContextSlots},
+     * a value of the registered type is set to its slot, while a value of any other type is kept by name.
      *
      * @param name  the property name.
      * @param value the value to be set to the property by the given name.
      */
     public void setProperty(String name, Object value) {
-        properties.put(name, value);
+        checkBound();
+        track();
+        ContextSlots.Slot slot = ContextSlots.lookup(name);
+        if (slot == null) {
+            properties.put(name, value);
+        } else if (value == null || slot.isInstance(value)) {
+            putSlot(slot.index, name, value);
+        } else {
+            properties.putSlot(slot.index, null);
+            properties.put(name, value);
+        }
+    }
+
+    /**
+     * Method to obtain the property at the given slot on this CarbonContext instance. A value of the registered type
+     * which was set by name before the property was registered is returned if the slot is not set.
+     *
+     * @param slot the slot index registered for the property in {@link ContextSlots}.
+     * @return the value of the property at the given slot.
+     */
+    public Object getProperty(int slot) {
+        Object value = properties.getSlot(slot);
+        if (value != null || properties.size() == 0) {
+            return value;
+        }
+        Object namedValue = properties.get(ContextSlots.getName(slot));
+        return ContextSlots.isInstance(slot, namedValue) ? namedValue : null;
+    }
+
+    /**
+     * Method to set the property at the given slot on this CarbonContext instance.
+     *
+     * @param slot  the slot index registered for the property in {@link ContextSlots}.
+     * @param value the value to be set to the property at the given slot.
+     */
+    public void setProperty(int slot, Object value) {
+        checkBound();
+        track();
+        putSlot(slot, null, value);
+    }
+
+    private void putSlot(int slot, String name, Object value) {
+        properties.putSlot(slot, value);
+        // A value which was set by name before the property was registered would otherwise shadow the slot once it
+        // is cleared.
+        if (properties.size() > 0) {
+            properties.remove(name == null ? ContextSlots.getName(slot) : name);
+        }
     }
 
     /**
@@ -96,6 +271,8 @@ public final class CarbonContextHolder {
      * @param userPrincipal the user principal to be set
      */
     public void setUserPrincipal(Principal userPrincipal) {
+        checkBound();
+        track();
         if (this.userPrincipal == null) {
             this.userPrincipal = userPrincipal;
         } else {
@@ -106,4 +283,28 @@ public final class CarbonContextHolder {
                             userPrincipal.toString()));
         }
     }
+
+    /**
+     * Returns the number of properties held by this CarbonContext instance.
+     *
+     * @return the number of properties
+     */
+    int getPropertyCount() {
+        return properties.size() + properties.slotCount();
+    }
+
+    private void track() {
+        if (leakDetector != null && !tracked) {
+            tracked = true;
+            leakDetector.track(this);
+        }
+    }
+
+    private void checkBound() {
+        if (unbound) {
+            throw new IllegalStateException("CarbonContext is not bound to the current thread. In the " +
+                    Constants.SCOPED_CONTEXT_MODE + " mode, the CarbonContext can only be modified within a scope " +
+                    "opened using PrivilegedCarbonContext.openScope().");
+        }
+    }
 }
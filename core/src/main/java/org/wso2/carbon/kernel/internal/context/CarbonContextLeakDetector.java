@@ -0,0 +1,261 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.context.PrivilegedCarbonContext;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects CarbonContexts which are never destroyed, and therefore stay bound to pooled threads.
+ * <p>
+ * The detector is enabled by setting the {@value Constants#CARBON_CONTEXT_LEAK_DETECTION_THRESHOLD} system property
+ * to the age in seconds after which a CarbonContext is considered stale. A CarbonContextHolder is tracked from the
+ * first time a user principal or a property is set on it, along with its owning thread and the stack trace of that
+ * call, until it is destroyed or the scope which bound it is closed. Stale contexts are logged once, and are exposed
+ * along with the tracked counts through JMX. Tracked contexts of threads which have terminated are discarded.
+ *
+ * @since 5.3.5
+ */
+public final class CarbonContextLeakDetector implements CarbonContextLeakDetectorMBean {
+    private static final Logger logger = LoggerFactory.getLogger(CarbonContextLeakDetector.class);
+    private static final long MAX_SCAN_PERIOD = TimeUnit.MINUTES.toMillis(1);
+    private static final CarbonContextLeakDetector instance = create();
+
+    private final Map<CarbonContextHolder, TrackedContext> trackedContexts = new ConcurrentHashMap<>();
+    private volatile long staleThresholdMillis;
+    private ScheduledExecutorService scanExecutor;
+
+    CarbonContextLeakDetector(long staleThresholdMillis) {
+        this.staleThresholdMillis = staleThresholdMillis;
+    }
+
+    /**
+     * Returns the leak detector of this runtime.
+     *
+     * @return the leak detector, or null if leak detection is not enabled
+     */
+    public static CarbonContextLeakDetector getInstance() {
+        return instance;
+    }
+
+    private static CarbonContextLeakDetector create() {
+        String staleThreshold = System.getProperty(Constants.CARBON_CONTEXT_LEAK_DETECTION_THRESHOLD);
+        if (staleThreshold == null) {
+            return null;
+        }
+
+        long staleThresholdMillis;
+        try {
+            staleThresholdMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(staleThreshold.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value {} for the {} system property. CarbonContext leak detection is disabled.",
+                    staleThreshold, Constants.CARBON_CONTEXT_LEAK_DETECTION_THRESHOLD);
+            return null;
+        }
+
+        CarbonContextLeakDetector leakDetector = new CarbonContextLeakDetector(staleThresholdMillis);
+        leakDetector.start();
+        logger.debug("CarbonContext leak detection is enabled with a stale threshold of {} ms.", staleThresholdMillis);
+        return leakDetector;
+    }
+
+    /**
+     * Starts scanning for stale CarbonContexts periodically, unless the scan is already started.
+     */
+    public synchronized void start() {
+        if (scanExecutor != null) {
+            return;
+        }
+
+        long scanPeriod = Math.max(1, Math.min(staleThresholdMillis, MAX_SCAN_PERIOD));
+        scanExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CarbonContextLeakDetector");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scanExecutor.scheduleWithFixedDelay(this::reportStaleContexts, scanPeriod, scanPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic scan, e.g. when the Carbon core bundle is stopped, so that its thread does not keep the class
+     * loader of the bundle reachable.
+     */
+    public synchronized void stop() {
+        if (scanExecutor != null) {
+            scanExecutor.shutdownNow();
+            scanExecutor = null;
+        }
+    }
+
+    synchronized boolean isScanning() {
+        return scanExecutor != null;
+    }
+
+    /**
+     * Starts tracking the given CarbonContextHolder, which is bound to the current thread.
+     *
+     * @param carbonContextHolder the holder to be tracked
+     */
+    void track(CarbonContextHolder carbonContextHolder) {
+        trackedContexts.put(carbonContextHolder, new TrackedContext(Thread.currentThread()));
+    }
+
+    /**
+     * Stops tracking the given CarbonContextHolder.
+     *
+     * @param carbonContextHolder the holder which is no longer bound to its thread
+     */
+    void untrack(CarbonContextHolder carbonContextHolder) {
+        trackedContexts.remove(carbonContextHolder);
+    }
+
+    /**
+     * Logs the stale CarbonContexts which have not been reported yet.
+     */
+    void reportStaleContexts() {
+        for (Map.Entry<CarbonContextHolder, TrackedContext> entry : getStaleContextEntries()) {
+            TrackedContext trackedContext = entry.getValue();
+            if (!trackedContext.reported) {
+                trackedContext.reported = true;
+                logger.warn("CarbonContext of thread {} has not been destroyed for {} ms. It was first set at:",
+                        trackedContext.threadName, trackedContext.getAge(), trackedContext.setSite);
+            }
+        }
+    }
+
+    @Override
+    public int getTrackedContextCount() {
+        discardTerminatedThreads();
+        return trackedContexts.size();
+    }
+
+    @Override
+    public int getStaleContextCount() {
+        return getStaleContextEntries().size();
+    }
+
+    @Override
+    public int getRetainedPropertyCount() {
+        discardTerminatedThreads();
+        // The holders are read without synchronization, hence the count is an estimate.
+        int retainedPropertyCount = 0;
+        for (CarbonContextHolder carbonContextHolder : trackedContexts.keySet()) {
+            retainedPropertyCount += carbonContextHolder.getPropertyCount();
+        }
+        return retainedPropertyCount;
+    }
+
+    @Override
+    public long getStaleThreshold() {
+        return TimeUnit.MILLISECONDS.toSeconds(staleThresholdMillis);
+    }
+
+    @Override
+    public void setStaleThreshold(long staleThreshold) {
+        if (staleThreshold < 0) {
+            throw new IllegalArgumentException("The stale threshold cannot be negative: " + staleThreshold);
+        }
+        staleThresholdMillis = TimeUnit.SECONDS.toMillis(staleThreshold);
+    }
+
+    @Override
+    public String[] getStaleContexts() {
+        List<Map.Entry<CarbonContextHolder, TrackedContext>> staleContextEntries = getStaleContextEntries();
+        String[] staleContexts = new String[staleContextEntries.size()];
+        for (int i = 0; i < staleContexts.length; i++) {
+            staleContexts[i] = staleContextEntries.get(i).getValue().toString();
+        }
+        return staleContexts;
+    }
+
+    private List<Map.Entry<CarbonContextHolder, TrackedContext>> getStaleContextEntries() {
+        discardTerminatedThreads();
+        long staleThreshold = staleThresholdMillis;
+        List<Map.Entry<CarbonContextHolder, TrackedContext>> staleContextEntries = new ArrayList<>();
+        for (Map.Entry<CarbonContextHolder, TrackedContext> entry : trackedContexts.entrySet()) {
+            if (entry.getValue().getAge() >= staleThreshold) {
+                staleContextEntries.add(entry);
+            }
+        }
+        return staleContextEntries;
+    }
+
+    private void discardTerminatedThreads() {
+        Iterator<TrackedContext> iterator = trackedContexts.values().iterator();
+        while (iterator.hasNext()) {
+            Thread thread = iterator.next().thread.get();
+            if (thread == null || !thread.isAlive()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * The owning thread and the set-site of a tracked CarbonContextHolder.
+     */
+    private static final class TrackedContext {
+        private final WeakReference<Thread> thread;
+        private final String threadName;
+        private final long trackedTime;
+        private final Throwable setSite;
+        private volatile boolean reported;
+
+        private TrackedContext(Thread thread) {
+            this.thread = new WeakReference<>(thread);
+            this.threadName = thread.getName();
+            this.trackedTime = System.currentTimeMillis();
+            this.setSite = new Throwable("CarbonContext set-site");
+        }
+
+        private long getAge() {
+            return System.currentTimeMillis() - trackedTime;
+        }
+
+        @Override
+        public String toString() {
+            StackTraceElement[] stackTrace = setSite.getStackTrace();
+            StringBuilder builder = new StringBuilder("thread=").append(threadName)
+                    .append(", age=").append(getAge()).append(" ms, set at ");
+            // Skip the leading frames of the CarbonContext implementation, which precede the caller.
+            for (StackTraceElement element : stackTrace) {
+                if (!isImplementationFrame(element.getClassName())) {
+                    return builder.append(element).toString();
+                }
+            }
+            return builder.append("unknown").toString();
+        }
+
+        private static boolean isImplementationFrame(String className) {
+            return className.equals(CarbonContextHolder.class.getName()) ||
+                    className.equals(PrivilegedCarbonContext.class.getName()) ||
+                    className.equals(CarbonContextLeakDetector.class.getName()) ||
+                    className.equals(TrackedContext.class.getName());
+        }
+    }
+}
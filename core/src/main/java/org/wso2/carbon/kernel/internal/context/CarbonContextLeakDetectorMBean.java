@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+/**
+ * MBean interface for exposing the CarbonContexts which are retained by threads.
+ *
+ * @since 5.3.5
+ */
+public interface CarbonContextLeakDetectorMBean {
+
+    /**
+     * Returns the number of CarbonContexts which hold a user principal or properties, and are still bound to a live
+     * thread.
+     *
+     * @return the tracked CarbonContext count
+     */
+    int getTrackedContextCount();
+
+    /**
+     * Returns the number of tracked CarbonContexts which are older than the stale threshold.
+     *
+     * @return the stale CarbonContext count
+     */
+    int getStaleContextCount();
+
+    /**
+     * Returns the number of properties retained by the tracked CarbonContexts.
+     *
+     * @return the retained property count
+     */
+    int getRetainedPropertyCount();
+
+    /**
+     * Returns the age after which a tracked CarbonContext is reported as stale.
+     *
+     * @return the stale threshold in seconds
+     */
+    long getStaleThreshold();
+
+    /**
+     * Sets the age after which a tracked CarbonContext is reported as stale.
+     *
+     * @param staleThreshold the stale threshold in seconds
+     */
+    void setStaleThreshold(long staleThreshold);
+
+    /**
+     * Returns the stale CarbonContexts, one line per context with its owning thread, age and the place where it was
+     * first set.
+     *
+     * @return the stale CarbonContexts
+     */
+    String[] getStaleContexts();
+}
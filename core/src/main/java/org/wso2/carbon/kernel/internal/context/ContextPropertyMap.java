@@ -0,0 +1,199 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+import java.util.Arrays;
+
+/**
+ * A compact map of CarbonContext properties, sized for the few properties which are typically set per thread.
+ * <p>
+ * Names and values are kept in two parallel arrays, which are looked up linearly. This avoids the table and entry
+ * objects of a {@link java.util.HashMap}, and the arrays are only allocated when the first property is set.
+ * Instances are not thread safe, since each of them belongs to a single thread local CarbonContextHolder.
+ * <p>
+ * The values of properties registered in {@link ContextSlots} are kept in a separate array, indexed by their slot.
+ * <p>
+ * A copy shares the arrays with the original map until either of them is modified, hence copying a map to propagate
+ * it to another thread does not copy the properties.
+ *
+ * @since 5.3.5
+ */
+final class ContextPropertyMap {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] names;
+    private Object[] values;
+    private int size;
+    private boolean shared;
+    private Object[] slotValues;
+    private boolean slotValuesShared;
+
+    /**
+     * Returns the value of the given property.
+     *
+     * @param name the property name
+     * @return the value of the property, or null if the property is not set
+     */
+    Object get(String name) {
+        int index = indexOf(name);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * Sets the value of the given property, replacing the existing value if any.
+     *
+     * @param name  the property name
+     * @param value the value of the property
+     */
+    void put(String name, Object value) {
+        int index = indexOf(name);
+        if (index >= 0) {
+            if (shared) {
+                unshare(names.length);
+            }
+            values[index] = value;
+            return;
+        }
+
+        if (names == null) {
+            names = new String[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+        } else if (size == names.length) {
+            unshare(size * 2);
+        } else if (shared) {
+            unshare(names.length);
+        }
+        names[size] = name;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Removes the given property, if it is set.
+     *
+     * @param name the property name
+     */
+    void remove(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            return;
+        }
+
+        if (shared) {
+            unshare(names.length);
+        }
+        size--;
+        System.arraycopy(names, index + 1, names, index, size - index);
+        System.arraycopy(values, index + 1, values, index, size - index);
+        names[size] = null;
+        values[size] = null;
+    }
+
+    /**
+     * Returns the value of the property at the given slot.
+     *
+     * @param slot the slot index of the property
+     * @return the value of the property, or null if the property is not set
+     */
+    Object getSlot(int slot) {
+        Object[] values = slotValues;
+        return values != null && slot < values.length ? values[slot] : null;
+    }
+
+    /**
+     * Sets the value of the property at the given slot, replacing the existing value if any.
+     *
+     * @param slot  the slot index of the property
+     * @param value the value of the property
+     */
+    void putSlot(int slot, Object value) {
+        if (slotValues == null) {
+            slotValues = new Object[Math.max(slot + 1, ContextSlots.getSlotCount())];
+        } else if (slot >= slotValues.length) {
+            slotValues = Arrays.copyOf(slotValues, Math.max(slot + 1, ContextSlots.getSlotCount()));
+            slotValuesShared = false;
+        } else if (slotValuesShared) {
+            slotValues = slotValues.clone();
+            slotValuesShared = false;
+        }
+        slotValues[slot] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots which hold a value.
+     *
+     * @return the number of slots which hold a value
+     */
+    int slotCount() {
+        int slotCount = 0;
+        Object[] values = slotValues;
+        if (values != null) {
+            for (Object value : values) {
+                if (value != null) {
+                    slotCount++;
+                }
+            }
+        }
+        return slotCount;
+    }
+
+    /**
+     * Returns a copy of this map, which shares the underlying arrays until either map is modified.
+     *
+     * @return the copy of this map
+     */
+    ContextPropertyMap copy() {
+        ContextPropertyMap copy = new ContextPropertyMap();
+        if (size > 0) {
+            // A shared map is not written, since it may be a snapshot which is copied from several threads.
+            if (!shared) {
+                shared = true;
+            }
+            copy.names = names;
+            copy.values = values;
+            copy.size = size;
+            copy.shared = true;
+        }
+        if (slotValues != null) {
+            if (!slotValuesShared) {
+                slotValuesShared = true;
+            }
+            copy.slotValues = slotValues;
+            copy.slotValuesShared = true;
+        }
+        return copy;
+    }
+
+    private void unshare(int capacity) {
+        names = Arrays.copyOf(names, capacity);
+        values = Arrays.copyOf(values, capacity);
+        shared = false;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < size; i++) {
+            String propertyName = names[i];
+            if (propertyName == name || (name != null && name.equals(propertyName))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of CarbonContext property slots. Each property name registered here is assigned a fixed slot index,
+ * and the values of the property are stored at that index of the slot array of each CarbonContextHolder, instead of
+ * the name based property map.
+ * <p>
+ * Slots are never released, hence names are expected to be registered once, typically when initializing a
+ * {@code ContextKey} constant. A value which was set by name before the name was registered remains in the name based
+ * property map, where it is looked up until the slot is set.
+ * <p>
+ * A type is identified by its name, since a bundle which is updated or refreshed registers its keys again with types
+ * loaded by its new class loader. Slots hold their types weakly, hence they do not keep such class loaders reachable.
+ *
+ * @since 5.3.5
+ */
+public final class ContextSlots {
+    private static final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+
+    private ContextSlots() {
+    }
+
+    /**
+     * Registers the given property name and returns its slot index. Registering the same name again returns the
+     * existing slot index, and the values set by name are then checked against the type registered last.
+     *
+     * @param name the property name
+     * @param type the type of the property values
+     * @return the slot index of the property
+     * @throws IllegalArgumentException if the name is already registered with a type of a different name
+     */
+    public static synchronized int register(String name, Class<?> type) {
+        Slot slot = slots.get(name);
+        if (slot == null) {
+            slot = new Slot(slots.size(), type);
+            String[] slotNames = Arrays.copyOf(names, slot.index + 1);
+            slotNames[slot.index] = name;
+            names = slotNames;
+            slots.put(name, slot);
+        } else if (!slot.typeName.equals(type.getName())) {
+            throw new IllegalArgumentException("CarbonContext property " + name + " is already registered with type " +
+                    slot.typeName + ", but not " + type.getName());
+        } else if (slot.type.get() != type) {
+            slots.put(name, new Slot(slot.index, type));
+        }
+        return slot.index;
+    }
+
+    /**
+     * Returns the number of registered slots.
+     *
+     * @return the number of registered slots
+     */
+    public static int getSlotCount() {
+        return slots.size();
+    }
+
+    static Slot lookup(String name) {
+        return slots.get(name);
+    }
+
+    static boolean isInstance(int index, Object value) {
+        return slots.get(names[index]).isInstance(value);
+    }
+
+    static String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * A registered slot, with the type its values are checked against when set by name.
+     */
+    static final class Slot {
+        final int index;
+        private final String typeName;
+        private final WeakReference<Class<?>> type;
+
+        private Slot(int index, Class<?> type) {
+            this.index = index;
+            this.typeName = type.getName();
+            this.type = new WeakReference<>(type);
+        }
+
+        /**
+         * Returns 'true' if the given value is an instance of the registered type. No value is an instance once the
+         * class loader of the type is collected, until the name is registered again.
+         *
+         * @param value the value to be checked
+         * @return 'true' if the value is an instance of the registered type
+         */
+        boolean isInstance(Object value) {
+            Class<?> slotType = type.get();
+            return slotType != null && slotType.isInstance(value);
+        }
+    }
+}
@@ -17,26 +17,66 @@ package org.wso2.carbon.kernel.internal.runtime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
+import org.wso2.carbon.kernel.runtime.InFlightTracker;
 import org.wso2.carbon.kernel.runtime.Runtime;
 import org.wso2.carbon.kernel.runtime.RuntimeService;
 import org.wso2.carbon.kernel.runtime.RuntimeState;
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
-import org.wso2.carbon.utils.Utils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implementation class for the RuntimeService interface.
+ * <p>
+ * Each lifecycle operation is applied to the registered runtimes concurrently, in the order of the dependencies
+ * declared by the runtimes. The number of threads is bounded by the {@value Constants#RUNTIME_PARALLELISM} system
+ * property. The operation is applied to all the runtimes before the failures are reported as a single
+ * RuntimeServiceException. The progress of the latest operation, synchronous or asynchronous, is exposed through
+ * {@link #getRuntimeProgress()}.
  *
  * @since 5.0.0
  */
 
 public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServiceMBean {
     private static Logger logger = LoggerFactory.getLogger(CarbonRuntimeService.class);
+    private static final int DEFAULT_PARALLELISM = java.lang.Runtime.getRuntime().availableProcessors();
+
+    private static final RuntimeTransition START =
+            new RuntimeTransition("start", false, CarbonRuntimeService::startRuntime);
+    private static final RuntimeTransition STOP =
+            new RuntimeTransition("stop", true, CarbonRuntimeService::stopRuntime);
+    private static final RuntimeTransition BEGIN_MAINTENANCE =
+            new RuntimeTransition("begin maintenance of", true, CarbonRuntimeService::beginMaintenance);
+    private static final RuntimeTransition END_MAINTENANCE =
+            new RuntimeTransition("end maintenance of", false, CarbonRuntimeService::endMaintenance);
+
     RuntimeManager runtimeManager;
+    private final int parallelism;
+    private volatile RuntimeProgress runtimeProgress;
 
     public CarbonRuntimeService(RuntimeManager runtimeManager) {
+        this(runtimeManager, Integer.getInteger(Constants.RUNTIME_PARALLELISM, DEFAULT_PARALLELISM));
+    }
+
+    /**
+     * Creates a RuntimeService which transitions at most the given number of runtimes concurrently.
+     *
+     * @param runtimeManager the manager of the registered runtimes
+     * @param parallelism    the maximum number of runtimes transitioned concurrently
+     */
+    public CarbonRuntimeService(RuntimeManager runtimeManager, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Runtime parallelism should be positive: " + parallelism);
+        }
         this.runtimeManager = runtimeManager;
+        this.parallelism = parallelism;
     }
 
     /**
@@ -46,20 +86,8 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void startRuntimes() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.INACTIVE) {
-                runtime.init();
-                runtime.start();
-            } else if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else if (runtime.getState() == RuntimeState.MAINTENANCE) {
-                throw new RuntimeServiceException("Runtime is in maintenance mode." + runtime.getClass().getName());
-            } else {
-                logger.error("Runtime already started : " + runtime.getClass().getName());
-            }
-        }
+        SecurityUtils.checkSecurity();
+        apply(START);
     }
 
     /**
@@ -69,15 +97,8 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void stopRuntimes() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
-                runtime.stop();
-            }
-        }
+        SecurityUtils.checkSecurity();
+        apply(STOP);
     }
 
     /**
@@ -87,15 +108,8 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void beginMaintenance() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
-                runtime.beginMaintenance();
-            }
-        }
+        SecurityUtils.checkSecurity();
+        apply(BEGIN_MAINTENANCE);
     }
 
     /**
@@ -105,15 +119,218 @@ public class CarbonRuntimeService implements RuntimeService, CarbonRuntimeServic
      */
     @Override
     public void endMaintenance() throws RuntimeServiceException {
-        Utils.checkSecurity();
-        List<Runtime> runtimeMap = runtimeManager.getRuntimeList();
-        for (Runtime runtime : runtimeMap) {
-            if (runtime.getState() == RuntimeState.PENDING) {
-                throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
-            } else {
-                runtime.endMaintenance();
+        SecurityUtils.checkSecurity();
+        apply(END_MAINTENANCE);
+    }
+
+    /**
+     * Drains the in-flight requests of registered runtimes, and puts them into MAINTENANCE state.
+     *
+     * @param drainTimeout the maximum time to wait for the in-flight requests of all the runtimes
+     * @param unit         the unit of the drain timeout
+     * @return the number of in-flight requests which were cut when the timeout elapsed
+     * @throws RuntimeServiceException - thrown if any issues occur during the process
+     */
+    @Override
+    public long drainAndBeginMaintenance(long drainTimeout, TimeUnit unit) throws RuntimeServiceException {
+        SecurityUtils.checkSecurity();
+        long deadline = System.nanoTime() + unit.toNanos(drainTimeout);
+        List<Runtime> runtimes = getRuntimes();
+        // Admission is closed on all the runtimes up front, hence a runtime which is drained later in the dependency
+        // order does not keep admitting requests while the runtimes before it are drained.
+        for (Runtime runtime : runtimes) {
+            InFlightTracker inFlightTracker = runtime.getInFlightTracker();
+            if (inFlightTracker != null && runtime.getState() != RuntimeState.PENDING) {
+                inFlightTracker.stopAdmitting();
+            }
+        }
+
+        LongAdder cutRequestCount = new LongAdder();
+        try {
+            apply(new RuntimeTransition("drain and begin maintenance of", true,
+                    runtime -> drainAndBeginMaintenance(runtime, deadline, cutRequestCount)), runtimes);
+        } catch (RuntimeServiceException | RuntimeException e) {
+            // A runtime which is not in the maintenance mode keeps serving requests, whether it failed, timed out or
+            // was never transitioned.
+            for (Runtime runtime : runtimes) {
+                InFlightTracker inFlightTracker = runtime.getInFlightTracker();
+                if (inFlightTracker != null && runtime.getState() != RuntimeState.MAINTENANCE) {
+                    inFlightTracker.admit();
+                }
+            }
+            throw e;
+        }
+
+        long cutRequests = cutRequestCount.sum();
+        logger.info("Runtimes are in maintenance mode after draining. {} in-flight requests were cut.", cutRequests);
+        return cutRequests;
+    }
+
+    @Override
+    public long drainAndBeginMaintenance(long drainTimeoutMillis) throws RuntimeServiceException {
+        return drainAndBeginMaintenance(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getInFlightCount() {
+        long inFlightCount = 0;
+        for (Runtime runtime : runtimeManager.getRuntimeList()) {
+            InFlightTracker inFlightTracker = runtime.getInFlightTracker();
+            if (inFlightTracker != null) {
+                inFlightCount += inFlightTracker.getInFlightCount();
+            }
+        }
+        return inFlightCount;
+    }
+
+    @Override
+    public CompletionStage<Void> startRuntimesAsync() {
+        SecurityUtils.checkSecurity();
+        return applyAsync(START);
+    }
+
+    @Override
+    public CompletionStage<Void> stopRuntimesAsync() {
+        SecurityUtils.checkSecurity();
+        return applyAsync(STOP);
+    }
+
+    @Override
+    public CompletionStage<Void> beginMaintenanceAsync() {
+        SecurityUtils.checkSecurity();
+        return applyAsync(BEGIN_MAINTENANCE);
+    }
+
+    @Override
+    public CompletionStage<Void> endMaintenanceAsync() {
+        SecurityUtils.checkSecurity();
+        return applyAsync(END_MAINTENANCE);
+    }
+
+    @Override
+    public void startRuntimesInBackground() {
+        logFailure(startRuntimesAsync(), START);
+    }
+
+    @Override
+    public void stopRuntimesInBackground() {
+        logFailure(stopRuntimesAsync(), STOP);
+    }
+
+    @Override
+    public void beginMaintenanceInBackground() {
+        logFailure(beginMaintenanceAsync(), BEGIN_MAINTENANCE);
+    }
+
+    @Override
+    public void endMaintenanceInBackground() {
+        logFailure(endMaintenanceAsync(), END_MAINTENANCE);
+    }
+
+    @Override
+    public String[] getRuntimeProgress() {
+        RuntimeProgress progress = runtimeProgress;
+        return progress == null ? new String[0] : progress.toLines();
+    }
+
+    private void apply(RuntimeTransition transition) throws RuntimeServiceException {
+        apply(transition, getRuntimes());
+    }
+
+    private void apply(RuntimeTransition transition, List<Runtime> runtimes) throws RuntimeServiceException {
+        transition.apply(runtimes, parallelism, newRuntimeProgress(transition, runtimes));
+    }
+
+    private CompletableFuture<Void> applyAsync(RuntimeTransition transition) {
+        List<Runtime> runtimes = getRuntimes();
+        return transition.applyAsync(runtimes, parallelism, newRuntimeProgress(transition, runtimes));
+    }
+
+    /**
+     * Returns a copy of the registered runtimes, hence a runtime registered or un-registered while a transition is
+     * being applied neither joins nor leaves it.
+     */
+    private List<Runtime> getRuntimes() {
+        return new ArrayList<>(runtimeManager.getRuntimeList());
+    }
+
+    private RuntimeProgress newRuntimeProgress(RuntimeTransition transition, List<Runtime> runtimes) {
+        RuntimeProgress progress = new RuntimeProgress(transition.getName(), runtimes);
+        runtimeProgress = progress;
+        return progress;
+    }
+
+    private static void logFailure(CompletionStage<Void> stage, RuntimeTransition transition) {
+        stage.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                logger.error("Failed to " + transition.getName() + " the runtimes in the background",
+                        throwable.getCause() != null ? throwable.getCause() : throwable);
             }
+        });
+    }
+
+    private static void startRuntime(Runtime runtime) throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.INACTIVE) {
+            runtime.init();
+            runtime.start();
+        } else if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        } else if (runtime.getState() == RuntimeState.MAINTENANCE) {
+            throw new RuntimeServiceException("Runtime is in maintenance mode." + runtime.getClass().getName());
+        } else {
+            logger.error("Runtime already started : " + runtime.getClass().getName());
+        }
+    }
+
+    private static void stopRuntime(Runtime runtime) throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        } else {
+            runtime.stop();
         }
     }
 
+    private static void beginMaintenance(Runtime runtime) throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        } else {
+            runtime.beginMaintenance();
+        }
+    }
+
+    private static void drainAndBeginMaintenance(Runtime runtime, long deadline, LongAdder cutRequestCount)
+            throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        }
+
+        InFlightTracker inFlightTracker = runtime.getInFlightTracker();
+        if (inFlightTracker != null) {
+            long cutRequests;
+            try {
+                cutRequests = inFlightTracker.drain(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeServiceException("Interrupted while draining runtime " + runtime.getName(), e);
+            }
+            if (cutRequests > 0) {
+                logger.warn("{} in-flight requests of runtime {} were not processed before the drain timeout.",
+                        cutRequests, runtime.getName());
+                cutRequestCount.add(cutRequests);
+            }
+        }
+        runtime.beginMaintenance();
+    }
+
+    private static void endMaintenance(Runtime runtime) throws RuntimeServiceException {
+        if (runtime.getState() == RuntimeState.PENDING) {
+            throw new RuntimeServiceException("Runtime not initialized." + runtime.getClass().getName());
+        } else {
+            runtime.endMaintenance();
+            InFlightTracker inFlightTracker = runtime.getInFlightTracker();
+            if (inFlightTracker != null) {
+                inFlightTracker.admit();
+            }
+        }
+    }
 }
@@ -54,4 +54,59 @@ public interface CarbonRuntimeServiceMBean {
      */
     void endMaintenance() throws RuntimeServiceException;
 
+    /**
+     * Drains the in-flight requests of all registered runtimes, and puts them into the MAINTENANCE state once their
+     * requests are processed or the timeout elapses.
+     *
+     * @param drainTimeoutMillis the maximum time to wait for the in-flight requests, in milliseconds
+     * @return the number of in-flight requests which were cut when the timeout elapsed
+     * @throws RuntimeServiceException - on error while trying to start server Maintenance mode
+     * @since 5.3.5
+     */
+    long drainAndBeginMaintenance(long drainTimeoutMillis) throws RuntimeServiceException;
+
+    /**
+     * Returns the number of requests being processed by the registered runtimes which track their in-flight requests.
+     *
+     * @return the in-flight request count
+     * @since 5.3.5
+     */
+    long getInFlightCount();
+
+    /**
+     * Starts all registered runtimes in the background, without waiting for them to start.
+     *
+     * @since 5.3.5
+     */
+    void startRuntimesInBackground();
+
+    /**
+     * Stops all registered runtimes in the background, without waiting for them to stop.
+     *
+     * @since 5.3.5
+     */
+    void stopRuntimesInBackground();
+
+    /**
+     * Puts all registered runtimes into the MAINTENANCE state in the background, without waiting for them.
+     *
+     * @since 5.3.5
+     */
+    void beginMaintenanceInBackground();
+
+    /**
+     * Ends the maintenance mode of all registered runtimes in the background, without waiting for them.
+     *
+     * @since 5.3.5
+     */
+    void endMaintenanceInBackground();
+
+    /**
+     * Returns the progress of the latest lifecycle operation, which may still be running in the background. The first
+     * line summarizes the number of runtimes in each status, and is followed by the status of each runtime.
+     *
+     * @return the progress lines, or an empty array if no operation has been run
+     * @since 5.3.5
+     */
+    String[] getRuntimeProgress();
 }
@@ -17,11 +17,11 @@ package org.wso2.carbon.kernel.internal.runtime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
 import org.wso2.carbon.kernel.runtime.Runtime;
-import org.wso2.carbon.utils.Utils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Runtime Manager class.
@@ -30,7 +30,7 @@ import java.util.List;
  */
 public class RuntimeManager {
     private static Logger logger = LoggerFactory.getLogger(RuntimeManager.class);
-    private List<Runtime> runtimeList = new ArrayList<Runtime>();
+    private List<Runtime> runtimeList = new CopyOnWriteArrayList<>();
 
 
     /**
@@ -39,7 +39,7 @@ public class RuntimeManager {
      * @param runtime - runtime to be registered
      */
     public void registerRuntime(Runtime runtime) {
-        Utils.checkSecurity();
+        SecurityUtils.checkSecurity();
         runtimeList.add(runtime);
     }
 
@@ -49,7 +49,7 @@ public class RuntimeManager {
      * @param runtime - runtime to be un-registered
      */
     public void unRegisterRuntime(Runtime runtime) {
-        Utils.checkSecurity();
+        SecurityUtils.checkSecurity();
         runtimeList.remove(runtime);
     }
 
@@ -59,7 +59,7 @@ public class RuntimeManager {
      * @return List of rumtimes
      */
     public List<Runtime> getRuntimeList() {
-        Utils.checkSecurity();
+        SecurityUtils.checkSecurity();
         return runtimeList;
     }
 }
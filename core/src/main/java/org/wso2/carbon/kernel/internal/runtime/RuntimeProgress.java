@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.wso2.carbon.kernel.runtime.Runtime;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The progress of a lifecycle transition, such as start or stop, for each of the runtimes it is applied to.
+ * <p>
+ * The progress is updated by the threads which transition the runtimes, and is read by JMX clients which poll it while
+ * the transition runs in the background.
+ *
+ * @since 5.3.5
+ */
+final class RuntimeProgress {
+    private final String transitionName;
+    private final Map<Runtime, Entry> entries = new IdentityHashMap<>();
+    private final List<Entry> orderedEntries = new ArrayList<>();
+
+    /**
+     * Creates the progress of a transition, in which all the given runtimes are waiting.
+     *
+     * @param transitionName the name of the transition
+     * @param runtimes       the runtimes the transition is applied to
+     */
+    RuntimeProgress(String transitionName, List<Runtime> runtimes) {
+        this.transitionName = transitionName;
+        for (Runtime runtime : runtimes) {
+            Entry entry = new Entry(runtime.getName());
+            if (entries.putIfAbsent(runtime, entry) == null) {
+                orderedEntries.add(entry);
+            }
+        }
+    }
+
+    void running(Runtime runtime) {
+        Entry entry = entries.get(runtime);
+        entry.startTime = System.currentTimeMillis();
+        entry.status = Status.RUNNING;
+    }
+
+    void completed(Runtime runtime) {
+        Entry entry = entries.get(runtime);
+        entry.endTime = System.currentTimeMillis();
+        entry.status = Status.COMPLETED;
+    }
+
+    void failed(Runtime runtime, Throwable failure) {
+        Entry entry = entries.get(runtime);
+        entry.endTime = System.currentTimeMillis();
+        entry.failure = failure.getMessage();
+        entry.status = Status.FAILED;
+    }
+
+    /**
+     * Returns the progress as a summary line followed by one line per runtime.
+     *
+     * @return the progress lines
+     */
+    String[] toLines() {
+        int[] statusCounts = new int[Status.values().length];
+        List<String> lines = new ArrayList<>();
+        lines.add("");
+        long now = System.currentTimeMillis();
+        for (Entry entry : orderedEntries) {
+            // The status is written last, hence the times it depends on are visible once it is read.
+            Status status = entry.status;
+            statusCounts[status.ordinal()]++;
+            StringBuilder line = new StringBuilder(entry.runtimeName).append(": ").append(status);
+            switch (status) {
+                case RUNNING:
+                    line.append(" for ").append(now - entry.startTime).append(" ms");
+                    break;
+                case COMPLETED:
+                    line.append(" in ").append(entry.endTime - entry.startTime).append(" ms");
+                    break;
+                case FAILED:
+                    line.append(": ").append(entry.failure);
+                    break;
+                default:
+                    break;
+            }
+            lines.add(line.toString());
+        }
+
+        StringBuilder summary = new StringBuilder(transitionName);
+        for (Status status : Status.values()) {
+            summary.append(status.ordinal() == 0 ? ": " : ", ")
+                    .append(statusCounts[status.ordinal()]).append(' ').append(status);
+        }
+        lines.set(0, summary.toString());
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    /**
+     * The status of a runtime in a transition.
+     */
+    enum Status {
+        WAITING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * The progress of a single runtime.
+     */
+    private static final class Entry {
+        private final String runtimeName;
+        private volatile Status status = Status.WAITING;
+        private volatile long startTime;
+        private volatile long endTime;
+        private volatile String failure;
+
+        private Entry(String runtimeName) {
+            this.runtimeName = runtimeName;
+        }
+    }
+}
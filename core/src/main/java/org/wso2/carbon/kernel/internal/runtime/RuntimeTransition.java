@@ -0,0 +1,346 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.runtime.Runtime;
+import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lifecycle transition, such as start or stop, which is applied to the registered runtimes concurrently in the
+ * order of their dependencies.
+ * <p>
+ * A runtime is transitioned on a bounded pool of threads once all its prerequisites have completed. In the forward
+ * order, the prerequisites of a runtime are the runtimes it depends on, and a runtime is not transitioned if any of
+ * them failed. In the reverse order, which is used to stop runtimes and to begin the maintenance mode, the
+ * prerequisites of a runtime are the runtimes which depend on it, and the transition continues regardless of their
+ * failures, so that as many runtimes as possible are stopped. The failures of all the runtimes are aggregated into a
+ * single RuntimeServiceException. A runtime which does not complete within its timeout fails and is interrupted, and
+ * the pool gets an additional thread, hence a runtime which never returns does not block the remaining runtimes.
+ *
+ * @since 5.3.5
+ */
+final class RuntimeTransition {
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeTransition.class);
+
+    private final String name;
+    private final boolean reverse;
+    private final RuntimeAction action;
+
+    /**
+     * Creates a transition.
+     *
+     * @param name    the name of the transition, which is used in messages as in "Failed to {name} runtime"
+     * @param reverse whether the transition is applied in the reverse order of the dependencies
+     * @param action  the action which transitions a runtime
+     */
+    RuntimeTransition(String name, boolean reverse, RuntimeAction action) {
+        this.name = name;
+        this.reverse = reverse;
+        this.action = action;
+    }
+
+    /**
+     * Returns the name of this transition.
+     *
+     * @return the name of this transition
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Applies this transition to the given runtimes, and waits until it completes for all of them.
+     *
+     * @param runtimes    the runtimes to be transitioned, which must not be modified until the transition completes
+     * @param parallelism the maximum number of runtimes transitioned concurrently
+     * @param progress    the progress of the transition, which is updated as the runtimes are transitioned
+     * @throws RuntimeServiceException if the transition failed for any of the runtimes
+     */
+    void apply(List<Runtime> runtimes, int parallelism, RuntimeProgress progress) throws RuntimeServiceException {
+        try {
+            applyAsync(runtimes, parallelism, progress).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeServiceException("Interrupted while waiting for the runtimes to " + name, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeServiceException) {
+                throw (RuntimeServiceException) e.getCause();
+            }
+            throw new RuntimeServiceException("Failed to " + name + " the runtimes", e);
+        }
+    }
+
+    /**
+     * Applies this transition to the given runtimes without waiting for it to complete.
+     *
+     * @param runtimes    the runtimes to be transitioned, which must not be modified until the transition completes
+     * @param parallelism the maximum number of runtimes transitioned concurrently
+     * @param progress    the progress of the transition, which is updated as the runtimes are transitioned
+     * @return the future which completes once the transition completes for all the runtimes, or completes
+     * exceptionally with a RuntimeServiceException if it failed for any of them
+     */
+    CompletableFuture<Void> applyAsync(List<Runtime> runtimes, int parallelism, RuntimeProgress progress) {
+        if (runtimes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int poolSize = Math.min(parallelism, runtimes.size());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), newThreadFactory("CarbonRuntimeTransition-"));
+        ScheduledExecutorService timeoutScheduler = null;
+        if (runtimes.stream().anyMatch(runtime -> runtime.getTimeout() > 0)) {
+            // Timeouts are not scheduled on the executor, since runtimes which do not return may occupy its threads.
+            timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+                    newThreadFactory("CarbonRuntimeTransitionTimeout-"));
+        }
+
+        ScheduledExecutorService scheduler = timeoutScheduler;
+        Runnable shutdown = () -> {
+            executor.shutdown();
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        };
+        CompletableFuture<Void> result;
+        try {
+            result = new Execution(runtimes, progress, executor, timeoutScheduler).start();
+        } catch (RuntimeException e) {
+            shutdown.run();
+            throw e;
+        }
+        result.whenComplete((ignored, throwable) -> shutdown.run());
+        return result;
+    }
+
+    private static ThreadFactory newThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The action which transitions a runtime.
+     */
+    @FunctionalInterface
+    interface RuntimeAction {
+        void apply(Runtime runtime) throws RuntimeServiceException;
+    }
+
+    /**
+     * A single application of the transition to a list of runtimes.
+     */
+    private final class Execution {
+        private final List<Runtime> runtimes;
+        private final RuntimeProgress progress;
+        private final ThreadPoolExecutor executor;
+        private final ScheduledExecutorService timeoutScheduler;
+        private final Map<Runtime, List<Runtime>> prerequisites = new IdentityHashMap<>();
+        private final Map<Runtime, String> missingDependencies = new IdentityHashMap<>();
+        private final Map<Runtime, CompletableFuture<Void>> results = new IdentityHashMap<>();
+        private final Set<Runtime> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Exception> dependencyFailures = new ArrayList<>();
+
+        private Execution(List<Runtime> runtimes, RuntimeProgress progress, ThreadPoolExecutor executor,
+                          ScheduledExecutorService timeoutScheduler) {
+            this.runtimes = runtimes;
+            this.progress = progress;
+            this.executor = executor;
+            this.timeoutScheduler = timeoutScheduler;
+
+            Map<String, List<Runtime>> runtimesByName = new HashMap<>();
+            for (Runtime runtime : runtimes) {
+                runtimesByName.computeIfAbsent(runtime.getName(), runtimeName -> new ArrayList<>()).add(runtime);
+                prerequisites.put(runtime, new ArrayList<>());
+            }
+            for (Runtime runtime : runtimes) {
+                for (String dependency : runtime.getDependencies()) {
+                    List<Runtime> dependencies = runtimesByName.get(dependency);
+                    if (dependencies == null) {
+                        missingDependencies.putIfAbsent(runtime, dependency);
+                        continue;
+                    }
+                    for (Runtime dependencyRuntime : dependencies) {
+                        if (dependencyRuntime == runtime) {
+                            continue;
+                        }
+                        if (reverse) {
+                            prerequisites.get(dependencyRuntime).add(runtime);
+                        } else {
+                            prerequisites.get(runtime).add(dependencyRuntime);
+                        }
+                    }
+                }
+            }
+        }
+
+        private CompletableFuture<Void> start() {
+            CompletableFuture<?>[] allResults = new CompletableFuture<?>[runtimes.size()];
+            for (int i = 0; i < allResults.length; i++) {
+                allResults[i] = schedule(runtimes.get(i));
+            }
+
+            return CompletableFuture.allOf(allResults).handle((ignored, throwable) -> {
+                List<Exception> failures = new ArrayList<>(dependencyFailures);
+                for (CompletableFuture<?> result : allResults) {
+                    try {
+                        result.join();
+                    } catch (CompletionException e) {
+                        failures.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                    }
+                }
+                if (!failures.isEmpty()) {
+                    RuntimeServiceException exception = new RuntimeServiceException("Failed to " + name + " " +
+                            failures.size() + " of " + runtimes.size() + " runtimes", failures.get(0));
+                    failures.stream().skip(1).forEach(exception::addSuppressed);
+                    throw new CompletionException(exception);
+                }
+                return null;
+            });
+        }
+
+        private CompletableFuture<Void> schedule(Runtime runtime) {
+            CompletableFuture<Void> result = results.get(runtime);
+            if (result != null) {
+                return result;
+            }
+            if (!visiting.add(runtime)) {
+                RuntimeServiceException exception = new RuntimeServiceException("Runtime " + runtime.getName() +
+                        " has a cyclic dependency");
+                dependencyFailures.add(exception);
+                CompletableFuture<Void> cycle = new CompletableFuture<>();
+                cycle.completeExceptionally(exception);
+                return cycle;
+            }
+
+            List<Runtime> runtimePrerequisites = prerequisites.get(runtime);
+            CompletableFuture<?>[] prerequisiteResults = new CompletableFuture<?>[runtimePrerequisites.size()];
+            for (int i = 0; i < prerequisiteResults.length; i++) {
+                prerequisiteResults[i] = schedule(runtimePrerequisites.get(i));
+            }
+            visiting.remove(runtime);
+
+            CompletableFuture<Void> runtimeResult = new CompletableFuture<>();
+            // The dependents and the transition as a whole wait for the progress to be updated, hence the progress
+            // is complete once the transition completes.
+            CompletableFuture<Void> trackedResult = runtimeResult.whenComplete((ignored, throwable) -> {
+                if (throwable == null) {
+                    progress.completed(runtime);
+                } else {
+                    progress.failed(runtime, throwable);
+                }
+            });
+            results.put(runtime, trackedResult);
+            String missingDependency = reverse ? null : missingDependencies.get(runtime);
+            if (missingDependency != null) {
+                runtimeResult.completeExceptionally(new RuntimeServiceException("Failed to " + name + " runtime " +
+                        runtime.getName() + ", since it depends on runtime " + missingDependency +
+                        " which is not registered"));
+                return trackedResult;
+            }
+
+            CompletableFuture.allOf(prerequisiteResults).whenComplete((ignored, throwable) -> {
+                if (throwable != null && !reverse) {
+                    runtimeResult.completeExceptionally(new RuntimeServiceException("Failed to " + name +
+                            " runtime " + runtime.getName() + ", since a runtime it depends on failed"));
+                    return;
+                }
+                try {
+                    executor.execute(() -> transition(runtime, runtimeResult));
+                } catch (RuntimeException e) {
+                    runtimeResult.completeExceptionally(e);
+                }
+            });
+            return trackedResult;
+        }
+
+        private void transition(Runtime runtime, CompletableFuture<Void> result) {
+            logger.debug("Runtime {} is about to {}", runtime.getName(), name);
+            progress.running(runtime);
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                action.apply(runtime);
+                return null;
+            });
+            long timeout = runtime.getTimeout();
+            ScheduledFuture<?> timeoutTask = null;
+            if (timeout > 0) {
+                timeoutTask = timeoutScheduler.schedule(() -> {
+                    if (result.completeExceptionally(new RuntimeServiceException("Failed to " + name + " runtime " +
+                            runtime.getName() + " within " + timeout + " ms"))) {
+                        // The runtime may not return even if it is interrupted, hence its thread is replaced so that
+                        // the remaining runtimes are not blocked by it.
+                        task.cancel(true);
+                        addThread();
+                    }
+                }, timeout, TimeUnit.MILLISECONDS);
+            }
+
+            task.run();
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            try {
+                task.get();
+                result.complete(null);
+            } catch (CancellationException e) {
+                // The runtime timed out, hence the result is already completed.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeServiceException || !(cause instanceof Exception)) {
+                    result.completeExceptionally(cause);
+                } else {
+                    result.completeExceptionally(new RuntimeServiceException("Failed to " + name + " runtime " +
+                            runtime.getName(), (Exception) cause));
+                }
+            }
+        }
+
+        private void addThread() {
+            synchronized (executor) {
+                executor.setMaximumPoolSize(executor.getMaximumPoolSize() + 1);
+                executor.setCorePoolSize(executor.getCorePoolSize() + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+/**
+ * Notifies the {@code RequiredCapabilityListener} of startup components once they become satisfiable.
+ * <p>
+ * Implementations invoke the given completion callback, while holding the {@code StartupComponentManager} class
+ * lock, once all the startup components are notified.
+ *
+ * @since 5.3.5
+ */
+interface CapabilityListenerNotifier {
+
+    /**
+     * Starts notifying satisfiable startup components.
+     */
+    void start();
+
+    /**
+     * Stops notifying startup components. Calling this method more than once has no effect.
+     */
+    void stop();
+}
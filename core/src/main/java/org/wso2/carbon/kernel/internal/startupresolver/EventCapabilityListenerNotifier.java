@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@code CapabilityListenerNotifier} which re-evaluates a startup component as soon as one of its capabilities,
+ * capability providers or its {@code RequiredCapabilityListener} changes.
+ * <p>
+ * Changes are reported by the {@code StartupComponentManager} and the {@code StartupServiceCache} on the threads
+ * which register the corresponding OSGi services. Listeners are notified on a single dedicated thread, hence a
+ * component is notified as soon as its last required capability is available instead of on the next timer tick.
+ *
+ * @since 5.3.5
+ */
+class EventCapabilityListenerNotifier implements CapabilityListenerNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(EventCapabilityListenerNotifier.class);
+
+    private final StartupComponentManager startupComponentManager;
+    private final StartupReadinessTracker readinessTracker;
+    private final Runnable completionCallback;
+    private final ExecutorService notifierExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CarbonStartupResolverNotifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stopped = false;
+
+    /**
+     * Creates an event based notifier.
+     *
+     * @param startupComponentManager manager of the startup components to be notified
+     * @param completionCallback      invoked once all the startup components are notified
+     */
+    EventCapabilityListenerNotifier(StartupComponentManager startupComponentManager, Runnable completionCallback) {
+        this(startupComponentManager, new StartupReadinessTracker(startupComponentManager), completionCallback);
+    }
+
+    /**
+     * Creates an event based notifier.
+     *
+     * @param startupComponentManager manager of the startup components to be notified
+     * @param readinessTracker        tracker of the startup tiers and server readiness
+     * @param completionCallback      invoked once all the startup components are notified
+     */
+    EventCapabilityListenerNotifier(StartupComponentManager startupComponentManager,
+                                    StartupReadinessTracker readinessTracker, Runnable completionCallback) {
+        this.startupComponentManager = startupComponentManager;
+        this.readinessTracker = readinessTracker;
+        this.completionCallback = completionCallback;
+    }
+
+    @Override
+    public void start() {
+        startupComponentManager.setComponentChangeListener(this::onComponentChanged);
+        startupComponentManager.setListenerReturnListener(this::onListenerReturned);
+
+        // Components which became satisfiable before the listeners were set are picked up by this initial pass.
+        submit(() -> {
+            startupComponentManager.notifySatisfiableComponents();
+            checkCompletion();
+        });
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        startupComponentManager.setComponentChangeListener(null);
+        startupComponentManager.setListenerReturnListener(null);
+        notifierExecutor.shutdown();
+    }
+
+    private void onComponentChanged(StartupComponent startupComponent) {
+        submit(() -> {
+            if (startupComponentManager.notifySatisfiableComponent(startupComponent)) {
+                checkCompletion();
+            }
+        });
+    }
+
+    private void onListenerReturned() {
+        // Components deferred until this listener returned are picked up by this pass.
+        submit(() -> {
+            startupComponentManager.notifySatisfiableComponents();
+            checkCompletion();
+        });
+    }
+
+    private void checkCompletion() {
+        synchronized (StartupComponentManager.class) {
+            if (stopped) {
+                return;
+            }
+
+            readinessTracker.checkReadiness();
+
+            if (!startupComponentManager.isStartupComplete()) {
+                return;
+            }
+
+            logger.debug("All the StartupComponents are satisfied. Stopping the capability listener notifier");
+            stop();
+            completionCallback.run();
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (stopped) {
+            return;
+        }
+
+        try {
+            notifierExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error occurred while notifying startup components.", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Capability listener notifier is already stopped.", e);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.capabilityProviderElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.logFailedRequiredCapabilityListenerDetails;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.requiredCapabilityListenerElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OSGI_SERVICE_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_LISTENER_COMPONENT;
+
+/**
+ * Re-resolves the startup components affected by the bundles which are installed, updated or uninstalled after the
+ * startup.
+ * <p>
+ * Once the startup is complete, this resolver only listens to bundle events. When the bundle events settle for the
+ * configured quiet period, the Carbon-Component manifest headers of the changed bundles are parsed again and the
+ * affected subgraph is computed. It consists of the startup components declared in the changed bundles and the
+ * startup components which require, directly or transitively, a capability declared in the bundle of an affected
+ * component. Only the affected components are added to a partial {@code StartupComponentManager}, and their
+ * {@code RequiredCapabilityListener}s are notified again in the dependency order as soon as their capabilities are
+ * available.
+ *
+ * @since 5.3.5
+ */
+class IncrementalStartupResolver implements BundleListener {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalStartupResolver.class);
+
+    private final BundleContext bundleContext;
+    private final StartupServiceCache startupServiceCache;
+    private final long delay;
+    private final int listenerPoolSize;
+    private final long listenerTimeout;
+    private final ScheduledExecutorService resolverExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CarbonStartupResolverIncremental");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Key of this map is the bundle id. Only accessed from the resolver thread.
+    private final Map<Long, List<ManifestElement>> manifestElementMap = new HashMap<>();
+
+    // Bundles changed since the last resolution. Guarded by this.
+    private final Set<Bundle> changedBundles = new LinkedHashSet<>();
+    private ScheduledFuture<?> scheduledResolution;
+
+    // Resolution which is yet to notify all the affected components. Guarded by the StartupComponentManager class lock.
+    private Resolution currentResolution;
+
+    /**
+     * Creates an incremental resolver.
+     *
+     * @param bundleContext       OSGi bundle context of the Carbon.core bundle
+     * @param startupServiceCache cache of the OSGi services reported by startup components
+     * @param delay               quiet period in milliseconds after the last bundle event, before resolving
+     * @param listenerPoolSize    maximum number of RequiredCapabilityListeners invoked concurrently
+     * @param listenerTimeout     time in milliseconds after which a RequiredCapabilityListener is reported
+     */
+    IncrementalStartupResolver(BundleContext bundleContext, StartupServiceCache startupServiceCache, long delay,
+                               int listenerPoolSize, long listenerTimeout) {
+        this.bundleContext = bundleContext;
+        this.startupServiceCache = startupServiceCache;
+        this.delay = delay;
+        this.listenerPoolSize = listenerPoolSize;
+        this.listenerTimeout = listenerTimeout;
+    }
+
+    /**
+     * Starts listening to bundle events. The Carbon-Component manifest headers of the installed bundles are parsed in
+     * the background, so that the changes of a bundle can be compared with its previous header.
+     */
+    void start() {
+        resolverExecutor.execute(this::loadManifestElements);
+        bundleContext.addBundleListener(this);
+    }
+
+    /**
+     * Stops listening to bundle events and stops the resolution in progress, if any.
+     */
+    void stop() {
+        bundleContext.removeBundleListener(this);
+        resolverExecutor.shutdownNow();
+        synchronized (StartupComponentManager.class) {
+            stopResolution();
+        }
+    }
+
+    @Override
+    public void bundleChanged(BundleEvent event) {
+        switch (event.getType()) {
+            case BundleEvent.INSTALLED:
+            case BundleEvent.UPDATED:
+            case BundleEvent.UNINSTALLED:
+                onBundleChanged(event.getBundle());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void onBundleChanged(Bundle bundle) {
+        if (bundle.getBundleId() == Constants.SYSTEM_BUNDLE_ID || bundle.equals(bundleContext.getBundle())) {
+            return;
+        }
+
+        changedBundles.add(bundle);
+        if (scheduledResolution != null) {
+            scheduledResolution.cancel(false);
+        }
+
+        try {
+            scheduledResolution = resolverExecutor.schedule(this::resolve, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Incremental startup resolver is already stopped.", e);
+        }
+    }
+
+    /**
+     * Notifies the startup components affected by the bundles changed since the last resolution. A resolution which
+     * is still in progress is stopped, and its affected components are resolved again together with the new ones.
+     */
+    void resolve() {
+        try {
+            synchronized (StartupComponentManager.class) {
+                Set<Bundle> bundles;
+                synchronized (this) {
+                    bundles = new LinkedHashSet<>(changedBundles);
+                    changedBundles.clear();
+                    scheduledResolution = null;
+                }
+
+                Map<Long, List<ManifestElement>> refreshedManifestElements = refreshManifestElements(bundles);
+                Map<Long, List<ManifestElement>> previousManifestElements = new HashMap<>(refreshedManifestElements);
+                if (currentResolution != null) {
+                    bundles.addAll(currentResolution.changedBundles);
+                    previousManifestElements.putAll(currentResolution.previousManifestElements);
+                    stopResolution();
+                }
+
+                Set<String> affectedComponentNames = getAffectedComponentNames(bundles, previousManifestElements);
+                if (affectedComponentNames.isEmpty()) {
+                    logger.debug("Bundle changes do not affect any startup component.");
+                    return;
+                }
+
+                logger.info("Notifying {} startup components affected by {} changed bundles.",
+                        affectedComponentNames.size(), bundles.size());
+                discardReportedServices(refreshedManifestElements, affectedComponentNames);
+                currentResolution = new Resolution(bundles, previousManifestElements, affectedComponentNames);
+                currentResolution.start();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error occurred while resolving the startup components affected by bundle changes.", e);
+        }
+    }
+
+    /**
+     * Returns the names of the startup components affected by the given bundles, i.e. the components declared in the
+     * bundles and the components which require, directly or transitively, a capability declared in the bundle of an
+     * affected component. Capabilities which were declared in the previous headers of the changed bundles, e.g. the
+     * capabilities of uninstalled bundles, affect their dependent components as well.
+     *
+     * @param bundles                  the changed bundles
+     * @param previousManifestElements the previous manifest elements of the changed bundles
+     * @return names of the affected startup components
+     */
+    Set<String> getAffectedComponentNames(Collection<Bundle> bundles,
+                                          Map<Long, List<ManifestElement>> previousManifestElements) {
+        Map<Long, Set<String>> declaredCapabilities = new HashMap<>();
+        Map<String, Set<String>> requiredCapabilities = new HashMap<>();
+        Map<String, Long> componentBundleIds = new HashMap<>();
+        manifestElementMap.forEach((bundleId, manifestElements) -> manifestElements.forEach(manifestElement -> {
+            if (STARTUP_LISTENER_COMPONENT.equals(manifestElement.getValue())) {
+                StartupComponent startupComponent = StartupOrderResolverUtils.getStartupComponent(manifestElement);
+                componentBundleIds.put(startupComponent.getName(), bundleId);
+                requiredCapabilities.computeIfAbsent(startupComponent.getName(), name -> new HashSet<>())
+                        .addAll(startupComponent.getRequiredServices());
+            } else {
+                getOSGiServiceCapability(manifestElement).ifPresent(serviceCapability ->
+                        serviceCapability.getRequiredByComponentNames().forEach(componentName ->
+                                requiredCapabilities.computeIfAbsent(componentName, name -> new HashSet<>())
+                                        .add(serviceCapability.getName())));
+            }
+            getDeclaredCapabilityName(manifestElement).ifPresent(capabilityName ->
+                    declaredCapabilities.computeIfAbsent(bundleId, id -> new HashSet<>()).add(capabilityName));
+        }));
+        previousManifestElements.forEach((bundleId, manifestElements) -> manifestElements.forEach(manifestElement ->
+                getDeclaredCapabilityName(manifestElement).ifPresent(capabilityName ->
+                        declaredCapabilities.computeIfAbsent(bundleId, id -> new HashSet<>()).add(capabilityName))));
+
+        Set<Long> affectedBundleIds = bundles.stream().map(Bundle::getBundleId).collect(Collectors.toSet());
+        Set<String> affectedComponentNames = new LinkedHashSet<>();
+        boolean affectedComponentsAdded = true;
+        while (affectedComponentsAdded) {
+            Set<String> affectedCapabilities = affectedBundleIds.stream()
+                    .map(bundleId -> declaredCapabilities.getOrDefault(bundleId, Collections.emptySet()))
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toSet());
+
+            Set<String> newlyAffectedComponentNames = componentBundleIds.keySet().stream()
+                    .filter(componentName -> !affectedComponentNames.contains(componentName))
+                    .filter(componentName -> affectedBundleIds.contains(componentBundleIds.get(componentName)) ||
+                            requiredCapabilities.getOrDefault(componentName, Collections.emptySet()).stream()
+                                    .anyMatch(affectedCapabilities::contains))
+                    .collect(Collectors.toSet());
+
+            affectedComponentNames.addAll(newlyAffectedComponentNames);
+            newlyAffectedComponentNames.forEach(componentName ->
+                    affectedBundleIds.add(componentBundleIds.get(componentName)));
+            affectedComponentsAdded = !newlyAffectedComponentNames.isEmpty();
+        }
+        return affectedComponentNames;
+    }
+
+    /**
+     * Returns the name of the capability declared with the given manifest element, i.e. the objectClass of an OSGi
+     * service or the capabilityName of a {@code CapabilityProvider}.
+     *
+     * @param manifestElement the manifest element
+     * @return the name of the declared capability, or empty if the element does not declare a capability
+     */
+    private Optional<String> getDeclaredCapabilityName(ManifestElement manifestElement) {
+        if (OSGI_SERVICE_COMPONENT.equals(manifestElement.getValue()) &&
+                capabilityProviderElementPredicate.test(manifestElement)) {
+            return Optional.of(StartupOrderResolverUtils.getCapabilityProviderCapability(manifestElement)
+                    .getProvidedCapabilityName());
+        }
+        return getOSGiServiceCapability(manifestElement).map(OSGiServiceCapability::getName);
+    }
+
+    /**
+     * Returns a capability created from the given OSGi service manifest element, which is neither a
+     * {@code CapabilityProvider} nor a {@code RequiredCapabilityListener}.
+     *
+     * @param manifestElement the manifest element
+     * @return the OSGi service capability, or empty if the element does not declare an OSGi service capability
+     */
+    private Optional<OSGiServiceCapability> getOSGiServiceCapability(ManifestElement manifestElement) {
+        if (!OSGI_SERVICE_COMPONENT.equals(manifestElement.getValue()) ||
+                capabilityProviderElementPredicate.test(manifestElement) ||
+                requiredCapabilityListenerElementPredicate.test(manifestElement)) {
+            return Optional.empty();
+        }
+        return StartupOrderResolverUtils.getOSGiServiceCapabilities(manifestElement).stream().findFirst();
+    }
+
+    /**
+     * Parses the Carbon-Component manifest headers of all the installed bundles.
+     */
+    void loadManifestElements() {
+        for (Bundle bundle : bundleContext.getBundles()) {
+            manifestElementMap.put(bundle.getBundleId(), getManifestElements(bundle));
+        }
+    }
+
+    /**
+     * Parses the Carbon-Component manifest headers of the given bundles again. The headers of uninstalled bundles
+     * are removed.
+     *
+     * @param bundles the changed bundles
+     * @return the previous manifest elements of the given bundles
+     */
+    private Map<Long, List<ManifestElement>> refreshManifestElements(Set<Bundle> bundles) {
+        Map<Long, List<ManifestElement>> previousManifestElements = new HashMap<>();
+        bundles.forEach(bundle -> {
+            List<ManifestElement> manifestElements = bundle.getState() == Bundle.UNINSTALLED ?
+                    manifestElementMap.remove(bundle.getBundleId()) :
+                    manifestElementMap.put(bundle.getBundleId(), getManifestElements(bundle));
+            if (manifestElements != null) {
+                previousManifestElements.put(bundle.getBundleId(), manifestElements);
+            }
+        });
+        return previousManifestElements;
+    }
+
+    /**
+     * Discards the OSGi services which the changed bundles reported to the affected components through the
+     * {@code StartupServiceCache}, since the changed bundles report them again once they are started.
+     *
+     * @param previousManifestElements the previous manifest elements of the changed bundles
+     * @param affectedComponentNames   names of the affected startup components
+     */
+    private void discardReportedServices(Map<Long, List<ManifestElement>> previousManifestElements,
+                                         Set<String> affectedComponentNames) {
+        Map<String, Set<String>> componentRequiredServices = manifestElementMap.values().stream()
+                .flatMap(Collection::stream)
+                .filter(manifestElement -> STARTUP_LISTENER_COMPONENT.equals(manifestElement.getValue()))
+                .map(StartupOrderResolverUtils::getStartupComponent)
+                .filter(startupComponent -> affectedComponentNames.contains(startupComponent.getName()))
+                .collect(Collectors.toMap(StartupComponent::getName,
+                        startupComponent -> new HashSet<>(startupComponent.getRequiredServices()),
+                        (first, second) -> first));
+
+        previousManifestElements.values().stream()
+                .flatMap(Collection::stream)
+                .filter(manifestElement -> OSGI_SERVICE_COMPONENT.equals(manifestElement.getValue()))
+                .filter(capabilityProviderElementPredicate.negate().and(
+                        requiredCapabilityListenerElementPredicate.negate()))
+                .map(StartupOrderResolverUtils::getOSGiServiceCapabilities)
+                .filter(serviceCapabilities -> !serviceCapabilities.isEmpty() &&
+                        serviceCapabilities.get(0).isDirectDependency())
+                .forEach(serviceCapabilities -> {
+                    OSGiServiceCapability serviceCapability = serviceCapabilities.get(0);
+                    componentRequiredServices.forEach((componentName, requiredServices) -> {
+                        if (requiredServices.contains(serviceCapability.getName())) {
+                            startupServiceCache.discard(componentName, serviceCapability.getName(),
+                                    serviceCapabilities.size());
+                        }
+                    });
+                });
+    }
+
+    private List<ManifestElement> getManifestElements(Bundle bundle) {
+        try {
+            return StartupOrderResolverUtils.getManifestElements(bundle);
+        } catch (StartOrderResolverException e) {
+            logger.warn("Ignoring the invalid Carbon-Component manifest header of bundle(" +
+                    bundle.getSymbolicName() + ":" + bundle.getVersion() + ").", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private void stopResolution() {
+        if (currentResolution != null) {
+            currentResolution.stop();
+            currentResolution = null;
+        }
+    }
+
+    /**
+     * Notifies the affected startup components of a set of changed bundles.
+     */
+    private class Resolution {
+        private final Set<Bundle> changedBundles;
+        private final Map<Long, List<ManifestElement>> previousManifestElements;
+        private final StartupComponentManager startupComponentManager;
+        private final OSGiServiceCapabilityTracker osgiServiceTracker;
+        private final EventCapabilityListenerNotifier capabilityListenerNotifier;
+        private final long startTime = System.currentTimeMillis();
+
+        Resolution(Set<Bundle> changedBundles, Map<Long, List<ManifestElement>> previousManifestElements,
+                   Set<String> affectedComponentNames) {
+            this.changedBundles = changedBundles;
+            this.previousManifestElements = previousManifestElements;
+
+            Map<String, List<ManifestElement>> groupedManifestElements = manifestElementMap.values().stream()
+                    .flatMap(Collection::stream)
+                    .filter(manifestElement -> !STARTUP_LISTENER_COMPONENT.equals(manifestElement.getValue()) ||
+                            affectedComponentNames.contains(StartupOrderResolverUtils
+                                    .getStartupComponent(manifestElement).getName()))
+                    .collect(Collectors.groupingBy(ManifestElement::getValue));
+
+            startupComponentManager = new StartupComponentManager(startupServiceCache, true);
+            StartupOrderResolverUtils.addManifestElements(startupComponentManager, groupedManifestElements);
+            // Affected lazy components were already running, hence they are notified as soon as they are satisfiable.
+            startupComponentManager.getComponents(StartupComponent::isLazy).forEach(StartupComponent::activate);
+            startupComponentManager.setRequiredCapabilityListenerExecutor(
+                    new RequiredCapabilityListenerExecutor(listenerPoolSize, listenerTimeout));
+
+            osgiServiceTracker = new OSGiServiceCapabilityTracker(startupComponentManager, bundleContext);
+            capabilityListenerNotifier = new EventCapabilityListenerNotifier(startupComponentManager,
+                    this::onAllComponentsNotified);
+        }
+
+        void start() {
+            startupServiceCache.setUpdateListener(startupComponentManager::updateAvailableService);
+            osgiServiceTracker.startTracker();
+            capabilityListenerNotifier.start();
+        }
+
+        void stop() {
+            capabilityListenerNotifier.stop();
+            osgiServiceTracker.closeTracker();
+            startupComponentManager.getRequiredCapabilityListenerExecutor().shutdown();
+            startupServiceCache.setUpdateListener(null);
+        }
+
+        /**
+         * Invoked by the notifier while holding the StartupComponentManager class lock.
+         */
+        private void onAllComponentsNotified() {
+            stop();
+            RequiredCapabilityListenerExecutor listenerExecutor =
+                    startupComponentManager.getRequiredCapabilityListenerExecutor();
+            logFailedRequiredCapabilityListenerDetails(logger, listenerExecutor.getFailedComponents(),
+                    listenerExecutor.getTimedOutComponents());
+
+            logger.info("Notified {} startup components affected by {} changed bundles in {} ms.",
+                    startupComponentManager.getComponents(startupComponent -> true).size(), changedBundles.size(),
+                    System.currentTimeMillis() - startTime);
+            if (currentResolution == this) {
+                currentResolution = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.hooks.service.FindHook;
+import org.osgi.framework.hooks.service.ListenerHook;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Activates lazy startup components when another bundle looks up, or starts listening for, one of the services they
+ * provide.
+ * <p>
+ * Service lookups are intercepted with a {@link FindHook}. Service listeners, e.g. service trackers and Declarative
+ * Services references which wait for a service, are intercepted with a {@link ListenerHook} and the objectClass values
+ * in their filters. Lookups made by the Carbon.core bundle itself, such as the capability trackers of the Startup Order
+ * Resolver, are ignored. The hooks only flag the components, which are then notified like any other satisfiable
+ * component.
+ *
+ * @since 5.3.5
+ */
+class LazyComponentActivator implements FindHook, ListenerHook {
+    private static final Pattern OBJECT_CLASS_PATTERN =
+            Pattern.compile("\\(\\s*objectClass\\s*=\\s*([^)\\s]+)\\s*\\)", Pattern.CASE_INSENSITIVE);
+
+    private final StartupComponentManager startupComponentManager;
+    private final Bundle ownBundle;
+
+    /**
+     * Creates an activator for the lazy components of the given manager.
+     *
+     * @param startupComponentManager manager of the lazy startup components
+     * @param ownBundle               the Carbon.core bundle, whose lookups are ignored
+     */
+    LazyComponentActivator(StartupComponentManager startupComponentManager, Bundle ownBundle) {
+        this.startupComponentManager = startupComponentManager;
+        this.ownBundle = ownBundle;
+    }
+
+    @Override
+    public void find(BundleContext context, String name, String filter, boolean allServices,
+                     Collection<ServiceReference<?>> references) {
+        if (isForeign(context)) {
+            activate(name);
+            activateFromFilter(filter);
+        }
+    }
+
+    @Override
+    public void added(Collection<ListenerInfo> listeners) {
+        listeners.stream()
+                .filter(listenerInfo -> !listenerInfo.isRemoved() && isForeign(listenerInfo.getBundleContext()))
+                .forEach(listenerInfo -> activateFromFilter(listenerInfo.getFilter()));
+    }
+
+    @Override
+    public void removed(Collection<ListenerInfo> listeners) {
+        // Removing a listener does not affect lazy components.
+    }
+
+    private boolean isForeign(BundleContext context) {
+        return context != null && !ownBundle.equals(context.getBundle());
+    }
+
+    private void activate(String serviceName) {
+        if (serviceName != null && startupComponentManager.isLazyService(serviceName)) {
+            startupComponentManager.activateLazyComponents(serviceName);
+        }
+    }
+
+    private void activateFromFilter(String filter) {
+        if (filter == null) {
+            return;
+        }
+
+        Matcher matcher = OBJECT_CLASS_PATTERN.matcher(filter);
+        while (matcher.find()) {
+            activate(matcher.group(1));
+        }
+    }
+}
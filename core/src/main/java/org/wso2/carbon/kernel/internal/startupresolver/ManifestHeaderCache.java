@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of the {@code ManifestElement}s parsed from the Carbon-Component manifest header of each bundle.
+ * <p>
+ * Entries are keyed by the bundle id and are valid only while the last modified time of the bundle is unchanged,
+ * hence a warm restart skips reading and parsing the headers of unchanged bundles. Bundles without the header are
+ * cached with an empty list. This class is safe to be used from multiple threads while scanning bundles.
+ *
+ * @since 5.3.5
+ */
+class ManifestHeaderCache {
+    private static final Logger logger = LoggerFactory.getLogger(ManifestHeaderCache.class);
+
+    private static final int CACHE_FORMAT_VERSION = 1;
+
+    private final File cacheFile;
+
+    // Entries read from the cache file, keyed by bundle id
+    private final Map<Long, CacheEntry> cachedEntries = new HashMap<>();
+
+    // Entries of the currently installed bundles, keyed by bundle id
+    private final Map<Long, CacheEntry> currentEntries = new ConcurrentHashMap<>();
+
+    private volatile boolean modified = false;
+
+    ManifestHeaderCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Loads the cache entries of the given bundles from the cache file, if it exists.
+     *
+     * @param bundles the currently installed bundles
+     */
+    void load(Collection<Bundle> bundles) {
+        if (!cacheFile.exists()) {
+            return;
+        }
+
+        Map<Long, Bundle> bundleMap = new HashMap<>();
+        bundles.forEach(bundle -> bundleMap.put(bundle.getBundleId(), bundle));
+
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(cacheFile.toPath()));
+             DataInputStream in = new DataInputStream(inputStream)) {
+            if (in.readInt() != CACHE_FORMAT_VERSION) {
+                logger.debug("Ignoring the manifest header cache {} with an unknown format.", cacheFile);
+                return;
+            }
+
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                long bundleId = in.readLong();
+                long lastModified = in.readLong();
+                Bundle bundle = bundleMap.get(bundleId);
+
+                int elementCount = in.readInt();
+                List<ManifestElement> manifestElements = new ArrayList<>(elementCount);
+                for (int j = 0; j < elementCount; j++) {
+                    manifestElements.add(ManifestElement.readFrom(in, bundle));
+                }
+
+                if (bundle != null && bundle.getLastModified() == lastModified) {
+                    cachedEntries.put(bundleId, new CacheEntry(lastModified, manifestElements));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read the manifest header cache " + cacheFile + ". Headers will be re-parsed.", e);
+            cachedEntries.clear();
+        }
+
+        logger.debug("Loaded {} entries from the manifest header cache {}", cachedEntries.size(), cacheFile);
+    }
+
+    /**
+     * Returns the cached {@code ManifestElement}s of the given bundle.
+     *
+     * @param bundle the bundle
+     * @return the cached manifest elements, or null if the bundle is not cached or has been modified
+     */
+    List<ManifestElement> get(Bundle bundle) {
+        CacheEntry cacheEntry = cachedEntries.get(bundle.getBundleId());
+        if (cacheEntry == null || cacheEntry.lastModified != bundle.getLastModified()) {
+            return null;
+        }
+
+        currentEntries.put(bundle.getBundleId(), cacheEntry);
+        return cacheEntry.manifestElements;
+    }
+
+    /**
+     * Adds the parsed {@code ManifestElement}s of the given bundle to the cache.
+     *
+     * @param bundle           the bundle
+     * @param manifestElements the parsed manifest elements, empty if the bundle does not have the header
+     */
+    void put(Bundle bundle, List<ManifestElement> manifestElements) {
+        currentEntries.put(bundle.getBundleId(), new CacheEntry(bundle.getLastModified(), manifestElements));
+        modified = true;
+    }
+
+    /**
+     * Writes the entries of the current bundles to the cache file, if they differ from the loaded entries.
+     */
+    void save() {
+        if (!modified && currentEntries.size() == cachedEntries.size()) {
+            return;
+        }
+
+        Path cachePath = cacheFile.toPath();
+        Path tempPath = cachePath.resolveSibling(cacheFile.getName() + ".tmp");
+        try {
+            Files.createDirectories(cachePath.getParent());
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempPath));
+                 DataOutputStream out = new DataOutputStream(outputStream)) {
+                out.writeInt(CACHE_FORMAT_VERSION);
+                out.writeInt(currentEntries.size());
+                for (Map.Entry<Long, CacheEntry> entry : currentEntries.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue().lastModified);
+                    out.writeInt(entry.getValue().manifestElements.size());
+                    for (ManifestElement manifestElement : entry.getValue().manifestElements) {
+                        manifestElement.writeTo(out);
+                    }
+                }
+            }
+            Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Saved {} entries to the manifest header cache {}", currentEntries.size(), cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write the manifest header cache " + cacheFile, e);
+        }
+    }
+
+    /**
+     * Cached manifest elements of a bundle along with the last modified time of the bundle.
+     */
+    private static class CacheEntry {
+        private final long lastModified;
+        private final List<ManifestElement> manifestElements;
+
+        private CacheEntry(long lastModified, List<ManifestElement> manifestElements) {
+            this.lastModified = lastModified;
+            this.manifestElements = Collections.unmodifiableList(manifestElements);
+        }
+    }
+}
@@ -19,8 +19,6 @@ package org.wso2.carbon.kernel.internal.startupresolver;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.Filter;
-import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.util.tracker.ServiceTracker;
 import org.osgi.util.tracker.ServiceTrackerCustomizer;
@@ -31,52 +29,77 @@ import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.AsyncCapabilityProvider;
 import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CAPABILITY_NAME;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.COMPONENT_NAME;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OBJECT_CLASS;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.SKIP_CARBON_STARTUP_RESOLVER;
 import static org.wso2.carbon.utils.StringUtils.getNonEmptyStringAfterTrim;
 
 /**
- * Tracks OSGi Services by creating a ServiceTracker which tracks only services required by startup components.
+ * Tracks OSGi Services by creating a ServiceTracker per service interface required by startup components.
+ * <p>
+ * Each ServiceTracker only listens to the services registered under a single objectClass, which the framework
+ * matches without evaluating a composite LDAP filter on every service event. A ServiceTracker is closed as soon as
+ * all the startup components which require its service interface are notified.
  *
  * @since 5.1.0
  */
 class OSGiServiceCapabilityTracker {
     private static final Logger logger = LoggerFactory.getLogger(OSGiServiceCapabilityTracker.class);
 
-    private StartupComponentManager startupComponentManager;
-    private ServiceTracker<Object, Object> capabilityServiceTracker;
+    private final StartupComponentManager startupComponentManager;
+    private final BundleContext bundleContext;
+    private final Map<String, ServiceTracker<Object, Object>> capabilityServiceTrackers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
 
     OSGiServiceCapabilityTracker(StartupComponentManager startupComponentManager) {
+        this(startupComponentManager, DataHolder.getInstance().getBundleContext());
+    }
+
+    OSGiServiceCapabilityTracker(StartupComponentManager startupComponentManager, BundleContext bundleContext) {
         this.startupComponentManager = startupComponentManager;
+        this.bundleContext = bundleContext;
     }
 
     /**
-     * Starts the ServiceTracker.
+     * Starts a ServiceTracker for each required service interface.
      */
     void startTracker() {
-        Filter orFilter = getORFilter(getRequiredServiceList(startupComponentManager));
-        capabilityServiceTracker = new ServiceTracker<>(DataHolder.getInstance().getBundleContext(), orFilter,
-                new CapabilityServiceTrackerCustomizer());
+        startupComponentManager.setComponentNotificationListener(this::onComponentNotified);
 
-        capabilityServiceTracker.open();
+        // RequiredCapabilityListener and CapabilityProvider services are tracked until the tracker is closed.
+        openServiceTracker(RequiredCapabilityListener.class.getName());
+        openServiceTracker(CapabilityProvider.class.getName());
+        getRequiredServiceList(startupComponentManager).forEach(this::openServiceTracker);
     }
 
     /**
-     * Closes the ServiceTracker.
+     * Closes all the ServiceTrackers.
      */
     void closeTracker() {
-        capabilityServiceTracker.close();
-        capabilityServiceTracker = null;
-        startupComponentManager = null;
+        closed = true;
+        startupComponentManager.setComponentNotificationListener(null);
+        capabilityServiceTrackers.keySet().forEach(this::closeServiceTracker);
+    }
+
+    /**
+     * Returns the set of service interfaces which are currently tracked.
+     *
+     * @return the set of tracked service interface names
+     */
+    Set<String> getTrackedServiceInterfaces() {
+        return capabilityServiceTrackers.keySet();
     }
 
     /**
@@ -87,107 +110,191 @@ class OSGiServiceCapabilityTracker {
      */
     private List<String> getRequiredServiceList(StartupComponentManager startupComponentManager) {
         List<StartupComponent> pendingComponents = startupComponentManager.getComponents(StartupComponent::isPending);
-        List<String> requiredServiceList = pendingComponents
+        return pendingComponents
                 .stream()
                 .flatMap(startupComponent -> startupComponent.getRequiredServices().stream())
                 .distinct()
                 .collect(Collectors.toList());
+    }
+
+    private void openServiceTracker(String serviceInterfaceName) {
+        if (closed || capabilityServiceTrackers.containsKey(serviceInterfaceName)) {
+            return;
+        }
+
+        ServiceTracker<Object, Object> serviceTracker = new ServiceTracker<>(bundleContext, serviceInterfaceName,
+                new CapabilityServiceTrackerCustomizer(serviceInterfaceName));
+        capabilityServiceTrackers.put(serviceInterfaceName, serviceTracker);
+        serviceTracker.open();
+    }
 
-        // We need to track RequiredCapabilityListener services as well as CapabilityProvider service.
-        requiredServiceList.add(RequiredCapabilityListener.class.getName());
-        requiredServiceList.add(CapabilityProvider.class.getName());
-        return requiredServiceList;
+    private void closeServiceTracker(String serviceInterfaceName) {
+        ServiceTracker<Object, Object> serviceTracker = capabilityServiceTrackers.remove(serviceInterfaceName);
+        if (serviceTracker != null) {
+            serviceTracker.close();
+        }
     }
 
     /**
-     * Returns and instance of {@link Filter}.
+     * Closes the ServiceTrackers of the service interfaces which are no longer required by any startup component
+     * which is yet to be notified.
      *
-     * @param capabilityNameList all the required capability services.
-     * @return LDAP like filter
+     * @param startupComponent the notified startup component
      */
-    private Filter getORFilter(List<String> capabilityNameList) {
-        StringBuilder orFilterBuilder = new StringBuilder();
-        orFilterBuilder.append("(|");
+    private void onComponentNotified(StartupComponent startupComponent) {
+        startupComponent.getRequiredServices()
+                .stream()
+                .filter(serviceInterfaceName -> !isAlwaysTracked(serviceInterfaceName))
+                .filter(serviceInterfaceName -> !startupComponentManager.isCapabilityRequired(serviceInterfaceName))
+                .forEach(serviceInterfaceName -> {
+                    logger.debug("Stopped tracking {} services since all the dependent startup components are " +
+                            "notified", serviceInterfaceName);
+                    closeServiceTracker(serviceInterfaceName);
+                });
+    }
 
-        for (String service : capabilityNameList) {
-            orFilterBuilder.append("(").append(OBJECT_CLASS).append("=").append(service).append(")");
-        }
+    private boolean isAlwaysTracked(String serviceInterfaceName) {
+        return RequiredCapabilityListener.class.getName().equals(serviceInterfaceName) ||
+                CapabilityProvider.class.getName().equals(serviceInterfaceName);
+    }
+
+    /**
+     * Handles a registered service, which is tracked under the given service interface.
+     *
+     * @param serviceInterfaceClassName the service interface under which the service is tracked
+     * @param reference                 the reference to the registered service
+     * @param serviceObject             the service object
+     * @return false if the service should not be tracked
+     */
+    boolean addService(String serviceInterfaceClassName, ServiceReference<Object> reference, Object serviceObject) {
+        String serviceImplClassName = serviceObject.getClass().getName();
+        Bundle bundle = reference.getBundle();
+
+        if (RequiredCapabilityListener.class.getName().equals(serviceInterfaceClassName)) {
+            String componentKey = getNonEmptyStringAfterTrim((String) reference.getProperty(COMPONENT_NAME))
+                    .orElseThrow(() -> new StartOrderResolverException(COMPONENT_NAME + " value is missing in " +
+                            "the services registered with the key " + serviceInterfaceClassName + ", " +
+                            "implementation class name is " + serviceImplClassName));
+
+            startupComponentManager.addRequiredCapabilityListener(
+                    (RequiredCapabilityListener) serviceObject, componentKey, reference.getBundle());
+
+        } else if (CapabilityProvider.class.getName().equals(serviceInterfaceClassName)) {
+            String capabilityName = getNonEmptyStringAfterTrim((String) reference.getProperty(CAPABILITY_NAME))
+                    .orElseThrow(() -> new StartOrderResolverException(CAPABILITY_NAME + " value is missing in " +
+                            "the services registered with the key " + serviceInterfaceClassName + ", " +
+                            "implementation class name is " + serviceImplClassName));
 
-        orFilterBuilder.append(")");
+            if (serviceObject instanceof AsyncCapabilityProvider) {
+                // The CapabilityProvider remains pending until the count is available, without blocking the thread
+                // which delivers the service event. The count may be completed on any thread, hence the startup
+                // components are updated while holding the same lock as the capability listener notifiers.
+                getCountAsync((AsyncCapabilityProvider) serviceObject)
+                        .whenComplete((count, throwable) -> {
+                            synchronized (StartupComponentManager.class) {
+                                if (closed) {
+                                    logger.debug("Ignoring the capability count of CapabilityProvider {} since the " +
+                                            "tracker is closed", serviceImplClassName);
+                                    return;
+                                }
 
-        BundleContext bundleContext = DataHolder.getInstance().getBundleContext();
+                                if (throwable != null || count == null) {
+                                    logger.error("Failed to get the capability count of CapabilityProvider {} with " +
+                                                    "the providedCapabilityName: {} from bundle({}:{}). The " +
+                                                    "capability count is assumed to be zero.", serviceImplClassName,
+                                            capabilityName.trim(), bundle.getSymbolicName(), bundle.getVersion(),
+                                            throwable);
+                                    addCapabilityProvider(capabilityName.trim(), bundle, 0);
+                                } else {
+                                    addCapabilityProvider(capabilityName.trim(), bundle, count);
+                                }
+                            }
+                        });
+            } else {
+                addCapabilityProvider(capabilityName.trim(), bundle, ((CapabilityProvider) serviceObject).getCount());
+            }
+        } else {
+            if (Boolean.TRUE.equals(reference.getProperty(SKIP_CARBON_STARTUP_RESOLVER))) {
+                logger.debug("Skipping tracking of service {} which implements {}.", serviceImplClassName,
+                        serviceInterfaceClassName);
+                return false;
+            }
+
+            logger.debug("Updating indirect dependencies in components for interface={} via the implementation={}",
+                    serviceInterfaceClassName, serviceImplClassName);
+            startupComponentManager.updateCapability(new OSGiServiceCapability(
+                    serviceInterfaceClassName,
+                    Capability.CapabilityType.OSGi_SERVICE,
+                    Capability.CapabilityState.AVAILABLE,
+                    bundle,
+                    false));
+        }
+        return true;
+    }
+
+    private CompletionStage<Integer> getCountAsync(AsyncCapabilityProvider provider) {
         try {
-            return bundleContext.createFilter(orFilterBuilder.toString());
-        } catch (InvalidSyntaxException e) {
-            throw new StartOrderResolverException("Error occurred while creating the service filter", e);
+            CompletionStage<Integer> count = provider.getCountAsync();
+            if (count != null) {
+                return count;
+            }
+            CompletableFuture<Integer> nullCount = new CompletableFuture<>();
+            nullCount.completeExceptionally(new StartOrderResolverException("getCountAsync returned null"));
+            return nullCount;
+        } catch (RuntimeException e) {
+            CompletableFuture<Integer> failedCount = new CompletableFuture<>();
+            failedCount.completeExceptionally(e);
+            return failedCount;
         }
     }
 
     /**
-     * Custom implementation of the {@link ServiceTrackerCustomizer} which handles registered
-     * {@code RequiredCapabilityListener} services, {@code CapabilityProvider} services and
-     * all the other required services.
+     * Marks the {@code CapabilityProvider} of the given capability as available and adds the given number of expected
+     * capabilities to the dependent startup components.
+     *
+     * @param capabilityName name of the provided capability
+     * @param bundle         the bundle which registered the {@code CapabilityProvider}
+     * @param count          number of capability instances
+     */
+    private void addCapabilityProvider(String capabilityName, Bundle bundle, int count) {
+        CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(),
+                Capability.CapabilityType.OSGi_SERVICE,
+                Capability.CapabilityState.AVAILABLE,
+                capabilityName,
+                bundle);
+
+        startupComponentManager.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
+        startupComponentManager.addExpectedCapabilities(
+                new OSGiServiceCapability(
+                        capabilityName,
+                        Capability.CapabilityType.OSGi_SERVICE,
+                        Capability.CapabilityState.EXPECTED,
+                        bundle,
+                        true),
+                count);
+    }
+
+    /**
+     * Custom implementation of the {@link ServiceTrackerCustomizer} which handles the services registered under a
+     * single service interface, i.e. {@code RequiredCapabilityListener} services, {@code CapabilityProvider} services
+     * or one of the other required services.
      */
     private class CapabilityServiceTrackerCustomizer implements ServiceTrackerCustomizer<Object, Object> {
+        private final String serviceInterfaceName;
+
+        CapabilityServiceTrackerCustomizer(String serviceInterfaceName) {
+            this.serviceInterfaceName = serviceInterfaceName;
+        }
 
         @Override
         public Object addingService(ServiceReference<Object> reference) {
-            Object serviceObject = DataHolder.getInstance().getBundleContext().getService(reference);
-            String serviceInterfaceClassName = ((String[]) reference.getProperty(OBJECT_CLASS))[0];
-            String serviceImplClassName = serviceObject.getClass().getName();
-            Bundle bundle = reference.getBundle();
-
-            if (RequiredCapabilityListener.class.getName().equals(serviceInterfaceClassName)) {
-                String componentKey = getNonEmptyStringAfterTrim((String) reference.getProperty(COMPONENT_NAME))
-                        .orElseThrow(() -> new StartOrderResolverException(COMPONENT_NAME + " value is missing in " +
-                                "the services registered with the key " + serviceInterfaceClassName + ", " +
-                                "implementation class name is " + serviceImplClassName));
-
-                startupComponentManager.addRequiredCapabilityListener(
-                        (RequiredCapabilityListener) serviceObject, componentKey, reference.getBundle());
-
-            } else if (CapabilityProvider.class.getName().equals(serviceInterfaceClassName)) {
-                String capabilityName = getNonEmptyStringAfterTrim((String) reference.getProperty(CAPABILITY_NAME))
-                        .orElseThrow(() -> new StartOrderResolverException(CAPABILITY_NAME + " value is missing in " +
-                                "the services registered with the key " + serviceInterfaceClassName + ", " +
-                                "implementation class name is " + serviceImplClassName));
-
-                CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(
-                        CapabilityProvider.class.getName(),
-                        Capability.CapabilityType.OSGi_SERVICE,
-                        Capability.CapabilityState.AVAILABLE,
-                        capabilityName.trim(),
-                        bundle);
-
-                startupComponentManager.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
-
-                CapabilityProvider provider = (CapabilityProvider) serviceObject;
-                IntStream.range(0, provider.getCount())
-                        .forEach(count -> startupComponentManager.addExpectedCapability(
-                                new OSGiServiceCapability(
-                                        capabilityName.trim(),
-                                        Capability.CapabilityType.OSGi_SERVICE,
-                                        Capability.CapabilityState.EXPECTED,
-                                        bundle,
-                                        true)));
-            } else {
-                if (Boolean.TRUE.equals(reference.getProperty(SKIP_CARBON_STARTUP_RESOLVER))) {
-                    logger.debug("Skipping tracking of service {} which implements {}.", serviceImplClassName,
-                                 serviceInterfaceClassName);
-                    return null;
-                }
-
-                logger.debug("Updating indirect dependencies in components for interface={} via the implementation={}",
-                        serviceInterfaceClassName, serviceImplClassName);
-                startupComponentManager.updateCapability(new OSGiServiceCapability(
-                        serviceInterfaceClassName,
-                        Capability.CapabilityType.OSGi_SERVICE,
-                        Capability.CapabilityState.AVAILABLE,
-                        bundle,
-                        false));
+            Object serviceObject = bundleContext.getService(reference);
+            if (addService(serviceInterfaceName, reference, serviceObject)) {
+                return serviceObject;
             }
-
-            return serviceObject;
+            bundleContext.ungetService(reference);
+            return null;
         }
 
         @Override
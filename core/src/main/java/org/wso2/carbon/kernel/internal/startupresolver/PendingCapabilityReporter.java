@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.slf4j.Logger;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports the capabilities which keep startup components in the pending state.
+ * <p>
+ * Instead of logging every pending capability on each run of the pendingCapabilityTimer, a single log entry is
+ * written with the changes since the previous report. The complete summary is available on demand through the
+ * {@link PendingCapabilityReporterMBean}.
+ *
+ * @since 5.3.5
+ */
+public class PendingCapabilityReporter implements PendingCapabilityReporterMBean {
+    private volatile StartupComponentManager startupComponentManager;
+    private PendingCapabilitySummary lastReportedSummary;
+
+    PendingCapabilityReporter(StartupComponentManager startupComponentManager) {
+        this.startupComponentManager = startupComponentManager;
+    }
+
+    /**
+     * Logs the pending capabilities which changed since the previous report. Nothing is logged at the WARN level if
+     * there are no changes.
+     *
+     * @param logger the logger to report to
+     * @return 'false' if there are no pending startup components or running {@code RequiredCapabilityListener}s
+     */
+    boolean report(Logger logger) {
+        PendingCapabilitySummary summary = getCurrentSummary();
+        if (summary.isEmpty()) {
+            return false;
+        }
+
+        List<String> changedLines = summary.getChangedLines(lastReportedSummary);
+        if (changedLines.isEmpty()) {
+            logger.debug("{} startup components are still pending, no changes since the last report",
+                    summary.getPendingComponentCount());
+        } else {
+            logger.warn("{} startup components are pending on {} bundles. Changes since the last report " +
+                            "(+ new, - resolved):{}{}{}Refer the Startup Order Resolver documentation or the " +
+                            "PendingCapabilityReporter MBean for more information.",
+                    summary.getPendingComponentCount(), summary.getBlockingBundles().size(),
+                    System.lineSeparator(), String.join(System.lineSeparator(), changedLines),
+                    System.lineSeparator());
+        }
+        lastReportedSummary = summary;
+        return true;
+    }
+
+    /**
+     * Stops reporting pending capabilities, once all the startup components are notified.
+     */
+    void release() {
+        startupComponentManager = null;
+    }
+
+    @Override
+    public int getPendingComponentCount() {
+        return getCurrentSummary().getPendingComponentCount();
+    }
+
+    @Override
+    public String[] getBlockingBundles() {
+        return getCurrentSummary().getBlockingBundles().keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getSummary() {
+        return getCurrentSummary().getLines().toArray(new String[0]);
+    }
+
+    private PendingCapabilitySummary getCurrentSummary() {
+        synchronized (StartupComponentManager.class) {
+            StartupComponentManager componentManager = startupComponentManager;
+            if (componentManager == null) {
+                return PendingCapabilitySummary.of(Collections.emptyList(), Collections.emptyList());
+            }
+
+            List<StartupComponent> runningComponents =
+                    componentManager.getRequiredCapabilityListenerExecutor().getRunningComponents();
+            return PendingCapabilitySummary.of(componentManager.getComponents(startupComponent -> true),
+                    runningComponents);
+        }
+    }
+}
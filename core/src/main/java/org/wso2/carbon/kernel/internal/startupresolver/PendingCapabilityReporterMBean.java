@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+/**
+ * MBean interface for exposing the capabilities which keep startup components in the pending state.
+ *
+ * @since 5.3.5
+ */
+public interface PendingCapabilityReporterMBean {
+
+    /**
+     * Returns the number of startup components in the pending state.
+     *
+     * @return the pending startup component count, zero once all the startup components are notified
+     */
+    int getPendingComponentCount();
+
+    /**
+     * Returns the bundles which are expected to provide the capabilities required by pending startup components.
+     *
+     * @return names of the blocking bundles in the form symbolicName:version
+     */
+    String[] getBlockingBundles();
+
+    /**
+     * Returns the pending capabilities, one line per capability grouped by the blocking bundle.
+     *
+     * @return the pending capability summary
+     */
+    String[] getSummary();
+}
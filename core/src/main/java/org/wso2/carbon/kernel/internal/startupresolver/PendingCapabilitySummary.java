@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+
+/**
+ * A snapshot of the capabilities which keep startup components in the pending state, grouped by the bundle which is
+ * expected to provide them.
+ * <p>
+ * Each blocking bundle has a set of entries, e.g. an OSGi service which is yet to be registered along with the
+ * startup components waiting for it. Entries are deduplicated, hence a capability required by many components is
+ * reported once. Two summaries can be compared to report only the entries which changed between them.
+ *
+ * @since 5.3.5
+ */
+class PendingCapabilitySummary {
+    private final SortedMap<String, SortedSet<String>> blockingBundles;
+    private final int pendingComponentCount;
+
+    private PendingCapabilitySummary(SortedMap<String, SortedSet<String>> blockingBundles,
+                                     int pendingComponentCount) {
+        this.blockingBundles = blockingBundles;
+        this.pendingComponentCount = pendingComponentCount;
+    }
+
+    /**
+     * Creates a summary of the given startup components in a single pass. Lazy components which are awaiting
+     * activation are not pending.
+     *
+     * @param startupComponents all the startup components
+     * @param runningComponents startup components whose {@code RequiredCapabilityListener}s have not returned yet
+     * @return the summary
+     */
+    static PendingCapabilitySummary of(Collection<StartupComponent> startupComponents,
+                                       Collection<StartupComponent> runningComponents) {
+        // Key of the inner map is an entry of the blocking bundle, and the value is the set of waiting components.
+        Map<String, Map<String, SortedSet<String>>> waitingComponents = new TreeMap<>();
+        int pendingComponentCount = 0;
+        for (StartupComponent startupComponent : startupComponents) {
+            if (!startupComponent.isPending() || startupComponent.isAwaitingActivation()) {
+                continue;
+            }
+            pendingComponentCount++;
+
+            for (Capability capability : startupComponent.getPendingCapabilities()) {
+                String entry = capability.getState() == Capability.CapabilityState.EXPECTED ?
+                        "OSGi service " + capability.getName() + " is not registered yet" :
+                        "OSGi service " + capability.getName() + " is registered, but not declared in the " +
+                                CARBON_COMPONENT_HEADER + " manifest header";
+                addWaitingComponent(waitingComponents, capability.getBundle(), entry, startupComponent);
+            }
+
+            for (CapabilityProviderCapability capabilityProvider : startupComponent.getPendingCapabilityProviders()) {
+                String entry = capabilityProvider.getState() == Capability.CapabilityState.EXPECTED ?
+                        "CapabilityProvider of " + capabilityProvider.getProvidedCapabilityName() +
+                                " is not registered or its capability count is not available yet" :
+                        "CapabilityProvider of " + capabilityProvider.getProvidedCapabilityName() +
+                                " is registered, but not declared in the " + CARBON_COMPONENT_HEADER +
+                                " manifest header";
+                addWaitingComponent(waitingComponents, capabilityProvider.getBundle(), entry, startupComponent);
+            }
+
+            if (startupComponent.getListener() == null) {
+                addWaitingComponent(waitingComponents, startupComponent.getBundle(),
+                        "RequiredCapabilityListener is not registered yet", startupComponent);
+            }
+        }
+
+        for (StartupComponent startupComponent : runningComponents) {
+            addWaitingComponent(waitingComponents, startupComponent.getBundle(),
+                    "RequiredCapabilityListener has not returned yet", startupComponent);
+        }
+
+        SortedMap<String, SortedSet<String>> blockingBundles = new TreeMap<>();
+        waitingComponents.forEach((bundleName, entries) -> {
+            SortedSet<String> bundleEntries = new TreeSet<>();
+            entries.forEach((entry, componentNames) -> bundleEntries.add(entry + " " + componentNames));
+            blockingBundles.put(bundleName, bundleEntries);
+        });
+        return new PendingCapabilitySummary(blockingBundles, pendingComponentCount);
+    }
+
+    private static void addWaitingComponent(Map<String, Map<String, SortedSet<String>>> waitingComponents,
+                                            Bundle bundle, String entry, StartupComponent startupComponent) {
+        waitingComponents.computeIfAbsent(getBundleName(bundle), name -> new TreeMap<>())
+                .computeIfAbsent(entry, key -> new TreeSet<>())
+                .add(startupComponent.getName());
+    }
+
+    private static String getBundleName(Bundle bundle) {
+        return bundle.getSymbolicName() + ":" + bundle.getVersion();
+    }
+
+    /**
+     * Returns 'true' if no startup component is pending and no {@code RequiredCapabilityListener} is running.
+     *
+     * @return 'true' if the summary is empty
+     */
+    boolean isEmpty() {
+        return blockingBundles.isEmpty();
+    }
+
+    int getPendingComponentCount() {
+        return pendingComponentCount;
+    }
+
+    /**
+     * Returns the blocking bundles, each with the entries which block startup components.
+     *
+     * @return entries grouped by the blocking bundle name, in the form symbolicName:version
+     */
+    SortedMap<String, SortedSet<String>> getBlockingBundles() {
+        return Collections.unmodifiableSortedMap(blockingBundles);
+    }
+
+    /**
+     * Returns one line per blocking bundle entry.
+     *
+     * @return the lines of the summary
+     */
+    List<String> getLines() {
+        List<String> lines = new ArrayList<>();
+        blockingBundles.forEach((bundleName, entries) ->
+                entries.forEach(entry -> lines.add("bundle(" + bundleName + "): " + entry)));
+        return lines;
+    }
+
+    /**
+     * Returns the lines which changed since the given summary. New entries are prefixed with '+' and resolved
+     * entries with '-'.
+     *
+     * @param previousSummary the previously reported summary, or null if nothing was reported
+     * @return the changed lines, empty if the summaries are equal
+     */
+    List<String> getChangedLines(PendingCapabilitySummary previousSummary) {
+        Set<String> currentLines = new TreeSet<>(getLines());
+        Set<String> previousLines = previousSummary != null ?
+                new TreeSet<>(previousSummary.getLines()) : Collections.emptySet();
+
+        List<String> changedLines = new ArrayList<>();
+        currentLines.stream()
+                .filter(line -> !previousLines.contains(line))
+                .forEach(line -> changedLines.add("+ " + line));
+        previousLines.stream()
+                .filter(line -> !currentLines.contains(line))
+                .forEach(line -> changedLines.add("- " + line));
+        return changedLines;
+    }
+}
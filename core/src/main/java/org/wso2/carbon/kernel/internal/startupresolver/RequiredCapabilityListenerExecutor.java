@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invokes the {@code RequiredCapabilityListener}s of satisfied startup components.
+ * <p>
+ * Listeners are invoked on a bounded pool of threads, hence listeners of independent startup components run
+ * concurrently. A startup component is not started while the listener of a component it depends on is still running.
+ * A listener which throws an exception or does not return within the configured timeout is reported and no longer
+ * blocks dependent components or the completion of the startup.
+ * <p>
+ * If the pool size is zero, listeners are invoked on the calling thread.
+ *
+ * @since 5.3.5
+ */
+class RequiredCapabilityListenerExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(RequiredCapabilityListenerExecutor.class);
+
+    private final long listenerTimeout;
+    private final ExecutorService listenerExecutorService;
+    private final Executor listenerExecutor;
+    private final ScheduledExecutorService timeoutExecutorService;
+
+    // Startup components with running listeners, keyed by the component name
+    private final Map<String, StartupComponent> runningComponents = new ConcurrentHashMap<>();
+
+    private final List<String> failedComponents = new CopyOnWriteArrayList<>();
+    private final List<String> timedOutComponents = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an executor.
+     *
+     * @param poolSize        maximum number of listeners invoked concurrently, or zero to invoke listeners on the
+     *                        calling thread
+     * @param listenerTimeout time in milliseconds after which a running listener is reported, or zero to disable
+     */
+    RequiredCapabilityListenerExecutor(int poolSize, long listenerTimeout) {
+        this.listenerTimeout = listenerTimeout;
+
+        if (poolSize > 0) {
+            AtomicInteger threadCount = new AtomicInteger();
+            listenerExecutorService = Executors.newFixedThreadPool(poolSize, runnable ->
+                    createDaemonThread(runnable, "CarbonStartupListener-" + threadCount.incrementAndGet()));
+            listenerExecutor = listenerExecutorService;
+        } else {
+            listenerExecutorService = null;
+            listenerExecutor = Runnable::run;
+        }
+
+        if (listenerTimeout > 0) {
+            timeoutExecutorService = Executors.newSingleThreadScheduledExecutor(runnable ->
+                    createDaemonThread(runnable, "CarbonStartupListenerWatchdog"));
+        } else {
+            timeoutExecutorService = null;
+        }
+    }
+
+    /**
+     * Returns 'true' if the listener of a startup component, which the given component depends on, is running.
+     *
+     * @param startupComponent the startup component to be checked
+     * @return 'true' if the given startup component has to wait
+     */
+    boolean isUpstreamListenerRunning(StartupComponent startupComponent) {
+        return runningComponents.values().stream()
+                .anyMatch(runningComponent -> runningComponent != startupComponent
+                        && startupComponent.isDependentOn(runningComponent));
+    }
+
+    /**
+     * Marks the given startup component as satisfied and invokes its {@code RequiredCapabilityListener}.
+     *
+     * @param startupComponent the satisfied startup component
+     * @param returnCallback   invoked once the listener returns, fails or times out
+     */
+    void execute(StartupComponent startupComponent, Runnable returnCallback) {
+        String componentName = startupComponent.getName();
+
+        // The component is marked as running before it is marked as satisfied, hence the startup is never considered
+        // complete while its listener is yet to be invoked.
+        runningComponents.put(componentName, startupComponent);
+        startupComponent.setSatisfied(true);
+        startupComponent.setNotificationTime(System.currentTimeMillis());
+
+        ScheduledFuture<?> timeoutFuture = timeoutExecutorService == null ? null :
+                timeoutExecutorService.schedule(() -> onListenerTimeout(startupComponent, returnCallback),
+                        listenerTimeout, TimeUnit.MILLISECONDS);
+
+        try {
+            listenerExecutor.execute(() -> {
+                try {
+                    invokeListener(startupComponent);
+                } finally {
+                    startupComponent.setListenerReturnTime(System.currentTimeMillis());
+                    if (timeoutFuture != null) {
+                        timeoutFuture.cancel(false);
+                    }
+                    onListenerReturn(startupComponent, returnCallback);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.error("Failed to invoke the RequiredCapabilityListener of component " + componentName +
+                    ", since the listener executor is already stopped.", e);
+            failedComponents.add(componentName);
+            onListenerReturn(startupComponent, returnCallback);
+        }
+    }
+
+    /**
+     * Returns 'true' if no listener is running.
+     *
+     * @return 'true' if no listener is running
+     */
+    boolean isIdle() {
+        return runningComponents.isEmpty();
+    }
+
+    /**
+     * Returns the startup components with running listeners.
+     *
+     * @return a list of startup components
+     */
+    List<StartupComponent> getRunningComponents() {
+        return new ArrayList<>(runningComponents.values());
+    }
+
+    /**
+     * Returns the names of the startup components with listeners which threw an exception.
+     *
+     * @return a list of component names
+     */
+    List<String> getFailedComponents() {
+        return Collections.unmodifiableList(failedComponents);
+    }
+
+    /**
+     * Returns the names of the startup components with listeners which did not return within the timeout.
+     *
+     * @return a list of component names
+     */
+    List<String> getTimedOutComponents() {
+        return Collections.unmodifiableList(timedOutComponents);
+    }
+
+    /**
+     * Stops accepting new listeners. Running listeners are not interrupted.
+     */
+    void shutdown() {
+        if (listenerExecutorService != null) {
+            listenerExecutorService.shutdown();
+        }
+        if (timeoutExecutorService != null) {
+            timeoutExecutorService.shutdownNow();
+        }
+    }
+
+    private void invokeListener(StartupComponent startupComponent) {
+        try {
+            startupComponent.getListener().onAllRequiredCapabilitiesAvailable();
+        } catch (RuntimeException e) {
+            failedComponents.add(startupComponent.getName());
+            logger.error("Runtime Exception occurred while calling onAllRequiredCapabilitiesAvailable of "
+                    + "component " + startupComponent.getName(), e);
+        }
+    }
+
+    private void onListenerReturn(StartupComponent startupComponent, Runnable returnCallback) {
+        if (runningComponents.remove(startupComponent.getName(), startupComponent)) {
+            returnCallback.run();
+        } else {
+            logger.warn("RequiredCapabilityListener of component {} returned after the timeout of {} ms.",
+                    startupComponent.getName(), listenerTimeout);
+        }
+    }
+
+    private void onListenerTimeout(StartupComponent startupComponent, Runnable returnCallback) {
+        if (!runningComponents.remove(startupComponent.getName(), startupComponent)) {
+            return;
+        }
+
+        timedOutComponents.add(startupComponent.getName());
+        logger.error("RequiredCapabilityListener of component {} from bundle({}:{}) did not return within {} ms. " +
+                        "Dependent startup components no longer wait for it.",
+                startupComponent.getName(),
+                startupComponent.getBundle().getSymbolicName(),
+                startupComponent.getBundle().getVersion(),
+                listenerTimeout);
+        returnCallback.run();
+    }
+
+    private static Thread createDaemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
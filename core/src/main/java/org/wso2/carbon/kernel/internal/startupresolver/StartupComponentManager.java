@@ -25,9 +25,12 @@ import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderC
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -42,7 +45,45 @@ class StartupComponentManager {
     private static final Logger logger = LoggerFactory.getLogger(StartupComponentManager.class);
 
     // Key of this map is the component name
-    private Map<String, StartupComponent> startupComponentMap = new HashMap<>();
+    private Map<String, StartupComponent> startupComponentMap = new ConcurrentHashMap<>();
+
+    // Key of this map is the capability name and the value is the list of components which require it
+    private Map<String, CopyOnWriteArrayList<StartupComponent>> capabilityComponentMap = new ConcurrentHashMap<>();
+
+    // Key of this map is the provided service name and the value is the list of lazy components which provide it
+    private Map<String, CopyOnWriteArrayList<StartupComponent>> lazyServiceComponentMap = new ConcurrentHashMap<>();
+
+    // Invoked whenever a change could make a StartupComponent satisfiable. Only set in the event resolver mode.
+    private volatile Consumer<StartupComponent> componentChangeListener;
+
+    // Invoked whenever a RequiredCapabilityListener returns. Only set in the event resolver mode.
+    private volatile Runnable listenerReturnListener;
+
+    // Invoked whenever a startup component is marked as satisfied and its RequiredCapabilityListener is dispatched.
+    private volatile Consumer<StartupComponent> componentNotificationListener;
+
+    // Invokes RequiredCapabilityListeners, on the calling thread unless an executor is set.
+    private volatile RequiredCapabilityListenerExecutor listenerExecutor = new RequiredCapabilityListenerExecutor(0, 0);
+
+    // Holds the OSGi services reported by startup components
+    private final StartupServiceCache startupServiceCache;
+
+    // A partial manager holds only a subset of the declared startup components, e.g. the components re-resolved after
+    // a bundle update. References to the other components are expected, hence they are not reported as warnings.
+    private final boolean partial;
+
+    StartupComponentManager() {
+        this(StartupServiceCache.getInstance());
+    }
+
+    StartupComponentManager(StartupServiceCache startupServiceCache) {
+        this(startupServiceCache, false);
+    }
+
+    StartupComponentManager(StartupServiceCache startupServiceCache, boolean partial) {
+        this.startupServiceCache = startupServiceCache;
+        this.partial = partial;
+    }
 
     /**
      * Adds the given {@code StartupComponent}.
@@ -54,8 +95,8 @@ class StartupComponentManager {
     void addStartupComponent(StartupComponent startupComponent) {
         String componentName = startupComponent.getName();
 
-        if (startupComponentMap.get(componentName) != null) {
-            StartupComponent existingComponent = startupComponentMap.get(componentName);
+        StartupComponent existingComponent = startupComponentMap.putIfAbsent(componentName, startupComponent);
+        if (existingComponent != null) {
             logger.warn("Duplicate Startup-Component detected. Existing Startup-Component {} " +
                             "from bundle({}:{}). New Startup-Component {} from bundle({}:{}).",
                     existingComponent.getName(),
@@ -74,7 +115,19 @@ class StartupComponentManager {
                     startupComponent.getBundle().getVersion());
         }
 
-        startupComponentMap.put(componentName, startupComponent);
+        startupComponent.getRequiredServices()
+                .forEach(capabilityName -> indexRequiredCapability(capabilityName, startupComponent));
+
+        if (startupComponent.isLazy()) {
+            startupComponent.getProvidedServices()
+                    .forEach(serviceName -> lazyServiceComponentMap
+                            .computeIfAbsent(serviceName, name -> new CopyOnWriteArrayList<>())
+                            .addIfAbsent(startupComponent));
+        }
+
+        // Services reported before this component was added are not delivered to it through updateAvailableService.
+        startupServiceCache.getAvailableService(componentName)
+                .forEach(startupComponent::updateAvailableServiceCount);
     }
 
     /**
@@ -86,8 +139,11 @@ class StartupComponentManager {
     void addRequiredOSGiServiceToComponent(String componentName, String capabilityName) {
         StartupComponent startupComponent = startupComponentMap.get(componentName);
         if (startupComponent == null) {
-            logger.warn("Adding a required OSGi service capability to component, but specified startup component is " +
-                    "not available, component-name: {} and capability-name: {}.", componentName, capabilityName);
+            if (!partial) {
+                logger.warn("Adding a required OSGi service capability to component, but specified startup component " +
+                        "is not available, component-name: {} and capability-name: {}.", componentName,
+                        capabilityName);
+            }
             return;
         }
 
@@ -95,6 +151,7 @@ class StartupComponentManager {
                 componentName, capabilityName);
 
         startupComponent.addRequiredService(capabilityName);
+        indexRequiredCapability(capabilityName, startupComponent);
     }
 
     /**
@@ -109,8 +166,11 @@ class StartupComponentManager {
     void addRequiredCapabilityListener(RequiredCapabilityListener listener, String componentName, Bundle bundle) {
         StartupComponent startupComponent = startupComponentMap.get(componentName);
         if (startupComponent == null) {
-            logger.warn("Adding a RequiredCapabilityListener from bundle({}:{}), but specified startup component is " +
-                    "not available, component-name: {}", bundle.getSymbolicName(), bundle.getVersion(), componentName);
+            if (!partial) {
+                logger.warn("Adding a RequiredCapabilityListener from bundle({}:{}), but specified startup component " +
+                        "is not available, component-name: {}", bundle.getSymbolicName(), bundle.getVersion(),
+                        componentName);
+            }
             return;
         }
 
@@ -128,6 +188,7 @@ class StartupComponentManager {
                     componentName, bundle.getSymbolicName(), bundle.getVersion());
         }
         startupComponent.setListener(listener);
+        fireComponentChanged(startupComponent);
     }
 
     /**
@@ -145,11 +206,11 @@ class StartupComponentManager {
                     capabilityProvider.getBundle().getVersion());
         }
 
-        startupComponentMap.values().stream()
-                .filter(startupComponent ->
-                        startupComponent.isServiceRequired(capabilityProvider.getProvidedCapabilityName()))
-                .forEach(startupComponent ->
-                        startupComponent.addExpectedOrAvailableCapabilityProvider(capabilityProvider));
+        getDependentComponents(capabilityProvider.getProvidedCapabilityName())
+                .forEach(startupComponent -> {
+                    startupComponent.addExpectedOrAvailableCapabilityProvider(capabilityProvider);
+                    fireComponentChanged(startupComponent);
+                });
     }
 
     /**
@@ -161,9 +222,24 @@ class StartupComponentManager {
      * @param capability {@code Capability} instance
      */
     void addExpectedCapability(Capability capability) {
-        startupComponentMap.values()
-                .stream()
-                .filter(startupComponent -> startupComponent.isServiceRequired(capability.getName()))
+        addExpectedCapabilities(capability, 1);
+    }
+
+    /**
+     * Adds the given number of instances of an expected required capability in a single update of each dependent
+     * startup component.
+     * <p>
+     * This method is invoked when a {@code CapabilityProvider} OSGi service is registered.
+     *
+     * @param capability {@code Capability} instance, which is used as a template
+     * @param count      number of capability instances
+     */
+    void addExpectedCapabilities(Capability capability, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        getDependentComponents(capability.getName())
                 .forEach(startupComponent -> {
 
                     if (startupComponent.isSatisfied()) {
@@ -180,15 +256,17 @@ class StartupComponentManager {
                     }
 
                     if (logger.isDebugEnabled()) {
-                        logger.debug("Adding {} required capability {} from bundle({}:{}) to " +
+                        logger.debug("Adding {} {} required capability {} from bundle({}:{}) to " +
                                         "startup listener component {}.",
+                                count,
                                 capability.getState(),
                                 capability.getName(),
                                 capability.getBundle().getSymbolicName(),
                                 capability.getBundle().getVersion(),
                                 startupComponent.getName());
                     }
-                    startupComponent.addExpectedCapability(new Capability(capability));
+                    startupComponent.addExpectedCapabilities(capability, count);
+                    fireComponentChanged(startupComponent);
                 });
 
     }
@@ -199,9 +277,7 @@ class StartupComponentManager {
      * @param capability the capability to be updated.
      */
     void updateCapability(Capability capability) {
-        startupComponentMap.values()
-                .stream()
-                .filter(startupComponent -> startupComponent.isServiceRequired(capability.getName()))
+        getDependentComponents(capability.getName())
                 .forEach(startupComponent -> {
                     if (startupComponent.isSatisfied()) {
                         logger.warn("You are trying to add an {} capability {} from bundle({}:{}) to an already " +
@@ -218,9 +294,189 @@ class StartupComponentManager {
                                     startupComponent.getBundle().getVersion());
                     }
                     startupComponent.updateCapability(capability);
+                    fireComponentChanged(startupComponent);
                 });
     }
 
+    /**
+     * Invoked when a startup component reports an OSGi service through the {@code StartupServiceCache}.
+     *
+     * @param componentName name of the reporting component
+     * @param interfaceName name of the OSGi service interface
+     */
+    void updateAvailableService(String componentName, String interfaceName) {
+        StartupComponent startupComponent = startupComponentMap.get(componentName);
+        if (startupComponent == null) {
+            return;
+        }
+
+        logger.debug("Service {} is available to startup component {}", interfaceName, componentName);
+        startupComponent.updateAvailableServiceCount(interfaceName,
+                startupServiceCache.getAvailableServiceCount(componentName, interfaceName));
+        fireComponentChanged(startupComponent);
+    }
+
+    /**
+     * Sets the listener which gets invoked whenever a change could make a startup component satisfiable.
+     *
+     * @param componentChangeListener the listener, or null to remove the existing listener
+     */
+    void setComponentChangeListener(Consumer<StartupComponent> componentChangeListener) {
+        this.componentChangeListener = componentChangeListener;
+    }
+
+    /**
+     * Sets the listener which gets invoked whenever a {@code RequiredCapabilityListener} returns.
+     *
+     * @param listenerReturnListener the listener, or null to remove the existing listener
+     */
+    void setListenerReturnListener(Runnable listenerReturnListener) {
+        this.listenerReturnListener = listenerReturnListener;
+    }
+
+    /**
+     * Sets the listener which gets invoked whenever a startup component is notified.
+     *
+     * @param componentNotificationListener the listener, or null to remove the existing listener
+     */
+    void setComponentNotificationListener(Consumer<StartupComponent> componentNotificationListener) {
+        this.componentNotificationListener = componentNotificationListener;
+    }
+
+    /**
+     * Sets the executor which invokes the {@code RequiredCapabilityListener}s of satisfied startup components.
+     *
+     * @param listenerExecutor the executor
+     */
+    void setRequiredCapabilityListenerExecutor(RequiredCapabilityListenerExecutor listenerExecutor) {
+        this.listenerExecutor = listenerExecutor;
+    }
+
+    RequiredCapabilityListenerExecutor getRequiredCapabilityListenerExecutor() {
+        return listenerExecutor;
+    }
+
+    /**
+     * Returns 'true' if all the startup components are notified and all the notified
+     * {@code RequiredCapabilityListener}s have returned.
+     *
+     * @return 'true' if the startup is complete
+     */
+    boolean isStartupComplete() {
+        return startupComponentMap.values().stream().noneMatch(StartupComponent::isPending)
+                && listenerExecutor.isIdle();
+    }
+
+    /**
+     * Returns 'true' if all the startup components which are not lazy are notified and their
+     * {@code RequiredCapabilityListener}s have returned. Lazy components do not gate the server readiness.
+     *
+     * @return 'true' if the server is ready
+     */
+    boolean isReady() {
+        return startupComponentMap.values().stream()
+                .noneMatch(startupComponent -> !startupComponent.isLazy() && startupComponent.isPending())
+                && listenerExecutor.getRunningComponents().stream().allMatch(StartupComponent::isLazy);
+    }
+
+    /**
+     * Returns the names of the startup tiers of all the startup components, sorted by name.
+     *
+     * @return names of the startup tiers
+     */
+    List<String> getTiers() {
+        return startupComponentMap.values().stream()
+                .map(StartupComponent::getTier)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns 'true' if all the startup components of the given tier, which are not lazy, are notified and their
+     * {@code RequiredCapabilityListener}s have returned.
+     *
+     * @param tier name of the startup tier
+     * @return 'true' if the startup tier is ready
+     */
+    boolean isTierReady(String tier) {
+        Predicate<StartupComponent> gatesTier = startupComponent -> !startupComponent.isLazy() &&
+                tier.equals(startupComponent.getTier());
+        return startupComponentMap.values().stream().filter(gatesTier).noneMatch(StartupComponent::isPending)
+                && listenerExecutor.getRunningComponents().stream().noneMatch(gatesTier);
+    }
+
+    /**
+     * Returns 'true' if a lazy startup component which is awaiting activation provides the given service.
+     *
+     * @param serviceName name of the OSGi service interface
+     * @return 'true' if a lookup of the service should activate a lazy component
+     */
+    boolean isLazyService(String serviceName) {
+        List<StartupComponent> lazyComponents = lazyServiceComponentMap.get(serviceName);
+        return lazyComponents != null && lazyComponents.stream().anyMatch(StartupComponent::isAwaitingActivation);
+    }
+
+    /**
+     * Activates the lazy startup components which provide the given service.
+     *
+     * @param serviceName name of the OSGi service interface
+     */
+    void activateLazyComponents(String serviceName) {
+        List<StartupComponent> lazyComponents = lazyServiceComponentMap.get(serviceName);
+        if (lazyComponents != null) {
+            lazyComponents.forEach(startupComponent -> activateLazyComponent(startupComponent,
+                    "a lookup of " + serviceName));
+        }
+    }
+
+    /**
+     * Activates all the lazy startup components which are awaiting activation.
+     *
+     * @return the number of activated components
+     */
+    int activateLazyComponents() {
+        List<StartupComponent> lazyComponents = getComponents(StartupComponent::isAwaitingActivation);
+        lazyComponents.forEach(startupComponent -> activateLazyComponent(startupComponent, "the background phase"));
+        return lazyComponents.size();
+    }
+
+    private void activateLazyComponent(StartupComponent startupComponent, String trigger) {
+        if (startupComponent.activate()) {
+            logger.debug("Activating lazy startup component {} on {}", startupComponent.getName(), trigger);
+            fireComponentChanged(startupComponent);
+        }
+    }
+
+    /**
+     * Returns 'true' if the given capability is still required by at least one startup component which is yet to
+     * be notified.
+     *
+     * @param capabilityName name of the capability
+     * @return 'true' if the capability is still required
+     */
+    boolean isCapabilityRequired(String capabilityName) {
+        return getDependentComponents(capabilityName).stream()
+                .anyMatch(startupComponent -> !startupComponent.isSatisfied());
+    }
+
+    private void indexRequiredCapability(String capabilityName, StartupComponent startupComponent) {
+        capabilityComponentMap.computeIfAbsent(capabilityName, name -> new CopyOnWriteArrayList<>())
+                .addIfAbsent(startupComponent);
+    }
+
+    private List<StartupComponent> getDependentComponents(String capabilityName) {
+        List<StartupComponent> startupComponents = capabilityComponentMap.get(capabilityName);
+        return startupComponents != null ? startupComponents : Collections.emptyList();
+    }
+
+    private void fireComponentChanged(StartupComponent startupComponent) {
+        Consumer<StartupComponent> listener = componentChangeListener;
+        if (listener != null) {
+            listener.accept(startupComponent);
+        }
+    }
+
     /**
      * Returns a list of {@code StartupComponent}s based on the given {@code Predicate}.
      * <p>
@@ -247,27 +503,56 @@ class StartupComponentManager {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Notifies the {@code RequiredCapabilityListener} of every satisfiable startup component.
+     */
     void notifySatisfiableComponents() {
         getComponents(StartupComponent::isSatisfiable)
-                .forEach(startupComponent -> {
+                .forEach(this::notifyComponent);
+    }
 
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
-                                        "since all the required capabilities are available",
-                                startupComponent.getName(),
-                                startupComponent.getBundle().getSymbolicName(),
-                                startupComponent.getBundle().getVersion());
-                    }
+    /**
+     * Notifies the {@code RequiredCapabilityListener} of the given startup component, if it is satisfiable.
+     *
+     * @param startupComponent the startup component to be checked
+     * @return true if the component was notified
+     */
+    boolean notifySatisfiableComponent(StartupComponent startupComponent) {
+        return startupComponent.isSatisfiable() && notifyComponent(startupComponent);
+    }
 
-                    startupComponent.setSatisfied(true);
-                    RequiredCapabilityListener capabilityListener = startupComponent.getListener();
+    private boolean notifyComponent(StartupComponent startupComponent) {
+        RequiredCapabilityListenerExecutor executor = listenerExecutor;
+        if (executor.isUpstreamListenerRunning(startupComponent)) {
+            logger.debug("Deferring the RequiredCapabilityListener of component {} until the listeners of the " +
+                    "components it depends on return", startupComponent.getName());
+            return false;
+        }
 
-                    try {
-                        capabilityListener.onAllRequiredCapabilitiesAvailable();
-                    } catch (RuntimeException e) {
-                        logger.error("Runtime Exception occurred while calling onAllRequiredCapabilitiesAvailable of "
-                                + "component " + startupComponent.getName(), e);
-                    }
-                });
+        if (logger.isDebugEnabled()) {
+            logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
+                            "since all the required capabilities are available",
+                    startupComponent.getName(),
+                    startupComponent.getBundle().getSymbolicName(),
+                    startupComponent.getBundle().getVersion());
+        }
+
+        executor.execute(startupComponent, this::fireListenerReturned);
+        fireComponentNotified(startupComponent);
+        return true;
+    }
+
+    private void fireComponentNotified(StartupComponent startupComponent) {
+        Consumer<StartupComponent> listener = componentNotificationListener;
+        if (listener != null) {
+            listener.accept(startupComponent);
+        }
+    }
+
+    private void fireListenerReturned() {
+        Runnable listener = listenerReturnListener;
+        if (listener != null) {
+            listener.run();
+        }
     }
 }
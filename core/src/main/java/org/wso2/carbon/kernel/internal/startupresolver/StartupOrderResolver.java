@@ -17,6 +17,9 @@ package org.wso2.carbon.kernel.internal.startupresolver;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.framework.hooks.service.FindHook;
+import org.osgi.framework.hooks.service.ListenerHook;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -26,26 +29,44 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.config.model.CapabilityListenerExecutor;
+import org.wso2.carbon.kernel.config.model.CapabilityListenerTimer;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.config.model.IncrementalResolution;
+import org.wso2.carbon.kernel.config.model.StartupResolverConfig;
 import org.wso2.carbon.kernel.internal.CarbonStartupHandler;
+import org.wso2.carbon.kernel.internal.DataHolder;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.jmx.MBeanRegistrator;
 import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.capabilityProviderElementPredicate;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.logPendingCapabilityProviderServiceDetails;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.logPendingComponentDetails;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.logPendingRequiredCapabilityListenerServiceDetails;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.requiredCapabilityListenerElementPredicate;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OSGI_SERVICE_COMPONENT;
-import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_LISTENER_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.logFailedRequiredCapabilityListenerDetails;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CONFIGURATION_DIRECTORY;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.DEFAULT_LAZY_ACTIVATION_DELAY;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.EVENT_RESOLVER_MODE;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.LOGS_DIRECTORY;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.MANIFEST_HEADER_CACHE_FILE;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.RUNTIME_PATH;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_PROFILE_REPORT_FILE;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.TIMER_RESOLVER_MODE;
 
 
 /**
@@ -74,12 +95,20 @@ public class StartupOrderResolver {
 
     private OSGiServiceCapabilityTracker osgiServiceTracker;
 
-    private Timer capabilityListenerTimer = new Timer();
+    private CapabilityListenerNotifier capabilityListenerNotifier;
 
     private Timer pendingCapabilityTimer = new Timer();
 
+    private PendingCapabilityReporter pendingCapabilityReporter;
+
     private CarbonRuntime carbonRuntime;
 
+    private ServiceRegistration<?> lazyComponentActivatorRegistration;
+
+    private ScheduledExecutorService lazyActivationExecutor;
+
+    private IncrementalStartupResolver incrementalStartupResolver;
+
     /**
      * Process Provide-Capability headers and populate a counter which keep all the expected service counts. Register
      * timers to track the service availability as well as pending service registrations.
@@ -94,14 +123,29 @@ public class StartupOrderResolver {
         try {
             logger.debug("Initialize - Startup Order Resolver.");
 
-            // 1) Process OSGi manifest headers to calculate the expected list required capabilities.
-            processManifestHeaders(Arrays.asList(bundleContext.getBundles()));
+            // Keep the available service counts of startup components in sync with the StartupServiceCache, which
+            // is released if this component was activated before.
+            StartupServiceCache.getInstance().open();
+            StartupServiceCache.getInstance().setUpdateListener(startupComponentManager::updateAvailableService);
 
-            // 2) Register capability trackers to get notified when required capabilities are available.
+            // 1) Process OSGi manifest headers to calculate the expected list required capabilities, unless a
+            // startup resolution plan matching the installed bundles is available.
+            List<Bundle> bundleList = Arrays.asList(bundleContext.getBundles());
+            if (!applyStartupResolutionPlan(bundleList)) {
+                processManifestHeaders(bundleList, createManifestHeaderCache(bundleContext, bundleList));
+            }
+
+            // 2) Register capability trackers to get notified when required capabilities are available, and service
+            // hooks to activate lazy startup components on the first lookup of their services.
             startCapabilityTrackers();
+            registerLazyComponentActivator(bundleContext);
+
+            // The pending capabilities of startup components are available on demand through an MBean.
+            registerPendingCapabilityReporter();
 
-            // 3) Schedule a time task to check for startup components with zero pending required capabilities.
-            scheduleCapabilityListenerTimer();
+            // 3) Notify startup components with zero pending required capabilities, either from a timer task or
+            // as soon as the last required capability is available.
+            startCapabilityListenerNotifier();
 
             // 4) Start a timer task to track pending capabilities, pending CapabilityProvider services,
             // pending RequiredCapabilityLister services.
@@ -113,6 +157,30 @@ public class StartupOrderResolver {
 
     @Deactivate
     public void stop(BundleContext bundleContext) throws Exception {
+        stopLazyComponentActivation();
+        if (incrementalStartupResolver != null) {
+            incrementalStartupResolver.stop();
+            incrementalStartupResolver = null;
+        }
+        synchronized (StartupComponentManager.class) {
+            if (capabilityListenerNotifier != null) {
+                capabilityListenerNotifier.stop();
+                capabilityListenerNotifier = null;
+            }
+            if (startupComponentManager != null) {
+                startupComponentManager.getRequiredCapabilityListenerExecutor().shutdown();
+            }
+            if (pendingCapabilityReporter != null) {
+                pendingCapabilityReporter.release();
+            }
+            if (pendingCapabilityTimer != null) {
+                pendingCapabilityTimer.cancel();
+                pendingCapabilityTimer = null;
+            }
+            stopCapabilityTrackers();
+        }
+        StartupServiceCache.getInstance().setUpdateListener(null);
+
         logger.debug("Deactivating startup resolver component available in bundle {}",
                 bundleContext.getBundle().getSymbolicName());
     }
@@ -141,69 +209,344 @@ public class StartupOrderResolver {
      * <p>
      * Process Provide-Capability headers to get a list of CapabilityProviders and RequiredCapabilityListeners.
      *
-     * @param bundleList list of bundles to be scanned for Provide-Capability headers.
+     * @param bundleList          list of bundles to be scanned for Provide-Capability headers.
+     * @param manifestHeaderCache cache of the parsed manifest headers, or null if the cache is disabled.
      */
-    private void processManifestHeaders(List<Bundle> bundleList) {
+    private void processManifestHeaders(List<Bundle> bundleList, ManifestHeaderCache manifestHeaderCache) {
+        // Bundles are scanned in parallel, unless a SecurityManager is installed. Common pool threads do not have the
+        // permissions required to read bundle headers in that case.
+        Stream<Bundle> bundleStream = System.getSecurityManager() == null ?
+                bundleList.parallelStream() : bundleList.stream();
+
         Map<String, List<ManifestElement>> groupedManifestElements =
-                bundleList.stream()
-                        // Filter out all the bundles with the Carbon-Component manifest header.
-                        .filter(StartupOrderResolverUtils::isCarbonComponentHeaderPresent)
-                        // Process filtered manifest headers and get a list of ManifestElements.
-                        .map(StartupOrderResolverUtils::getManifestElements)
+                bundleStream
+                        // Process the Carbon-Component manifest header of each bundle and get a list of
+                        // ManifestElements. The list is empty if the bundle does not have the header.
+                        .map(bundle -> getManifestElements(bundle, manifestHeaderCache))
                         // Merge all the manifest elements lists into a single list.
                         .flatMap(Collection::stream)
                         // Partition all the ManifestElements with the manifest header name.
                         .collect(Collectors.groupingBy(ManifestElement::getValue));
 
-        if (groupedManifestElements.get(STARTUP_LISTENER_COMPONENT) != null) {
-            processServiceComponents(groupedManifestElements);
+        if (manifestHeaderCache != null) {
+            manifestHeaderCache.save();
         }
 
-        if (groupedManifestElements.get(OSGI_SERVICE_COMPONENT) != null) {
-            processCapabilityProviders(groupedManifestElements.get(OSGI_SERVICE_COMPONENT));
-            processOSGiServices(groupedManifestElements.get(OSGI_SERVICE_COMPONENT));
-        }
+        StartupOrderResolverUtils.addManifestElements(startupComponentManager, groupedManifestElements);
 
         // You can add logic to handle other types of provide capabilities here.
         // e.g. custom manifest headers, config files etc.
     }
 
     /**
-     * Schedule a timer task to monitor satisfiable CapabilityListeners.
+     * Populates the startup components from the startup resolution plan in the configuration directory of the
+     * runtime. The plan is generated at packaging time and is applied only if it matches the installed bundles.
+     *
+     * @param bundleList list of installed bundles
+     * @return true if the plan is applied, false if the Carbon-Component manifest headers need to be processed
+     */
+    private boolean applyStartupResolutionPlan(List<Bundle> bundleList) {
+        if (!carbonRuntime.getConfiguration().getStartupResolverConfig().isResolutionPlanEnabled()) {
+            return false;
+        }
+
+        String runtimePath = System.getProperty(RUNTIME_PATH);
+        if (runtimePath == null) {
+            logger.debug("{} system property is not set. Skipping the startup resolution plan.", RUNTIME_PATH);
+            return false;
+        }
+
+        Path planFile = Paths.get(runtimePath, CONFIGURATION_DIRECTORY,
+                StartupResolutionPlan.STARTUP_RESOLUTION_PLAN_FILE);
+        if (!Files.exists(planFile)) {
+            logger.debug("Startup resolution plan {} does not exist.", planFile);
+            return false;
+        }
+
+        try {
+            StartupResolutionPlan startupResolutionPlan = StartupResolutionPlan.readFrom(planFile);
+            if (!startupResolutionPlan.apply(startupComponentManager, bundleList)) {
+                logger.info("Startup resolution plan {} does not match the installed bundles. Processing the {} " +
+                        "manifest headers instead. Regenerate the plan to speed up the startup.", planFile,
+                        CARBON_COMPONENT_HEADER);
+                return false;
+            }
+
+            logger.debug("Applied the startup resolution plan {} with {} startup components in {} layers.",
+                    planFile, startupResolutionPlan.getComponentCount(), startupResolutionPlan.getLayers().size());
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to read the startup resolution plan " + planFile + ". Processing the " +
+                    CARBON_COMPONENT_HEADER + " manifest headers instead.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Creates the cache of parsed Carbon-Component manifest headers in the data area of this bundle and loads the
+     * entries of the given bundles.
+     *
+     * @param bundleContext OSGi bundle context of the Carbon.core bundle
+     * @param bundleList    list of bundles to be scanned
+     * @return the manifest header cache, or null if the cache is disabled or not supported
      */
-    private void scheduleCapabilityListenerTimer() {
+    private ManifestHeaderCache createManifestHeaderCache(BundleContext bundleContext, List<Bundle> bundleList) {
+        if (!carbonRuntime.getConfiguration().getStartupResolverConfig().isManifestHeaderCacheEnabled()) {
+            return null;
+        }
+
+        File cacheFile = bundleContext.getDataFile(MANIFEST_HEADER_CACHE_FILE);
+        if (cacheFile == null) {
+            logger.debug("File system support is not available. Manifest header cache is disabled.");
+            return null;
+        }
+
+        ManifestHeaderCache manifestHeaderCache = new ManifestHeaderCache(cacheFile);
+        manifestHeaderCache.load(bundleList);
+        return manifestHeaderCache;
+    }
+
+    private List<ManifestElement> getManifestElements(Bundle bundle, ManifestHeaderCache manifestHeaderCache) {
+        if (manifestHeaderCache == null) {
+            return StartupOrderResolverUtils.getManifestElements(bundle);
+        }
+
+        List<ManifestElement> manifestElements = manifestHeaderCache.get(bundle);
+        if (manifestElements == null) {
+            manifestElements = StartupOrderResolverUtils.getManifestElements(bundle);
+            manifestHeaderCache.put(bundle, manifestElements);
+        }
+        return manifestElements;
+    }
+
+    /**
+     * Starts notifying the RequiredCapabilityListeners of satisfiable startup components, either periodically or as
+     * soon as their capabilities change, depending on the configured resolver mode.
+     */
+    private void startCapabilityListenerNotifier() {
         CarbonConfiguration carbonConfiguration = carbonRuntime.getConfiguration();
-        long capabilityListenerTimerDelay = carbonConfiguration.getStartupResolverConfig().
-                getCapabilityListenerTimer().getDelay();
-        long capabilityListenerTimerPeriod = carbonConfiguration.getStartupResolverConfig().
-                getCapabilityListenerTimer().getPeriod();
+        StartupResolverConfig startupResolverConfig = carbonConfiguration.getStartupResolverConfig();
+        StartupReadinessTracker readinessTracker = new StartupReadinessTracker(startupComponentManager,
+                tier -> onTierComponentsNotified(carbonConfiguration.getName(), tier),
+                () -> onRequiredComponentsNotified(carbonConfiguration.getName()));
+        Runnable completionCallback = () -> onAllComponentsNotified(carbonConfiguration.getName());
+
+        CapabilityListenerExecutor capabilityListenerExecutor = startupResolverConfig.getCapabilityListenerExecutor();
+        startupComponentManager.setRequiredCapabilityListenerExecutor(new RequiredCapabilityListenerExecutor(
+                capabilityListenerExecutor.getPoolSize(), capabilityListenerExecutor.getTimeout()));
+
+        String mode = startupResolverConfig.getMode();
+        if (EVENT_RESOLVER_MODE.equalsIgnoreCase(mode)) {
+            logger.debug("Starting the Startup Order Resolver in the event mode.");
+            capabilityListenerNotifier = new EventCapabilityListenerNotifier(startupComponentManager,
+                    readinessTracker, completionCallback);
+        } else {
+            if (!TIMER_RESOLVER_MODE.equalsIgnoreCase(mode)) {
+                logger.warn("Unknown Startup Order Resolver mode '{}'. Falling back to the {} mode.",
+                        mode, TIMER_RESOLVER_MODE);
+            }
 
-        capabilityListenerTimer.scheduleAtFixedRate(new TimerTask() {
+            CapabilityListenerTimer capabilityListenerTimer = startupResolverConfig.getCapabilityListenerTimer();
+            capabilityListenerNotifier = new TimerCapabilityListenerNotifier(startupComponentManager,
+                    capabilityListenerTimer.getDelay(), capabilityListenerTimer.getPeriod(), readinessTracker,
+                    completionCallback);
+        }
 
-            @Override
-            public void run() {
-                synchronized (StartupComponentManager.class) {
-                    if (startupComponentManager.getComponents(StartupComponent::isPending).size() == 0) {
-                        startupComponentManager.notifySatisfiableComponents();
+        capabilityListenerNotifier.start();
+    }
 
-                        logger.debug("All the StartupComponents are satisfied. Cancelling the capabilityListenerTimer");
+    /**
+     * Publishes the readiness of a startup tier once all the startup components of the tier, which are not lazy, are
+     * notified. This method is invoked while holding the StartupComponentManager class lock.
+     *
+     * @param serverName name of the server to be logged
+     * @param tier       name of the startup tier
+     */
+    private void onTierComponentsNotified(String serverName, String tier) {
+        if (startupComponentManager.getTiers().size() > 1) {
+            CarbonStartupHandler.logStartupTierTime(serverName, tier);
+        }
+        CarbonStartupHandler.registerCarbonStartupTierInfoService(tier);
+    }
 
-                        CarbonStartupHandler.logServerStartupTime(carbonConfiguration.getName());
-                        CarbonStartupHandler.registerCarbonServerInfoService();
+    /**
+     * Marks the server as ready once all the startup components which are not lazy are notified, and schedules the
+     * background activation of the remaining lazy components. This method is invoked while holding the
+     * StartupComponentManager class lock.
+     *
+     * @param serverName name of the server to be logged
+     */
+    private void onRequiredComponentsNotified(String serverName) {
+        CarbonStartupHandler.logServerStartupTime(serverName);
+        CarbonStartupHandler.registerCarbonServerInfoService();
+        scheduleLazyComponentActivation();
+    }
 
-                        capabilityListenerTimer.cancel();
-                        capabilityListenerTimer = null;
-                        startupComponentManager = null;
-                        stopCapabilityTrackers();
+    /**
+     * Completes the startup once all the startup components, including the lazy ones, are notified. This method is
+     * invoked while holding the StartupComponentManager class lock.
+     *
+     * @param serverName name of the server to be logged
+     */
+    private void onAllComponentsNotified(String serverName) {
+        stopLazyComponentActivation();
+
+        RequiredCapabilityListenerExecutor listenerExecutor =
+                startupComponentManager.getRequiredCapabilityListenerExecutor();
+        listenerExecutor.shutdown();
+        logFailedRequiredCapabilityListenerDetails(logger, listenerExecutor.getFailedComponents(),
+                listenerExecutor.getTimedOutComponents());
+
+        publishStartupProfile(serverName);
+
+        pendingCapabilityReporter.release();
+        capabilityListenerNotifier = null;
+        startupComponentManager = null;
+        stopCapabilityTrackers();
+
+        // The StartupServiceCache is retained in the incremental mode, since the components affected by bundle
+        // changes may depend on the services reported to it.
+        IncrementalResolution incrementalResolution =
+                carbonRuntime.getConfiguration().getStartupResolverConfig().getIncrementalResolution();
+        if (incrementalResolution.isEnabled()) {
+            startIncrementalResolution(incrementalResolution);
+        } else {
+            StartupServiceCache.getInstance().release();
+        }
 
-                        logger.debug("Complete - Startup Order Resolver.");
-                        return;
-                    }
-                }
+        logger.debug("Complete - Startup Order Resolver.");
+    }
+
+    /**
+     * Keeps the Startup Order Resolver active after the startup to notify the startup components affected by bundle
+     * changes again.
+     *
+     * @param incrementalResolution configuration of the incremental resolution
+     */
+    private void startIncrementalResolution(IncrementalResolution incrementalResolution) {
+        StartupServiceCache.getInstance().setUpdateListener(null);
+
+        CapabilityListenerExecutor capabilityListenerExecutor =
+                carbonRuntime.getConfiguration().getStartupResolverConfig().getCapabilityListenerExecutor();
+        incrementalStartupResolver = new IncrementalStartupResolver(DataHolder.getInstance().getBundleContext(),
+                StartupServiceCache.getInstance(), incrementalResolution.getDelay(),
+                capabilityListenerExecutor.getPoolSize(), capabilityListenerExecutor.getTimeout());
+        incrementalStartupResolver.start();
+        logger.debug("Startup Order Resolver is listening to bundle changes.");
+    }
+
+    /**
+     * Registers the service hooks which activate lazy startup components on the first lookup of a service they
+     * provide. The hooks are not registered if no lazy component declares a provided service.
+     *
+     * @param bundleContext OSGi bundle context of the Carbon.core bundle
+     */
+    private void registerLazyComponentActivator(BundleContext bundleContext) {
+        boolean lazyServicesDeclared = startupComponentManager.getComponents(StartupComponent::isLazy).stream()
+                .anyMatch(startupComponent -> !startupComponent.getProvidedServices().isEmpty());
+        if (!lazyServicesDeclared) {
+            return;
+        }
+
+        lazyComponentActivatorRegistration = bundleContext.registerService(
+                new String[]{FindHook.class.getName(), ListenerHook.class.getName()},
+                new LazyComponentActivator(startupComponentManager, bundleContext.getBundle()), null);
+    }
+
+    /**
+     * Schedules the activation of the lazy startup components which are not activated by a service lookup, on a low
+     * priority background thread once the configured delay has elapsed.
+     */
+    private void scheduleLazyComponentActivation() {
+        StartupComponentManager componentManager = startupComponentManager;
+        int lazyComponentCount = componentManager.getComponents(StartupComponent::isAwaitingActivation).size();
+        if (lazyComponentCount == 0) {
+            return;
+        }
 
-                startupComponentManager.notifySatisfiableComponents();
+        long delay = carbonRuntime.getConfiguration().getStartupResolverConfig().getLazyActivationDelay();
+        if (delay < 0) {
+            // The Startup Order Resolver releases its trackers, caches and MBeans only once all the startup components
+            // are notified, hence lazy components which are never looked up would keep them for the life of the JVM.
+            logger.warn("Invalid lazyActivationDelay {}. The background activation of lazy startup components cannot " +
+                    "be disabled. {} lazy startup components are activated after the default delay of {} ms.", delay,
+                    lazyComponentCount, DEFAULT_LAZY_ACTIVATION_DELAY);
+            delay = DEFAULT_LAZY_ACTIVATION_DELAY;
+        }
+
+        lazyActivationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CarbonStartupResolverLazyActivator");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        lazyActivationExecutor.schedule(() -> {
+            int activatedCount = componentManager.activateLazyComponents();
+            logger.debug("Activated {} lazy startup components in the background.", activatedCount);
+        }, delay, TimeUnit.MILLISECONDS);
+        lazyActivationExecutor.shutdown();
+    }
+
+    /**
+     * Cancels the pending background activation of lazy startup components and unregisters the service hooks.
+     */
+    private void stopLazyComponentActivation() {
+        if (lazyActivationExecutor != null) {
+            lazyActivationExecutor.shutdownNow();
+            lazyActivationExecutor = null;
+        }
+
+        if (lazyComponentActivatorRegistration != null) {
+            try {
+                lazyComponentActivatorRegistration.unregister();
+            } catch (IllegalStateException e) {
+                logger.debug("Lazy component activator is already unregistered.", e);
             }
-        }, capabilityListenerTimerDelay, capabilityListenerTimerPeriod);
+            lazyComponentActivatorRegistration = null;
+        }
+    }
+
+    /**
+     * Registers the startup profile of all the startup components as an MBean and writes it as a JSON report to the
+     * logs directory of the runtime.
+     *
+     * @param serverName name of the server
+     */
+    private void publishStartupProfile(String serverName) {
+        StartupOrderResolverProfiler profiler = new StartupOrderResolverProfiler(serverName,
+                startupComponentManager.getComponents(startupComponent -> true));
+
+        try {
+            MBeanRegistrator.registerMBean(profiler);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to register the Startup Order Resolver profiler MBean.", e);
+        }
+
+        String runtimePath = System.getProperty(RUNTIME_PATH);
+        if (runtimePath == null) {
+            logger.debug("{} system property is not set. Skipping the startup profile report.", RUNTIME_PATH);
+            return;
+        }
+
+        Path reportFile = Paths.get(runtimePath, LOGS_DIRECTORY, STARTUP_PROFILE_REPORT_FILE);
+        try {
+            profiler.writeReport(reportFile);
+            logger.debug("Startup profile report is written to {}", reportFile);
+        } catch (IOException e) {
+            logger.warn("Failed to write the startup profile report to " + reportFile, e);
+        }
+    }
+
+    /**
+     * Registers an MBean which reports the pending capabilities of startup components on demand.
+     */
+    private void registerPendingCapabilityReporter() {
+        pendingCapabilityReporter = new PendingCapabilityReporter(startupComponentManager);
+        try {
+            MBeanRegistrator.registerMBean(pendingCapabilityReporter);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to register the Startup Order Resolver pending capability MBean.", e);
+        }
     }
 
     private void schedulePendingCapabilityTimerTask() {
@@ -226,79 +569,19 @@ public class StartupOrderResolver {
                         return;
                     }
 
-                    List<StartupComponent> pendingComponents =
-                            startupComponentManager.getComponents(StartupComponent::isPending);
-
-                    if (pendingComponents.size() == 0) {
+                    // Report the pending capabilities which changed since the last run, grouped by the bundle
+                    // which is expected to provide them.
+                    if (!pendingCapabilityReporter.report(logger)) {
                         logger.debug("All the RequiredCapabilityListeners are notified, " +
                                 "therefore cancelling the pendingCapabilityTimer");
                         pendingCapabilityTimer.cancel();
                         pendingCapabilityTimer = null;
-                        return;
                     }
-
-                    // Report pending startup component details.
-                    logPendingComponentDetails(logger, pendingComponents);
-
-
-                    // Report pending RequiredCapabilityListener details.
-                    logPendingRequiredCapabilityListenerServiceDetails(logger,
-                            startupComponentManager.getComponents(
-                                    startupComponent -> startupComponent.getListener() == null));
-
-                    // Report pending CapabilityProvider details.
-                    logPendingCapabilityProviderServiceDetails(logger,
-                            startupComponentManager.getPendingCapabilityProviders());
                 }
             }
         }, pendingCapabilityTimerDelay, pendingCapabilityTimerPeriod);
     }
 
-    private void processServiceComponents(Map<String, List<ManifestElement>> groupedManifestElements) {
-        groupedManifestElements.get(STARTUP_LISTENER_COMPONENT)
-                .stream()
-                .map(StartupOrderResolverUtils::getStartupComponent)
-                .forEach(startupComponentManager::addStartupComponent);
-    }
-
-    /**
-     * Process all the Provide-Capability Manifest header elements to get a list of required Capabilities.
-     * <p>
-     * At the moment this methods process manifest elements with the namespace osgi.service.
-     *
-     * @param manifestElementList manifest elements by the header name.
-     */
-    private void processOSGiServices(List<ManifestElement> manifestElementList) {
-        manifestElementList
-                .stream()
-                .filter(capabilityProviderElementPredicate.negate().and(
-                        requiredCapabilityListenerElementPredicate.negate()))
-                // Creating a Capability from the manifestElement
-                .map(StartupOrderResolverUtils::getOSGiServiceCapabilities)
-                .flatMap(Collection::stream)
-                .forEach(serviceCapability -> {
-                    if (!serviceCapability.getRequiredByComponentNames().isEmpty()) {
-                        serviceCapability.getRequiredByComponentNames()
-                                .forEach(componentName ->
-                                        startupComponentManager.addRequiredOSGiServiceToComponent(
-                                                componentName,
-                                                serviceCapability.getName()));
-                    }
-
-                    startupComponentManager.addExpectedCapability(serviceCapability);
-                });
-    }
-
-    /**
-     * @param manifestElementList A list of {@code ManifestElement}
-     */
-    private void processCapabilityProviders(List<ManifestElement> manifestElementList) {
-        manifestElementList.stream()
-                .filter(capabilityProviderElementPredicate)
-                .map(StartupOrderResolverUtils::getCapabilityProviderCapability)
-                .forEach(startupComponentManager::addExpectedOrAvailableCapabilityProvider);
-    }
-
     /**
      * Starts all the capability trackers.
      */
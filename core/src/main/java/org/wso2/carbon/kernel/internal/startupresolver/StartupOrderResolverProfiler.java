@@ -0,0 +1,256 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Startup profile of the startup components resolved by the Startup Order Resolver.
+ * <p>
+ * The profile is a snapshot taken once all the startup components are notified. It contains when each component was
+ * created from the manifest header, when its required capabilities became available, when its
+ * {@code RequiredCapabilityListener} was registered and when it was notified. The critical path is computed by
+ * walking back from the last notified component to the component which provided its last satisfied capability.
+ *
+ * @since 5.3.5
+ */
+public class StartupOrderResolverProfiler implements StartupOrderResolverProfilerMBean {
+    private static final String BLOCKED_BY_LISTENER = "RequiredCapabilityListener registration";
+
+    private final String serverName;
+    private final long serverStartTime;
+    private final long completionTime;
+    private final List<StartupComponent> startupComponents;
+    private final List<StartupComponent> criticalPath;
+
+    /**
+     * Creates the startup profile of the given startup components.
+     *
+     * @param serverName        name of the server
+     * @param startupComponents the notified startup components
+     */
+    StartupOrderResolverProfiler(String serverName, List<StartupComponent> startupComponents) {
+        this.serverName = serverName;
+        this.completionTime = System.currentTimeMillis();
+        this.startupComponents = new ArrayList<>(startupComponents);
+        this.startupComponents.sort(Comparator.comparingLong(StartupComponent::getNotificationTime));
+        this.serverStartTime = getServerStartTime(this.startupComponents, completionTime);
+        this.criticalPath = computeCriticalPath();
+    }
+
+    @Override
+    public long getStartupDuration() {
+        return completionTime - serverStartTime;
+    }
+
+    @Override
+    public String[] getCriticalPath() {
+        return criticalPath.stream()
+                .map(startupComponent -> startupComponent.getName() + " in bundle(" +
+                        getBundleName(startupComponent.getBundle()) + ") notified at " +
+                        relativeTime(startupComponent.getNotificationTime()) + " ms, returned at " +
+                        relativeTime(startupComponent.getListenerReturnTime()) + " ms, blocked by " +
+                        getBlockingReason(startupComponent))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"serverName\": ").append(quote(serverName)).append(",\n");
+        json.append("  \"serverStartTime\": ").append(serverStartTime).append(",\n");
+        json.append("  \"startupDuration\": ").append(getStartupDuration()).append(",\n");
+        json.append("  \"criticalPath\": [");
+        for (int i = 0; i < criticalPath.size(); i++) {
+            json.append(i == 0 ? "\n    " : ",\n    ").append(quote(criticalPath.get(i).getName()));
+        }
+        json.append(criticalPath.isEmpty() ? "],\n" : "\n  ],\n");
+        json.append("  \"components\": [");
+        for (int i = 0; i < startupComponents.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            appendComponent(json, startupComponents.get(i));
+        }
+        json.append(startupComponents.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * Writes the JSON report to the given file.
+     *
+     * @param reportFile the file to be written
+     * @throws IOException if an I/O error occurs
+     */
+    void writeReport(Path reportFile) throws IOException {
+        Files.createDirectories(reportFile.getParent());
+        try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write(getReport());
+        }
+    }
+
+    private void appendComponent(StringBuilder json, StartupComponent startupComponent) {
+        Map<String, Long> satisfiedTimes = startupComponent.getCapabilitySatisfiedTimes();
+
+        json.append("    {\n");
+        json.append("      \"name\": ").append(quote(startupComponent.getName())).append(",\n");
+        json.append("      \"bundle\": ").append(quote(getBundleName(startupComponent.getBundle()))).append(",\n");
+        json.append("      \"created\": ").append(relativeTime(startupComponent.getCreationTime())).append(",\n");
+        json.append("      \"listenerRegistered\": ")
+                .append(relativeTime(startupComponent.getListenerRegistrationTime())).append(",\n");
+        json.append("      \"notified\": ").append(relativeTime(startupComponent.getNotificationTime())).append(",\n");
+        json.append("      \"returned\": ").append(relativeTime(startupComponent.getListenerReturnTime()))
+                .append(",\n");
+        json.append("      \"blockedBy\": ").append(quote(getBlockingReason(startupComponent))).append(",\n");
+        json.append("      \"capabilities\": [");
+        List<Capability> capabilities = startupComponent.getExpectedCapabilities();
+        for (int i = 0; i < capabilities.size(); i++) {
+            Capability capability = capabilities.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("        {\"name\": ").append(quote(capability.getName()))
+                    .append(", \"bundle\": ").append(quote(getBundleName(capability.getBundle())))
+                    .append(", \"state\": ").append(quote(capability.getState().toString()))
+                    .append(", \"available\": ").append(relativeTime(capability.getAvailableTime()))
+                    .append(", \"satisfied\": ").append(relativeTime(
+                            satisfiedTimes.getOrDefault(capability.getName(), 0L)))
+                    .append("}");
+        }
+        json.append(capabilities.isEmpty() ? "]\n" : "\n      ]\n");
+        json.append("    }");
+    }
+
+    /**
+     * Walks back from the startup component whose listener finished last. Each step moves to the component which
+     * provided the last satisfied capability of the current component.
+     */
+    private List<StartupComponent> computeCriticalPath() {
+        List<StartupComponent> path = new ArrayList<>();
+        Set<String> visitedComponents = new HashSet<>();
+        StartupComponent current = startupComponents.stream()
+                .filter(startupComponent -> startupComponent.getNotificationTime() > 0)
+                .max(Comparator.comparingLong(StartupOrderResolverProfiler::getEndTime))
+                .orElse(null);
+
+        while (current != null && visitedComponents.add(current.getName())) {
+            path.add(current);
+            current = getCriticalPredecessor(current);
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    private StartupComponent getCriticalPredecessor(StartupComponent startupComponent) {
+        Map.Entry<String, Long> lastCapability = getLastSatisfiedCapability(startupComponent);
+        if (lastCapability == null
+                || startupComponent.getListenerRegistrationTime() > lastCapability.getValue()) {
+            return null;
+        }
+
+        Set<Bundle> providerBundles = new HashSet<>();
+        startupComponent.getExpectedCapabilities().stream()
+                .filter(capability -> capability.getName().equals(lastCapability.getKey()))
+                .forEach(capability -> providerBundles.add(capability.getBundle()));
+
+        return startupComponents.stream()
+                .filter(other -> other != startupComponent && other.getNotificationTime() > 0)
+                .filter(other -> providerBundles.contains(other.getBundle()))
+                .max(Comparator.comparingLong(StartupOrderResolverProfiler::getEndTime))
+                .orElse(null);
+    }
+
+    private String getBlockingReason(StartupComponent startupComponent) {
+        Map.Entry<String, Long> lastCapability = getLastSatisfiedCapability(startupComponent);
+        if (lastCapability == null && startupComponent.getListenerRegistrationTime() == 0) {
+            return "";
+        }
+        if (lastCapability == null
+                || startupComponent.getListenerRegistrationTime() > lastCapability.getValue()) {
+            return BLOCKED_BY_LISTENER;
+        }
+        return lastCapability.getKey();
+    }
+
+    private Map.Entry<String, Long> getLastSatisfiedCapability(StartupComponent startupComponent) {
+        return startupComponent.getCapabilitySatisfiedTimes().entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    private long relativeTime(long time) {
+        return time > 0 ? time - serverStartTime : -1;
+    }
+
+    private static long getEndTime(StartupComponent startupComponent) {
+        return startupComponent.getListenerReturnTime() > 0 ?
+                startupComponent.getListenerReturnTime() : startupComponent.getNotificationTime();
+    }
+
+    private static long getServerStartTime(List<StartupComponent> startupComponents, long completionTime) {
+        String startTime = System.getProperty(Constants.START_TIME);
+        if (startTime != null) {
+            try {
+                return Long.parseLong(startTime);
+            } catch (NumberFormatException ignored) {
+                // Fall back to the creation time of the first startup component.
+            }
+        }
+
+        return startupComponents.stream()
+                .mapToLong(StartupComponent::getCreationTime)
+                .min()
+                .orElse(completionTime);
+    }
+
+    private static String getBundleName(Bundle bundle) {
+        return bundle == null ? "" : bundle.getSymbolicName() + ":" + bundle.getVersion();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+/**
+ * MBean interface for exposing the startup profile recorded by the Startup Order Resolver.
+ *
+ * @since 5.3.5
+ */
+public interface StartupOrderResolverProfilerMBean {
+
+    /**
+     * Returns the time taken from the server start until all the startup components were notified.
+     *
+     * @return the startup duration in milliseconds
+     */
+    long getStartupDuration();
+
+    /**
+     * Returns the chain of startup components which determined the startup duration, starting from the first
+     * component in the chain.
+     *
+     * @return a description of each startup component in the critical path
+     */
+    String[] getCriticalPath();
+
+    /**
+     * Returns the startup profile of all the startup components along with the critical path as a JSON document.
+     *
+     * @return the JSON report
+     */
+    String getReport();
+}
@@ -32,7 +32,9 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -42,10 +44,15 @@ import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverCon
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.COMPONENT_NAME;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.DEPENDENT_COMPONENT_NAME;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.LAZY;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OBJECT_CLASS;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OSGI_SERVICE_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.PROVIDED_SERVICE;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.REQUIRED_BY_COMPONENT_NAME;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.REQUIRED_SERVICE;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.SERVICE_COUNT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_LISTENER_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.TIER;
 import static org.wso2.carbon.utils.StringUtils.getNonEmptyStringAfterTrim;
 
 /**
@@ -68,20 +75,25 @@ class StartupOrderResolverUtils {
             manifestElement -> RequiredCapabilityListener.class.getName().equals(
                     getObjectClassName(manifestElement));
 
-    static Boolean isCarbonComponentHeaderPresent(Bundle bundle) {
-        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
-                bundle.getHeaders().get(CARBON_COMPONENT_HEADER) != null);
+    /**
+     * Returns the value of the CARBON_COMPONENT_HEADER in the given bundle.
+     *
+     * @param bundle from the which the header value should retrieved.
+     * @return the header value, or null if the bundle does not have the header
+     */
+    static String getCarbonComponentHeader(Bundle bundle) {
+        return AccessController.doPrivileged((PrivilegedAction<String>) () ->
+                bundle.getHeaders().get(CARBON_COMPONENT_HEADER));
     }
 
     /**
      * Creates {@code ManifestElement} instances from CARBON_COMPONENT_HEADER in the given bundle.
      *
      * @param bundle from the which the header value should retrieved.
-     * @return the created list of {@code ManifestElement} instances
+     * @return the created list of {@code ManifestElement} instances, empty if the bundle does not have the header
      */
     static List<ManifestElement> getManifestElements(Bundle bundle) {
-        String headerValue = AccessController.doPrivileged((PrivilegedAction<String>) () ->
-                bundle.getHeaders().get(CARBON_COMPONENT_HEADER));
+        String headerValue = getCarbonComponentHeader(bundle);
 
         try {
             return ManifestElement.parseHeader(CARBON_COMPONENT_HEADER, headerValue, bundle);
@@ -92,6 +104,46 @@ class StartupOrderResolverUtils {
         }
     }
 
+    /**
+     * Populates the given {@code StartupComponentManager} from Carbon-Component manifest elements.
+     * <p>
+     * Startup listener elements are added as startup components. OSGi service elements are added as the expected
+     * capabilities and the expected {@code CapabilityProvider}s of the startup components.
+     *
+     * @param startupComponentManager  the manager to be populated
+     * @param groupedManifestElements manifest elements grouped by the manifest element value
+     */
+    static void addManifestElements(StartupComponentManager startupComponentManager,
+                                    Map<String, List<ManifestElement>> groupedManifestElements) {
+        List<ManifestElement> startupListenerElements = groupedManifestElements.get(STARTUP_LISTENER_COMPONENT);
+        if (startupListenerElements != null) {
+            startupListenerElements.stream()
+                    .map(StartupOrderResolverUtils::getStartupComponent)
+                    .forEach(startupComponentManager::addStartupComponent);
+        }
+
+        List<ManifestElement> osgiServiceElements = groupedManifestElements.get(OSGI_SERVICE_COMPONENT);
+        if (osgiServiceElements != null) {
+            osgiServiceElements.stream()
+                    .filter(capabilityProviderElementPredicate)
+                    .map(StartupOrderResolverUtils::getCapabilityProviderCapability)
+                    .forEach(startupComponentManager::addExpectedOrAvailableCapabilityProvider);
+
+            osgiServiceElements.stream()
+                    .filter(capabilityProviderElementPredicate.negate().and(
+                            requiredCapabilityListenerElementPredicate.negate()))
+                    // Creating a Capability from the manifestElement
+                    .map(StartupOrderResolverUtils::getOSGiServiceCapabilities)
+                    .flatMap(Collection::stream)
+                    .forEach(serviceCapability -> {
+                        serviceCapability.getRequiredByComponentNames()
+                                .forEach(componentName -> startupComponentManager.addRequiredOSGiServiceToComponent(
+                                        componentName, serviceCapability.getName()));
+                        startupComponentManager.addExpectedCapability(serviceCapability);
+                    });
+        }
+    }
+
     /**
      * Create a {@code StartupComponent} from he manifest element.
      *
@@ -103,15 +155,13 @@ class StartupOrderResolverUtils {
                 .orElseThrow(
                         () -> new StartOrderResolverException(COMPONENT_NAME + " attribute value is missing in " +
                                 manifestElement.getManifestHeaderName() + " header of bundle(" +
-                                manifestElement.getBundle().getSymbolicName() + ":" +
-                                manifestElement.getBundle().getVersion() + ")"));
+                                getBundleName(manifestElement) + ")"));
 
         String requiredServices = getNonEmptyStringAfterTrim(manifestElement.getAttribute(REQUIRED_SERVICE))
                 .orElseThrow(
                         () -> new StartOrderResolverException(REQUIRED_SERVICE + " attribute value is missing in " +
                                 manifestElement.getManifestHeaderName() + " header of bundle(" +
-                                manifestElement.getBundle().getSymbolicName() + ":" +
-                                manifestElement.getBundle().getVersion() + ")"));
+                                getBundleName(manifestElement) + ")"));
 
         String[] requiredServiceArray = requiredServices.split(CAPABILITY_NAME_SPLIT_CHAR);
         List<String> requiredServicesList = Arrays.asList(requiredServiceArray)
@@ -121,6 +171,17 @@ class StartupOrderResolverUtils {
 
         StartupComponent startupComponent = new StartupComponent(componentName, manifestElement.getBundle());
         startupComponent.addRequiredServices(requiredServicesList);
+
+        // A lazy component does not gate the server readiness. It is activated by a lookup of one of the services it
+        // provides, or by the background activation phase.
+        startupComponent.setLazy(Boolean.parseBoolean(manifestElement.getAttribute(LAZY)));
+        getNonEmptyStringAfterTrim(manifestElement.getAttribute(PROVIDED_SERVICE))
+                .ifPresent(providedServices -> startupComponent.addProvidedServices(
+                        Arrays.stream(providedServices.split(CAPABILITY_NAME_SPLIT_CHAR))
+                                .map(String::trim)
+                                .filter(serviceName -> !serviceName.isEmpty())
+                                .collect(Collectors.toList())));
+        getNonEmptyStringAfterTrim(manifestElement.getAttribute(TIER)).ifPresent(startupComponent::setTier);
         return startupComponent;
     }
 
@@ -130,8 +191,7 @@ class StartupOrderResolverUtils {
                 .orElseThrow(
                         () -> new StartOrderResolverException(CAPABILITY_NAME + " attribute value is missing in " +
                                 manifestElement.getManifestHeaderName() + " header of bundle(" +
-                                manifestElement.getBundle().getSymbolicName() + ":" +
-                                manifestElement.getBundle().getVersion() + ")"));
+                                getBundleName(manifestElement) + ")"));
 
         return new CapabilityProviderCapability(
                 getObjectClassName(manifestElement),
@@ -149,8 +209,7 @@ class StartupOrderResolverUtils {
                         return Integer.parseInt(serviceCountStr.trim());
                     } catch (NumberFormatException e) {
                         throw new StartOrderResolverException("Invalid value for serviceCount manifest " +
-                                "attribute in bundle(" + manifestElement.getBundle().getSymbolicName() +
-                                ":" + manifestElement.getBundle().getVersion() + ")", e);
+                                "attribute in bundle(" + getBundleName(manifestElement) + ")", e);
                     }
                 })
                 .orElse(1);
@@ -189,84 +248,17 @@ class StartupOrderResolverUtils {
         return osgiServiceCapabilityList;
     }
 
-    static void logPendingComponentDetails(Logger logger, List<StartupComponent> pendingComponents) {
-        pendingComponents
-                .forEach(startupComponent -> {
-                    List<Capability> pendingCapabilities = startupComponent.getPendingCapabilities();
-
-                    pendingCapabilities
-                            .forEach(provideCapability ->
-                                    logPendingCapabilityDetails(logger, startupComponent, provideCapability)
-                            );
-
-                });
-    }
-
-    static void logPendingRequiredCapabilityListenerServiceDetails(
-            Logger logger,
-            List<StartupComponent> componentsWithPendingListeners) {
-
-        componentsWithPendingListeners
-                .forEach(startupComponent ->
-                        logger.warn("Waiting for a RequiredCapabilityListener " +
-                                        "OSGi Service from bundle({}:{}) with componentName: {}",
-                                startupComponent.getBundle().getSymbolicName(),
-                                startupComponent.getBundle().getVersion(),
-                                startupComponent.getName()));
-    }
-
-    static void logPendingCapabilityProviderServiceDetails(
-            Logger logger,
-            List<CapabilityProviderCapability> pendingCapabilityProviderList) {
-
-        pendingCapabilityProviderList
-                .forEach(capabilityProvider -> {
-                    if (capabilityProvider.getState() == Capability.CapabilityState.EXPECTED) {
-                        logger.warn("Waiting for a CapabilityProvider OSGi service to be registered " +
-                                        "from bundle({}:{}) with providedCapabilityName: {}. " +
-                                        "Refer the Startup Order Resolver documentation for more information.",
-                                capabilityProvider.getBundle().getSymbolicName(),
-                                capabilityProvider.getBundle().getVersion(),
-                                capabilityProvider.getProvidedCapabilityName());
-                    } else {
-                        logger.warn("Looks like you've registered a CapabilityProvider OSGi service from " +
-                                        "bundle({}:{}) with the providedCapabilityName: {}, but you haven't " +
-                                        "declared it in the pom.xml using Carbon-Component manifest header. " +
-                                        "Refer the Startup Order Resolver documentation for more information.",
-                                capabilityProvider.getBundle().getSymbolicName(),
-                                capabilityProvider.getBundle().getVersion(),
-                                capabilityProvider.getProvidedCapabilityName());
-                    }
-                });
-
-    }
+    static void logFailedRequiredCapabilityListenerDetails(Logger logger,
+                                                           List<String> failedComponentNames,
+                                                           List<String> timedOutComponentNames) {
+        if (!failedComponentNames.isEmpty()) {
+            logger.warn("RequiredCapabilityListeners of the following startup components failed: {}",
+                    failedComponentNames);
+        }
 
-    private static void logPendingCapabilityDetails(Logger logger,
-                                                    StartupComponent startupComponent,
-                                                    Capability provideCapability) {
-        if (provideCapability.getState() == Capability.CapabilityState.EXPECTED) {
-            logger.warn("Startup component {} from bundle({}:{}) is in the " +
-                            "pending state until Capability {} from " +
-                            "bundle({}:{}) is available as an OSGi service. Refer the Startup Order " +
-                            "Resolver documentation for information.",
-                    startupComponent.getName(),
-                    startupComponent.getBundle().getSymbolicName(),
-                    startupComponent.getBundle().getVersion(),
-                    provideCapability.getName(),
-                    provideCapability.getBundle().getSymbolicName(),
-                    provideCapability.getBundle().getVersion());
-        } else {
-            logger.warn("Startup component {} from bundle({}:{}) is in the " +
-                            "pending state, because of the Capability {} from " +
-                            "bundle({}:{}). If you've registered this capability as an OSGi service, you need to " +
-                            "declare it using the Carbon-Component manifest header. Refer the Startup Order " +
-                            "Resolver documentation for information.",
-                    startupComponent.getName(),
-                    startupComponent.getBundle().getSymbolicName(),
-                    startupComponent.getBundle().getVersion(),
-                    provideCapability.getName(),
-                    provideCapability.getBundle().getSymbolicName(),
-                    provideCapability.getBundle().getVersion());
+        if (!timedOutComponentNames.isEmpty()) {
+            logger.warn("RequiredCapabilityListeners of the following startup components did not return within " +
+                    "the configured timeout: {}", timedOutComponentNames);
         }
     }
 
@@ -279,7 +271,19 @@ class StartupOrderResolverUtils {
     private static String getObjectClassName(ManifestElement manifestElement) {
         return getNonEmptyStringAfterTrim(manifestElement.getAttribute(OBJECT_CLASS))
                 .orElseThrow(() -> new StartOrderResolverException("objectClass cannot be empty. " +
-                        "Bundle-SymbolicName: " + manifestElement.getBundle().getSymbolicName()));
+                        "Bundle: " + getBundleName(manifestElement)));
+    }
+
+    /**
+     * Returns the symbolic name and the version of the bundle of the given {@code ManifestElement}. Manifest elements
+     * parsed while building a startup resolution plan are not bound to a bundle.
+     *
+     * @param manifestElement {@code ManifestElement} of which the bundle name is to be returned
+     * @return the bundle name in the form symbolicName:version, or "unknown" if the element is not bound to a bundle
+     */
+    private static String getBundleName(ManifestElement manifestElement) {
+        Bundle bundle = manifestElement.getBundle();
+        return bundle != null ? bundle.getSymbolicName() + ":" + bundle.getVersion() : "unknown";
     }
 
     private static void addRequiredByComponentNames(OSGiServiceCapability osgiServiceCapability,
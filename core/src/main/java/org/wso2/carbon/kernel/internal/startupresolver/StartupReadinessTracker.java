@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the readiness of the startup tiers and of the server.
+ * <p>
+ * A startup tier is ready once all the startup components of the tier, which are not lazy, are notified. The server
+ * is ready once all the tiers are ready. Each readiness callback is invoked only once, even if components are added
+ * to a tier after it is reported as ready. The capability listener notifiers invoke {@link #checkReadiness()} while
+ * holding the StartupComponentManager class lock.
+ *
+ * @since 5.3.5
+ */
+class StartupReadinessTracker {
+    private static final Logger logger = LoggerFactory.getLogger(StartupReadinessTracker.class);
+
+    private final StartupComponentManager startupComponentManager;
+    private final Consumer<String> tierReadinessCallback;
+    private final Runnable readinessCallback;
+    private final Set<String> readyTiers = new LinkedHashSet<>();
+    private boolean ready = false;
+
+    /**
+     * Creates a tracker which does not report the readiness.
+     *
+     * @param startupComponentManager manager of the startup components
+     */
+    StartupReadinessTracker(StartupComponentManager startupComponentManager) {
+        this(startupComponentManager, tier -> {
+        }, () -> {
+        });
+    }
+
+    /**
+     * Creates a readiness tracker.
+     *
+     * @param startupComponentManager manager of the startup components
+     * @param tierReadinessCallback   invoked with the name of a startup tier once the tier is ready
+     * @param readinessCallback       invoked once all the startup tiers are ready
+     */
+    StartupReadinessTracker(StartupComponentManager startupComponentManager, Consumer<String> tierReadinessCallback,
+                            Runnable readinessCallback) {
+        this.startupComponentManager = startupComponentManager;
+        this.tierReadinessCallback = tierReadinessCallback;
+        this.readinessCallback = readinessCallback;
+    }
+
+    /**
+     * Invokes the readiness callbacks of the startup tiers, and of the server, which became ready since the last
+     * check.
+     */
+    void checkReadiness() {
+        if (ready) {
+            return;
+        }
+
+        startupComponentManager.getTiers().stream()
+                .filter(tier -> !readyTiers.contains(tier))
+                .filter(startupComponentManager::isTierReady)
+                .forEach(tier -> {
+                    logger.debug("All the StartupComponents of the {} startup tier are notified.", tier);
+                    readyTiers.add(tier);
+                    tierReadinessCallback.accept(tier);
+                });
+
+        if (startupComponentManager.isReady()) {
+            ready = true;
+            readinessCallback.run();
+        }
+    }
+
+    /**
+     * Returns the names of the startup tiers which are ready, in the order they became ready.
+     *
+     * @return names of the ready startup tiers
+     */
+    Set<String> getReadyTiers() {
+        return Collections.unmodifiableSet(readyTiers);
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,572 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Constants;
+import org.osgi.framework.Version;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElementParserException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.capabilityProviderElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.requiredCapabilityListenerElementPredicate;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.OSGI_SERVICE_COMPONENT;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_LISTENER_COMPONENT;
+
+/**
+ * Precomputed resolution of the Carbon-Component manifest headers of all the bundles in a Carbon runtime.
+ * <p>
+ * A plan is generated at distribution packaging time and shipped in the configuration directory of the runtime. It
+ * records the startup components, the CapabilityProviders, the expected OSGi service capability counts and the
+ * topological layers of the startup components, keyed by the symbolic name and the version of the declaring bundle.
+ * The plan also records a fingerprint of the bundle set it was generated for, which covers the Carbon-Component
+ * manifest header of each bundle, hence a bundle redeployed with the same version but a changed header invalidates the
+ * plan. At startup, the plan is applied only if the fingerprint of the installed bundles matches, in which case the
+ * manifest headers are not parsed at all.
+ *
+ * @since 5.3.5
+ */
+public class StartupResolutionPlan {
+
+    /**
+     * Name of the plan file in the configuration directory of a Carbon runtime.
+     */
+    public static final String STARTUP_RESOLUTION_PLAN_FILE = "startup-resolution.plan";
+
+    private static final int PLAN_FORMAT_VERSION = 4;
+
+    private final String fingerprint;
+    private final int bundleCount;
+    private final List<ComponentEntry> components;
+    private final List<List<String>> layers;
+    private final List<CapabilityProviderEntry> capabilityProviders;
+    private final List<ServiceEntry> services;
+
+    private StartupResolutionPlan(String fingerprint, int bundleCount, List<ComponentEntry> components,
+                                  List<List<String>> layers, List<CapabilityProviderEntry> capabilityProviders,
+                                  List<ServiceEntry> services) {
+        this.fingerprint = fingerprint;
+        this.bundleCount = bundleCount;
+        this.components = components;
+        this.layers = layers;
+        this.capabilityProviders = capabilityProviders;
+        this.services = services;
+    }
+
+    /**
+     * Returns the fingerprint of the bundle set this plan was generated for.
+     *
+     * @return the fingerprint
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the number of bundles this plan was generated for, excluding the OSGi framework.
+     *
+     * @return the number of bundles
+     */
+    public int getBundleCount() {
+        return bundleCount;
+    }
+
+    /**
+     * Returns the number of startup components in this plan.
+     *
+     * @return the number of startup components
+     */
+    public int getComponentCount() {
+        return components.size();
+    }
+
+    /**
+     * Returns the number of CapabilityProviders in this plan.
+     *
+     * @return the number of CapabilityProviders
+     */
+    public int getCapabilityProviderCount() {
+        return capabilityProviders.size();
+    }
+
+    /**
+     * Returns the number of OSGi services of the given capability declared in the Carbon-Component manifest headers.
+     * Capabilities provided through CapabilityProviders are not included.
+     *
+     * @param capabilityName name of the capability
+     * @return the expected number of OSGi services
+     */
+    public int getExpectedServiceCount(String capabilityName) {
+        return services.stream()
+                .filter(serviceEntry -> serviceEntry.capabilityName.equals(capabilityName))
+                .mapToInt(serviceEntry -> serviceEntry.serviceCount)
+                .sum();
+    }
+
+    /**
+     * Returns the names of the startup components in topological layers. A startup component depends only on the
+     * components of the previous layers, except for the components of the last layer if there is a cycle.
+     *
+     * @return the layers of startup component names
+     */
+    public List<List<String>> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Populates the given {@code StartupComponentManager} from this plan, if the fingerprint of the given bundles
+     * matches the fingerprint of this plan. Nothing is added otherwise.
+     *
+     * @param startupComponentManager the manager to be populated
+     * @param bundles                 the installed bundles
+     * @return true if the plan is applied, false if the plan is stale
+     */
+    boolean apply(StartupComponentManager startupComponentManager, Collection<Bundle> bundles) {
+        Map<String, Bundle> bundleMap = new HashMap<>();
+        Map<String, String> bundleHeaders = new HashMap<>();
+        bundles.stream()
+                .filter(bundle -> bundle.getBundleId() != Constants.SYSTEM_BUNDLE_ID)
+                .forEach(bundle -> {
+                    String bundleKey = getBundleKey(bundle.getSymbolicName(), bundle.getVersion());
+                    bundleMap.put(bundleKey, bundle);
+                    bundleHeaders.put(bundleKey, bundle.getHeaders().get(CARBON_COMPONENT_HEADER));
+                });
+        if (bundleMap.size() != bundleCount || !fingerprint.equals(computeFingerprint(bundleHeaders))) {
+            return false;
+        }
+
+        // Entries are added in the same order as the StartupOrderResolver processes the manifest headers.
+        components.forEach(componentEntry -> {
+            StartupComponent startupComponent = new StartupComponent(componentEntry.componentName,
+                    bundleMap.get(componentEntry.bundleKey));
+            startupComponent.addRequiredServices(componentEntry.requiredServices);
+            startupComponent.addProvidedServices(componentEntry.providedServices);
+            startupComponent.setLazy(componentEntry.lazy);
+            startupComponent.setTier(componentEntry.tier);
+            startupComponentManager.addStartupComponent(startupComponent);
+        });
+
+        capabilityProviders.forEach(providerEntry ->
+                startupComponentManager.addExpectedOrAvailableCapabilityProvider(new CapabilityProviderCapability(
+                        CapabilityProvider.class.getName(),
+                        Capability.CapabilityType.OSGi_SERVICE,
+                        Capability.CapabilityState.EXPECTED,
+                        providerEntry.providedCapabilityName,
+                        bundleMap.get(providerEntry.bundleKey))));
+
+        services.forEach(serviceEntry -> {
+            OSGiServiceCapability serviceCapability = new OSGiServiceCapability(
+                    serviceEntry.capabilityName,
+                    Capability.CapabilityType.OSGi_SERVICE,
+                    Capability.CapabilityState.EXPECTED,
+                    bundleMap.get(serviceEntry.bundleKey),
+                    serviceEntry.requiredByComponentNames.isEmpty());
+            serviceEntry.requiredByComponentNames.forEach(componentName -> {
+                serviceCapability.setRequiredByComponentName(componentName);
+                startupComponentManager.addRequiredOSGiServiceToComponent(componentName,
+                        serviceEntry.capabilityName);
+            });
+            startupComponentManager.addExpectedCapabilities(serviceCapability, serviceEntry.serviceCount);
+        });
+        return true;
+    }
+
+    /**
+     * Writes this plan to the given file. The file is replaced atomically, if it exists.
+     *
+     * @param planFile the plan file
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(Path planFile) throws IOException {
+        Path tempFile = planFile.resolveSibling(planFile.getFileName() + ".tmp");
+        if (planFile.getParent() != null) {
+            Files.createDirectories(planFile.getParent());
+        }
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile));
+             DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeInt(PLAN_FORMAT_VERSION);
+            out.writeUTF(fingerprint);
+            out.writeInt(bundleCount);
+
+            out.writeInt(components.size());
+            for (ComponentEntry componentEntry : components) {
+                out.writeUTF(componentEntry.bundleKey);
+                out.writeUTF(componentEntry.componentName);
+                writeStrings(out, componentEntry.requiredServices);
+                writeStrings(out, componentEntry.providedServices);
+                out.writeBoolean(componentEntry.lazy);
+                out.writeUTF(componentEntry.tier);
+            }
+
+            out.writeInt(layers.size());
+            for (List<String> layer : layers) {
+                writeStrings(out, layer);
+            }
+
+            out.writeInt(capabilityProviders.size());
+            for (CapabilityProviderEntry providerEntry : capabilityProviders) {
+                out.writeUTF(providerEntry.bundleKey);
+                out.writeUTF(providerEntry.providedCapabilityName);
+            }
+
+            out.writeInt(services.size());
+            for (ServiceEntry serviceEntry : services) {
+                out.writeUTF(serviceEntry.bundleKey);
+                out.writeUTF(serviceEntry.capabilityName);
+                out.writeInt(serviceEntry.serviceCount);
+                writeStrings(out, serviceEntry.requiredByComponentNames);
+            }
+        }
+        Files.move(tempFile, planFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a plan from the given file.
+     *
+     * @param planFile the plan file
+     * @return the plan
+     * @throws IOException if an I/O error occurs or the file is not a plan of a supported format version
+     */
+    public static StartupResolutionPlan readFrom(Path planFile) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(planFile));
+             DataInputStream in = new DataInputStream(inputStream)) {
+            int formatVersion = in.readInt();
+            if (formatVersion != PLAN_FORMAT_VERSION) {
+                throw new IOException("Unsupported startup resolution plan format version " + formatVersion +
+                        " in " + planFile);
+            }
+
+            String fingerprint = in.readUTF();
+            int bundleCount = in.readInt();
+
+            int componentCount = in.readInt();
+            List<ComponentEntry> components = new ArrayList<>(componentCount);
+            for (int i = 0; i < componentCount; i++) {
+                components.add(new ComponentEntry(in.readUTF(), in.readUTF(), readStrings(in), readStrings(in),
+                        in.readBoolean(), in.readUTF()));
+            }
+
+            int layerCount = in.readInt();
+            List<List<String>> layers = new ArrayList<>(layerCount);
+            for (int i = 0; i < layerCount; i++) {
+                layers.add(readStrings(in));
+            }
+
+            int providerCount = in.readInt();
+            List<CapabilityProviderEntry> capabilityProviders = new ArrayList<>(providerCount);
+            for (int i = 0; i < providerCount; i++) {
+                capabilityProviders.add(new CapabilityProviderEntry(in.readUTF(), in.readUTF()));
+            }
+
+            int serviceCount = in.readInt();
+            List<ServiceEntry> services = new ArrayList<>(serviceCount);
+            for (int i = 0; i < serviceCount; i++) {
+                services.add(new ServiceEntry(in.readUTF(), in.readUTF(), in.readInt(), readStrings(in)));
+            }
+
+            return new StartupResolutionPlan(fingerprint, bundleCount, components, Collections.unmodifiableList(layers),
+                    capabilityProviders, services);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readUTF());
+        }
+        return Collections.unmodifiableList(strings);
+    }
+
+    private static String getBundleKey(String symbolicName, Version version) {
+        return symbolicName + ":" + version;
+    }
+
+    /**
+     * Computes the fingerprint of a bundle set, which is independent of the order of the bundles.
+     *
+     * @param bundleHeaders the Carbon-Component manifest headers of the bundles, or null values for the bundles
+     *                      without the header, keyed by the symbolicName:version keys of the bundles
+     * @return the hex encoded SHA-256 digest of the sorted bundle keys and their headers
+     */
+    private static String computeFingerprint(Map<String, String> bundleHeaders) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 message digest is not supported", e);
+        }
+
+        for (Map.Entry<String, String> bundleHeader : new TreeMap<>(bundleHeaders).entrySet()) {
+            messageDigest.update(bundleHeader.getKey().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            if (bundleHeader.getValue() != null) {
+                messageDigest.update(bundleHeader.getValue().trim().getBytes(StandardCharsets.UTF_8));
+            }
+            messageDigest.update((byte) '\n');
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte digestByte : messageDigest.digest()) {
+            fingerprint.append(String.format("%02x", digestByte));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Computes the topological layers of the startup components. A component depends on another component if it
+     * expects a capability declared by the bundle of the other component, which is the same heuristic used by the
+     * {@code RequiredCapabilityListenerExecutor}.
+     */
+    private static List<List<String>> computeLayers(List<ComponentEntry> components,
+                                                    List<CapabilityProviderEntry> capabilityProviders,
+                                                    List<ServiceEntry> services) {
+        Map<String, Set<String>> capabilityBundles = new HashMap<>();
+        Map<String, Set<String>> expectedCapabilities = new HashMap<>();
+        Map<String, Set<String>> bundleComponents = new HashMap<>();
+
+        components.forEach(componentEntry -> {
+            expectedCapabilities.computeIfAbsent(componentEntry.componentName, name -> new HashSet<>())
+                    .addAll(componentEntry.requiredServices);
+            bundleComponents.computeIfAbsent(componentEntry.bundleKey, key -> new HashSet<>())
+                    .add(componentEntry.componentName);
+        });
+        capabilityProviders.forEach(providerEntry ->
+                capabilityBundles.computeIfAbsent(providerEntry.providedCapabilityName, name -> new HashSet<>())
+                        .add(providerEntry.bundleKey));
+        services.forEach(serviceEntry -> {
+            capabilityBundles.computeIfAbsent(serviceEntry.capabilityName, name -> new HashSet<>())
+                    .add(serviceEntry.bundleKey);
+            serviceEntry.requiredByComponentNames.forEach(componentName ->
+                    expectedCapabilities.computeIfAbsent(componentName, name -> new HashSet<>())
+                            .add(serviceEntry.capabilityName));
+        });
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        components.forEach(componentEntry -> {
+            Set<String> componentDependencies =
+                    dependencies.computeIfAbsent(componentEntry.componentName, name -> new HashSet<>());
+            expectedCapabilities.get(componentEntry.componentName).stream()
+                    .map(capabilityName -> capabilityBundles.getOrDefault(capabilityName, Collections.emptySet()))
+                    .flatMap(Collection::stream)
+                    .map(bundleKey -> bundleComponents.getOrDefault(bundleKey, Collections.emptySet()))
+                    .flatMap(Collection::stream)
+                    .filter(componentName -> !componentName.equals(componentEntry.componentName))
+                    .forEach(componentDependencies::add);
+        });
+
+        List<List<String>> layers = new ArrayList<>();
+        Set<String> remaining = new TreeSet<>(dependencies.keySet());
+        while (!remaining.isEmpty()) {
+            List<String> layer = new ArrayList<>();
+            remaining.stream()
+                    .filter(componentName -> Collections.disjoint(dependencies.get(componentName), remaining))
+                    .forEach(layer::add);
+            if (layer.isEmpty()) {
+                // The remaining components depend on each other. They are placed in the last layer.
+                layer.addAll(remaining);
+            }
+            remaining.removeAll(layer);
+            layers.add(Collections.unmodifiableList(layer));
+        }
+        return Collections.unmodifiableList(layers);
+    }
+
+    /**
+     * Builds a {@code StartupResolutionPlan} from the symbolic names, the versions and the Carbon-Component manifest
+     * headers of all the bundles of a Carbon runtime, excluding the OSGi framework.
+     *
+     * @since 5.3.5
+     */
+    public static class Builder {
+        private final Map<String, String> bundleHeaders = new HashMap<>();
+        private final List<ComponentEntry> components = new ArrayList<>();
+        private final List<CapabilityProviderEntry> capabilityProviders = new ArrayList<>();
+        private final List<ServiceEntry> services = new ArrayList<>();
+
+        /**
+         * Adds a bundle to the plan.
+         *
+         * @param symbolicName          symbolic name of the bundle
+         * @param version               version of the bundle
+         * @param carbonComponentHeader value of the Carbon-Component manifest header, or null if the bundle does not
+         *                              have the header
+         * @return this builder
+         * @throws StartOrderResolverException if the Carbon-Component manifest header is invalid
+         */
+        public Builder addBundle(String symbolicName, String version, String carbonComponentHeader) {
+            String bundleKey = getBundleKey(symbolicName, Version.parseVersion(version));
+            bundleHeaders.put(bundleKey, carbonComponentHeader);
+
+            List<ManifestElement> manifestElements;
+            try {
+                manifestElements = ManifestElement.parseHeader(CARBON_COMPONENT_HEADER, carbonComponentHeader, null);
+            } catch (ManifestElementParserException e) {
+                throw new StartOrderResolverException("Error occurred while parsing the " + CARBON_COMPONENT_HEADER +
+                        " header in bundle(" + bundleKey + "). Header value: " + carbonComponentHeader, e);
+            }
+
+            try {
+                manifestElements.forEach(manifestElement -> addManifestElement(bundleKey, manifestElement));
+            } catch (StartOrderResolverException e) {
+                throw new StartOrderResolverException("Invalid " + CARBON_COMPONENT_HEADER + " header in bundle(" +
+                        bundleKey + ")", e);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the plan.
+         *
+         * @return the plan
+         */
+        public StartupResolutionPlan build() {
+            List<List<String>> layers = computeLayers(components, capabilityProviders, services);
+
+            Map<String, Integer> layerIndexes = new HashMap<>();
+            for (int i = 0; i < layers.size(); i++) {
+                for (String componentName : layers.get(i)) {
+                    layerIndexes.put(componentName, i);
+                }
+            }
+            List<ComponentEntry> sortedComponents = new ArrayList<>(components);
+            sortedComponents.sort(Comparator.comparing(componentEntry ->
+                    layerIndexes.get(componentEntry.componentName)));
+
+            return new StartupResolutionPlan(computeFingerprint(bundleHeaders), bundleHeaders.size(),
+                    Collections.unmodifiableList(sortedComponents), layers,
+                    Collections.unmodifiableList(new ArrayList<>(capabilityProviders)),
+                    Collections.unmodifiableList(new ArrayList<>(services)));
+        }
+
+        private void addManifestElement(String bundleKey, ManifestElement manifestElement) {
+            if (STARTUP_LISTENER_COMPONENT.equals(manifestElement.getValue())) {
+                StartupComponent startupComponent = StartupOrderResolverUtils.getStartupComponent(manifestElement);
+                components.add(new ComponentEntry(bundleKey, startupComponent.getName(),
+                        Collections.unmodifiableList(new ArrayList<>(startupComponent.getRequiredServices())),
+                        Collections.unmodifiableList(new ArrayList<>(startupComponent.getProvidedServices())),
+                        startupComponent.isLazy(), startupComponent.getTier()));
+            } else if (OSGI_SERVICE_COMPONENT.equals(manifestElement.getValue())) {
+                if (capabilityProviderElementPredicate.test(manifestElement)) {
+                    capabilityProviders.add(new CapabilityProviderEntry(bundleKey,
+                            StartupOrderResolverUtils.getCapabilityProviderCapability(manifestElement)
+                                    .getProvidedCapabilityName()));
+                } else if (!requiredCapabilityListenerElementPredicate.test(manifestElement)) {
+                    List<OSGiServiceCapability> serviceCapabilities =
+                            StartupOrderResolverUtils.getOSGiServiceCapabilities(manifestElement);
+                    if (!serviceCapabilities.isEmpty()) {
+                        OSGiServiceCapability serviceCapability = serviceCapabilities.get(0);
+                        services.add(new ServiceEntry(bundleKey, serviceCapability.getName(),
+                                serviceCapabilities.size(), Collections.unmodifiableList(
+                                new ArrayList<>(serviceCapability.getRequiredByComponentNames()))));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A startup component declared with the startup.listener Carbon-Component manifest header element.
+     */
+    private static class ComponentEntry {
+        private final String bundleKey;
+        private final String componentName;
+        private final List<String> requiredServices;
+        private final List<String> providedServices;
+        private final boolean lazy;
+        private final String tier;
+
+        private ComponentEntry(String bundleKey, String componentName, List<String> requiredServices,
+                               List<String> providedServices, boolean lazy, String tier) {
+            this.bundleKey = bundleKey;
+            this.componentName = componentName;
+            this.requiredServices = requiredServices;
+            this.providedServices = providedServices;
+            this.lazy = lazy;
+            this.tier = tier;
+        }
+    }
+
+    /**
+     * A CapabilityProvider OSGi service declared with the osgi.service Carbon-Component manifest header element.
+     */
+    private static class CapabilityProviderEntry {
+        private final String bundleKey;
+        private final String providedCapabilityName;
+
+        private CapabilityProviderEntry(String bundleKey, String providedCapabilityName) {
+            this.bundleKey = bundleKey;
+            this.providedCapabilityName = providedCapabilityName;
+        }
+    }
+
+    /**
+     * OSGi services of a capability declared with the osgi.service Carbon-Component manifest header element.
+     */
+    private static class ServiceEntry {
+        private final String bundleKey;
+        private final String capabilityName;
+        private final int serviceCount;
+        private final List<String> requiredByComponentNames;
+
+        private ServiceEntry(String bundleKey, String capabilityName, int serviceCount,
+                             List<String> requiredByComponentNames) {
+            this.bundleKey = bundleKey;
+            this.capabilityName = capabilityName;
+            this.serviceCount = serviceCount;
+            this.requiredByComponentNames = requiredByComponentNames;
+        }
+    }
+}
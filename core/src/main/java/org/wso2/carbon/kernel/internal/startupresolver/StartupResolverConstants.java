@@ -36,6 +36,17 @@ class StartupResolverConstants {
     static final String OBJECT_CLASS = "objectClass";
     static final String CAPABILITY_NAME_SPLIT_CHAR = ",";
     static final String REQUIRED_SERVICE = "requiredService";
+    static final String PROVIDED_SERVICE = "providedService";
+    static final String LAZY = "lazy";
+    static final String TIER = "tier";
+    static final String TIMER_RESOLVER_MODE = "timer";
+    static final String EVENT_RESOLVER_MODE = "event";
+    static final String MANIFEST_HEADER_CACHE_FILE = "carbon-component-headers.cache";
+    static final String RUNTIME_PATH = "wso2.runtime.path";
+    static final String LOGS_DIRECTORY = "logs";
+    static final String CONFIGURATION_DIRECTORY = "configuration";
+    static final String STARTUP_PROFILE_REPORT_FILE = "startup-profile.json";
+    static final long DEFAULT_LAZY_ACTIVATION_DELAY = 30000;
 
 
     private StartupResolverConstants() {
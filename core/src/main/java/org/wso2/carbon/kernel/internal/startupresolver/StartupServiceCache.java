@@ -19,14 +19,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
  * StartupServiceCache caches all the startup services against the component name.
  * Component name is taken from ${@link org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener}
  * and interface name of the services.
+ * <p>
+ * Updates and reads are lock free. Once the Startup Order Resolver has notified all the startup components, the cache
+ * is released and further updates are ignored, until the Startup Order Resolver is activated again. The reported
+ * services are kept in a map which is swapped out on release, hence an update racing with the release never leaves
+ * counts behind in the map of the next activation.
  *
  * @since 5.2.0
  */
@@ -36,10 +43,16 @@ public class StartupServiceCache {
     private static StartupServiceCache serviceCacheInstance = new StartupServiceCache();
 
     /*
-    The internal map contains interface name (OSGi service class) against a list of implementation objects. The outer
+    The internal map contains interface name (OSGi service class) against the number of reported services. The outer
     map has the mapping between the component name and the internal map.
      */
-    private Map<String, Map<String, Long>> componentMap = new HashMap<>();
+    private volatile Map<String, Map<String, LongAdder>> componentMap = new ConcurrentHashMap<>();
+
+    /*
+    Invoked with the component name and the interface name after each update. Used by the startup order resolver to
+    keep the available service counts of the reporting component up to date.
+     */
+    private volatile BiConsumer<String, String> updateListener;
 
     public static StartupServiceCache getInstance() {
         return serviceCacheInstance;
@@ -55,27 +68,125 @@ public class StartupServiceCache {
      * @param interfaceName name of the OSGi service interface
      */
     public void update(String componentName, Class interfaceName) {
-        logger.debug("Updating StartupServiceCache, componentName={}, interfaceName={}.",
-                componentName, interfaceName.getName());
-
-        synchronized (componentMap) {
-            Map<String, Long> componentServicesMap = componentMap.get(componentName);
-            if (componentServicesMap == null) {
-                logger.debug("Creating a Component Services Map for component {}", componentName);
-                componentServicesMap = new HashMap<>();
-                componentMap.put(componentName, componentServicesMap);
-            }
-
-            Long serviceCount = componentServicesMap.get(interfaceName.getName());
-            if (serviceCount == null) {
-                logger.debug("Creating a Service Instance List for interface {} in component {}",
-                        interfaceName, componentName);
-                serviceCount = 1L;
-            } else {
-                serviceCount++;
-            }
-            componentServicesMap.put(interfaceName.getName(), serviceCount);
+        update(componentName, interfaceName.getName(), 1);
+    }
+
+    /**
+     * This method updates the StartupServiceCache with the given number of OSGi services reported by the component
+     * at once. Reporting zero services has no effect.
+     *
+     * @param componentName name of the reporting component
+     * @param interfaceName name of the OSGi service interface
+     * @param serviceCount  number of reported OSGi services
+     */
+    public void update(String componentName, Class interfaceName, int serviceCount) {
+        update(componentName, interfaceName.getName(), serviceCount);
+    }
+
+    /**
+     * This method updates the StartupServiceCache with the provided information.
+     *
+     * @param componentName name of the reporting component
+     * @param interfaceName name of the OSGi service interface
+     */
+    void update(String componentName, String interfaceName) {
+        update(componentName, interfaceName, 1);
+    }
+
+    private void update(String componentName, String interfaceName, int serviceCount) {
+        if (serviceCount < 0) {
+            throw new IllegalArgumentException("Invalid service count " + serviceCount + " reported by component " +
+                    componentName + " for the interface " + interfaceName);
+        }
+
+        if (serviceCount == 0) {
+            // E.g. a deployer which reports the artifacts it deployed, while there are no artifacts.
+            return;
+        }
+
+        Map<String, Map<String, LongAdder>> services = componentMap;
+        if (services == null) {
+            logger.debug("Ignoring the StartupServiceCache update after the startup, componentName={}, " +
+                    "interfaceName={}.", componentName, interfaceName);
+            return;
+        }
+
+        logger.debug("Updating StartupServiceCache, componentName={}, interfaceName={}, serviceCount={}.",
+                componentName, interfaceName, serviceCount);
+
+        services.computeIfAbsent(componentName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(interfaceName, name -> new LongAdder())
+                .add(serviceCount);
+
+        BiConsumer<String, String> listener = updateListener;
+        if (listener != null) {
+            listener.accept(componentName, interfaceName);
+        }
+    }
+
+    /**
+     * Discards OSGi services previously reported for the given component, e.g. when the bundle which reported them is
+     * updated and is expected to report them again. The number of available services never drops below zero.
+     *
+     * @param componentName name of the reporting component
+     * @param interfaceName name of the OSGi service interface
+     * @param serviceCount  number of OSGi services to be discarded
+     */
+    void discard(String componentName, String interfaceName, int serviceCount) {
+        Map<String, LongAdder> interfaceMap = getServices(componentName);
+        LongAdder availableServiceCount = interfaceMap != null ? interfaceMap.get(interfaceName) : null;
+        if (availableServiceCount == null) {
+            return;
         }
+
+        logger.debug("Discarding {} services reported for component {} with the interface {}.", serviceCount,
+                componentName, interfaceName);
+        availableServiceCount.add(-Math.min(serviceCount, availableServiceCount.sum()));
+    }
+
+    /**
+     * Sets the listener which gets invoked after each update of this cache.
+     *
+     * @param updateListener the listener, or null to remove the existing listener
+     */
+    void setUpdateListener(BiConsumer<String, String> updateListener) {
+        this.updateListener = updateListener;
+    }
+
+    /**
+     * Clears this cache and ignores all further updates until it is opened again. Invoked once all the startup
+     * components are notified.
+     */
+    synchronized void release() {
+        updateListener = null;
+        componentMap = null;
+    }
+
+    /**
+     * Accepts updates again if this cache was released, e.g. when the startup order resolver is activated again. The
+     * services reported before the release are not restored.
+     */
+    synchronized void open() {
+        if (componentMap == null) {
+            componentMap = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Returns the number of OSGi services of the given interface reported by the given component.
+     *
+     * @param componentName name of the reporter component
+     * @param interfaceName name of the OSGi service interface
+     * @return the number of reported OSGi services
+     */
+    public long getAvailableServiceCount(String componentName, String interfaceName) {
+        Map<String, LongAdder> availableServices = getServices(componentName);
+        if (availableServices == null) {
+            return 0;
+        }
+
+        LongAdder serviceCount = availableServices.get(interfaceName);
+        return serviceCount == null ? 0 : serviceCount.sum();
     }
 
     /**
@@ -85,15 +196,17 @@ public class StartupServiceCache {
      * @return a list of reported OSGi service names
      */
     public Map<String, Long> getAvailableService(String componentName) {
-        synchronized (componentMap) {
-            Map<String, Long> availableServices = componentMap.get(componentName);
-            if (availableServices == null) {
-                return Collections.emptyMap();
-            }
-            return availableServices.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey,
-                            stringLongEntry -> (stringLongEntry.getValue())));
+        Map<String, LongAdder> availableServices = getServices(componentName);
+        if (availableServices == null) {
+            return Collections.emptyMap();
         }
+        return availableServices.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, serviceCountEntry -> serviceCountEntry.getValue().sum()));
+    }
+
+    private Map<String, LongAdder> getServices(String componentName) {
+        Map<String, Map<String, LongAdder>> services = componentMap;
+        return services == null ? null : services.get(componentName);
     }
 }
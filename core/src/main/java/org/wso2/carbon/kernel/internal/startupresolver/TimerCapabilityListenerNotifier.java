@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * {@code CapabilityListenerNotifier} which periodically checks for satisfiable startup components using a
+ * {@link Timer}.
+ *
+ * @since 5.3.5
+ */
+class TimerCapabilityListenerNotifier implements CapabilityListenerNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(TimerCapabilityListenerNotifier.class);
+
+    private final StartupComponentManager startupComponentManager;
+    private final long delay;
+    private final long period;
+    private final StartupReadinessTracker readinessTracker;
+    private final Runnable completionCallback;
+    private final Timer capabilityListenerTimer = new Timer();
+
+    /**
+     * Creates a timer based notifier.
+     *
+     * @param startupComponentManager manager of the startup components to be notified
+     * @param delay                   delay in milliseconds before the first check
+     * @param period                  time in milliseconds between successive checks
+     * @param completionCallback      invoked once all the startup components are notified
+     */
+    TimerCapabilityListenerNotifier(StartupComponentManager startupComponentManager, long delay, long period,
+                                    Runnable completionCallback) {
+        this(startupComponentManager, delay, period, new StartupReadinessTracker(startupComponentManager),
+                completionCallback);
+    }
+
+    /**
+     * Creates a timer based notifier.
+     *
+     * @param startupComponentManager manager of the startup components to be notified
+     * @param delay                   delay in milliseconds before the first check
+     * @param period                  time in milliseconds between successive checks
+     * @param readinessTracker        tracker of the startup tiers and server readiness
+     * @param completionCallback      invoked once all the startup components are notified
+     */
+    TimerCapabilityListenerNotifier(StartupComponentManager startupComponentManager, long delay, long period,
+                                    StartupReadinessTracker readinessTracker, Runnable completionCallback) {
+        this.startupComponentManager = startupComponentManager;
+        this.delay = delay;
+        this.period = period;
+        this.readinessTracker = readinessTracker;
+        this.completionCallback = completionCallback;
+    }
+
+    @Override
+    public void start() {
+        capabilityListenerTimer.scheduleAtFixedRate(new TimerTask() {
+
+            @Override
+            public void run() {
+                synchronized (StartupComponentManager.class) {
+                    readinessTracker.checkReadiness();
+
+                    if (startupComponentManager.isStartupComplete()) {
+                        logger.debug("All the StartupComponents are satisfied. Cancelling the capabilityListenerTimer");
+                        stop();
+                        completionCallback.run();
+                        return;
+                    }
+                }
+
+                startupComponentManager.notifySatisfiableComponents();
+            }
+        }, delay, period);
+    }
+
+    @Override
+    public void stop() {
+        capabilityListenerTimer.cancel();
+    }
+}
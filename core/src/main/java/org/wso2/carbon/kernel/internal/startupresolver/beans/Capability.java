@@ -34,6 +34,9 @@ public class Capability {
     protected Bundle bundle;
     protected boolean directDependency;
     protected boolean secondCheck;
+    protected long availableTime;
+    protected int count = 1;
+    protected int availableCount;
 
     /**
      * Describes the type of the Capability.
@@ -73,6 +76,10 @@ public class Capability {
         this.state = state;
         this.bundle = bundle;
         this.directDependency = directDependency;
+        if (state == CapabilityState.AVAILABLE) {
+            this.availableTime = System.currentTimeMillis();
+            this.availableCount = count;
+        }
     }
 
     /**
@@ -83,6 +90,9 @@ public class Capability {
     public Capability(Capability capability) {
         this(capability.getName(), capability.getType(), capability.getState(), capability.getBundle(),
                 capability.isDirectDependency());
+        this.availableTime = capability.getAvailableTime();
+        this.count = capability.getCount();
+        this.availableCount = capability.getAvailableCount();
     }
 
     public String getName() {
@@ -98,9 +108,60 @@ public class Capability {
     }
 
     public void setState(CapabilityState state) {
+        if (state == CapabilityState.AVAILABLE) {
+            if (availableTime == 0) {
+                availableTime = System.currentTimeMillis();
+            }
+            availableCount = count;
+        }
         this.state = state;
     }
 
+    /**
+     * Returns the number of capability instances represented by this capability, e.g. the number of OSGi services
+     * reported by a {@code CapabilityProvider}.
+     *
+     * @return the number of capability instances
+     */
+    public int getCount() {
+        return count;
+    }
+
+    void setCount(int count) {
+        this.count = count;
+        if (state == CapabilityState.AVAILABLE) {
+            availableCount = count;
+        }
+    }
+
+    /**
+     * Returns the number of the capability instances which are available. This capability becomes available once all
+     * its instances are available.
+     *
+     * @return the number of available capability instances
+     */
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    /**
+     * Marks one more capability instance as available.
+     */
+    void addAvailableInstance() {
+        if (++availableCount >= count) {
+            setState(CapabilityState.AVAILABLE);
+        }
+    }
+
+    /**
+     * Returns the time at which this capability became available.
+     *
+     * @return the time in milliseconds, or 0 if this capability is not available yet
+     */
+    public long getAvailableTime() {
+        return availableTime;
+    }
+
     public Bundle getBundle() {
         return bundle;
     }
@@ -18,15 +18,15 @@
 package org.wso2.carbon.kernel.internal.startupresolver.beans;
 
 import org.osgi.framework.Bundle;
-import org.wso2.carbon.kernel.internal.startupresolver.StartupServiceCache;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +44,11 @@ import java.util.stream.Collectors;
  */
 public class StartupComponent {
 
+    /**
+     * Name of the startup tier of the components which do not declare a tier.
+     */
+    public static final String DEFAULT_TIER = "default";
+
     /**
      * Name of the startup listener component extracted from the componentName manifest attribute.
      */
@@ -54,15 +59,68 @@ public class StartupComponent {
      */
     private List<String> requiredServiceList = new ArrayList<>();
 
+    /**
+     * List of service class names extracted from the providedService manifest attribute. A lookup of any of these
+     * services activates a lazy startup listener component.
+     */
+    private List<String> providedServiceList = new ArrayList<>();
+
+    /**
+     * Indicates whether this startup listener component is lazy, i.e. it does not gate the server readiness and is
+     * notified only after it is activated.
+     */
+    private boolean lazy = false;
+
+    /**
+     * Name of the startup tier of this component, extracted from the tier manifest attribute. Components without a
+     * tier attribute belong to the default tier.
+     */
+    private String tier = DEFAULT_TIER;
+
+    /**
+     * Indicates whether this lazy startup listener component is activated.
+     */
+    private volatile boolean activated = false;
+
     /**
      * List of expected capabilities.
      */
     private final List<Capability> expectedCapabilityList = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * Expected capabilities with instances which are not available yet, grouped by the capability name in the order
+     * they were added. Guarded by the expectedCapabilityList lock.
+     */
+    private final Map<String, Deque<Capability>> unavailableCapabilityMap = new HashMap<>();
+
+    /**
+     * Available capabilities which are not expected yet, grouped by the capability name in the order they were added.
+     * Guarded by the expectedCapabilityList lock.
+     */
+    private final Map<String, Deque<Capability>> unexpectedCapabilityMap = new HashMap<>();
+
+    /**
+     * Number of expected capability instances counted against each capability name. An instance is counted if it is
+     * a direct dependency or an indirect dependency which is not available yet. Guarded by the expectedCapabilityList
+     * lock.
+     */
+    private final Map<String, Integer> expectedServiceCounts = new HashMap<>();
+
+    /**
+     * Number of OSGi services reported to the StartupServiceCache against each capability name. Guarded by the
+     * expectedCapabilityList lock.
+     */
+    private final Map<String, Long> availableServiceCounts = new HashMap<>();
+
+    /**
+     * Number of capability names for which the available service count is less than the expected count.
+     */
+    private volatile int pendingCapabilityCount = 0;
+
     /**
      * RequiredCapabilityListener service instance.
      */
-    private RequiredCapabilityListener listener;
+    private volatile RequiredCapabilityListener listener;
 
     /**
      * List of pending expected or available CapabilityProvider OSGi services.
@@ -79,6 +137,31 @@ public class StartupComponent {
      */
     private boolean satisfied = false;
 
+    /**
+     * Time at which this startup listener component was created from the manifest header.
+     */
+    private final long creationTime = System.currentTimeMillis();
+
+    /**
+     * Time at which the RequiredCapabilityListener service was registered.
+     */
+    private volatile long listenerRegistrationTime;
+
+    /**
+     * Time at which the RequiredCapabilityListener was notified.
+     */
+    private volatile long notificationTime;
+
+    /**
+     * Time at which the RequiredCapabilityListener returned.
+     */
+    private volatile long listenerReturnTime;
+
+    /**
+     * Time at which each required capability name was last satisfied. Guarded by the expectedCapabilityList lock.
+     */
+    private final Map<String, Long> capabilitySatisfiedTimes = new HashMap<>();
+
     /**
      * Constructor to create a {@code StartupComponent} instance.
      *
@@ -116,6 +199,52 @@ public class StartupComponent {
         requiredServiceList.add(requiredService);
     }
 
+    public List<String> getProvidedServices() {
+        return providedServiceList;
+    }
+
+    public void addProvidedServices(List<String> providedServiceList) {
+        this.providedServiceList.addAll(providedServiceList);
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Activates this component, if it is lazy. An activated lazy component is notified as soon as it is satisfiable.
+     *
+     * @return 'true' if this component was awaiting activation
+     */
+    public boolean activate() {
+        if (!isAwaitingActivation()) {
+            return false;
+        }
+        activated = true;
+        return true;
+    }
+
+    /**
+     * Returns 'true' if this component is lazy and has not been activated yet.
+     *
+     * @return 'true' if this component is awaiting activation
+     */
+    public boolean isAwaitingActivation() {
+        return lazy && !activated;
+    }
+
     public boolean isServiceRequired(String service) {
         return requiredServiceList.contains(service);
     }
@@ -129,18 +258,49 @@ public class StartupComponent {
      */
     public void addExpectedCapability(Capability capability) {
         synchronized (expectedCapabilityList) {
-            Capability expectedCapability = expectedCapabilityList.stream()
-                    .filter(expCapability -> expCapability.getName().equals(capability.getName()))
-                    .filter(expCapability -> !expCapability.isSecondCheck()
-                            && expCapability.getState() == Capability.CapabilityState.AVAILABLE)
-                    .findFirst().orElse(null);
-
-            if (expectedCapability != null) {
-                expectedCapability.setSecondCheck(true);
-                expectedCapability.setDirectDependency(capability.isDirectDependency());
-            } else {
-                expectedCapabilityList.add(capability);
+            addExpectedCapabilityInstances(capability, capability.getCount());
+        }
+    }
+
+    /**
+     * This method adds the given number of instances of the given expected capability to this startup listener
+     * component, under a single lock acquisition.
+     * <p>
+     * Instances which are already available are matched first, and a single copy of the given {@code Capability}
+     * represents the rest of the instances.
+     *
+     * @param capability the {@code Capability} object, which is used as a template
+     * @param count      number of capability instances
+     */
+    public void addExpectedCapabilities(Capability capability, int count) {
+        if (count <= 0) {
+            return;
+        }
+
+        synchronized (expectedCapabilityList) {
+            Capability expectedCapability = new Capability(capability);
+            expectedCapability.setCount(count);
+            addExpectedCapabilityInstances(expectedCapability, count);
+        }
+    }
+
+    private void addExpectedCapabilityInstances(Capability capability, int count) {
+        int unmatchedCount = count;
+        Deque<Capability> unexpectedCapabilities = unexpectedCapabilityMap.get(capability.getName());
+        while (unmatchedCount > 0 && unexpectedCapabilities != null && !unexpectedCapabilities.isEmpty()) {
+            Capability availableCapability = unexpectedCapabilities.poll();
+            int countedInstances = getCountedInstances(availableCapability);
+            availableCapability.setSecondCheck(true);
+            availableCapability.setDirectDependency(capability.isDirectDependency());
+            updateExpectedServiceCount(availableCapability, countedInstances);
+            unmatchedCount--;
+        }
+
+        if (unmatchedCount > 0) {
+            if (unmatchedCount != capability.getCount()) {
+                capability.setCount(unmatchedCount);
             }
+            addCapability(capability);
         }
     }
 
@@ -148,41 +308,83 @@ public class StartupComponent {
      * This method updates the capability in the expected capability list.
      *
      * If a corresponding capability is found in the expectedCapabilityList, then the existing capability is updated,
-     * or the new capability is added to the expectedCapabilityList otherwise.
+     * or the new capability is added to the expectedCapabilityList otherwise. An available capability makes one
+     * instance of the corresponding expected capability available.
      *
      * @param capability the capability to be updated
      */
     public void updateCapability(Capability capability) {
         synchronized (expectedCapabilityList) {
             if (capability.getState() == Capability.CapabilityState.EXPECTED) {
-                Optional<Capability> optCapability = expectedCapabilityList.stream()
-                        .filter(expCapability -> expCapability.getName().equals(capability.getName()))
-                        .filter(expCapability -> expCapability.getState() == Capability.CapabilityState.AVAILABLE)
-                        .filter(expCapability -> !expCapability.isSecondCheck())
-                        .findFirst();
-
-                if (optCapability.isPresent()) {
-                    optCapability.get().setSecondCheck(true);
+                Deque<Capability> unexpectedCapabilities = unexpectedCapabilityMap.get(capability.getName());
+                Capability availableCapability = unexpectedCapabilities != null ? unexpectedCapabilities.poll() : null;
+
+                if (availableCapability != null) {
+                    availableCapability.setSecondCheck(true);
                 } else {
-                    expectedCapabilityList.add(capability);
+                    addCapability(capability);
                 }
             } else {
                 // if Capability.CapabilityState.AVAILABLE
-                Optional<Capability> optCapability = expectedCapabilityList.stream()
-                        .filter(expCapability -> expCapability.getName().equals(capability.getName()))
-                        .filter(expCapability -> expCapability.getState() == Capability.CapabilityState.EXPECTED)
-                        .findFirst();
-
-                if (optCapability.isPresent()) {
-                    optCapability.get().setState(Capability.CapabilityState.AVAILABLE);
-                    optCapability.get().setSecondCheck(true);
+                Capability expectedCapability = pollUnavailableCapability(capability.getName());
+
+                if (expectedCapability != null) {
+                    int countedInstances = getCountedInstances(expectedCapability);
+                    expectedCapability.addAvailableInstance();
+                    expectedCapability.setSecondCheck(true);
+                    updateExpectedServiceCount(expectedCapability, countedInstances);
                 } else {
-                    expectedCapabilityList.add(capability);
+                    addCapability(capability);
                 }
             }
         }
     }
 
+    /**
+     * Returns the first expected capability of the given name with an instance which is not available yet. The
+     * capability is removed from the unavailableCapabilityMap if this is its last such instance.
+     */
+    private Capability pollUnavailableCapability(String capabilityName) {
+        Deque<Capability> unavailableCapabilities = unavailableCapabilityMap.get(capabilityName);
+        if (unavailableCapabilities == null) {
+            return null;
+        }
+
+        Capability expectedCapability = unavailableCapabilities.peek();
+        // The same capability may be added to several components, hence it may have been made available already.
+        while (expectedCapability != null && !isUnavailable(expectedCapability)) {
+            unavailableCapabilities.poll();
+            expectedCapability = unavailableCapabilities.peek();
+        }
+        if (expectedCapability != null && expectedCapability.getAvailableCount() + 1 >= expectedCapability.getCount()) {
+            unavailableCapabilities.poll();
+        }
+        return expectedCapability;
+    }
+
+    /**
+     * Updates the number of OSGi services reported to the {@code StartupServiceCache} by this component for the
+     * given capability name.
+     * <p>
+     * Counts reported to the cache never decrease, hence a stale count which is lower than the current one is
+     * ignored.
+     *
+     * @param capabilityName name of the capability
+     * @param count          number of reported OSGi services
+     */
+    public void updateAvailableServiceCount(String capabilityName, long count) {
+        synchronized (expectedCapabilityList) {
+            long currentCount = availableServiceCounts.getOrDefault(capabilityName, 0L);
+            if (count <= currentCount) {
+                return;
+            }
+
+            boolean pending = isCapabilityPending(capabilityName);
+            availableServiceCounts.put(capabilityName, count);
+            updatePendingCapabilityCount(capabilityName, pending);
+        }
+    }
+
     /**
      * Returns all the pending capabilities of this startup listener component. There could capabilities
      * in both AVAILABLE and EXPECTED state.
@@ -200,39 +402,117 @@ public class StartupComponent {
      * @return the list of pending capabilities.
      */
     public List<Capability> getPendingCapabilities() {
-        Map<String, Long> availableServiceCounts = StartupServiceCache.getInstance().getAvailableService(name);
-
         synchronized (expectedCapabilityList) {
-            Map<String, Long> expectedServiceCounts = expectedCapabilityList.stream()
-                    .filter(expCapability -> expCapability.isDirectDependency()
-                            || (!expCapability.isDirectDependency()
-                            && expCapability.getState() == Capability.CapabilityState.EXPECTED))
-                    .map(expCapability -> expCapability.getName())
-                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-            availableServiceCounts.forEach((s, aLong) -> {
-                Long eCount = expectedServiceCounts.get(s);
-                if (eCount != null && aLong >= eCount) {
-                    expectedServiceCounts.remove(s);
-                }
-            });
-
-            if (expectedServiceCounts.isEmpty()) {
+            if (pendingCapabilityCount == 0) {
                 return Collections.emptyList();
             } else {
                 return expectedCapabilityList.stream()
-                        .filter(expCapability -> expectedServiceCounts.keySet().contains(expCapability.getName()))
+                        .filter(expCapability -> isCapabilityPending(expCapability.getName()))
                         .collect(Collectors.toList());
             }
         }
     }
 
+    /**
+     * Returns 'true' if this component depends on the given component, i.e. if any of the expected capabilities of
+     * this component is provided by the bundle of the given component.
+     *
+     * @param startupComponent the startup component to be checked
+     * @return 'true' if this component depends on the given component
+     */
+    public boolean isDependentOn(StartupComponent startupComponent) {
+        Bundle otherBundle = startupComponent.getBundle();
+        synchronized (expectedCapabilityList) {
+            return expectedCapabilityList.stream()
+                    .anyMatch(expCapability -> otherBundle.equals(expCapability.getBundle()));
+        }
+    }
+
+    /**
+     * Returns a snapshot of the expected capabilities of this component.
+     *
+     * @return the list of expected capabilities
+     */
+    public List<Capability> getExpectedCapabilities() {
+        synchronized (expectedCapabilityList) {
+            return new ArrayList<>(expectedCapabilityList);
+        }
+    }
+
+    /**
+     * Returns the time at which each required capability name was last satisfied. Names which were never pending are
+     * not included.
+     *
+     * @return a map of capability names against times in milliseconds
+     */
+    public Map<String, Long> getCapabilitySatisfiedTimes() {
+        synchronized (expectedCapabilityList) {
+            return new HashMap<>(capabilitySatisfiedTimes);
+        }
+    }
+
+    private void addCapability(Capability capability) {
+        expectedCapabilityList.add(capability);
+        if (isUnavailable(capability)) {
+            unavailableCapabilityMap.computeIfAbsent(capability.getName(), name -> new ArrayDeque<>())
+                    .add(capability);
+        } else if (capability.getState() == Capability.CapabilityState.AVAILABLE && !capability.isSecondCheck()) {
+            unexpectedCapabilityMap.computeIfAbsent(capability.getName(), name -> new ArrayDeque<>())
+                    .add(capability);
+        }
+        updateExpectedServiceCount(capability, 0);
+    }
+
+    /**
+     * Adjusts the expected service count of the given capability name after the capability is added or changed.
+     *
+     * @param capability       the added or changed capability
+     * @param countedInstances the number of instances of the capability which were counted before the change
+     */
+    private void updateExpectedServiceCount(Capability capability, int countedInstances) {
+        int delta = getCountedInstances(capability) - countedInstances;
+        if (delta == 0) {
+            return;
+        }
+
+        String capabilityName = capability.getName();
+        boolean pending = isCapabilityPending(capabilityName);
+        expectedServiceCounts.merge(capabilityName, delta, Integer::sum);
+        updatePendingCapabilityCount(capabilityName, pending);
+    }
+
+    private void updatePendingCapabilityCount(String capabilityName, boolean pending) {
+        boolean nowPending = isCapabilityPending(capabilityName);
+        if (pending != nowPending) {
+            pendingCapabilityCount += nowPending ? 1 : -1;
+            if (!nowPending) {
+                capabilitySatisfiedTimes.put(capabilityName, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private boolean isCapabilityPending(String capabilityName) {
+        int expectedCount = expectedServiceCounts.getOrDefault(capabilityName, 0);
+        return expectedCount > 0 && availableServiceCounts.getOrDefault(capabilityName, 0L) < expectedCount;
+    }
+
+    private static int getCountedInstances(Capability capability) {
+        return capability.isDirectDependency() ?
+                capability.getCount() : capability.getCount() - capability.getAvailableCount();
+    }
+
+    private static boolean isUnavailable(Capability capability) {
+        return capability.getState() == Capability.CapabilityState.EXPECTED
+                && capability.getAvailableCount() < capability.getCount();
+    }
+
     public RequiredCapabilityListener getListener() {
         return listener;
     }
 
     public void setListener(RequiredCapabilityListener listener) {
         this.listener = listener;
+        this.listenerRegistrationTime = System.currentTimeMillis();
     }
 
     public void addExpectedOrAvailableCapabilityProvider(CapabilityProviderCapability capabilityProvider) {
@@ -251,6 +531,30 @@ public class StartupComponent {
         return bundle;
     }
 
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    public long getListenerRegistrationTime() {
+        return listenerRegistrationTime;
+    }
+
+    public long getNotificationTime() {
+        return notificationTime;
+    }
+
+    public void setNotificationTime(long notificationTime) {
+        this.notificationTime = notificationTime;
+    }
+
+    public long getListenerReturnTime() {
+        return listenerReturnTime;
+    }
+
+    public void setListenerReturnTime(long listenerReturnTime) {
+        this.listenerReturnTime = listenerReturnTime;
+    }
+
     public boolean isSatisfied() {
         return satisfied;
     }
@@ -266,12 +570,14 @@ public class StartupComponent {
      * 1) If there no pending capability registrations.
      * 2) If the {@code RequiredCapabilityListener} OSGi service is available.
      * 3) If there are no pending {@code CapabilityProvider} OSGi service registrations.
+     * 4) If the component is not lazy, or it has been activated.
      *
      * @return 'true' if this component can be satisfied, or else 'false'.
      */
     public boolean isSatisfiable() {
         return !satisfied &&
-                getPendingCapabilities().size() == 0 &&
+                !isAwaitingActivation() &&
+                pendingCapabilityCount == 0 &&
                 listener != null &&
                 pendingCapabilityProviderList.size() == 0;
     }
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.utils;
+
+import org.osgi.framework.BundleEvent;
+
+import java.lang.management.ManagementPermission;
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.Permission;
+import java.security.Policy;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Security checks for the privileged kernel APIs, such as the PrivilegedCarbonContext and the RuntimeManager.
+ * <p>
+ * These checks require the same permission as {@code org.wso2.carbon.utils.Utils#checkSecurity()}, but avoid its cost
+ * on hot paths. If no SecurityManager is installed, a check is a single null check. Otherwise, the access control
+ * contexts which were granted the permission are cached, so that subsequent checks from the same protection domains
+ * skip the policy evaluation. Denied checks are never cached.
+ * <p>
+ * A cached grant is only valid for the {@link Policy} which was installed when it was cached, and it expires after
+ * a second, hence a permission revoked by refreshing the policy, or through the
+ * ConditionalPermissionAdmin, is enforced within that time. Once the cache is full, expired grants are evicted first,
+ * and then the grant which expires first. The cached contexts hold the protection domains, and hence the class
+ * loaders, of the calling bundles, therefore the cache is cleared whenever a bundle is updated, uninstalled or
+ * unresolved.
+ *
+ * @since 5.3.5
+ */
+public final class SecurityUtils {
+    private static final Permission CONTROL_PERMISSION = new ManagementPermission("control");
+    private static final int MAX_CACHED_CONTEXTS = 256;
+    private static final long CACHE_TTL_MILLIS = 1000;
+    private static final long CACHE_TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(CACHE_TTL_MILLIS);
+
+    private static final Map<AccessControlContext, Grant> grantedContexts = new ConcurrentHashMap<>();
+
+    private SecurityUtils() {
+    }
+
+    /**
+     * Checks whether the current access control context has the {@code ManagementPermission("control")}.
+     *
+     * @throws SecurityException if the permission is not granted
+     */
+    public static void checkSecurity() {
+        SecurityManager securityManager = System.getSecurityManager();
+        if (securityManager == null) {
+            return;
+        }
+
+        // A custom SecurityManager may not delegate to the AccessController, hence its decisions are not cached.
+        if (securityManager.getClass() != SecurityManager.class) {
+            securityManager.checkPermission(CONTROL_PERMISSION);
+            return;
+        }
+        checkPermission(AccessController.getContext());
+    }
+
+    /**
+     * Checks whether the given access control context has the {@code ManagementPermission("control")}, using the
+     * cached result if the context was granted the permission before.
+     *
+     * @param accessControlContext the access control context to be checked
+     * @throws SecurityException if the permission is not granted
+     */
+    static void checkPermission(AccessControlContext accessControlContext) {
+        checkPermission(accessControlContext, getPolicy(), System.nanoTime());
+    }
+
+    /**
+     * Checks whether the given access control context has the {@code ManagementPermission("control")}, using the
+     * cached result if the context was granted the permission under the given policy and the grant has not expired.
+     *
+     * @param accessControlContext the access control context to be checked
+     * @param policy               the installed policy
+     * @param now                  the current value of {@link System#nanoTime()}
+     * @throws SecurityException if the permission is not granted
+     */
+    static void checkPermission(AccessControlContext accessControlContext, Policy policy, long now) {
+        Grant grant = grantedContexts.get(accessControlContext);
+        if (grant != null) {
+            if (grant.isValid(policy, now)) {
+                return;
+            }
+            grantedContexts.remove(accessControlContext, grant);
+        }
+
+        accessControlContext.checkPermission(CONTROL_PERMISSION);
+        synchronized (grantedContexts) {
+            if (grantedContexts.size() >= MAX_CACHED_CONTEXTS) {
+                evict(now);
+            }
+            grantedContexts.put(accessControlContext, new Grant(policy, now + CACHE_TTL_NANOS));
+        }
+    }
+
+    private static void evict(long now) {
+        grantedContexts.values().removeIf(grant -> grant.expiry - now <= 0);
+        if (grantedContexts.size() < MAX_CACHED_CONTEXTS) {
+            return;
+        }
+
+        Map.Entry<AccessControlContext, Grant> eldest = null;
+        for (Map.Entry<AccessControlContext, Grant> entry : grantedContexts.entrySet()) {
+            if (eldest == null || entry.getValue().expiry - eldest.getValue().expiry < 0) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null) {
+            grantedContexts.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static Policy getPolicy() {
+        return AccessController.doPrivileged((PrivilegedAction<Policy>) Policy::getPolicy);
+    }
+
+    /**
+     * Clears the cached access control contexts, e.g. so that a permission revoked by refreshing the security policy
+     * is enforced before the cached grants expire.
+     */
+    public static void clearPermissionCache() {
+        grantedContexts.clear();
+    }
+
+    /**
+     * Clears the cached access control contexts if the given event updates, uninstalls or unresolves a bundle, so that
+     * the cache does not keep the class loader of the previous revision of the bundle reachable.
+     *
+     * @param event the bundle event
+     */
+    public static void onBundleChanged(BundleEvent event) {
+        switch (event.getType()) {
+            case BundleEvent.UPDATED:
+            case BundleEvent.UNINSTALLED:
+            case BundleEvent.UNRESOLVED:
+                clearPermissionCache();
+                break;
+            default:
+                break;
+        }
+    }
+
+    static int getCachedContextCount() {
+        return grantedContexts.size();
+    }
+
+    /**
+     * A cached grant of the permission, which is valid for the policy it was granted under until it expires.
+     */
+    private static final class Grant {
+        private final Policy policy;
+        private final long expiry;
+
+        private Grant(Policy policy, long expiry) {
+            this.policy = policy;
+            this.expiry = expiry;
+        }
+
+        private boolean isValid(Policy currentPolicy, long now) {
+            return policy == currentPolicy && expiry - now > 0;
+        }
+    }
+}
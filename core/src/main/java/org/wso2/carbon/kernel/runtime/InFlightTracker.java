@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests a runtime is processing, so that the runtime can be drained before it enters the maintenance
+ * mode.
+ * <p>
+ * A runtime calls {@link #tryEnter()} before processing a request, and {@link #exit()} once the request is processed.
+ * The count is kept in a striped {@link LongAdder}, hence entering and exiting do not contend between threads. Once
+ * {@link #drain(long, TimeUnit)} or {@link #stopAdmitting()} is called, new requests are no longer admitted, and the
+ * runtime should reject them until {@link #admit()} is called.
+ * <pre>
+ *     if (!inFlightTracker.tryEnter()) {
+ *         // reject the request, e.g. with 503 Service Unavailable
+ *         return;
+ *     }
+ *     try {
+ *         ...
+ *     } finally {
+ *         inFlightTracker.exit();
+ *     }
+ * </pre>
+ *
+ * @see Runtime#getInFlightTracker()
+ * @since 5.3.5
+ */
+public final class InFlightTracker {
+    private static final long MAX_DRAIN_POLL_PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LongAdder inFlightCount = new LongAdder();
+    private final Object drainLock = new Object();
+    private volatile boolean admitting = true;
+    private volatile boolean draining;
+
+    /**
+     * Admits a request, unless the tracker is draining.
+     *
+     * @return 'true' if the request is admitted, in which case {@link #exit()} must be called once it is processed
+     */
+    public boolean tryEnter() {
+        // The count is incremented before admission is checked, hence a drain which closed admission either observes
+        // this request or this request observes the closed admission.
+        inFlightCount.increment();
+        if (admitting) {
+            return true;
+        }
+        inFlightCount.decrement();
+        return false;
+    }
+
+    /**
+     * Marks an admitted request as processed.
+     */
+    public void exit() {
+        inFlightCount.decrement();
+        if (draining) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests being processed.
+     *
+     * @return the in-flight request count
+     */
+    public long getInFlightCount() {
+        return inFlightCount.sum();
+    }
+
+    /**
+     * Returns 'true' if new requests are admitted.
+     *
+     * @return 'true' unless the tracker is draining or drained
+     */
+    public boolean isAdmitting() {
+        return admitting;
+    }
+
+    /**
+     * Stops admitting new requests without waiting for the in-flight requests, e.g. so that the requests of several
+     * runtimes are drained against the same deadline.
+     */
+    public void stopAdmitting() {
+        admitting = false;
+    }
+
+    /**
+     * Stops admitting new requests, and waits until the in-flight requests are processed or the timeout elapses.
+     * Returns immediately if no request is in flight.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return the number of requests still in flight when the timeout elapsed, which are cut by entering the
+     * maintenance mode, or zero if all the requests were processed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public long drain(long timeout, TimeUnit unit) throws InterruptedException {
+        stopAdmitting();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (drainLock) {
+            draining = true;
+            try {
+                long inFlight = inFlightCount.sum();
+                while (inFlight > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return inFlight;
+                    }
+                    // Requests which exit before observing the drain, or are rejected, do not notify, hence the wait
+                    // is bounded.
+                    TimeUnit.NANOSECONDS.timedWait(drainLock, Math.min(remaining, MAX_DRAIN_POLL_PERIOD));
+                    inFlight = inFlightCount.sum();
+                }
+                return 0;
+            } finally {
+                draining = false;
+            }
+        }
+    }
+
+    /**
+     * Admits new requests again, once the runtime has ended the maintenance mode or failed to enter it.
+     */
+    public void admit() {
+        admitting = true;
+    }
+}
@@ -17,6 +17,9 @@ package org.wso2.carbon.kernel.runtime;
 
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * <p>
  * This interface is used to register/integrate custom runtime into Carbon server, by extending this
@@ -29,6 +32,9 @@ import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
  * </p>
  * The implementation of this interface can be different from one Runtime to another depending on its
  * requirements and behaviour.
+ * <p>
+ * The RuntimeService starts and stops independent runtimes concurrently. A runtime which needs other runtimes to be
+ * started before it, and stopped after it, should declare them using {@link #getDependencies()}.
  *
  * @since 5.0.0
  */
@@ -103,4 +109,48 @@ public interface Runtime {
      */
     void setState(RuntimeState runtimeState);
 
+    /**
+     * Return the name of the runtime, which other runtimes use to declare their dependencies on it.
+     *
+     * @return the name of the runtime, which is the class name of the implementation by default
+     * @since 5.3.5
+     */
+    default String getName() {
+        return getClass().getName();
+    }
+
+    /**
+     * Return the names of the runtimes which have to be started before this runtime and stopped after it. The same
+     * order applies when ending and beginning the maintenance mode respectively.
+     *
+     * @return names of the runtimes this runtime depends on, which is empty by default
+     * @since 5.3.5
+     */
+    default Collection<String> getDependencies() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Return the maximum time a lifecycle transition of this runtime, such as start() or stop(), may take. If it does
+     * not complete in time, the transition is reported as failed, and the runtimes which depend on it are not started.
+     *
+     * @return the timeout in milliseconds, or zero to wait indefinitely, which is the default
+     * @since 5.3.5
+     */
+    default long getTimeout() {
+        return 0;
+    }
+
+    /**
+     * Return the tracker of the requests this runtime is processing. The RuntimeService drains the tracker before
+     * beginning the maintenance mode of the runtime when requested, and admits requests again after ending it.
+     *
+     * @return the in-flight request tracker, or null if the runtime does not track its in-flight requests, which is the
+     * default
+     * @see RuntimeService#drainAndBeginMaintenance(long, java.util.concurrent.TimeUnit)
+     * @since 5.3.5
+     */
+    default InFlightTracker getInFlightTracker() {
+        return null;
+    }
 }
@@ -17,6 +17,9 @@ package org.wso2.carbon.kernel.runtime;
 
 import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
 /**
  * User level APIs for consuming RuntimeManager functionality.
  * This will be registered as an OSGi service so that users can reference this in their component.
@@ -24,6 +27,10 @@ import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
  * The management aspect of the available Runtimes will be handled through this interface
  * Carbon server will be responsible on maintaining the states of the Runtimes
  * If any error occurred during this process  {@link RuntimeServiceException} error will be thrown
+ * <p>
+ * Each operation also has an asynchronous variant, which returns a CompletionStage instead of blocking the caller
+ * until the operation completes. The stage completes exceptionally with the {@link RuntimeServiceException} which the
+ * synchronous variant would have thrown.
  *
  * @since 5.0.0
  */
@@ -60,4 +67,62 @@ public interface RuntimeService {
      */
     void endMaintenance() throws RuntimeServiceException;
 
+    /**
+     * Users can call this method to drain the in-flight requests of all registered runtimes before putting them into
+     * the MAINTENANCE state. All the runtimes stop admitting new requests up front, and each of them begins the
+     * maintenance mode once its in-flight requests are processed or the timeout elapses, whichever comes first. A
+     * runtime which fails to begin the maintenance mode admits requests again. The default implementation does not
+     * drain the runtimes.
+     *
+     * @param drainTimeout the maximum time to wait for the in-flight requests of all the runtimes
+     * @param unit         the unit of the drain timeout
+     * @return the number of in-flight requests which were cut when the timeout elapsed
+     * @throws RuntimeServiceException - on error while trying to start server Maintenance mode
+     * @see Runtime#getInFlightTracker()
+     * @since 5.3.5
+     */
+    default long drainAndBeginMaintenance(long drainTimeout, TimeUnit unit) throws RuntimeServiceException {
+        beginMaintenance();
+        return 0;
+    }
+
+    /**
+     * Asynchronous variant of {@link #startRuntimes()}. The default implementation runs it in the common pool.
+     *
+     * @return the stage which completes once all registered runtimes are started
+     * @since 5.3.5
+     */
+    default CompletionStage<Void> startRuntimesAsync() {
+        return RuntimeServiceOperations.runAsync(this::startRuntimes);
+    }
+
+    /**
+     * Asynchronous variant of {@link #stopRuntimes()}. The default implementation runs it in the common pool.
+     *
+     * @return the stage which completes once all registered runtimes are stopped
+     * @since 5.3.5
+     */
+    default CompletionStage<Void> stopRuntimesAsync() {
+        return RuntimeServiceOperations.runAsync(this::stopRuntimes);
+    }
+
+    /**
+     * Asynchronous variant of {@link #beginMaintenance()}. The default implementation runs it in the common pool.
+     *
+     * @return the stage which completes once all registered runtimes are in the MAINTENANCE state
+     * @since 5.3.5
+     */
+    default CompletionStage<Void> beginMaintenanceAsync() {
+        return RuntimeServiceOperations.runAsync(this::beginMaintenance);
+    }
+
+    /**
+     * Asynchronous variant of {@link #endMaintenance()}. The default implementation runs it in the common pool.
+     *
+     * @return the stage which completes once all registered runtimes have ended the maintenance mode
+     * @since 5.3.5
+     */
+    default CompletionStage<Void> endMaintenanceAsync() {
+        return RuntimeServiceOperations.runAsync(this::endMaintenance);
+    }
 }
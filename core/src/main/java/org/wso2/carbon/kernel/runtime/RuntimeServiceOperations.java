@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Runs the synchronous RuntimeService operations asynchronously, for the default implementations of the asynchronous
+ * RuntimeService methods.
+ *
+ * @since 5.3.5
+ */
+final class RuntimeServiceOperations {
+
+    private RuntimeServiceOperations() {
+    }
+
+    /**
+     * Runs the given operation in the common pool.
+     *
+     * @param operation the operation to be run
+     * @return the stage which completes once the operation returns, or completes exceptionally with the
+     * RuntimeServiceException thrown by the operation
+     */
+    static CompletionStage<Void> runAsync(Operation operation) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                operation.run();
+            } catch (RuntimeServiceException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * A synchronous RuntimeService operation.
+     */
+    @FunctionalInterface
+    interface Operation {
+        void run() throws RuntimeServiceException;
+    }
+}
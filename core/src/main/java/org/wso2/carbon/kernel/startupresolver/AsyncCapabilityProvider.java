@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.startupresolver;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link CapabilityProvider} which computes the count of the provided capabilities asynchronously, e.g. by
+ * scanning a deployment directory.
+ * <p>
+ * Implementations should be registered as {@code CapabilityProvider} OSGi services. The startup coordinator keeps the
+ * {@code CapabilityProvider} in the pending state until the returned {@link CompletionStage} completes, without
+ * blocking the thread which delivers the service registration event. If the stage completes exceptionally, the
+ * capability count is assumed to be zero.
+ *
+ * @since 5.3.5
+ */
+public interface AsyncCapabilityProvider extends CapabilityProvider {
+
+    /**
+     * Returns a {@link CompletionStage} which completes with the count of the provided capabilities.
+     *
+     * @return the stage which completes with the capability count
+     */
+    CompletionStage<Integer> getCountAsync();
+
+    /**
+     * The startup coordinator never calls this method for an {@code AsyncCapabilityProvider}, and waiting for the
+     * count here would block the calling thread, hence it is not supported by default.
+     *
+     * @return the capability count
+     * @throws UnsupportedOperationException unless the implementation overrides this method
+     */
+    @Override
+    default int getCount() {
+        throw new UnsupportedOperationException("Use getCountAsync to get the capability count of " +
+                getClass().getName());
+    }
+}
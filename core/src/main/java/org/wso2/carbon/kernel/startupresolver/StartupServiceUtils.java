@@ -42,4 +42,19 @@ public class StartupServiceUtils {
     public static void updateServiceCache(String componentName, Class interfaceName)  {
         StartupServiceCache.getInstance().update(componentName, interfaceName);
     }
+
+    /**
+     * Updates the internal service cache of the StartupOrderResolver with the given number of OSGi services of type
+     * {@code interfaceName}, received by the component at once. This is equivalent to invoking
+     * {@link #updateServiceCache(String, Class)} {@code serviceCount} times, but results in a single update. Hence a
+     * {@code serviceCount} of zero has no effect.
+     *
+     * @param componentName name of the reporting component
+     * @param interfaceName name of the OSGi service interface
+     * @param serviceCount  number of received OSGi services, which must not be negative
+     * @since 5.3.5
+     */
+    public static void updateServiceCache(String componentName, Class interfaceName, int serviceCount) {
+        StartupServiceCache.getInstance().update(componentName, interfaceName, serviceCount);
+    }
 }
@@ -18,11 +18,14 @@ package org.wso2.carbon.kernel.startupresolver.manifest;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.wso2.carbon.utils.Tokenizer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
-import java.util.Hashtable;
 import java.util.List;
 
 /**
@@ -82,6 +85,8 @@ public class ManifestElement {
 
     private static final String MANIFEST_INVALID_HEADER_EXCEPTION = "Invalid header found.";
 
+    private static final String[] EMPTY_VALUES = new String[0];
+
     private final String manifestHeaderName;
 
     /**
@@ -90,14 +95,14 @@ public class ManifestElement {
     private final String mainValue;
 
     /**
-     * The table of attributes for the manifest element.
+     * The attributes of the manifest element, in the order they are specified.
      */
-    private Hashtable<String, Object> attributes;
+    private final Parameters attributes = new Parameters();
 
     /**
-     * The table of directives for the manifest element.
+     * The directives of the manifest element, in the order they are specified.
      */
-    private Hashtable<String, Object> directives;
+    private final Parameters directives = new Parameters();
 
     /**
      * Containing OSGi bundle.
@@ -157,7 +162,7 @@ public class ManifestElement {
      * @return the attribute value or <code>null</code>
      */
     public String getAttribute(String key) {
-        return getTableValue(attributes, key);
+        return attributes.getLastValue(key);
     }
 
     /**
@@ -169,7 +174,7 @@ public class ManifestElement {
      * @see #getAttribute(String)
      */
     public String[] getAttributes(String key) {
-        return getTableValues(attributes, key);
+        return attributes.getValues(key);
     }
 
     /**
@@ -179,7 +184,7 @@ public class ManifestElement {
      * @return the enumeration of attribute keys or null if none exist.
      */
     public Enumeration<String> getKeys() {
-        return getTableKeys(attributes);
+        return attributes.getKeys();
     }
 
     /**
@@ -198,7 +203,7 @@ public class ManifestElement {
      * @param value the value of the attribute
      */
     private void addAttribute(String key, String value) {
-        attributes = addTableValue(attributes, key, value);
+        attributes.add(key, value);
     }
 
     /**
@@ -209,7 +214,7 @@ public class ManifestElement {
      * @return the array of directive values or <code>null</code>
      */
     public String[] getDirectives(String key) {
-        return getTableValues(directives, key);
+        return directives.getValues(key);
     }
 
     /**
@@ -219,7 +224,7 @@ public class ManifestElement {
      * @return the enumeration of directive keys or <code>null</code>
      */
     public Enumeration<String> getDirectiveKeys() {
-        return getTableKeys(directives);
+        return directives.getKeys();
     }
 
     /**
@@ -229,105 +234,15 @@ public class ManifestElement {
      * @param value the value of the attribute
      */
     private void addDirective(String key, String value) {
-        directives = addTableValue(directives, key, value);
-    }
-
-    /**
-     * Return the last value associated with the given key in the specified table.
-     *
-     * @param table Hashtable&lt;String, Object&gt;
-     * @param key   String
-     * @return String
-     */
-    private String getTableValue(Hashtable<String, Object> table, String key) {
-        if (table == null) {
-            return null;
-        }
-        Object result = table.get(key);
-        if (result == null) {
-            return null;
-        }
-        if (result instanceof String) {
-            return (String) result;
-        }
-        @SuppressWarnings("unchecked")
-        List<String> valueList = (List<String>) result;
-        //return the last value
-        return valueList.get(valueList.size() - 1);
-    }
-
-    /**
-     * Return the values associated with the given key in the specified table.
-     *
-     * @param table Hashtable&lt;String, Object&gt;
-     * @param key   String
-     * @return String[]
-     */
-    private String[] getTableValues(Hashtable<String, Object> table, String key) {
-        if (table == null) {
-            return new String[]{};
-        }
-        Object result = table.get(key);
-        if (result == null) {
-            return new String[]{};
-        }
-        if (result instanceof String) {
-            return new String[]{(String) result};
-        }
-        @SuppressWarnings("unchecked")
-        List<String> valueList = (List<String>) result;
-        return valueList.toArray(new String[valueList.size()]);
-    }
-
-    /**
-     * Return an enumeration of table keys for the specified table.
-     *
-     * @param table Hashtable&lt;String, Object&gt;
-     * @return Enumeration&lt;String&gt;
-     */
-    private Enumeration<String> getTableKeys(Hashtable<String, Object> table) {
-        if (table == null) {
-            return null;
-        }
-        return table.keys();
-    }
-
-    /**
-     * Add the given key/value association to the specified table. If an entry already exists
-     * for this key, then create an array list from the current value (if necessary) and
-     * append the new value to the end of the list.
-     *
-     * @param table Hashtable&lt;String, Object&gt;
-     * @param key   String
-     * @param value String
-     * @return Hashtable&lt;String, Object&gt;
-     */
-    @SuppressWarnings("unchecked")
-    private Hashtable<String, Object> addTableValue(Hashtable<String, Object> table, String key, String value) {
-        if (table == null) {
-            table = new Hashtable<>(7);
-        }
-        Object curValue = table.get(key);
-        if (curValue != null) {
-            List<String> newList;
-            // create a list to contain multiple values
-            if (curValue instanceof List) {
-                newList = (List<String>) curValue;
-            } else {
-                newList = new ArrayList<>(5);
-                newList.add((String) curValue);
-            }
-            newList.add(value);
-            table.put(key, newList);
-        } else {
-            table.put(key, value);
-        }
-        return table;
+        directives.add(key, value);
     }
 
     /**
      * Parses a manifest header value into an array of ManifestElements.  Each
      * ManifestElement returned will have a non-null value returned by getValue().
+     * <p>
+     * The header value is parsed in a single pass over its characters. Tokens are sliced out of the header value
+     * and intermediate strings are only built for values with multiple components or escaped characters.
      *
      * @param header the header name to parse.  This is only specified to provide error messages
      *               when the header value is invalid.
@@ -344,16 +259,18 @@ public class ManifestElement {
             return new ArrayList<>();
         }
         List<ManifestElement> headerElements = new ArrayList<>(10);
-        Tokenizer tokenizer = new Tokenizer(value);
+        HeaderTokenizer tokenizer = new HeaderTokenizer(value);
         while (true) {
             String next = tokenizer.getString(";,");
             if (next == null) {
                 throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header : " +
                         header + ", Value: " + value);
             }
-            StringBuilder headerValue = new StringBuilder(next);
+            // Only a value with multiple components needs to be built, which is rare.
+            String headerValue = next;
+            StringBuilder headerValueBuilder = null;
 
-            logger.debug("parseHeader: " + next);
+            logger.debug("parseHeader: {}", next);
             boolean directive = false;
             char c = tokenizer.getChar();
             // Header values may be a list of ';' separated values.  Just append them all into one value until the
@@ -374,19 +291,23 @@ public class ManifestElement {
                                     header + ", Value: " +
                                     value);
                         }
-                        next = next.concat(":" + c + restOfNext);
+                        next = next + ':' + c + restOfNext;
                         c = tokenizer.getChar();
                     } else {
                         directive = true;
                     }
                 }
                 if (c == ';' || c == ',' || c == '\0') /* more */ {
-                    headerValue.append(";").append(next);
-                    logger.debug(";" + next);
+                    if (headerValueBuilder == null) {
+                        headerValueBuilder = new StringBuilder(headerValue);
+                    }
+                    headerValueBuilder.append(';').append(next);
+                    logger.debug(";{}", next);
                 }
             }
             // found the header value create a manifestElement for it.
-            ManifestElement manifestElement = new ManifestElement(header, headerValue.toString(), bundle);
+            ManifestElement manifestElement = new ManifestElement(header,
+                    headerValueBuilder == null ? headerValue : headerValueBuilder.toString(), bundle);
 
             // now add any attributes/directives for the manifestElement.
             while (c == '=' || c == ':') {
@@ -399,7 +320,7 @@ public class ManifestElement {
                                     header + ", Value: " +
                                     value);
                         }
-                        next = next.concat(":" + c + restOfNext);
+                        next = next + ':' + c + restOfNext;
                         c = tokenizer.getChar();
                     } else {
                         directive = true;
@@ -407,15 +328,9 @@ public class ManifestElement {
                 }
                 // determine if the attribute is the form attr:List<type>
                 String preserveEscapes = null;
-                String tempNextWithoutFirstLetter = next.substring(1);
-                if (!directive && tempNextWithoutFirstLetter.contains("List")) {
-                    Tokenizer listTokenizer = new Tokenizer(next);
-                    String attrKey = listTokenizer.getToken(":");
-                    if (attrKey != null && listTokenizer.getChar() == ':' && "List"
-                            .equals(listTokenizer.getToken("<"))) {
-                        // we assume we must preserve escapes for , and "
-                        preserveEscapes = "\\,";
-                    }
+                if (!directive && next.indexOf("List", 1) != -1 && isListAttribute(next)) {
+                    // we assume we must preserve escapes for , and "
+                    preserveEscapes = "\\,";
                 }
 
                 String val = tokenizer.getString(";,", preserveEscapes);
@@ -424,18 +339,15 @@ public class ManifestElement {
                             header + ", Value: " + value);
                 }
 
-                logger.debug(";" + next + "=" + val);
-                try {
-                    if (directive) {
-                        manifestElement.addDirective(next, val);
-                    } else {
-                        manifestElement.addAttribute(next, val);
-                    }
-                    directive = false;
-                } catch (RuntimeException e) {
-                    throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
-                            header + ", Value: " + value);
+                if (logger.isDebugEnabled()) {
+                    logger.debug(";{}={}", next, val);
+                }
+                if (directive) {
+                    manifestElement.addDirective(next, val);
+                } else {
+                    manifestElement.addAttribute(next, val);
                 }
+                directive = false;
                 c = tokenizer.getChar();
                 if (c == ';') /* more */ {
                     next = tokenizer.getToken("=:");
@@ -457,14 +369,53 @@ public class ManifestElement {
             throw new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " +
                     header + ", Value: " + value);
         }
-        int size = headerElements.size();
-        if (size == 0) {
-            return new ArrayList<>();
-        }
-
         return headerElements;
     }
 
+    /**
+     * Returns true if the given attribute key is of the form attr:List&lt;type&gt;.
+     *
+     * @param key the attribute key
+     * @return true if the attribute is a list attribute
+     */
+    private static boolean isListAttribute(String key) {
+        HeaderTokenizer listTokenizer = new HeaderTokenizer(key);
+        String attrKey = listTokenizer.getToken(":");
+        return attrKey != null && listTokenizer.getChar() == ':' && "List".equals(listTokenizer.getToken("<"));
+    }
+
+    /**
+     * Writes the header name, the value, the attributes and the directives of this manifest element to the given
+     * output. The containing bundle is not written.
+     *
+     * @param out the output to write to
+     * @throws IOException if an I/O error occurs
+     * @see #readFrom(DataInput, Bundle)
+     * @since 5.3.5
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(manifestHeaderName);
+        out.writeUTF(mainValue);
+        attributes.writeTo(out);
+        directives.writeTo(out);
+    }
+
+    /**
+     * Reads a manifest element previously written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in     the input to read from
+     * @param bundle the bundle in which the manifest element resides
+     * @return the manifest element
+     * @throws IOException if an I/O error occurs
+     * @since 5.3.5
+     */
+    public static ManifestElement readFrom(DataInput in, Bundle bundle) throws IOException {
+        ManifestElement manifestElement = new ManifestElement(in.readUTF(), in.readUTF(), bundle);
+        manifestElement.attributes.readFrom(in);
+        manifestElement.directives.readFrom(in);
+        return manifestElement;
+    }
+
     /**
      * Returns the string representation of the manifest element.
      *
@@ -504,4 +455,207 @@ public class ManifestElement {
             result.append("=\"").append(value).append('\"');
         }
     }
+
+    /**
+     * Key/value pairs of the attributes or the directives of a manifest element, kept in parallel arrays in the order
+     * they are specified. A key may be associated with multiple values.
+     */
+    private static final class Parameters {
+        private String[] keys = EMPTY_VALUES;
+        private String[] values = EMPTY_VALUES;
+        private int size;
+
+        void add(String key, String value) {
+            if (size == keys.length) {
+                int capacity = size == 0 ? 4 : size << 1;
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        String getLastValue(String key) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (keys[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        String[] getValues(String key) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return new String[]{};
+            }
+
+            String[] result = new String[count];
+            for (int i = 0, j = 0; j < count; i++) {
+                if (keys[i].equals(key)) {
+                    result[j++] = values[i];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the distinct keys in the order they are first specified, or null if there are no keys.
+         */
+        Enumeration<String> getKeys() {
+            if (size == 0) {
+                return null;
+            }
+            return Collections.enumeration(getDistinctKeys());
+        }
+
+        private List<String> getDistinctKeys() {
+            List<String> distinctKeys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (!distinctKeys.contains(keys[i])) {
+                    distinctKeys.add(keys[i]);
+                }
+            }
+            return distinctKeys;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            List<String> distinctKeys = getDistinctKeys();
+            out.writeInt(distinctKeys.size());
+            for (String key : distinctKeys) {
+                String[] keyValues = getValues(key);
+                out.writeUTF(key);
+                out.writeInt(keyValues.length);
+                for (String value : keyValues) {
+                    out.writeUTF(value);
+                }
+            }
+        }
+
+        void readFrom(DataInput in) throws IOException {
+            int keyCount = in.readInt();
+            for (int i = 0; i < keyCount; i++) {
+                String key = in.readUTF();
+                int valueCount = in.readInt();
+                for (int j = 0; j < valueCount; j++) {
+                    add(key, in.readUTF());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenizes a manifest header value using an index into the value. This follows the same rules as
+     * {@code org.wso2.carbon.utils.Tokenizer}, but slices tokens out of the value instead of copying it into a
+     * character array.
+     */
+    private static final class HeaderTokenizer {
+        private final String value;
+        private final int max;
+        private int cursor;
+
+        HeaderTokenizer(String value) {
+            this.value = value;
+            this.max = value.length();
+        }
+
+        private static boolean isWhiteSpace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+        }
+
+        private void skipWhiteSpace() {
+            int cur = cursor;
+            while (cur < max && isWhiteSpace(value.charAt(cur))) {
+                cur++;
+            }
+            cursor = cur;
+        }
+
+        String getToken(String terminals) {
+            skipWhiteSpace();
+            int cur = cursor;
+            int begin = cur;
+            while (cur < max && terminals.indexOf(value.charAt(cur)) == -1) {
+                cur++;
+            }
+            cursor = cur;
+            int end = cur;
+            if (end > begin) {
+                skipWhiteSpace();
+                char c;
+                while (end > begin && ((c = value.charAt(end - 1)) == ' ' || c == '\t')) {
+                    end--;
+                }
+                return value.substring(begin, end);
+            }
+            return null;
+        }
+
+        String getString(String terminals) {
+            return getString(terminals, null);
+        }
+
+        String getString(String terminals, String preserveEscapes) {
+            skipWhiteSpace();
+            int cur = cursor;
+            if (cur >= max) {
+                return null;
+            }
+            if (value.charAt(cur) != '"') {
+                return getToken(terminals);
+            }
+
+            cur++;
+            int begin = cur;
+            char c = '\0';
+            // Escaped characters are rare, hence the quoted string is sliced out unless an escape is found.
+            StringBuilder unescaped = null;
+            for (; cur < max; cur++) {
+                c = value.charAt(cur);
+                if (c == '\\') {
+                    if (unescaped == null) {
+                        unescaped = new StringBuilder(max - begin).append(value, begin, cur);
+                    }
+                    cur++; // skip the escape char
+                    if (cur == max) {
+                        break;
+                    }
+                    c = value.charAt(cur); // include the escaped char
+                    if (preserveEscapes != null && preserveEscapes.indexOf(c) != -1) {
+                        unescaped.append('\\'); // must preserve escapes for c
+                    }
+                } else if (c == '"') {
+                    break;
+                }
+                if (unescaped != null) {
+                    unescaped.append(c);
+                }
+            }
+            int end = cur;
+            if (c == '"') {
+                cur++;
+            }
+            cursor = cur;
+            if (end > begin) {
+                skipWhiteSpace();
+                return unescaped != null ? unescaped.toString() : value.substring(begin, end);
+            }
+            return null;
+        }
+
+        char getChar() {
+            int cur = cursor;
+            if (cur < max) {
+                cursor = cur + 1;
+                return value.charAt(cur);
+            }
+            return '\0';
+        }
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and the allocation rate of getting and setting CarbonContext properties on a request
+ * processing thread.
+ * <p>
+ * The baseline benchmarks reproduce the previous access path, which allocated a new CarbonContext facade on every
+ * lookup of the current context and stored the properties in a {@link HashMap}. Compare the gc.alloc.rate.norm of the
+ * baseline and the current benchmarks to see the allocations per operation. The keyed benchmarks access the properties
+ * through {@link ContextKey}s, which load them from the slot array instead of looking up their names.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.wso2.carbon.kernel.context.CarbonContextBenchmark}.
+ *
+ * @since 5.3.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CarbonContextBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int propertyCount;
+
+    private String[] propertyNames;
+    private ContextKey<Integer>[] propertyKeys;
+    private Map<String, Object> baselineProperties;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        propertyNames = new String[propertyCount];
+        propertyKeys = new ContextKey[propertyCount];
+        baselineProperties = new HashMap<>();
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        for (int i = 0; i < propertyCount; i++) {
+            propertyNames[i] = "property-" + i;
+            baselineProperties.put(propertyNames[i], i);
+            privilegedCarbonContext.setProperty(propertyNames[i], i);
+            propertyKeys[i] = ContextKey.register("keyed-property-" + i, Integer.class);
+            privilegedCarbonContext.setProperty(propertyKeys[i], i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return CarbonContext.getCurrentContext().getProperty(nextPropertyName());
+    }
+
+    @Benchmark
+    public void setProperty() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(nextPropertyName(), index);
+    }
+
+    @Benchmark
+    public Integer getKeyedProperty() {
+        return CarbonContext.getCurrentContext().getProperty(nextPropertyKey());
+    }
+
+    @Benchmark
+    public void setKeyedProperty() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(nextPropertyKey(), index);
+    }
+
+    @Benchmark
+    public Object getPropertyBaseline() {
+        CarbonContext carbonContext = new CarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        return carbonContext.getCarbonContextHolder() != null ? baselineProperties.get(nextPropertyName()) : null;
+    }
+
+    @Benchmark
+    public void setPropertyBaseline() {
+        CarbonContext carbonContext = new CarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        if (carbonContext.getCarbonContextHolder() != null) {
+            baselineProperties.put(nextPropertyName(), index);
+        }
+    }
+
+    private String nextPropertyName() {
+        index = index + 1 == propertyCount ? 0 : index + 1;
+        return propertyNames[index];
+    }
+
+    private ContextKey<Integer> nextPropertyKey() {
+        index = index + 1 == propertyCount ? 0 : index + 1;
+        return propertyKeys[index];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CarbonContextBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
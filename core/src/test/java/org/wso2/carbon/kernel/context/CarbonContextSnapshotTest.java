@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementPermission;
+import java.security.Permission;
+import java.security.Principal;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for propagating the CarbonContext using org.wso2.carbon.kernel.context.CarbonContextSnapshot and
+ * org.wso2.carbon.kernel.context.CarbonContextExecutors.
+ *
+ * @since 5.3.5
+ */
+public class CarbonContextSnapshotTest {
+    private static final String PROPERTY_KEY = "snapshotKey";
+
+    @AfterMethod
+    public void destroyContext() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Test
+    public void testSnapshotIsIsolatedFromLaterChanges() {
+        Principal userPrincipal = () -> "snapshotUser";
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        privilegedCarbonContext.setUserPrincipal(userPrincipal);
+        privilegedCarbonContext.setProperty(PROPERTY_KEY, "captured");
+
+        CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+        privilegedCarbonContext.setProperty(PROPERTY_KEY, "changed");
+        Assert.assertEquals(snapshot.getUserPrincipal(), userPrincipal);
+        Assert.assertEquals(snapshot.getProperty(PROPERTY_KEY), "captured");
+
+        try (CarbonContextScope ignored = snapshot.restore()) {
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY), "captured");
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "restored");
+        }
+        Assert.assertEquals(snapshot.getProperty(PROPERTY_KEY), "captured");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY), "changed");
+    }
+
+    @Test
+    public void testExecutorServicePropagatesContext() throws Exception {
+        ExecutorService executorService = CarbonContextExecutors.wrap(Executors.newSingleThreadExecutor());
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "first");
+            Assert.assertEquals(executorService.submit(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY)).get(), "first");
+
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "second");
+            Assert.assertEquals(executorService.submit(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY)).get(), "second");
+
+            // The pooled thread does not retain the context of a previous task.
+            PrivilegedCarbonContext.destroyCurrentContext();
+            Assert.assertNull(executorService.submit(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY)).get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testScheduledExecutorServicePropagatesContext() throws Exception {
+        ScheduledExecutorService scheduledExecutorService =
+                CarbonContextExecutors.wrap(Executors.newSingleThreadScheduledExecutor());
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "scheduled");
+            Assert.assertEquals(scheduledExecutorService.schedule(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY), 10, TimeUnit.MILLISECONDS).get(),
+                    "scheduled");
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCompletableFuturePropagatesContext() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Principal userPrincipal = () -> "asyncUser";
+            PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+            CompletableFuture<Principal> future = CarbonContextExecutors.supplyAsync(() ->
+                    CarbonContext.getCurrentContext().getUserPrincipal(), executorService);
+            Assert.assertEquals(future.get(10, TimeUnit.SECONDS), userPrincipal);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testScopeDiscardsChanges() throws Exception {
+        Principal userPrincipal = () -> "scopeUser";
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "outer");
+
+        try (CarbonContextScope ignored = PrivilegedCarbonContext.openScope()) {
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY), "outer");
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "inner");
+            PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+
+            Object innerValue = PrivilegedCarbonContext.callInScope(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY));
+            Assert.assertEquals(innerValue, "inner");
+        }
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY), "outer");
+        Assert.assertNull(CarbonContext.getCurrentContext().getUserPrincipal());
+
+        // A different principal can be set in a new scope, without destroying the current context.
+        PrivilegedCarbonContext.runInScope(() ->
+                PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(() -> "otherUser"));
+    }
+
+    @Test
+    public void testNewScopeDoesNotInheritLeakedContext() throws Exception {
+        // A context which a previous task on this thread failed to destroy.
+        Principal leakedPrincipal = () -> "leakedUser";
+        PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(leakedPrincipal);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, "leaked");
+
+        Object newScopeValue = PrivilegedCarbonContext.callInNewScope(() -> {
+            Assert.assertNull(CarbonContext.getCurrentContext().getUserPrincipal());
+            PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(() -> "taskUser");
+            return CarbonContext.getCurrentContext().getProperty(PROPERTY_KEY);
+        });
+        Assert.assertNull(newScopeValue);
+        Assert.assertEquals(CarbonContext.getCurrentContext().getUserPrincipal(), leakedPrincipal);
+    }
+
+    @Test
+    public void testRestoreAndWrapAreCheckedUnderSecurityManager() {
+        CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+        DenyingSecurityManager securityManager = new DenyingSecurityManager();
+        try {
+            System.setSecurityManager(securityManager);
+        } catch (UnsupportedOperationException e) {
+            throw new SkipException("A SecurityManager cannot be installed on this runtime", e);
+        }
+        try {
+            securityManager.denied = true;
+            assertDenied(snapshot::restore);
+            assertDenied(() -> snapshot.wrap(() -> { }));
+            assertDenied(() -> snapshot.wrap((Callable<String>) () -> "value"));
+
+            // A task wrapped by a permitted caller is not checked again on the thread which runs it.
+            securityManager.denied = false;
+            Runnable task = snapshot.wrap(() -> { });
+            securityManager.denied = true;
+            task.run();
+        } finally {
+            securityManager.denied = false;
+            System.setSecurityManager(null);
+        }
+    }
+
+    private void assertDenied(Runnable action) {
+        try {
+            action.run();
+            Assert.fail("Permission should have been denied");
+        } catch (SecurityException e) {
+            Assert.assertTrue(e.getMessage().contains("control"));
+        }
+    }
+
+    /**
+     * A SecurityManager which denies the permission to set the CarbonContext while {@code denied} is set.
+     */
+    private static class DenyingSecurityManager extends SecurityManager {
+        private volatile boolean denied;
+
+        @Override
+        public void checkPermission(Permission permission) {
+            if (denied && permission instanceof ManagementPermission) {
+                throw new SecurityException("Denied " + permission);
+            }
+        }
+    }
+}
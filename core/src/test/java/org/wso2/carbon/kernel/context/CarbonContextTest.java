@@ -97,6 +97,23 @@ public class CarbonContextTest {
                 );
     }
 
+    @Test
+    public void testCurrentContextIsReused() {
+        try {
+            CarbonContext carbonContext = CarbonContext.getCurrentContext();
+            PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+            Assert.assertSame(CarbonContext.getCurrentContext(), carbonContext);
+            Assert.assertSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+            Assert.assertSame(privilegedCarbonContext.getCarbonContextHolder(), carbonContext.getCarbonContextHolder());
+
+            PrivilegedCarbonContext.destroyCurrentContext();
+            Assert.assertNotSame(CarbonContext.getCurrentContext(), carbonContext);
+            Assert.assertNotSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+        } finally {
+            PrivilegedCarbonContext.destroyCurrentContext();
+        }
+    }
+
     private class CarbonContextInvoker extends Thread {
         String carbonContextPropertyKey;
         Object carbonContextPropertyValue;
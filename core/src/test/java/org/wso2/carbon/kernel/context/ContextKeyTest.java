@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Test class for typed CarbonContext properties using org.wso2.carbon.kernel.context.ContextKey.
+ *
+ * @since 5.3.5
+ */
+public class ContextKeyTest {
+    private static final ContextKey<String> STRING_KEY = ContextKey.register("contextKeyTest.string", String.class);
+    private static final ContextKey<Integer> INTEGER_KEY = ContextKey.register("contextKeyTest.integer", Integer.class);
+
+    @AfterMethod
+    public void destroyContext() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Test
+    public void testRegister() {
+        ContextKey<String> key = ContextKey.register(STRING_KEY.getName(), String.class);
+        Assert.assertEquals(key, STRING_KEY);
+        Assert.assertEquals(key.getType(), String.class);
+        Assert.assertNotEquals(INTEGER_KEY, STRING_KEY);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRegisterWithDifferentType() {
+        ContextKey.register(STRING_KEY.getName(), Integer.class);
+    }
+
+    @Test
+    public void testRegisterTypeFromAnotherClassLoader() throws Exception {
+        String name = "contextKeyTest.reloaded";
+        ContextKey<Value> key = ContextKey.register(name, Value.class);
+        // A bundle which is refreshed loads the same type with a new class loader.
+        URL classes = Value.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes}, null)) {
+            Class<?> reloadedType = classLoader.loadClass(Value.class.getName());
+            Assert.assertNotSame(reloadedType, Value.class);
+
+            ContextKey<?> reloadedKey = ContextKey.register(name, reloadedType);
+            Assert.assertEquals(reloadedKey, key);
+
+            // Values set by name are checked against the type registered last.
+            Object reloadedValue = reloadedType.newInstance();
+            PrivilegedCarbonContext.getCurrentContext().setProperty(name, reloadedValue);
+            Assert.assertSame(CarbonContext.getCurrentContext().getProperty(reloadedKey), reloadedValue);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRegisterPrimitiveType() {
+        ContextKey.register("contextKeyTest.primitive", int.class);
+    }
+
+    @Test
+    public void testSetAndGetProperty() {
+        Assert.assertNull(CarbonContext.getCurrentContext().getProperty(STRING_KEY));
+
+        PrivilegedCarbonContext.getCurrentContext().setProperty(STRING_KEY, "value");
+        PrivilegedCarbonContext.getCurrentContext().setProperty(INTEGER_KEY, 1);
+        String value = CarbonContext.getCurrentContext().getProperty(STRING_KEY);
+        Assert.assertEquals(value, "value");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(INTEGER_KEY), Integer.valueOf(1));
+    }
+
+    @Test
+    public void testStringCompatibility() {
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        privilegedCarbonContext.setProperty(STRING_KEY, "typed");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(STRING_KEY.getName()), "typed");
+
+        privilegedCarbonContext.setProperty(STRING_KEY.getName(), "named");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(STRING_KEY), "named");
+    }
+
+    @Test
+    public void testStringCompatibilityChecksType() {
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        privilegedCarbonContext.setProperty(INTEGER_KEY, 1);
+        privilegedCarbonContext.setProperty(INTEGER_KEY.getName(), "notAnInteger");
+        // A value of a different type is kept by name, hence it is not visible through the typed key.
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(INTEGER_KEY.getName()), "notAnInteger");
+        Assert.assertNull(CarbonContext.getCurrentContext().getProperty(INTEGER_KEY));
+
+        privilegedCarbonContext.setProperty(INTEGER_KEY, 2);
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(INTEGER_KEY.getName()), 2);
+    }
+
+    @Test
+    public void testRegisterAfterSettingByName() {
+        String name = "contextKeyTest.registeredLater";
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        privilegedCarbonContext.setProperty(name, "named");
+        ContextKey<String> key = ContextKey.register(name, String.class);
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(key), "named");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(name), "named");
+
+        // Setting the slot evicts the named value, which would otherwise be visible again once the slot is cleared.
+        privilegedCarbonContext.setProperty(key, "typed");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(name), "typed");
+        privilegedCarbonContext.setProperty(key, null);
+        Assert.assertNull(CarbonContext.getCurrentContext().getProperty(name));
+        Assert.assertNull(CarbonContext.getCurrentContext().getProperty(key));
+    }
+
+    @Test
+    public void testSnapshotAndScope() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(STRING_KEY, "captured");
+        CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+        PrivilegedCarbonContext.getCurrentContext().setProperty(STRING_KEY, "changed");
+        Assert.assertEquals(snapshot.getProperty(STRING_KEY), "captured");
+
+        try (CarbonContextScope ignored = snapshot.restore()) {
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(STRING_KEY), "captured");
+            PrivilegedCarbonContext.getCurrentContext().setProperty(STRING_KEY, "restored");
+        }
+        Assert.assertEquals(snapshot.getProperty(STRING_KEY), "captured");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(STRING_KEY), "changed");
+    }
+
+    /**
+     * A property type, which is loaded again by another class loader.
+     */
+    public static class Value {
+    }
+}
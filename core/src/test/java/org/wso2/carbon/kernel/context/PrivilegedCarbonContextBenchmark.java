@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.wso2.carbon.kernel.internal.utils.SecurityUtils;
+import org.wso2.carbon.utils.Utils;
+
+import java.security.Permission;
+import java.security.Policy;
+import java.security.ProtectionDomain;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of privileged CarbonContext operations, with and without a SecurityManager.
+ * <p>
+ * The baseline benchmark performs the security check of {@code org.wso2.carbon.utils.Utils#checkSecurity()}, which
+ * was used by the privileged kernel APIs before they switched to {@link SecurityUtils#checkSecurity()}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.wso2.carbon.kernel.context.PrivilegedCarbonContextBenchmark}.
+ *
+ * @since 5.3.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrivilegedCarbonContextBenchmark {
+    private static final String PROPERTY_KEY = "benchmarkKey";
+
+    @Param({"none", "installed"})
+    public String securityManager;
+
+    private int value;
+
+    @Setup
+    public void setUp() {
+        if ("installed".equals(securityManager)) {
+            Policy.setPolicy(new Policy() {
+                @Override
+                public boolean implies(ProtectionDomain domain, Permission permission) {
+                    return true;
+                }
+            });
+            System.setSecurityManager(new SecurityManager());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setSecurityManager(null);
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Benchmark
+    public void checkSecurity() {
+        SecurityUtils.checkSecurity();
+    }
+
+    @Benchmark
+    public void checkSecurityBaseline() {
+        Utils.checkSecurity();
+    }
+
+    @Benchmark
+    public void setProperty() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_KEY, value++);
+    }
+
+    @Benchmark
+    public void runInScope() {
+        PrivilegedCarbonContext.runInScope(() -> {
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(PrivilegedCarbonContextBenchmark.class.getSimpleName());
+
+        // Installing a SecurityManager at runtime must be allowed explicitly from Java 12 onwards.
+        String specificationVersion = System.getProperty("java.specification.version");
+        if (!specificationVersion.startsWith("1.") && Integer.parseInt(specificationVersion) >= 12) {
+            options.jvmArgsAppend("-Djava.security.manager=allow");
+        }
+        new Runner(options.build()).run();
+    }
+}
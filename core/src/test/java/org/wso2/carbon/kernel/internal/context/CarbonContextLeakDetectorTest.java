@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test class for org.wso2.carbon.kernel.internal.context.CarbonContextLeakDetector.
+ *
+ * @since 5.3.5
+ */
+public class CarbonContextLeakDetectorTest {
+
+    @Test
+    public void testTrackAndUntrack() {
+        CarbonContextLeakDetector leakDetector = new CarbonContextLeakDetector(TimeUnit.HOURS.toMillis(1));
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.newContextHolder();
+        carbonContextHolder.setProperty("key", "value");
+
+        leakDetector.track(carbonContextHolder);
+        Assert.assertEquals(leakDetector.getTrackedContextCount(), 1);
+        Assert.assertEquals(leakDetector.getRetainedPropertyCount(), 1);
+        Assert.assertEquals(leakDetector.getStaleContextCount(), 0);
+
+        leakDetector.untrack(carbonContextHolder);
+        Assert.assertEquals(leakDetector.getTrackedContextCount(), 0);
+        Assert.assertEquals(leakDetector.getRetainedPropertyCount(), 0);
+    }
+
+    @Test
+    public void testStartAndStop() {
+        CarbonContextLeakDetector leakDetector = new CarbonContextLeakDetector(TimeUnit.HOURS.toMillis(1));
+        Assert.assertFalse(leakDetector.isScanning());
+
+        leakDetector.start();
+        leakDetector.start();
+        Assert.assertTrue(leakDetector.isScanning());
+        leakDetector.stop();
+        Assert.assertFalse(leakDetector.isScanning());
+        leakDetector.stop();
+    }
+
+    @Test
+    public void testStaleContexts() {
+        CarbonContextLeakDetector leakDetector = new CarbonContextLeakDetector(TimeUnit.HOURS.toMillis(1));
+        leakDetector.track(CarbonContextHolder.newContextHolder());
+        Assert.assertEquals(leakDetector.getStaleThreshold(), TimeUnit.HOURS.toSeconds(1));
+
+        leakDetector.setStaleThreshold(0);
+        Assert.assertEquals(leakDetector.getStaleContextCount(), 1);
+        String[] staleContexts = leakDetector.getStaleContexts();
+        Assert.assertEquals(staleContexts.length, 1);
+        Assert.assertTrue(staleContexts[0].startsWith("thread=" + Thread.currentThread().getName()),
+                staleContexts[0]);
+        Assert.assertTrue(staleContexts[0].contains(CarbonContextLeakDetectorTest.class.getName() +
+                ".testStaleContexts"), staleContexts[0]);
+
+        // Stale contexts are logged once.
+        leakDetector.reportStaleContexts();
+        leakDetector.reportStaleContexts();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeStaleThreshold() {
+        new CarbonContextLeakDetector(0).setStaleThreshold(-1);
+    }
+
+    @Test
+    public void testContextsOfTerminatedThreadsAreDiscarded() throws InterruptedException {
+        CarbonContextLeakDetector leakDetector = new CarbonContextLeakDetector(0);
+        Thread thread = new Thread(() -> leakDetector.track(CarbonContextHolder.newContextHolder()));
+        thread.start();
+        thread.join();
+
+        Assert.assertEquals(leakDetector.getTrackedContextCount(), 0);
+        Assert.assertEquals(leakDetector.getStaleContexts().length, 0);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.context;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test class for org.wso2.carbon.kernel.internal.context.ContextPropertyMap.
+ *
+ * @since 5.3.5
+ */
+public class ContextPropertyMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        Assert.assertNull(properties.get("missing"));
+
+        properties.put("key", "value");
+        properties.put("key", "newValue");
+        Assert.assertEquals(properties.get("key"), "newValue");
+        Assert.assertEquals(properties.size(), 1);
+
+        // Lookup is by equality, not identity.
+        Assert.assertEquals(properties.get(new String("key")), "newValue");
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        for (int i = 0; i < 20; i++) {
+            properties.put("key" + i, i);
+        }
+
+        Assert.assertEquals(properties.size(), 20);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(properties.get("key" + i), i);
+        }
+    }
+
+    @Test
+    public void testNullNameAndValue() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        properties.put(null, "nullName");
+        properties.put("nullValue", null);
+
+        Assert.assertEquals(properties.get(null), "nullName");
+        Assert.assertNull(properties.get("nullValue"));
+        Assert.assertEquals(properties.size(), 2);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        properties.put("key", "value");
+        ContextPropertyMap copy = properties.copy();
+        Assert.assertEquals(copy.get("key"), "value");
+
+        copy.put("key", "copyValue");
+        copy.put("copyKey", "copyValue");
+        properties.put("originalKey", "originalValue");
+
+        Assert.assertEquals(properties.get("key"), "value");
+        Assert.assertNull(properties.get("copyKey"));
+        Assert.assertNull(copy.get("originalKey"));
+        Assert.assertEquals(properties.size(), 2);
+        Assert.assertEquals(copy.size(), 2);
+    }
+
+    @Test
+    public void testRemove() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        properties.put("first", "firstValue");
+        properties.put("second", "secondValue");
+        ContextPropertyMap copy = properties.copy();
+
+        properties.remove("first");
+        properties.remove("missing");
+        Assert.assertNull(properties.get("first"));
+        Assert.assertEquals(properties.get("second"), "secondValue");
+        Assert.assertEquals(properties.size(), 1);
+        // The copy still holds the removed property.
+        Assert.assertEquals(copy.get("first"), "firstValue");
+        Assert.assertEquals(copy.size(), 2);
+    }
+
+    @Test
+    public void testSlots() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        Assert.assertNull(properties.getSlot(0));
+
+        properties.putSlot(0, "first");
+        properties.putSlot(20, "grown");
+        Assert.assertEquals(properties.getSlot(0), "first");
+        Assert.assertEquals(properties.getSlot(20), "grown");
+        Assert.assertNull(properties.getSlot(21));
+        // Slots are not stored as named properties.
+        Assert.assertEquals(properties.size(), 0);
+    }
+
+    @Test
+    public void testSlotCopyIsIndependent() {
+        ContextPropertyMap properties = new ContextPropertyMap();
+        properties.putSlot(0, "value");
+        ContextPropertyMap copy = properties.copy();
+        Assert.assertEquals(copy.getSlot(0), "value");
+
+        copy.putSlot(0, "copyValue");
+        properties.putSlot(1, "originalValue");
+
+        Assert.assertEquals(properties.getSlot(0), "value");
+        Assert.assertEquals(copy.getSlot(0), "copyValue");
+        Assert.assertNull(copy.getSlot(1));
+    }
+}
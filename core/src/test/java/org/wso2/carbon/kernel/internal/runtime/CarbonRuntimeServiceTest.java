@@ -0,0 +1,487 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.runtime;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.runtime.InFlightTracker;
+import org.wso2.carbon.kernel.runtime.Runtime;
+import org.wso2.carbon.kernel.runtime.RuntimeState;
+import org.wso2.carbon.kernel.runtime.exception.RuntimeServiceException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the parallel, dependency ordered lifecycle transitions of
+ * org.wso2.carbon.kernel.internal.runtime.CarbonRuntimeService.
+ *
+ * @since 5.3.5
+ */
+public class CarbonRuntimeServiceTest {
+
+    @Test
+    public void testIndependentRuntimesStartConcurrently() throws Exception {
+        // Each runtime waits for the other to start, which only completes if they start concurrently.
+        CountDownLatch latch = new CountDownLatch(2);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime first = new TestRuntime("first", events).onStart(() -> await(latch));
+        TestRuntime second = new TestRuntime("second", events).onStart(() -> await(latch));
+
+        newRuntimeService(2, first, second).startRuntimes();
+        Assert.assertEquals(first.getState(), RuntimeState.ACTIVE);
+        Assert.assertEquals(second.getState(), RuntimeState.ACTIVE);
+    }
+
+    @Test
+    public void testDependencyOrder() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime database = new TestRuntime("database", events).onStart(() -> sleep(50));
+        TestRuntime transport = new TestRuntime("transport", events, "database");
+        TestRuntime mediation = new TestRuntime("mediation", events, "database", "transport");
+        CarbonRuntimeService runtimeService = newRuntimeService(4, mediation, transport, database);
+
+        runtimeService.startRuntimes();
+        Assert.assertEquals(events, Arrays.asList("start database", "start transport", "start mediation"));
+
+        events.clear();
+        runtimeService.stopRuntimes();
+        Assert.assertEquals(events, Arrays.asList("stop mediation", "stop transport", "stop database"));
+    }
+
+    @Test
+    public void testFailuresAreAggregated() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime pending = new TestRuntime("pending", events);
+        pending.setState(RuntimeState.PENDING);
+        TestRuntime maintenance = new TestRuntime("maintenance", events);
+        maintenance.setState(RuntimeState.MAINTENANCE);
+        TestRuntime dependent = new TestRuntime("dependent", events, "pending");
+        TestRuntime independent = new TestRuntime("independent", events);
+
+        try {
+            newRuntimeService(2, pending, maintenance, dependent, independent).startRuntimes();
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to start 3 of 4 runtimes");
+            Assert.assertEquals(e.getSuppressed().length, 2);
+        }
+        // The failures do not prevent the independent runtime from starting.
+        Assert.assertEquals(events, Collections.singletonList("start independent"));
+        Assert.assertEquals(dependent.getState(), RuntimeState.INACTIVE);
+    }
+
+    @Test
+    public void testStopContinuesAfterFailure() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime dependency = new TestRuntime("dependency", events);
+        TestRuntime failing = new TestRuntime("failing", events, "dependency").onStop(() -> {
+            throw new IllegalStateException("Failed to stop");
+        });
+
+        try {
+            newRuntimeService(2, dependency, failing).stopRuntimes();
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertEquals(e.getCause().getCause().getMessage(), "Failed to stop");
+        }
+        Assert.assertEquals(events, Arrays.asList("stop failing", "stop dependency"));
+    }
+
+    @Test
+    public void testTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime slow = new TestRuntime("slow", events).withTimeout(50).onStart(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TestRuntime dependent = new TestRuntime("dependent", events, "slow");
+
+        try {
+            newRuntimeService(2, slow, dependent).startRuntimes();
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "Failed to start runtime slow within 50 ms");
+        } finally {
+            release.countDown();
+        }
+        Assert.assertEquals(dependent.getState(), RuntimeState.INACTIVE);
+    }
+
+    @Test
+    public void testTimedOutRuntimeDoesNotBlockOtherRuntimes() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        // The runtime ignores interrupts, hence it holds the only thread of the transition until it is released.
+        TestRuntime hung = new TestRuntime("hung", events).withTimeout(50).onStart(() -> {
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    events.add("interrupted hung");
+                }
+            }
+        });
+        TestRuntime independent = new TestRuntime("independent", events);
+
+        try {
+            newRuntimeService(1, hung, independent).startRuntimes();
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "Failed to start runtime hung within 50 ms");
+        } finally {
+            release.countDown();
+        }
+        Assert.assertEquals(independent.getState(), RuntimeState.ACTIVE);
+        Assert.assertTrue(events.contains("interrupted hung"), events.toString());
+    }
+
+    @Test
+    public void testMissingAndCyclicDependencies() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime missing = new TestRuntime("missing", events, "unknown");
+        TestRuntime cyclic = new TestRuntime("cyclic", events, "cyclic2");
+        TestRuntime cyclic2 = new TestRuntime("cyclic2", events, "cyclic");
+
+        try {
+            newRuntimeService(2, missing, cyclic, cyclic2).startRuntimes();
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertTrue(events.isEmpty(), events.toString());
+        }
+    }
+
+    @Test
+    public void testStartRuntimesAsync() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime slow = new TestRuntime("slow", events).onStart(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TestRuntime dependent = new TestRuntime("dependent", events, "slow");
+        CarbonRuntimeService runtimeService = newRuntimeService(2, slow, dependent);
+        Assert.assertEquals(runtimeService.getRuntimeProgress().length, 0);
+
+        CompletableFuture<Void> result = runtimeService.startRuntimesAsync().toCompletableFuture();
+        waitForProgress(runtimeService, "slow: RUNNING");
+        Assert.assertFalse(result.isDone());
+        String[] progress = runtimeService.getRuntimeProgress();
+        Assert.assertEquals(progress[0], "start: 1 WAITING, 1 RUNNING, 0 COMPLETED, 0 FAILED");
+        Assert.assertEquals(progress[2], "dependent: WAITING");
+
+        release.countDown();
+        result.get(10, TimeUnit.SECONDS);
+        progress = runtimeService.getRuntimeProgress();
+        Assert.assertEquals(progress[0], "start: 0 WAITING, 0 RUNNING, 2 COMPLETED, 0 FAILED");
+        Assert.assertEquals(events, Arrays.asList("start slow", "start dependent"));
+    }
+
+    @Test
+    public void testBeginMaintenanceInBackground() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime pending = new TestRuntime("pending", events);
+        pending.setState(RuntimeState.PENDING);
+        TestRuntime active = new TestRuntime("active", events);
+        CarbonRuntimeService runtimeService = newRuntimeService(2, pending, active);
+
+        runtimeService.beginMaintenanceInBackground();
+        waitForProgress(runtimeService, "begin maintenance of: 0 WAITING, 0 RUNNING, 1 COMPLETED, 1 FAILED");
+        Assert.assertEquals(active.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertTrue(runtimeService.getRuntimeProgress()[1]
+                .startsWith("pending: FAILED: Runtime not initialized"));
+
+        try {
+            runtimeService.endMaintenanceAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Assert.fail("ExecutionException is expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RuntimeServiceException);
+        }
+        Assert.assertEquals(active.getState(), RuntimeState.INACTIVE);
+    }
+
+    @Test
+    public void testDrainAndBeginMaintenance() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime idle = new TestRuntime("idle", events).withInFlightTracker();
+        TestRuntime busy = new TestRuntime("busy", events).withInFlightTracker();
+        TestRuntime untracked = new TestRuntime("untracked", events);
+        Assert.assertTrue(busy.getInFlightTracker().tryEnter());
+        CarbonRuntimeService runtimeService = newRuntimeService(3, idle, busy, untracked);
+        Assert.assertEquals(runtimeService.getInFlightCount(), 1);
+
+        Assert.assertEquals(runtimeService.drainAndBeginMaintenance(50), 1);
+        Assert.assertEquals(idle.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertEquals(busy.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertEquals(untracked.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertFalse(idle.getInFlightTracker().tryEnter());
+
+        runtimeService.endMaintenance();
+        Assert.assertTrue(idle.getInFlightTracker().tryEnter());
+    }
+
+    @Test
+    public void testDrainClosesAdmissionOnAllRuntimes() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime dependency = new TestRuntime("dependency", events).withInFlightTracker();
+        List<Boolean> admitted = Collections.synchronizedList(new ArrayList<>());
+        // The dependent runtime is drained first, while the dependency already rejects new requests.
+        TestRuntime dependent = new TestRuntime("dependent", events, "dependency").withInFlightTracker()
+                .onBeginMaintenance(() -> admitted.add(dependency.getInFlightTracker().tryEnter()));
+
+        newRuntimeService(2, dependency, dependent).drainAndBeginMaintenance(50);
+        Assert.assertEquals(admitted, Collections.singletonList(false));
+        Assert.assertEquals(dependency.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertEquals(dependent.getState(), RuntimeState.MAINTENANCE);
+    }
+
+    @Test
+    public void testFailedDrainAdmitsRequests() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime failing = new TestRuntime("failing", events).withInFlightTracker().onBeginMaintenance(() -> {
+            throw new IllegalStateException("Failed to begin maintenance");
+        });
+        TestRuntime draining = new TestRuntime("draining", events).withInFlightTracker();
+
+        try {
+            newRuntimeService(2, failing, draining).drainAndBeginMaintenance(50);
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Failed to drain and begin maintenance of 1 of 2 runtimes"),
+                    e.getMessage());
+        }
+        // The failed runtime is not in the maintenance mode, hence it keeps serving requests.
+        Assert.assertTrue(failing.getInFlightTracker().isAdmitting());
+        Assert.assertFalse(draining.getInFlightTracker().isAdmitting());
+        Assert.assertEquals(draining.getState(), RuntimeState.MAINTENANCE);
+    }
+
+    @Test
+    public void testTimedOutDrainAdmitsRequests() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestRuntime hung = new TestRuntime("hung", events).withInFlightTracker().withTimeout(50)
+                .onBeginMaintenance(() -> {
+                    while (release.getCount() > 0) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            events.add("interrupted hung");
+                        }
+                    }
+                    throw new IllegalStateException("Released after the timeout");
+                });
+        TestRuntime idle = new TestRuntime("idle", events).withInFlightTracker();
+
+        try {
+            newRuntimeService(1, hung, idle).drainAndBeginMaintenance(50);
+            Assert.fail("RuntimeServiceException is expected");
+        } catch (RuntimeServiceException e) {
+            Assert.assertEquals(e.getCause().getMessage(),
+                    "Failed to drain and begin maintenance of runtime hung within 50 ms");
+            // The timed out runtime is still active, hence it serves requests again.
+            Assert.assertEquals(hung.getState(), RuntimeState.INACTIVE);
+            Assert.assertTrue(hung.getInFlightTracker().isAdmitting());
+        } finally {
+            release.countDown();
+        }
+        Assert.assertEquals(idle.getState(), RuntimeState.MAINTENANCE);
+        Assert.assertFalse(idle.getInFlightTracker().isAdmitting());
+    }
+
+    @Test
+    public void testRuntimesRegisteredDuringStart() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        RuntimeManager runtimeManager = new RuntimeManager();
+        TestRuntime registered = new TestRuntime("registered", events);
+        TestRuntime unregistered = new TestRuntime("unregistered", events);
+        // The dependencies are read while the transition is being scheduled, hence the registered runtimes change
+        // deterministically in the middle of the start.
+        TestRuntime registering = new TestRuntime("registering", events).onGetDependencies(() -> {
+            runtimeManager.registerRuntime(registered);
+            runtimeManager.unRegisterRuntime(unregistered);
+        });
+        runtimeManager.registerRuntime(registering);
+        runtimeManager.registerRuntime(unregistered);
+
+        new CarbonRuntimeService(runtimeManager, 2).startRuntimes();
+        Assert.assertEquals(registering.getState(), RuntimeState.ACTIVE);
+        Assert.assertEquals(unregistered.getState(), RuntimeState.ACTIVE);
+        Assert.assertEquals(registered.getState(), RuntimeState.INACTIVE);
+        Assert.assertEquals(runtimeManager.getRuntimeList(), Arrays.asList(registering, registered));
+    }
+
+    private static void waitForProgress(CarbonRuntimeService runtimeService, String linePrefix)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (Arrays.stream(runtimeService.getRuntimeProgress()).noneMatch(line -> line.startsWith(linePrefix))) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline,
+                    Arrays.toString(runtimeService.getRuntimeProgress()));
+            Thread.sleep(10);
+        }
+    }
+
+    private static CarbonRuntimeService newRuntimeService(int parallelism, Runtime... runtimes) {
+        RuntimeManager runtimeManager = new RuntimeManager();
+        for (Runtime runtime : runtimes) {
+            runtimeManager.registerRuntime(runtime);
+        }
+        return new CarbonRuntimeService(runtimeManager, parallelism);
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A runtime which records its lifecycle transitions.
+     */
+    private static class TestRuntime implements Runtime {
+        private final String name;
+        private final List<String> dependencies;
+        private final List<String> events;
+        private volatile RuntimeState state = RuntimeState.INACTIVE;
+        private long timeout;
+        private InFlightTracker inFlightTracker;
+        private Runnable onStart = () -> { };
+        private Runnable onStop = () -> { };
+        private Runnable onGetDependencies = () -> { };
+        private Runnable onBeginMaintenance = () -> { };
+
+        TestRuntime(String name, List<String> events, String... dependencies) {
+            this.name = name;
+            this.events = events;
+            this.dependencies = Arrays.asList(dependencies);
+        }
+
+        TestRuntime onStart(Runnable onStart) {
+            this.onStart = onStart;
+            return this;
+        }
+
+        TestRuntime onStop(Runnable onStop) {
+            this.onStop = onStop;
+            return this;
+        }
+
+        TestRuntime onGetDependencies(Runnable onGetDependencies) {
+            this.onGetDependencies = onGetDependencies;
+            return this;
+        }
+
+        TestRuntime onBeginMaintenance(Runnable onBeginMaintenance) {
+            this.onBeginMaintenance = onBeginMaintenance;
+            return this;
+        }
+
+        TestRuntime withInFlightTracker() {
+            this.inFlightTracker = new InFlightTracker();
+            return this;
+        }
+
+        TestRuntime withTimeout(long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void start() {
+            onStart.run();
+            events.add("start " + name);
+            state = RuntimeState.ACTIVE;
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop " + name);
+            onStop.run();
+            state = RuntimeState.INACTIVE;
+        }
+
+        @Override
+        public void beginMaintenance() {
+            onBeginMaintenance.run();
+            state = RuntimeState.MAINTENANCE;
+        }
+
+        @Override
+        public void endMaintenance() {
+            state = RuntimeState.INACTIVE;
+        }
+
+        @Override
+        public Enum<RuntimeState> getState() {
+            return state;
+        }
+
+        @Override
+        public void setState(RuntimeState runtimeState) {
+            this.state = runtimeState;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Collection<String> getDependencies() {
+            onGetDependencies.run();
+            return dependencies;
+        }
+
+        @Override
+        public long getTimeout() {
+            return timeout;
+        }
+
+        @Override
+        public InFlightTracker getInFlightTracker() {
+            return inFlightTracker;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the functionality of
+ * org.wso2.carbon.kernel.internal.startupresolver.EventCapabilityListenerNotifier.
+ *
+ * @since 5.3.5
+ */
+public class EventCapabilityListenerNotifierTest {
+
+    @Test
+    public void testComponentChainIsNotifiedInOrder() throws Exception {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<String> notifiedComponents = Collections.synchronizedList(new ArrayList<>());
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 3, notifiedComponents::add);
+
+        CountDownLatch completionLatch = new CountDownLatch(1);
+        EventCapabilityListenerNotifier notifier = new EventCapabilityListenerNotifier(startupComponentManager,
+                completionLatch::countDown);
+        notifier.start();
+
+        Assert.assertTrue(completionLatch.await(10, TimeUnit.SECONDS), "Startup components were not notified");
+        Assert.assertEquals(notifiedComponents, Arrays.asList("component-0", "component-1", "component-2"));
+    }
+
+    @Test
+    public void testCompletionWithoutStartupComponents() throws Exception {
+        CountDownLatch completionLatch = new CountDownLatch(1);
+        EventCapabilityListenerNotifier notifier = new EventCapabilityListenerNotifier(
+                new StartupComponentManager(), completionLatch::countDown);
+        notifier.start();
+
+        Assert.assertTrue(completionLatch.await(10, TimeUnit.SECONDS), "Completion callback was not invoked");
+    }
+
+    @Test
+    public void testComponentWaitsForListener() throws Exception {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<String> notifiedComponents = Collections.synchronizedList(new ArrayList<>());
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 1, notifiedComponents::add);
+        startupComponentManager.addStartupComponent(new StartupComponent("component-without-listener",
+                StartupResolverTestUtils.createBundle("org.wso2.carbon.kernel.startupresolver.test.other")));
+
+        CountDownLatch completionLatch = new CountDownLatch(1);
+        EventCapabilityListenerNotifier notifier = new EventCapabilityListenerNotifier(startupComponentManager,
+                completionLatch::countDown);
+        notifier.start();
+
+        Assert.assertFalse(completionLatch.await(500, TimeUnit.MILLISECONDS),
+                "Completion callback was invoked before all the listeners are available");
+        Assert.assertEquals(notifiedComponents, Collections.singletonList("component-0"));
+        notifier.stop();
+    }
+}
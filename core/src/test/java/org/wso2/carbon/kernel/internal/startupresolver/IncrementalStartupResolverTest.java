@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.HashSet;
+import java.util.Hashtable;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+
+/**
+ * This class tests the affected subgraph computation of
+ * org.wso2.carbon.kernel.internal.startupresolver.IncrementalStartupResolver.
+ *
+ * @since 5.3.5
+ */
+public class IncrementalStartupResolverTest {
+    private final Bundle deploymentEngineBundle = createBundle("deployment.engine", 1,
+            "startup.listener;componentName=\"deployment-engine\";requiredService=\"org.wso2.Deployer\"," +
+                    "osgi.service;objectClass=\"org.wso2.DeploymentService\"");
+    private final Bundle deployerBundle = createBundle("webapp.deployer", 2,
+            "osgi.service;objectClass=\"org.wso2.Deployer\";serviceCount=\"2\"");
+    private final Bundle transportBundle = createBundle("transport.mgt", 3,
+            "startup.listener;componentName=\"transport-mgt\";requiredService=\"org.wso2.Transport\"," +
+                    "osgi.service;objectClass=\"org.wso2.DeploymentService\";requiredByComponentName=" +
+                    "\"transport-mgt\"");
+    private final Bundle adminBundle = createBundle("admin", 4,
+            "startup.listener;componentName=\"admin\";requiredService=\"org.wso2.Admin\"," +
+                    "osgi.service;objectClass=\"org.wso2.Admin\"");
+    private final Bundle plainBundle = createBundle("plain", 5, null);
+
+    @Test
+    public void testDependentComponentsAreAffected() {
+        IncrementalStartupResolver incrementalStartupResolver = createResolver(deploymentEngineBundle,
+                deployerBundle, transportBundle, adminBundle, plainBundle);
+
+        Assert.assertEquals(incrementalStartupResolver.getAffectedComponentNames(
+                Collections.singletonList(deployerBundle), Collections.emptyMap()),
+                new HashSet<>(Arrays.asList("deployment-engine", "transport-mgt")));
+        Assert.assertEquals(incrementalStartupResolver.getAffectedComponentNames(
+                Collections.singletonList(transportBundle), Collections.emptyMap()),
+                Collections.singleton("transport-mgt"));
+        Assert.assertEquals(incrementalStartupResolver.getAffectedComponentNames(
+                Arrays.asList(adminBundle, plainBundle), Collections.emptyMap()),
+                Collections.singleton("admin"));
+        Assert.assertTrue(incrementalStartupResolver.getAffectedComponentNames(
+                Collections.singletonList(plainBundle), Collections.emptyMap()).isEmpty());
+    }
+
+    @Test
+    public void testComponentsDependingOnUninstalledBundleAreAffected() {
+        IncrementalStartupResolver incrementalStartupResolver = createResolver(deploymentEngineBundle,
+                transportBundle, adminBundle);
+
+        Assert.assertTrue(incrementalStartupResolver.getAffectedComponentNames(
+                Collections.singletonList(deployerBundle), Collections.emptyMap()).isEmpty());
+        Assert.assertEquals(incrementalStartupResolver.getAffectedComponentNames(
+                Collections.singletonList(deployerBundle), Collections.singletonMap(deployerBundle.getBundleId(),
+                        StartupOrderResolverUtils.getManifestElements(deployerBundle))),
+                new HashSet<>(Arrays.asList("deployment-engine", "transport-mgt")));
+    }
+
+    private IncrementalStartupResolver createResolver(Bundle... installedBundles) {
+        IncrementalStartupResolver incrementalStartupResolver = new IncrementalStartupResolver(
+                StartupResolverTestUtils.createBundleContext(StartupResolverTestUtils.createBundle("carbon.core"),
+                        installedBundles), StartupResolverTestUtils.resetStartupServiceCache(), 0, 1, 0);
+        incrementalStartupResolver.loadManifestElements();
+        return incrementalStartupResolver;
+    }
+
+    private static Bundle createBundle(String symbolicName, long bundleId, String carbonComponentHeader) {
+        Dictionary<String, String> headers = new Hashtable<>();
+        if (carbonComponentHeader != null) {
+            headers.put(CARBON_COMPONENT_HEADER, carbonComponentHeader);
+        }
+        return StartupResolverTestUtils.createBundle(symbolicName, bundleId, 0, headers);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.hooks.service.ListenerHook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * This class tests the activation of lazy startup components by
+ * org.wso2.carbon.kernel.internal.startupresolver.LazyComponentActivator.
+ *
+ * @since 5.3.5
+ */
+public class LazyComponentActivatorTest {
+    private static final String PROVIDED_SERVICE = Runnable.class.getName();
+
+    private final Bundle coreBundle = StartupResolverTestUtils.createBundle("org.wso2.carbon.core");
+    private final Bundle consumerBundle = StartupResolverTestUtils.createBundle("consumer.bundle");
+
+    @Test
+    public void testServiceLookupActivatesLazyComponent() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager);
+        LazyComponentActivator activator = new LazyComponentActivator(startupComponentManager, coreBundle);
+
+        activator.find(StartupResolverTestUtils.createBundleContext(consumerBundle), Cloneable.class.getName(), null,
+                false, new ArrayList<>());
+        Assert.assertTrue(lazyComponent.isAwaitingActivation());
+
+        activator.find(StartupResolverTestUtils.createBundleContext(consumerBundle), PROVIDED_SERVICE, null, false,
+                new ArrayList<>());
+        Assert.assertFalse(lazyComponent.isAwaitingActivation());
+    }
+
+    @Test
+    public void testFilteredLookupActivatesLazyComponent() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager);
+        LazyComponentActivator activator = new LazyComponentActivator(startupComponentManager, coreBundle);
+
+        activator.find(StartupResolverTestUtils.createBundleContext(consumerBundle), null,
+                "(&(OBJECTCLASS=" + PROVIDED_SERVICE + ")(name=test))", false, new ArrayList<>());
+        Assert.assertFalse(lazyComponent.isAwaitingActivation());
+    }
+
+    @Test
+    public void testServiceListenerActivatesLazyComponent() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager);
+        LazyComponentActivator activator = new LazyComponentActivator(startupComponentManager, coreBundle);
+
+        activator.added(Collections.singletonList(
+                createListenerInfo(StartupResolverTestUtils.createBundleContext(consumerBundle),
+                        "(objectClass=" + PROVIDED_SERVICE + ")", true)));
+        Assert.assertTrue(lazyComponent.isAwaitingActivation());
+
+        activator.added(Collections.singletonList(
+                createListenerInfo(StartupResolverTestUtils.createBundleContext(consumerBundle),
+                        "(|(objectClass=" + Cloneable.class.getName() + ")(objectClass=" + PROVIDED_SERVICE + "))",
+                        false)));
+        Assert.assertFalse(lazyComponent.isAwaitingActivation());
+    }
+
+    @Test
+    public void testOwnLookupsAreIgnored() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager);
+        LazyComponentActivator activator = new LazyComponentActivator(startupComponentManager, coreBundle);
+
+        activator.find(StartupResolverTestUtils.createBundleContext(coreBundle), PROVIDED_SERVICE, null, false,
+                new ArrayList<>());
+        activator.added(Collections.singletonList(
+                createListenerInfo(StartupResolverTestUtils.createBundleContext(coreBundle),
+                        "(objectClass=" + PROVIDED_SERVICE + ")", false)));
+        Assert.assertTrue(lazyComponent.isAwaitingActivation());
+    }
+
+    private StartupComponent addLazyComponent(StartupComponentManager startupComponentManager) {
+        StartupComponent startupComponent = new StartupComponent("lazy-component", consumerBundle);
+        startupComponent.setLazy(true);
+        startupComponent.addProvidedServices(Collections.singletonList(PROVIDED_SERVICE));
+        startupComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(startupComponent);
+        return startupComponent;
+    }
+
+    private ListenerHook.ListenerInfo createListenerInfo(BundleContext bundleContext, String filter,
+                                                         boolean removed) {
+        return new ListenerHook.ListenerInfo() {
+            @Override
+            public BundleContext getBundleContext() {
+                return bundleContext;
+            }
+
+            @Override
+            public String getFilter() {
+                return filter;
+            }
+
+            @Override
+            public boolean isRemoved() {
+                return removed;
+            }
+        };
+    }
+}
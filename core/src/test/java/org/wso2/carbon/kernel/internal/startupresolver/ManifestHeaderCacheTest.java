@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.startupresolver.manifest.ManifestElement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.ManifestHeaderCache.
+ *
+ * @since 5.3.5
+ */
+public class ManifestHeaderCacheTest {
+    private static final String HEADER_VALUE = "osgi.service;objectClass=\"org.wso2.carbon.sample.Transport\";" +
+            "serviceCount=\"2\";effective:=active";
+
+    @Test
+    public void testCachedHeadersAreReusedOnRestart() throws IOException {
+        File cacheFile = createCacheFile();
+        Bundle bundle = createBundle(1, 100);
+        Bundle plainBundle = StartupResolverTestUtils.createBundle("plain.bundle", 2, 100, new Hashtable<>());
+
+        ManifestHeaderCache manifestHeaderCache = new ManifestHeaderCache(cacheFile);
+        manifestHeaderCache.load(Arrays.asList(bundle, plainBundle));
+        Assert.assertNull(manifestHeaderCache.get(bundle));
+        manifestHeaderCache.put(bundle, StartupOrderResolverUtils.getManifestElements(bundle));
+        manifestHeaderCache.put(plainBundle, StartupOrderResolverUtils.getManifestElements(plainBundle));
+        manifestHeaderCache.save();
+
+        ManifestHeaderCache restartedCache = new ManifestHeaderCache(cacheFile);
+        restartedCache.load(Arrays.asList(bundle, plainBundle));
+        List<ManifestElement> manifestElements = restartedCache.get(bundle);
+        Assert.assertNotNull(manifestElements);
+        Assert.assertEquals(manifestElements.size(), 1);
+        Assert.assertEquals(manifestElements.get(0).getValue(), "osgi.service");
+        Assert.assertEquals(manifestElements.get(0).getAttribute("serviceCount"), "2");
+        Assert.assertEquals(manifestElements.get(0).getDirectives("effective")[0], "active");
+        Assert.assertSame(manifestElements.get(0).getBundle(), bundle);
+        Assert.assertEquals(restartedCache.get(plainBundle), Collections.emptyList());
+    }
+
+    @Test
+    public void testModifiedBundleIsNotCached() throws IOException {
+        File cacheFile = createCacheFile();
+        Bundle bundle = createBundle(1, 100);
+
+        ManifestHeaderCache manifestHeaderCache = new ManifestHeaderCache(cacheFile);
+        manifestHeaderCache.put(bundle, StartupOrderResolverUtils.getManifestElements(bundle));
+        manifestHeaderCache.save();
+
+        Bundle updatedBundle = createBundle(1, 200);
+        ManifestHeaderCache restartedCache = new ManifestHeaderCache(cacheFile);
+        restartedCache.load(Collections.singletonList(updatedBundle));
+        Assert.assertNull(restartedCache.get(updatedBundle));
+    }
+
+    private File createCacheFile() throws IOException {
+        File cacheDir = Files.createTempDirectory("manifest-header-cache").toFile();
+        cacheDir.deleteOnExit();
+        File cacheFile = new File(cacheDir, StartupResolverConstants.MANIFEST_HEADER_CACHE_FILE);
+        cacheFile.deleteOnExit();
+        return cacheFile;
+    }
+
+    private Bundle createBundle(long bundleId, long lastModified) {
+        Dictionary<String, String> headers = new Hashtable<>();
+        headers.put(CARBON_COMPONENT_HEADER, HEADER_VALUE);
+        return StartupResolverTestUtils.createBundle("cached.bundle", bundleId, lastModified, headers);
+    }
+}
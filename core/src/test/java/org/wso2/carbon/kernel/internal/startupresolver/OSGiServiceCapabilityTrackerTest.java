@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.AsyncCapabilityProvider;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CAPABILITY_NAME;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.SKIP_CARBON_STARTUP_RESOLVER;
+
+/**
+ * This class tests the per service interface tracking of
+ * org.wso2.carbon.kernel.internal.startupresolver.OSGiServiceCapabilityTracker.
+ *
+ * @since 5.3.5
+ */
+public class OSGiServiceCapabilityTrackerTest {
+    private static final String LISTENER_SERVICE = RequiredCapabilityListener.class.getName();
+    private static final String PROVIDER_SERVICE = CapabilityProvider.class.getName();
+    private static final String ASYNC_CAPABILITY = "org.wso2.carbon.kernel.test.AsyncCapability";
+
+    @Test
+    public void testTrackersAreClosedOnceDependentsAreNotified() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<String> notifiedComponents = new ArrayList<>();
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 3, notifiedComponents::add);
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+        Assert.assertEquals(tracker.getTrackedServiceInterfaces(), new HashSet<>(Arrays.asList(LISTENER_SERVICE,
+                PROVIDER_SERVICE, StartupResolverTestUtils.getChainServiceName(0),
+                StartupResolverTestUtils.getChainServiceName(1))));
+
+        // Notifies component-0, which makes ChainService0 available to component-1.
+        startupComponentManager.notifySatisfiableComponents();
+        Assert.assertEquals(notifiedComponents, Collections.singletonList("component-0"));
+        Assert.assertTrue(tracker.getTrackedServiceInterfaces()
+                .contains(StartupResolverTestUtils.getChainServiceName(0)));
+
+        startupComponentManager.notifySatisfiableComponents();
+        Assert.assertEquals(notifiedComponents, Arrays.asList("component-0", "component-1"));
+        Assert.assertEquals(tracker.getTrackedServiceInterfaces(), new HashSet<>(Arrays.asList(LISTENER_SERVICE,
+                PROVIDER_SERVICE, StartupResolverTestUtils.getChainServiceName(1))));
+
+        startupComponentManager.notifySatisfiableComponents();
+        Assert.assertEquals(tracker.getTrackedServiceInterfaces(),
+                new HashSet<>(Arrays.asList(LISTENER_SERVICE, PROVIDER_SERVICE)));
+
+        tracker.closeTracker();
+        Assert.assertTrue(tracker.getTrackedServiceInterfaces().isEmpty());
+    }
+
+    @Test
+    public void testServiceIsAttributedToTrackedInterface() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        Bundle bundle = StartupResolverTestUtils.createBundle("tracker.test.bundle");
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 2, componentName -> { });
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+
+        // The required interface is not the first objectClass of the registered service.
+        boolean tracked = tracker.addService(StartupResolverTestUtils.getChainServiceName(0),
+                StartupResolverTestUtils.createServiceReference(bundle, Collections.singletonMap("objectClass",
+                        new String[]{Runnable.class.getName(), StartupResolverTestUtils.getChainServiceName(0)})),
+                new Object());
+
+        Assert.assertTrue(tracked);
+        Assert.assertTrue(startupComponentManager.getComponents(component -> "component-1".equals(component
+                .getName())).get(0).isSatisfiable());
+        tracker.closeTracker();
+    }
+
+    @Test
+    public void testSkippedServiceIsNotTracked() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 2, componentName -> { });
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+
+        boolean tracked = tracker.addService(StartupResolverTestUtils.getChainServiceName(0),
+                StartupResolverTestUtils.createServiceReference(StartupResolverTestUtils.createBundle("skipped"),
+                        Collections.singletonMap(SKIP_CARBON_STARTUP_RESOLVER, Boolean.TRUE)),
+                new Object());
+
+        Assert.assertFalse(tracked);
+        Assert.assertFalse(startupComponentManager.getComponents(component -> "component-1".equals(component
+                .getName())).get(0).isSatisfiable());
+        tracker.closeTracker();
+    }
+
+    @Test
+    public void testAsyncCapabilityProviderIsPendingUntilCountIsAvailable() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        Bundle providerBundle = StartupResolverTestUtils.createBundle("async.provider.bundle");
+        StartupComponent startupComponent = addAsyncCapabilityConsumer(startupComponentManager, providerBundle);
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+
+        CompletableFuture<Integer> count = new CompletableFuture<>();
+        Assert.assertTrue(tracker.addService(PROVIDER_SERVICE, StartupResolverTestUtils.createServiceReference(
+                providerBundle, Collections.singletonMap(CAPABILITY_NAME, ASYNC_CAPABILITY)),
+                (AsyncCapabilityProvider) () -> count));
+        Assert.assertEquals(startupComponent.getPendingCapabilityProviders().size(), 1);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        // The startup component now waits for the counted capability instances instead.
+        count.complete(2);
+        Assert.assertTrue(startupComponent.getPendingCapabilityProviders().isEmpty());
+        Assert.assertEquals(startupComponent.getPendingCapabilities().size(), 1);
+        Assert.assertEquals(startupComponent.getPendingCapabilities().get(0).getCount(), 2);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+        tracker.closeTracker();
+    }
+
+    @Test
+    public void testFailedAsyncCapabilityCountIsAssumedZero() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        Bundle providerBundle = StartupResolverTestUtils.createBundle("async.provider.bundle");
+        StartupComponent startupComponent = addAsyncCapabilityConsumer(startupComponentManager, providerBundle);
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+
+        CompletableFuture<Integer> count = new CompletableFuture<>();
+        tracker.addService(PROVIDER_SERVICE, StartupResolverTestUtils.createServiceReference(providerBundle,
+                Collections.singletonMap(CAPABILITY_NAME, ASYNC_CAPABILITY)), (AsyncCapabilityProvider) () -> count);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        count.completeExceptionally(new IllegalStateException("Failed to scan the deployment directory"));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        tracker.closeTracker();
+    }
+
+    @Test
+    public void testAsyncCapabilityCountIsAppliedWhileHoldingResolverLock() throws InterruptedException {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        Bundle providerBundle = StartupResolverTestUtils.createBundle("async.provider.bundle");
+        StartupComponent startupComponent = addAsyncCapabilityConsumer(startupComponentManager, providerBundle);
+
+        OSGiServiceCapabilityTracker tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                StartupResolverTestUtils.createBundleContext());
+        tracker.startTracker();
+
+        CompletableFuture<Integer> count = new CompletableFuture<>();
+        tracker.addService(PROVIDER_SERVICE, StartupResolverTestUtils.createServiceReference(providerBundle,
+                Collections.singletonMap(CAPABILITY_NAME, ASYNC_CAPABILITY)), (AsyncCapabilityProvider) () -> count);
+
+        Thread countThread = new Thread(() -> count.complete(2));
+        synchronized (StartupComponentManager.class) {
+            countThread.start();
+            while (countThread.getState() != Thread.State.BLOCKED && countThread.isAlive()) {
+                Thread.sleep(10);
+            }
+            // The capability count is not applied while the capability listener notifiers hold the lock.
+            Assert.assertEquals(startupComponent.getPendingCapabilityProviders().size(), 1);
+        }
+        countThread.join(5000);
+
+        Assert.assertTrue(startupComponent.getPendingCapabilityProviders().isEmpty());
+        Assert.assertEquals(startupComponent.getPendingCapabilities().get(0).getCount(), 2);
+        tracker.closeTracker();
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testAsyncCapabilityProviderDoesNotBlockOnGetCount() {
+        ((AsyncCapabilityProvider) CompletableFuture::new).getCount();
+    }
+
+    private StartupComponent addAsyncCapabilityConsumer(StartupComponentManager startupComponentManager,
+                                                        Bundle providerBundle) {
+        StartupComponent startupComponent = new StartupComponent("async-consumer",
+                StartupResolverTestUtils.createBundle("async.consumer.bundle"));
+        startupComponentManager.addStartupComponent(startupComponent);
+        startupComponentManager.addRequiredOSGiServiceToComponent(startupComponent.getName(), ASYNC_CAPABILITY);
+        startupComponentManager.addRequiredCapabilityListener(() -> { }, startupComponent.getName(),
+                startupComponent.getBundle());
+        startupComponentManager.addExpectedOrAvailableCapabilityProvider(new CapabilityProviderCapability(
+                PROVIDER_SERVICE, Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED,
+                ASYNC_CAPABILITY, providerBundle));
+        return startupComponent;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.slf4j.helpers.NOPLogger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.PendingCapabilityReporter
+ * and org.wso2.carbon.kernel.internal.startupresolver.PendingCapabilitySummary.
+ *
+ * @since 5.3.5
+ */
+public class PendingCapabilityReporterTest {
+    private static final String SERVICE_NAME = "org.wso2.carbon.kernel.test.PendingService";
+
+    private final Bundle providerBundle = StartupResolverTestUtils.createBundle("pending.provider.bundle");
+    private final Bundle componentBundle = StartupResolverTestUtils.createBundle("pending.component.bundle");
+
+    @Test
+    public void testSummaryGroupsEntriesByBlockingBundle() {
+        StartupComponentManager startupComponentManager = createManager();
+        PendingCapabilityReporter reporter = new PendingCapabilityReporter(startupComponentManager);
+
+        Assert.assertEquals(reporter.getPendingComponentCount(), 2);
+        Assert.assertEquals(reporter.getBlockingBundles(),
+                new String[]{getBundleName(componentBundle), getBundleName(providerBundle)});
+        Assert.assertEquals(reporter.getSummary(), new String[]{
+                "bundle(" + getBundleName(componentBundle) + "): RequiredCapabilityListener is not registered yet " +
+                        "[second-component]",
+                "bundle(" + getBundleName(providerBundle) + "): OSGi service " + SERVICE_NAME +
+                        " is not registered yet [first-component, second-component]"});
+    }
+
+    @Test
+    public void testChangedLinesContainOnlyNewAndResolvedEntries() {
+        StartupComponentManager startupComponentManager = createManager();
+        PendingCapabilitySummary firstSummary = createSummary(startupComponentManager);
+        Assert.assertEquals(firstSummary.getChangedLines(null).size(), 2);
+        Assert.assertTrue(createSummary(startupComponentManager).getChangedLines(firstSummary).isEmpty());
+
+        startupComponentManager.updateCapability(new OSGiServiceCapability(SERVICE_NAME,
+                Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.AVAILABLE, providerBundle));
+        PendingCapabilitySummary secondSummary = createSummary(startupComponentManager);
+        Assert.assertEquals(secondSummary.getPendingComponentCount(), 2);
+        Assert.assertEquals(secondSummary.getChangedLines(firstSummary), Collections.singletonList(
+                "- bundle(" + getBundleName(providerBundle) + "): OSGi service " + SERVICE_NAME +
+                        " is not registered yet [first-component, second-component]"));
+    }
+
+    @Test
+    public void testReportStopsOnceReleased() {
+        StartupComponentManager startupComponentManager = createManager();
+        PendingCapabilityReporter reporter = new PendingCapabilityReporter(startupComponentManager);
+        Assert.assertTrue(reporter.report(NOPLogger.NOP_LOGGER));
+        Assert.assertTrue(reporter.report(NOPLogger.NOP_LOGGER));
+
+        reporter.release();
+        Assert.assertFalse(reporter.report(NOPLogger.NOP_LOGGER));
+        Assert.assertEquals(reporter.getPendingComponentCount(), 0);
+        Assert.assertEquals(reporter.getSummary().length, 0);
+    }
+
+    @Test
+    public void testLazyComponentsAwaitingActivationAreNotPending() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = new StartupComponent("lazy-component", componentBundle);
+        lazyComponent.setLazy(true);
+        startupComponentManager.addStartupComponent(lazyComponent);
+
+        Assert.assertTrue(createSummary(startupComponentManager).isEmpty());
+    }
+
+    private StartupComponentManager createManager() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        for (String componentName : Arrays.asList("first-component", "second-component")) {
+            startupComponentManager.addStartupComponent(new StartupComponent(componentName, componentBundle));
+            startupComponentManager.addRequiredOSGiServiceToComponent(componentName, SERVICE_NAME);
+        }
+        startupComponentManager.addExpectedCapability(new OSGiServiceCapability(SERVICE_NAME,
+                Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED, providerBundle));
+        startupComponentManager.addRequiredCapabilityListener(() -> { }, "first-component", componentBundle);
+        return startupComponentManager;
+    }
+
+    private PendingCapabilitySummary createSummary(StartupComponentManager startupComponentManager) {
+        return PendingCapabilitySummary.of(startupComponentManager.getComponents(startupComponent -> true),
+                Collections.emptyList());
+    }
+
+    private String getBundleName(Bundle bundle) {
+        return bundle.getSymbolicName() + ":" + bundle.getVersion();
+    }
+}
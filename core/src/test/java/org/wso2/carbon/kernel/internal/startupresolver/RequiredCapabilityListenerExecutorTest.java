@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class tests the functionality of
+ * org.wso2.carbon.kernel.internal.startupresolver.RequiredCapabilityListenerExecutor.
+ *
+ * @since 5.3.5
+ */
+public class RequiredCapabilityListenerExecutorTest {
+    private static final String SERVICE_NAME = "org.wso2.carbon.kernel.startupresolver.test.UpstreamService";
+
+    @Test
+    public void testIndependentListenersRunConcurrently() throws Exception {
+        StartupComponentManager startupComponentManager = createManager(2, 0);
+        CountDownLatch listenerLatch = new CountDownLatch(2);
+        CountDownLatch returnLatch = new CountDownLatch(2);
+        RequiredCapabilityListener listener = () -> {
+            listenerLatch.countDown();
+            try {
+                // Both listeners return only if they are running at the same time.
+                if (listenerLatch.await(10, TimeUnit.SECONDS)) {
+                    returnLatch.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        addComponent(startupComponentManager, "component-a", listener);
+        addComponent(startupComponentManager, "component-b", listener);
+
+        startupComponentManager.notifySatisfiableComponents();
+
+        Assert.assertTrue(returnLatch.await(10, TimeUnit.SECONDS), "Listeners were not invoked concurrently");
+        waitUntilStartupComplete(startupComponentManager);
+    }
+
+    @Test
+    public void testDependentListenerWaitsForUpstreamListener() throws Exception {
+        StartupComponentManager startupComponentManager = createManager(2, 0);
+        CountDownLatch upstreamLatch = new CountDownLatch(1);
+        CountDownLatch upstreamRegisteredLatch = new CountDownLatch(1);
+
+        StartupComponent upstreamComponent = addComponent(startupComponentManager, "upstream-component", null);
+        StartupComponent downstreamComponent = addComponent(startupComponentManager, "downstream-component", () -> {
+        });
+        startupComponentManager.addRequiredOSGiServiceToComponent(downstreamComponent.getName(), SERVICE_NAME);
+        startupComponentManager.addExpectedCapability(createCapability(upstreamComponent.getBundle(),
+                Capability.CapabilityState.EXPECTED));
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+            startupComponentManager.updateCapability(createCapability(upstreamComponent.getBundle(),
+                    Capability.CapabilityState.AVAILABLE));
+            upstreamRegisteredLatch.countDown();
+            try {
+                upstreamLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, upstreamComponent.getName(), upstreamComponent.getBundle());
+
+        startupComponentManager.notifySatisfiableComponents();
+        Assert.assertTrue(upstreamRegisteredLatch.await(10, TimeUnit.SECONDS));
+
+        Assert.assertTrue(downstreamComponent.isSatisfiable());
+        Assert.assertFalse(startupComponentManager.notifySatisfiableComponent(downstreamComponent));
+
+        upstreamLatch.countDown();
+        waitUntil(() -> startupComponentManager.getRequiredCapabilityListenerExecutor().isIdle());
+        Assert.assertTrue(startupComponentManager.notifySatisfiableComponent(downstreamComponent));
+        waitUntilStartupComplete(startupComponentManager);
+    }
+
+    @Test
+    public void testListenerTimeout() throws Exception {
+        StartupComponentManager startupComponentManager = createManager(1, 100);
+        CountDownLatch listenerLatch = new CountDownLatch(1);
+        addComponent(startupComponentManager, "slow-component", () -> {
+            try {
+                listenerLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        startupComponentManager.notifySatisfiableComponents();
+        waitUntilStartupComplete(startupComponentManager);
+        listenerLatch.countDown();
+
+        Assert.assertEquals(startupComponentManager.getRequiredCapabilityListenerExecutor().getTimedOutComponents(),
+                Collections.singletonList("slow-component"));
+    }
+
+    @Test
+    public void testListenerFailureIsIsolated() throws Exception {
+        StartupComponentManager startupComponentManager = createManager(1, 0);
+        addComponent(startupComponentManager, "failing-component", () -> {
+            throw new IllegalStateException("Listener failure");
+        });
+        CountDownLatch listenerLatch = new CountDownLatch(1);
+        addComponent(startupComponentManager, "healthy-component", listenerLatch::countDown);
+
+        startupComponentManager.notifySatisfiableComponents();
+
+        Assert.assertTrue(listenerLatch.await(10, TimeUnit.SECONDS));
+        waitUntilStartupComplete(startupComponentManager);
+        Assert.assertEquals(startupComponentManager.getRequiredCapabilityListenerExecutor().getFailedComponents(),
+                Collections.singletonList("failing-component"));
+    }
+
+    private StartupComponentManager createManager(int poolSize, long timeout) {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        startupComponentManager.setRequiredCapabilityListenerExecutor(
+                new RequiredCapabilityListenerExecutor(poolSize, timeout));
+        return startupComponentManager;
+    }
+
+    private StartupComponent addComponent(StartupComponentManager startupComponentManager, String componentName,
+                                          RequiredCapabilityListener listener) {
+        Bundle bundle = StartupResolverTestUtils.createBundle(componentName + ".bundle");
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponentManager.addStartupComponent(startupComponent);
+        if (listener != null) {
+            startupComponentManager.addRequiredCapabilityListener(listener, componentName, bundle);
+        }
+        return startupComponent;
+    }
+
+    private Capability createCapability(Bundle bundle, Capability.CapabilityState state) {
+        return new OSGiServiceCapability(SERVICE_NAME, Capability.CapabilityType.OSGi_SERVICE, state, bundle);
+    }
+
+    private void waitUntilStartupComplete(StartupComponentManager startupComponentManager)
+            throws InterruptedException {
+        waitUntil(startupComponentManager::isStartupComplete);
+        startupComponentManager.getRequiredCapabilityListenerExecutor().shutdown();
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Condition was not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
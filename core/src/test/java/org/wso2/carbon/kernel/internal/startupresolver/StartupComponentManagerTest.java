@@ -0,0 +1,236 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class tests the capability bookkeeping of
+ * org.wso2.carbon.kernel.internal.startupresolver.StartupComponentManager.
+ *
+ * @since 5.3.5
+ */
+public class StartupComponentManagerTest {
+    private static final String SERVICE_NAME = Runnable.class.getName();
+
+    private final Bundle bundle = StartupResolverTestUtils.createBundle("manager.test.bundle");
+
+    @Test
+    public void testDirectDependencySatisfiedByServiceCache() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = addComponent(startupComponentManager, "direct-component");
+
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, true));
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, true));
+        Assert.assertFalse(startupComponent.isSatisfiable());
+        Assert.assertEquals(startupComponent.getPendingCapabilities().size(), 2);
+
+        reportService(startupComponentManager, "direct-component");
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        reportService(startupComponentManager, "direct-component");
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        Assert.assertTrue(startupComponent.getPendingCapabilities().isEmpty());
+    }
+
+    @Test
+    public void testIndirectDependencySatisfiedByAvailableCapability() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = addComponent(startupComponentManager, "indirect-component");
+
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, false));
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+    }
+
+    @Test
+    public void testAvailableCapabilityBeforeExpectedCapability() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = addComponent(startupComponentManager, "early-component");
+
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, false));
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        Assert.assertTrue(startupComponent.getPendingCapabilities().isEmpty());
+    }
+
+    @Test
+    public void testCapabilityOnlyReachesDependentComponents() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent dependentComponent = addComponent(startupComponentManager, "dependent-component");
+        StartupComponent otherComponent = new StartupComponent("other-component", bundle);
+        otherComponent.addRequiredService(Cloneable.class.getName());
+        otherComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(otherComponent);
+
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, false));
+        Assert.assertFalse(dependentComponent.isSatisfiable());
+        Assert.assertTrue(otherComponent.isSatisfiable());
+        Assert.assertTrue(otherComponent.getPendingCapabilities().isEmpty());
+    }
+
+    @Test
+    public void testServicesReportedBeforeComponentIsAdded() {
+        StartupServiceCache.getInstance().update("seeded-component", Runnable.class);
+
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = addComponent(startupComponentManager, "seeded-component");
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, true));
+
+        Assert.assertTrue(startupComponent.isSatisfiable());
+    }
+
+    @Test
+    public void testBatchedExpectedCapabilities() {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        StartupComponentManager startupComponentManager = new StartupComponentManager(startupServiceCache);
+        startupServiceCache.setUpdateListener(startupComponentManager::updateAvailableService);
+        StartupComponent startupComponent = addComponent(startupComponentManager, "batched-component");
+        List<StartupComponent> changedComponents = new ArrayList<>();
+        startupComponentManager.setComponentChangeListener(changedComponents::add);
+
+        startupComponentManager.addExpectedCapabilities(createCapability(Capability.CapabilityState.EXPECTED, true),
+                100);
+        Assert.assertEquals(changedComponents.size(), 1);
+        List<Capability> pendingCapabilities = startupComponent.getPendingCapabilities();
+        Assert.assertEquals(pendingCapabilities.size(), 1);
+        Assert.assertEquals(pendingCapabilities.get(0).getCount(), 100);
+
+        startupServiceCache.update("batched-component", Runnable.class, 99);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        startupServiceCache.update("batched-component", Runnable.class);
+        Assert.assertTrue(startupComponent.isSatisfiable());
+    }
+
+    @Test
+    public void testBatchedIndirectCapabilitiesBecomeAvailable() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = addComponent(startupComponentManager, "batched-indirect-component");
+
+        // An instance registered before the batch is expected is matched by the batch.
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        startupComponentManager.addExpectedCapabilities(createCapability(Capability.CapabilityState.EXPECTED, false),
+                3);
+        List<Capability> expectedCapabilities = startupComponent.getExpectedCapabilities();
+        Assert.assertEquals(expectedCapabilities.size(), 2);
+        Capability batchedCapability = expectedCapabilities.get(1);
+        Assert.assertEquals(batchedCapability.getCount(), 2);
+        Assert.assertEquals(batchedCapability.getAvailableCount(), 0);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        Assert.assertEquals(batchedCapability.getAvailableCount(), 1);
+        Assert.assertEquals(batchedCapability.getState(), Capability.CapabilityState.EXPECTED);
+        Assert.assertFalse(startupComponent.isSatisfiable());
+
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        Assert.assertEquals(batchedCapability.getState(), Capability.CapabilityState.AVAILABLE);
+        Assert.assertTrue(startupComponent.isSatisfiable());
+        Assert.assertEquals(startupComponent.getExpectedCapabilities().size(), 2);
+    }
+
+    @Test
+    public void testLazyComponentDoesNotGateReadiness() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager, "lazy-component");
+        Assert.assertTrue(startupComponentManager.isReady());
+        Assert.assertTrue(lazyComponent.isAwaitingActivation());
+        Assert.assertFalse(lazyComponent.isSatisfiable());
+
+        StartupComponent eagerComponent = addComponent(startupComponentManager, "eager-component");
+        startupComponentManager.addExpectedCapability(createCapability(Capability.CapabilityState.EXPECTED, false));
+        Assert.assertFalse(startupComponentManager.isReady());
+
+        startupComponentManager.updateCapability(createCapability(Capability.CapabilityState.AVAILABLE, false));
+        eagerComponent.setSatisfied(true);
+        Assert.assertTrue(startupComponentManager.isReady());
+        Assert.assertFalse(lazyComponent.isSatisfiable());
+    }
+
+    @Test
+    public void testLazyComponentActivatedByProvidedService() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent lazyComponent = addLazyComponent(startupComponentManager, "activated-lazy-component");
+        List<StartupComponent> changedComponents = new ArrayList<>();
+        startupComponentManager.setComponentChangeListener(changedComponents::add);
+
+        Assert.assertTrue(startupComponentManager.isLazyService(Cloneable.class.getName()));
+        Assert.assertFalse(startupComponentManager.isLazyService(SERVICE_NAME));
+
+        startupComponentManager.activateLazyComponents(Cloneable.class.getName());
+        Assert.assertFalse(lazyComponent.isAwaitingActivation());
+        Assert.assertTrue(lazyComponent.isSatisfiable());
+        Assert.assertEquals(changedComponents.size(), 1);
+        Assert.assertFalse(startupComponentManager.isLazyService(Cloneable.class.getName()));
+
+        startupComponentManager.activateLazyComponents(Cloneable.class.getName());
+        Assert.assertEquals(changedComponents.size(), 1);
+    }
+
+    @Test
+    public void testLazyComponentsActivatedInBackground() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent firstComponent = addLazyComponent(startupComponentManager, "first-lazy-component");
+        StartupComponent secondComponent = addLazyComponent(startupComponentManager, "second-lazy-component");
+
+        Assert.assertEquals(startupComponentManager.activateLazyComponents(), 2);
+        Assert.assertFalse(firstComponent.isAwaitingActivation());
+        Assert.assertFalse(secondComponent.isAwaitingActivation());
+        Assert.assertEquals(startupComponentManager.activateLazyComponents(), 0);
+    }
+
+    private StartupComponent addLazyComponent(StartupComponentManager startupComponentManager,
+                                              String componentName) {
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponent.setLazy(true);
+        startupComponent.addProvidedServices(Collections.singletonList(Cloneable.class.getName()));
+        startupComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(startupComponent);
+        return startupComponent;
+    }
+
+    private StartupComponent addComponent(StartupComponentManager startupComponentManager, String componentName) {
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponent.addRequiredService(SERVICE_NAME);
+        startupComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(startupComponent);
+        return startupComponent;
+    }
+
+    private Capability createCapability(Capability.CapabilityState state, boolean directDependency) {
+        return new OSGiServiceCapability(SERVICE_NAME, Capability.CapabilityType.OSGi_SERVICE, state, bundle,
+                directDependency);
+    }
+
+    private void reportService(StartupComponentManager startupComponentManager, String componentName) {
+        StartupServiceCache.getInstance().update(componentName, Runnable.class);
+        startupComponentManager.updateAvailableService(componentName, SERVICE_NAME);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time taken by the timer and the event resolver modes to notify a chain of startup components, where
+ * each component depends on a service registered by the previous one, until the completion callback which
+ * registers the CarbonServerInfo service is invoked.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverModeBenchmark}.
+ *
+ * @since 5.3.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupOrderResolverModeBenchmark {
+
+    @Param({"timer", "event"})
+    public String mode;
+
+    @Param({"10", "100"})
+    public int chainLength;
+
+    @Param({"20"})
+    public long timerPeriod;
+
+    private CapabilityListenerNotifier notifier;
+    private CountDownLatch completionLatch;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, chainLength, componentName -> {
+        });
+
+        completionLatch = new CountDownLatch(1);
+        if (StartupResolverConstants.EVENT_RESOLVER_MODE.equals(mode)) {
+            notifier = new EventCapabilityListenerNotifier(startupComponentManager, completionLatch::countDown);
+        } else {
+            notifier = new TimerCapabilityListenerNotifier(startupComponentManager, timerPeriod, timerPeriod,
+                    completionLatch::countDown);
+        }
+    }
+
+    @Benchmark
+    public void timeToCarbonServerInfo() throws InterruptedException {
+        notifier.start();
+        completionLatch.await();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        notifier.stop();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StartupOrderResolverModeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
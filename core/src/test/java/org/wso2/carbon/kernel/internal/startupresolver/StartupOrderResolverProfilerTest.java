@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverProfiler.
+ *
+ * @since 5.3.5
+ */
+public class StartupOrderResolverProfilerTest {
+
+    @Test
+    public void testCriticalPathOfComponentChain() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 3, componentName -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Each listener makes the next component in the chain satisfiable.
+        for (int i = 0; i < 3; i++) {
+            startupComponentManager.notifySatisfiableComponents();
+        }
+        Assert.assertTrue(startupComponentManager.isStartupComplete());
+
+        StartupOrderResolverProfiler profiler = new StartupOrderResolverProfiler("test-server",
+                startupComponentManager.getComponents(startupComponent -> true));
+        String[] criticalPath = profiler.getCriticalPath();
+
+        Assert.assertEquals(criticalPath.length, 3);
+        Assert.assertTrue(criticalPath[0].startsWith("component-0 "));
+        Assert.assertTrue(criticalPath[1].startsWith("component-1 "));
+        Assert.assertTrue(criticalPath[2].startsWith("component-2 "));
+        Assert.assertTrue(criticalPath[2].endsWith(StartupResolverTestUtils.getChainServiceName(1)));
+    }
+
+    @Test
+    public void testReport() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupResolverTestUtils.addComponentChain(startupComponentManager, 2, componentName -> {
+        });
+        startupComponentManager.notifySatisfiableComponents();
+        startupComponentManager.notifySatisfiableComponents();
+
+        String report = new StartupOrderResolverProfiler("test \"server\"",
+                startupComponentManager.getComponents(startupComponent -> true)).getReport();
+
+        Assert.assertTrue(report.contains("\"serverName\": \"test \\\"server\\\"\""));
+        Assert.assertTrue(report.contains("\"name\": \"component-0\""));
+        Assert.assertTrue(report.contains("\"name\": \"component-1\""));
+        Assert.assertTrue(report.contains("\"name\": \"" + StartupResolverTestUtils.getChainServiceName(0) + "\""));
+    }
+}
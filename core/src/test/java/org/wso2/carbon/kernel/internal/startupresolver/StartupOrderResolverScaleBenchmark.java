@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time taken and the memory allocated to resolve synthetic startup dependency graphs of 10 to 10,000
+ * startup components. See {@link SyntheticStartupGraph} for the shape of the generated graphs.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverScaleBenchmark}.
+ * The allocations are reported by the GC profiler as gc.alloc.rate.norm.
+ *
+ * @since 5.3.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupOrderResolverScaleBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int componentCount;
+
+    @Param({"1"})
+    public double capabilitiesPerComponent;
+
+    @Param({"4"})
+    public int maxFanIn;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public SyntheticStartupGraph.FanOut fanOut;
+
+    @Param({"0.1"})
+    public double providerRatio;
+
+    @Param({"10"})
+    public int providerCount;
+
+    @Param({"event"})
+    public String mode;
+
+    private SyntheticStartupGraph graph;
+    private SyntheticStartupGraph.Resolution resolution;
+
+    @Setup(Level.Trial)
+    public void generateGraph() {
+        graph = new SyntheticStartupGraph(componentCount, (int) (componentCount * capabilitiesPerComponent),
+                maxFanIn, fanOut, providerRatio, providerCount, 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareResolution() {
+        resolution = graph.newResolution(mode, 20);
+    }
+
+    @Benchmark
+    public SyntheticStartupGraph.Result resolve() throws InterruptedException {
+        return resolution.run(TimeUnit.MINUTES.toMillis(10));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StartupOrderResolverScaleBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupReadinessTracker.
+ *
+ * @since 5.3.5
+ */
+public class StartupReadinessTrackerTest {
+    private final Bundle bundle = StartupResolverTestUtils.createBundle("readiness.test.bundle");
+
+    @Test
+    public void testTiersBecomeReadyIndependently() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent coreComponent = addComponent(startupComponentManager, "core-component", "core", false);
+        StartupComponent trafficComponent = addComponent(startupComponentManager, "traffic-component", "traffic",
+                false);
+        StartupComponent backgroundComponent = addComponent(startupComponentManager, "background-component",
+                "background", false);
+        List<String> readyTiers = new ArrayList<>();
+        AtomicInteger readinessCount = new AtomicInteger();
+        StartupReadinessTracker readinessTracker = new StartupReadinessTracker(startupComponentManager,
+                readyTiers::add, readinessCount::incrementAndGet);
+
+        Assert.assertEquals(startupComponentManager.getTiers(), Arrays.asList("background", "core", "traffic"));
+        readinessTracker.checkReadiness();
+        Assert.assertTrue(readyTiers.isEmpty());
+
+        coreComponent.setSatisfied(true);
+        trafficComponent.setSatisfied(true);
+        readinessTracker.checkReadiness();
+        Assert.assertEquals(readyTiers, Arrays.asList("core", "traffic"));
+        Assert.assertEquals(readinessCount.get(), 0);
+        Assert.assertFalse(readinessTracker.isReady());
+
+        backgroundComponent.setSatisfied(true);
+        readinessTracker.checkReadiness();
+        readinessTracker.checkReadiness();
+        Assert.assertEquals(readyTiers, Arrays.asList("core", "traffic", "background"));
+        Assert.assertEquals(new ArrayList<>(readinessTracker.getReadyTiers()), readyTiers);
+        Assert.assertEquals(readinessCount.get(), 1);
+        Assert.assertTrue(readinessTracker.isReady());
+    }
+
+    @Test
+    public void testLazyComponentsDoNotGateTier() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent trafficComponent = addComponent(startupComponentManager, "traffic-component", "traffic",
+                false);
+        addComponent(startupComponentManager, "lazy-traffic-component", "traffic", true);
+        List<String> readyTiers = new ArrayList<>();
+        AtomicInteger readinessCount = new AtomicInteger();
+        StartupReadinessTracker readinessTracker = new StartupReadinessTracker(startupComponentManager,
+                readyTiers::add, readinessCount::incrementAndGet);
+
+        trafficComponent.setSatisfied(true);
+        readinessTracker.checkReadiness();
+        Assert.assertEquals(readyTiers, Collections.singletonList("traffic"));
+        Assert.assertEquals(readinessCount.get(), 1);
+        Assert.assertFalse(startupComponentManager.isStartupComplete());
+    }
+
+    @Test
+    public void testComponentsWithoutTierBelongToDefaultTier() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        StartupComponent startupComponent = new StartupComponent("untiered-component", bundle);
+        startupComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(startupComponent);
+        List<String> readyTiers = new ArrayList<>();
+        StartupReadinessTracker readinessTracker = new StartupReadinessTracker(startupComponentManager,
+                readyTiers::add, () -> { });
+
+        startupComponent.setSatisfied(true);
+        readinessTracker.checkReadiness();
+        Assert.assertEquals(readyTiers, Collections.singletonList(StartupComponent.DEFAULT_TIER));
+    }
+
+    private StartupComponent addComponent(StartupComponentManager startupComponentManager, String componentName,
+                                          String tier, boolean lazy) {
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponent.setTier(tier);
+        startupComponent.setLazy(lazy);
+        startupComponent.setListener(() -> { });
+        startupComponentManager.addStartupComponent(startupComponent);
+        return startupComponent;
+    }
+}
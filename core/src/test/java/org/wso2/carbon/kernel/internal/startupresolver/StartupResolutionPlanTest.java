@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupResolutionPlan.
+ *
+ * @since 5.3.5
+ */
+public class StartupResolutionPlanTest {
+    private static final String DEPLOYER_HEADER = "startup.listener;componentName=\"deployment-engine\";" +
+            "requiredService=\"org.wso2.Deployer\"," +
+            "osgi.service;objectClass=\"org.wso2.Deployer\";serviceCount=\"3\"," +
+            "osgi.service;objectClass=\"org.wso2.Transport\";requiredByComponentName=\"transport-mgt\"";
+    private static final String TRANSPORT_HEADER = "startup.listener;componentName=\"transport-mgt\";" +
+            "requiredService=\"org.wso2.Transport\"," +
+            "osgi.service;objectClass=\"org.wso2.Transport\";serviceCount=\"2\"," +
+            "osgi.service;objectClass=\"org.wso2.carbon.kernel.startupresolver.CapabilityProvider\";" +
+            "capabilityName=\"org.wso2.Transport\"," +
+            "osgi.service;objectClass=\"org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener\";" +
+            "componentName=\"transport-mgt\"";
+
+    @Test
+    public void testBuildPlan() {
+        StartupResolutionPlan startupResolutionPlan = createPlan();
+
+        Assert.assertEquals(startupResolutionPlan.getBundleCount(), 3);
+        Assert.assertEquals(startupResolutionPlan.getComponentCount(), 2);
+        Assert.assertEquals(startupResolutionPlan.getCapabilityProviderCount(), 1);
+        Assert.assertEquals(startupResolutionPlan.getExpectedServiceCount("org.wso2.Deployer"), 3);
+        Assert.assertEquals(startupResolutionPlan.getExpectedServiceCount("org.wso2.Transport"), 3);
+        Assert.assertEquals(startupResolutionPlan.getLayers(), Arrays.asList(
+                Collections.singletonList("deployment-engine"), Collections.singletonList("transport-mgt")));
+    }
+
+    @Test
+    public void testFingerprintIsIndependentOfBundleOrder() {
+        StartupResolutionPlan reorderedPlan = new StartupResolutionPlan.Builder()
+                .addBundle("plain.bundle", "2.1", null)
+                .addBundle("transport.bundle", "1.0.0", TRANSPORT_HEADER)
+                .addBundle("deployer.bundle", "1.0.0", DEPLOYER_HEADER)
+                .build();
+
+        Assert.assertEquals(reorderedPlan.getFingerprint(), createPlan().getFingerprint());
+        Assert.assertNotEquals(new StartupResolutionPlan.Builder().addBundle("plain.bundle", "2.2", null).build()
+                .getFingerprint(), createPlan().getFingerprint());
+    }
+
+    @Test
+    public void testPlanIsRestoredFromFile() throws IOException {
+        StartupResolutionPlan startupResolutionPlan = createPlan();
+        Path planFile = Files.createTempDirectory("startup-resolution-plan")
+                .resolve(StartupResolutionPlan.STARTUP_RESOLUTION_PLAN_FILE);
+        planFile.toFile().deleteOnExit();
+        startupResolutionPlan.writeTo(planFile);
+
+        StartupResolutionPlan restoredPlan = StartupResolutionPlan.readFrom(planFile);
+        Assert.assertEquals(restoredPlan.getFingerprint(), startupResolutionPlan.getFingerprint());
+        Assert.assertEquals(restoredPlan.getBundleCount(), startupResolutionPlan.getBundleCount());
+        Assert.assertEquals(restoredPlan.getComponentCount(), startupResolutionPlan.getComponentCount());
+        Assert.assertEquals(restoredPlan.getCapabilityProviderCount(), 1);
+        Assert.assertEquals(restoredPlan.getExpectedServiceCount("org.wso2.Transport"), 3);
+        Assert.assertEquals(restoredPlan.getLayers(), startupResolutionPlan.getLayers());
+    }
+
+    @Test
+    public void testApplyMatchingPlan() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<Bundle> bundles = Arrays.asList(
+                StartupResolverTestUtils.createBundle("org.eclipse.osgi", "3.14.0", 0),
+                StartupResolverTestUtils.createBundle("deployer.bundle", "1.0.0", 1, DEPLOYER_HEADER),
+                StartupResolverTestUtils.createBundle("transport.bundle", "1.0.0", 2, TRANSPORT_HEADER),
+                StartupResolverTestUtils.createBundle("plain.bundle", "2.1.0", 3));
+
+        Assert.assertTrue(createPlan().apply(startupComponentManager, bundles));
+
+        List<StartupComponent> startupComponents = startupComponentManager.getComponents(component -> true);
+        Assert.assertEquals(startupComponents.size(), 2);
+        StartupComponent deploymentEngine = getComponent(startupComponents, "deployment-engine");
+        StartupComponent transportManager = getComponent(startupComponents, "transport-mgt");
+        Assert.assertSame(deploymentEngine.getBundle(), bundles.get(1));
+        Assert.assertEquals(deploymentEngine.getPendingCapabilities().size(), 1);
+        Assert.assertEquals(deploymentEngine.getPendingCapabilities().get(0).getCount(), 3);
+        // One instance is provided by the deployer bundle and two by the transport bundle.
+        Assert.assertEquals(transportManager.getPendingCapabilities().size(), 2);
+        Assert.assertEquals(transportManager.getPendingCapabilities().stream().mapToInt(Capability::getCount).sum(), 3);
+        Assert.assertTrue(transportManager.isDependentOn(deploymentEngine));
+        Assert.assertEquals(startupComponentManager.getPendingCapabilityProviders().size(), 1);
+    }
+
+    @Test
+    public void testStalePlanIsNotApplied() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        List<Bundle> bundles = Arrays.asList(
+                StartupResolverTestUtils.createBundle("deployer.bundle", "1.0.0", 1, DEPLOYER_HEADER),
+                StartupResolverTestUtils.createBundle("transport.bundle", "1.0.0", 2, TRANSPORT_HEADER),
+                StartupResolverTestUtils.createBundle("plain.bundle", "2.2.0", 3));
+
+        Assert.assertFalse(createPlan().apply(startupComponentManager, bundles));
+        Assert.assertTrue(startupComponentManager.getComponents(component -> true).isEmpty());
+    }
+
+    @Test
+    public void testPlanIsNotAppliedAfterHeaderChange() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        // The deployer bundle is redeployed with the same version, but no longer declares the Transport service.
+        String changedDeployerHeader = DEPLOYER_HEADER.substring(0, DEPLOYER_HEADER.lastIndexOf(",osgi.service"));
+        List<Bundle> bundles = Arrays.asList(
+                StartupResolverTestUtils.createBundle("deployer.bundle", "1.0.0", 1, changedDeployerHeader),
+                StartupResolverTestUtils.createBundle("transport.bundle", "1.0.0", 2, TRANSPORT_HEADER),
+                StartupResolverTestUtils.createBundle("plain.bundle", "2.1.0", 3));
+
+        Assert.assertFalse(createPlan().apply(startupComponentManager, bundles));
+        Assert.assertTrue(startupComponentManager.getComponents(component -> true).isEmpty());
+    }
+
+    @Test
+    public void testComponentAttributesAreRestoredFromFile() throws IOException {
+        String reportingHeader = "startup.listener;componentName=\"reporting\";requiredService=\"org.wso2.Report\";" +
+                "lazy=\"true\";tier=\"background\";providedService=\"org.wso2.ReportService,org.wso2.ReportAdmin\"";
+        StartupResolutionPlan startupResolutionPlan = new StartupResolutionPlan.Builder()
+                .addBundle("reporting.bundle", "1.0.0", reportingHeader)
+                .build();
+        Path planFile = Files.createTempDirectory("startup-resolution-plan")
+                .resolve(StartupResolutionPlan.STARTUP_RESOLUTION_PLAN_FILE);
+        planFile.toFile().deleteOnExit();
+        startupResolutionPlan.writeTo(planFile);
+
+        StartupComponentManager startupComponentManager = new StartupComponentManager();
+        Assert.assertTrue(StartupResolutionPlan.readFrom(planFile).apply(startupComponentManager,
+                Collections.singletonList(StartupResolverTestUtils.createBundle("reporting.bundle", "1.0.0", 1,
+                        reportingHeader))));
+
+        StartupComponent reporting = getComponent(startupComponentManager.getComponents(component -> true),
+                "reporting");
+        Assert.assertTrue(reporting.isLazy());
+        Assert.assertEquals(reporting.getTier(), "background");
+        Assert.assertEquals(reporting.getProvidedServices(), Arrays.asList("org.wso2.ReportService",
+                "org.wso2.ReportAdmin"));
+        Assert.assertTrue(startupComponentManager.isLazyService("org.wso2.ReportAdmin"));
+    }
+
+    @Test(expectedExceptions = StartOrderResolverException.class)
+    public void testInvalidHeader() {
+        new StartupResolutionPlan.Builder()
+                .addBundle("invalid.bundle", "1.0.0", "startup.listener;requiredService=\"org.wso2.Deployer\"");
+    }
+
+    private static StartupResolutionPlan createPlan() {
+        return new StartupResolutionPlan.Builder()
+                .addBundle("deployer.bundle", "1.0.0", DEPLOYER_HEADER)
+                .addBundle("transport.bundle", "1.0.0", TRANSPORT_HEADER)
+                .addBundle("plain.bundle", "2.1", null)
+                .build();
+    }
+
+    private static StartupComponent getComponent(List<StartupComponent> startupComponents, String componentName) {
+        return startupComponents.stream()
+                .filter(startupComponent -> startupComponent.getName().equals(componentName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Startup component " + componentName + " is not found"));
+    }
+}
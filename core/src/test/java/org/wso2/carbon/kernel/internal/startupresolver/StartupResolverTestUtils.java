@@ -0,0 +1,274 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.Version;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.lang.reflect.Proxy;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CARBON_COMPONENT_HEADER;
+
+/**
+ * Utility methods to build startup component graphs for Startup Order Resolver tests and benchmarks.
+ *
+ * @since 5.3.5
+ */
+public final class StartupResolverTestUtils {
+
+    private StartupResolverTestUtils() {
+        throw new AssertionError("Instantiating utility class...");
+    }
+
+    /**
+     * Returns the {@link StartupServiceCache} after discarding the services reported to it by the previous tests.
+     *
+     * @return the startup service cache, which holds no reported services
+     */
+    public static StartupServiceCache resetStartupServiceCache() {
+        StartupServiceCache startupServiceCache = StartupServiceCache.getInstance();
+        startupServiceCache.release();
+        startupServiceCache.open();
+        return startupServiceCache;
+    }
+
+    /**
+     * Creates a lightweight {@link Bundle} with the given symbolic name. All the other methods return default values.
+     *
+     * @param symbolicName symbolic name of the bundle
+     * @return the bundle instance
+     */
+    public static Bundle createBundle(String symbolicName) {
+        return createBundle(symbolicName, 0, 0, new Hashtable<>());
+    }
+
+    /**
+     * Creates a lightweight {@link Bundle} with the given symbolic name, id, last modified time and manifest headers.
+     * All the other methods return default values.
+     *
+     * @param symbolicName symbolic name of the bundle
+     * @param bundleId     id of the bundle
+     * @param lastModified last modified time of the bundle
+     * @param headers      manifest headers of the bundle
+     * @return the bundle instance
+     */
+    public static Bundle createBundle(String symbolicName, long bundleId, long lastModified,
+                                      Dictionary<String, String> headers) {
+        return createBundle(symbolicName, null, bundleId, lastModified, headers);
+    }
+
+    /**
+     * Creates a lightweight {@link Bundle} with the given symbolic name, version and id. All the other methods return
+     * default values.
+     *
+     * @param symbolicName symbolic name of the bundle
+     * @param version      version of the bundle
+     * @param bundleId     id of the bundle
+     * @return the bundle instance
+     */
+    public static Bundle createBundle(String symbolicName, String version, long bundleId) {
+        return createBundle(symbolicName, Version.parseVersion(version), bundleId, 0, new Hashtable<>());
+    }
+
+    /**
+     * Creates a lightweight {@link Bundle} with the given symbolic name, version, id and Carbon-Component manifest
+     * header. All the other methods return default values.
+     *
+     * @param symbolicName          symbolic name of the bundle
+     * @param version               version of the bundle
+     * @param bundleId              id of the bundle
+     * @param carbonComponentHeader value of the Carbon-Component manifest header
+     * @return the bundle instance
+     */
+    public static Bundle createBundle(String symbolicName, String version, long bundleId,
+                                      String carbonComponentHeader) {
+        Dictionary<String, String> headers = new Hashtable<>();
+        headers.put(CARBON_COMPONENT_HEADER, carbonComponentHeader);
+        return createBundle(symbolicName, Version.parseVersion(version), bundleId, 0, headers);
+    }
+
+    private static Bundle createBundle(String symbolicName, Version version, long bundleId, long lastModified,
+                                       Dictionary<String, String> headers) {
+        return (Bundle) Proxy.newProxyInstance(StartupResolverTestUtils.class.getClassLoader(),
+                new Class[]{Bundle.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getSymbolicName":
+                        case "toString":
+                            return symbolicName;
+                        case "getVersion":
+                            return version;
+                        case "getBundleId":
+                            return bundleId;
+                        case "getLastModified":
+                            return lastModified;
+                        case "getHeaders":
+                            return headers;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Creates a lightweight {@link BundleContext}. All the methods return default values, hence service trackers
+     * opened with this context do not receive any services.
+     *
+     * @return the bundle context instance
+     */
+    public static BundleContext createBundleContext() {
+        return createBundleContext(null);
+    }
+
+    /**
+     * Creates a lightweight {@link BundleContext} of the given bundle. All the other methods return default values.
+     *
+     * @param bundle           the bundle returned by {@link BundleContext#getBundle()}
+     * @param installedBundles the bundles returned by {@link BundleContext#getBundles()}
+     * @return the bundle context instance
+     */
+    public static BundleContext createBundleContext(Bundle bundle, Bundle... installedBundles) {
+        return (BundleContext) Proxy.newProxyInstance(StartupResolverTestUtils.class.getClassLoader(),
+                new Class[]{BundleContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getBundle":
+                            return args == null || args.length == 0 ? bundle : null;
+                        case "getBundles":
+                            return installedBundles;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Creates a lightweight {@link ServiceReference} registered by the given bundle with the given properties.
+     *
+     * @param bundle     the bundle which registered the service
+     * @param properties service properties
+     * @return the service reference instance
+     */
+    @SuppressWarnings("unchecked")
+    public static ServiceReference<Object> createServiceReference(Bundle bundle, Map<String, Object> properties) {
+        return (ServiceReference<Object>) Proxy.newProxyInstance(StartupResolverTestUtils.class.getClassLoader(),
+                new Class[]{ServiceReference.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getBundle":
+                            return bundle;
+                        case "getProperty":
+                            return properties.get((String) args[0]);
+                        case "getPropertyKeys":
+                            return properties.keySet().toArray(new String[properties.size()]);
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Returns the default value of the given type, which is null for reference types.
+     *
+     * @param type the type
+     * @return the default value
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the service registered by the listener of the given component in a component chain.
+     *
+     * @param index index of the component in the chain
+     * @return the service name
+     */
+    public static String getChainServiceName(int index) {
+        return "org.wso2.carbon.kernel.startupresolver.test.ChainService" + index;
+    }
+
+    /**
+     * Adds a chain of startup components, where each component requires the service registered by the
+     * {@code RequiredCapabilityListener} of the previous component.
+     *
+     * @param startupComponentManager the manager to which the components are added
+     * @param length                  number of components in the chain
+     * @param notificationConsumer    receives the component name whenever a listener is notified
+     */
+    static void addComponentChain(StartupComponentManager startupComponentManager, int length,
+                                  Consumer<String> notificationConsumer) {
+        Bundle[] bundles = new Bundle[length];
+        for (int i = 0; i < length; i++) {
+            bundles[i] = createBundle("org.wso2.carbon.kernel.startupresolver.test.bundle" + i);
+            String componentName = "component-" + i;
+            startupComponentManager.addStartupComponent(new StartupComponent(componentName, bundles[i]));
+
+            if (i > 0) {
+                String requiredService = getChainServiceName(i - 1);
+                startupComponentManager.addRequiredOSGiServiceToComponent(componentName, requiredService);
+                startupComponentManager.addExpectedCapability(new OSGiServiceCapability(requiredService,
+                        Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED,
+                        bundles[i - 1]));
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            String componentName = "component-" + i;
+            String providedService = getChainServiceName(i);
+            Bundle bundle = bundles[i];
+            startupComponentManager.addRequiredCapabilityListener(() -> {
+                notificationConsumer.accept(componentName);
+                startupComponentManager.updateCapability(new OSGiServiceCapability(providedService,
+                        Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.AVAILABLE, bundle));
+            }, componentName, bundle);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupServiceCache.
+ *
+ * @since 5.3.5
+ */
+public class StartupServiceCacheTest {
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    startupServiceCache.update("concurrent-component", Runnable.class);
+                }
+            });
+        }
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("concurrent-component",
+                Runnable.class.getName()), 4000);
+        Assert.assertEquals(startupServiceCache.getAvailableService("concurrent-component"),
+                Collections.singletonMap(Runnable.class.getName(), 4000L));
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("unknown-component",
+                Runnable.class.getName()), 0);
+    }
+
+    @Test
+    public void testUpdatesAreIgnoredAfterRelease() {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        startupServiceCache.update("released-component", Runnable.class);
+        startupServiceCache.setUpdateListener((componentName, interfaceName) -> Assert.fail("Unexpected update"));
+
+        startupServiceCache.release();
+        startupServiceCache.update("released-component", Runnable.class);
+
+        Assert.assertTrue(startupServiceCache.getAvailableService("released-component").isEmpty());
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("released-component",
+                Runnable.class.getName()), 0);
+
+        // Updates are accepted again once the startup order resolver is activated again.
+        startupServiceCache.open();
+        startupServiceCache.update("released-component", Runnable.class);
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("released-component",
+                Runnable.class.getName()), 1);
+    }
+
+    @Test
+    public void testBatchedUpdate() {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        List<String> updates = new ArrayList<>();
+        startupServiceCache.setUpdateListener((componentName, interfaceName) -> updates.add(componentName));
+
+        startupServiceCache.update("batched-component", Runnable.class, 250);
+        startupServiceCache.update("batched-component", Runnable.class);
+
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("batched-component",
+                Runnable.class.getName()), 251);
+        Assert.assertEquals(updates, Arrays.asList("batched-component", "batched-component"));
+    }
+
+    @Test
+    public void testDiscardReportedServices() {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        startupServiceCache.update("discarding-component", Runnable.class, 3);
+
+        startupServiceCache.discard("discarding-component", Runnable.class.getName(), 2);
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("discarding-component",
+                Runnable.class.getName()), 1);
+
+        startupServiceCache.discard("discarding-component", Runnable.class.getName(), 2);
+        startupServiceCache.discard("unknown-component", Runnable.class.getName(), 2);
+        Assert.assertEquals(startupServiceCache.getAvailableServiceCount("discarding-component",
+                Runnable.class.getName()), 0);
+    }
+
+    @Test
+    public void testEmptyBatchedUpdate() {
+        StartupServiceCache startupServiceCache = StartupResolverTestUtils.resetStartupServiceCache();
+        startupServiceCache.setUpdateListener((componentName, interfaceName) -> Assert.fail("Unexpected update"));
+
+        startupServiceCache.update("batched-component", Runnable.class, Collections.emptyList().size());
+        Assert.assertTrue(startupServiceCache.getAvailableService("batched-component").isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testBatchedUpdateWithInvalidCount() {
+        StartupResolverTestUtils.resetStartupServiceCache().update("batched-component", Runnable.class, -1);
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.ServiceReference;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.CAPABILITY_NAME;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.COMPONENT_NAME;
+
+/**
+ * A synthetic startup dependency graph, which drives the {@code StartupComponentManager} and the
+ * {@code OSGiServiceCapabilityTracker} through a fake {@code BundleContext}, without an OSGi framework.
+ * <p>
+ * The graph contains a given number of startup components, each in its own bundle, and a given number of
+ * capabilities. Every capability is provided by one component, and is required by components which come later in the
+ * component order, hence the graph is acyclic. The number of capabilities required by a component (fan-in) is uniformly
+ * distributed up to a maximum, while the components which require a capability (fan-out) are either uniformly
+ * distributed or skewed towards a few hub capabilities. A fraction of the capabilities are announced through
+ * {@code CapabilityProvider} services, each providing a given number of service instances which are reported to the
+ * {@code StartupServiceCache} by the dependent components.
+ * <p>
+ * The {@code RequiredCapabilityListener} of each component registers the capabilities it provides, which makes the
+ * dependent components satisfiable. Run {@link #main(String[])} to print the resolution time and the notification
+ * latencies for graphs of 10 to 10,000 components.
+ *
+ * @since 5.3.5
+ */
+public final class SyntheticStartupGraph {
+
+    /**
+     * Distribution of the dependent components over the capabilities.
+     */
+    public enum FanOut {
+        UNIFORM, SKEWED
+    }
+
+    private final int componentCount;
+    private final int capabilityCount;
+    private final int providerCount;
+
+    // Index of the component which provides each capability
+    private final int[] capabilityProviders;
+    // Whether each capability is announced through a CapabilityProvider service
+    private final boolean[] capabilityProviderBased;
+    // Indexes of the capabilities required by each component
+    private final int[][] requiredCapabilities;
+    // Indexes of the capabilities provided by each component
+    private final int[][] providedCapabilities;
+    // Indexes of the components which require each capability
+    private final int[][] dependentComponents;
+
+    /**
+     * Generates a synthetic startup dependency graph.
+     *
+     * @param componentCount  number of startup components
+     * @param capabilityCount number of capabilities
+     * @param maxFanIn        maximum number of capabilities required by a component
+     * @param fanOut          distribution of the dependent components over the capabilities
+     * @param providerRatio   fraction of the capabilities announced through {@code CapabilityProvider} services
+     * @param providerCount   number of service instances announced by each {@code CapabilityProvider}
+     * @param seed            seed of the random generator, hence the same parameters generate the same graph
+     */
+    public SyntheticStartupGraph(int componentCount, int capabilityCount, int maxFanIn, FanOut fanOut,
+                                 double providerRatio, int providerCount, long seed) {
+        this.componentCount = componentCount;
+        this.capabilityCount = capabilityCount;
+        this.providerCount = providerCount;
+
+        Random random = new Random(seed);
+        capabilityProviders = new int[capabilityCount];
+        capabilityProviderBased = new boolean[capabilityCount];
+        for (int j = 0; j < capabilityCount; j++) {
+            // Spreads the capabilities evenly over all components but the last one, in the capability order.
+            capabilityProviders[j] = (int) ((long) j * Math.max(componentCount - 1, 1) / capabilityCount);
+            capabilityProviderBased[j] = random.nextDouble() < providerRatio;
+        }
+
+        requiredCapabilities = new int[componentCount][];
+        int eligibleCapabilities = 0;
+        for (int i = 0; i < componentCount; i++) {
+            // Only the capabilities provided by the preceding components can be required.
+            while (eligibleCapabilities < capabilityCount && capabilityProviders[eligibleCapabilities] < i) {
+                eligibleCapabilities++;
+            }
+            int fanIn = Math.min(1 + random.nextInt(maxFanIn), eligibleCapabilities);
+            BitSet required = new BitSet(eligibleCapabilities);
+            while (required.cardinality() < fanIn) {
+                double sample = random.nextDouble();
+                if (fanOut == FanOut.SKEWED) {
+                    sample = sample * sample * sample;
+                }
+                required.set((int) (sample * eligibleCapabilities));
+            }
+            requiredCapabilities[i] = required.stream().toArray();
+        }
+
+        providedCapabilities = invert(capabilityProviders, componentCount);
+        dependentComponents = invert(requiredCapabilities, capabilityCount);
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public int getCapabilityCount() {
+        return capabilityCount;
+    }
+
+    /**
+     * Returns the indexes of the capabilities required by the given component.
+     *
+     * @param componentIndex index of the component
+     * @return indexes of the required capabilities
+     */
+    public int[] getRequiredCapabilities(int componentIndex) {
+        return requiredCapabilities[componentIndex].clone();
+    }
+
+    /**
+     * Returns the index of the component which provides the given capability.
+     *
+     * @param capabilityIndex index of the capability
+     * @return index of the providing component
+     */
+    public int getCapabilityProvider(int capabilityIndex) {
+        return capabilityProviders[capabilityIndex];
+    }
+
+    public static String getComponentName(int componentIndex) {
+        return "synthetic-component-" + componentIndex;
+    }
+
+    public static String getCapabilityName(int capabilityIndex) {
+        return "org.wso2.carbon.kernel.startupresolver.synthetic.Capability" + capabilityIndex;
+    }
+
+    /**
+     * Wires this graph into a new {@code StartupComponentManager} and a new {@code OSGiServiceCapabilityTracker}.
+     * The {@code RequiredCapabilityListener}s are not notified until {@link Resolution#run(long)} is invoked.
+     *
+     * @param mode {@code StartupResolverConstants.EVENT_RESOLVER_MODE} or
+     *             {@code StartupResolverConstants.TIMER_RESOLVER_MODE}
+     * @param timerPeriod period of the timer in milliseconds, used in the timer mode
+     * @return the prepared resolution
+     */
+    public Resolution newResolution(String mode, long timerPeriod) {
+        return new Resolution(mode, timerPeriod);
+    }
+
+    private static int[][] invert(int[] mapping, int size) {
+        int[][] inverse = new int[size][];
+        int[] counts = new int[size];
+        for (int target : mapping) {
+            counts[target]++;
+        }
+        for (int i = 0; i < size; i++) {
+            inverse[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int source = 0; source < mapping.length; source++) {
+            int target = mapping[source];
+            inverse[target][counts[target]++] = source;
+        }
+        return inverse;
+    }
+
+    private static int[][] invert(int[][] mapping, int size) {
+        int[][] inverse = new int[size][];
+        int[] counts = new int[size];
+        for (int[] targets : mapping) {
+            for (int target : targets) {
+                counts[target]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            inverse[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int source = 0; source < mapping.length; source++) {
+            for (int target : mapping[source]) {
+                inverse[target][counts[target]++] = source;
+            }
+        }
+        return inverse;
+    }
+
+    /**
+     * A single resolution of the synthetic graph.
+     */
+    public final class Resolution {
+        private final StartupServiceCache startupServiceCache =
+                StartupResolverTestUtils.resetStartupServiceCache();
+        private final StartupComponentManager startupComponentManager =
+                new StartupComponentManager(startupServiceCache);
+        private final OSGiServiceCapabilityTracker tracker;
+        private final CapabilityListenerNotifier notifier;
+        private final CountDownLatch completionLatch = new CountDownLatch(1);
+
+        private final Bundle[] bundles = new Bundle[componentCount];
+        private final List<ServiceReference<Object>> serviceReferences = new ArrayList<>(componentCount);
+        private final long[] capabilityRegistrationTimes = new long[capabilityCount];
+        private final long[] notificationTimes = new long[componentCount];
+        private final int[] notificationOrder = new int[componentCount];
+        private final AtomicInteger notificationCounter = new AtomicInteger();
+        private volatile long completionTime;
+
+        private Resolution(String mode, long timerPeriod) {
+            startupServiceCache.setUpdateListener(startupComponentManager::updateAvailableService);
+            for (int i = 0; i < componentCount; i++) {
+                bundles[i] = StartupResolverTestUtils.createBundle("org.wso2.carbon.synthetic.bundle" + i);
+                serviceReferences.add(StartupResolverTestUtils.createServiceReference(bundles[i],
+                        Collections.emptyMap()));
+
+                StartupComponent startupComponent = new StartupComponent(getComponentName(i), bundles[i]);
+                for (int j : requiredCapabilities[i]) {
+                    startupComponent.addRequiredService(getCapabilityName(j));
+                }
+                startupComponentManager.addStartupComponent(startupComponent);
+            }
+
+            // Capabilities declared in the Carbon-Component manifest headers of the providing bundles.
+            for (int j = 0; j < capabilityCount; j++) {
+                Bundle bundle = bundles[capabilityProviders[j]];
+                if (capabilityProviderBased[j]) {
+                    startupComponentManager.addExpectedOrAvailableCapabilityProvider(
+                            new CapabilityProviderCapability(CapabilityProvider.class.getName(),
+                                    Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED,
+                                    getCapabilityName(j), bundle));
+                } else {
+                    startupComponentManager.addExpectedCapability(new OSGiServiceCapability(getCapabilityName(j),
+                            Capability.CapabilityType.OSGi_SERVICE, Capability.CapabilityState.EXPECTED, bundle,
+                            false));
+                }
+            }
+
+            tracker = new OSGiServiceCapabilityTracker(startupComponentManager,
+                    StartupResolverTestUtils.createBundleContext());
+            tracker.startTracker();
+
+            for (int j = 0; j < capabilityCount; j++) {
+                if (capabilityProviderBased[j]) {
+                    CapabilityProvider capabilityProvider = () -> providerCount;
+                    tracker.addService(CapabilityProvider.class.getName(),
+                            StartupResolverTestUtils.createServiceReference(bundles[capabilityProviders[j]],
+                                    Collections.singletonMap(CAPABILITY_NAME, getCapabilityName(j))),
+                            capabilityProvider);
+                }
+            }
+
+            for (int i = 0; i < componentCount; i++) {
+                tracker.addService(RequiredCapabilityListener.class.getName(),
+                        StartupResolverTestUtils.createServiceReference(bundles[i],
+                                Collections.singletonMap(COMPONENT_NAME, getComponentName(i))),
+                        createListener(i));
+            }
+
+            if (StartupResolverConstants.EVENT_RESOLVER_MODE.equals(mode)) {
+                notifier = new EventCapabilityListenerNotifier(startupComponentManager, this::onCompletion);
+            } else {
+                notifier = new TimerCapabilityListenerNotifier(startupComponentManager, timerPeriod, timerPeriod,
+                        this::onCompletion);
+            }
+        }
+
+        private RequiredCapabilityListener createListener(int componentIndex) {
+            return () -> {
+                notificationTimes[componentIndex] = System.nanoTime();
+                notificationOrder[componentIndex] = notificationCounter.getAndIncrement();
+
+                ServiceReference<Object> serviceReference = serviceReferences.get(componentIndex);
+                for (int j : providedCapabilities[componentIndex]) {
+                    String capabilityName = getCapabilityName(j);
+                    int serviceCount = capabilityProviderBased[j] ? providerCount : 1;
+                    for (int count = 0; count < serviceCount; count++) {
+                        tracker.addService(capabilityName, serviceReference, new Object());
+                        if (capabilityProviderBased[j]) {
+                            // Dependent components report the services they bind to the StartupServiceCache.
+                            for (int dependent : dependentComponents[j]) {
+                                startupServiceCache.update(getComponentName(dependent), capabilityName);
+                            }
+                        }
+                    }
+                    capabilityRegistrationTimes[j] = System.nanoTime();
+                }
+            };
+        }
+
+        private void onCompletion() {
+            completionTime = System.nanoTime();
+            completionLatch.countDown();
+        }
+
+        /**
+         * Notifies the startup components until all of them are notified and returns the measurements.
+         *
+         * @param timeoutMillis maximum time to wait for the completion
+         * @return the measurements of this resolution
+         * @throws InterruptedException if interrupted while waiting for the completion
+         */
+        public Result run(long timeoutMillis) throws InterruptedException {
+            long startTime = System.nanoTime();
+            try {
+                notifier.start();
+                if (!completionLatch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Synthetic startup graph is not resolved within " + timeoutMillis +
+                            "ms, pending components: " +
+                            startupComponentManager.getComponents(StartupComponent::isPending).size());
+                }
+            } finally {
+                close();
+            }
+
+            long[] latencies = new long[componentCount];
+            for (int i = 0; i < componentCount; i++) {
+                long readyTime = startTime;
+                for (int j : requiredCapabilities[i]) {
+                    readyTime = Math.max(readyTime, capabilityRegistrationTimes[j]);
+                }
+                latencies[i] = notificationTimes[i] - readyTime;
+            }
+            return new Result(completionTime - startTime, latencies, notificationOrder.clone());
+        }
+
+        /**
+         * Stops the notifier and closes the tracker. Invoked by {@link #run(long)}, hence this only needs to be
+         * invoked if the resolution is never run.
+         */
+        public void close() {
+            notifier.stop();
+            tracker.closeTracker();
+            startupServiceCache.release();
+            startupServiceCache.open();
+        }
+    }
+
+    /**
+     * Measurements of a single resolution of the synthetic graph.
+     */
+    public static final class Result {
+        private final long resolutionTime;
+        private final long[] sortedLatencies;
+        private final int[] notificationOrder;
+
+        private Result(long resolutionTime, long[] latencies, int[] notificationOrder) {
+            this.resolutionTime = resolutionTime;
+            this.sortedLatencies = latencies;
+            this.notificationOrder = notificationOrder;
+            Arrays.sort(sortedLatencies);
+        }
+
+        /**
+         * Returns the time from the start of the notifier until the completion, in nanoseconds.
+         *
+         * @return the resolution time
+         */
+        public long getResolutionTime() {
+            return resolutionTime;
+        }
+
+        /**
+         * Returns the given percentile of the time from the registration of the last capability required by a
+         * component until the component is notified, in nanoseconds.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the notification latency
+         */
+        public long getNotificationLatency(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+        }
+
+        /**
+         * Returns the position of the given component in the notification order.
+         *
+         * @param componentIndex index of the component
+         * @return the position in the notification order
+         */
+        public int getNotificationOrder(int componentIndex) {
+            return notificationOrder[componentIndex];
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String mode = args.length > 0 ? args[0] : StartupResolverConstants.EVENT_RESOLVER_MODE;
+        System.out.printf("%-8s %-8s %14s %14s %14s %14s%n", "mode", "N", "resolution(ms)", "p50 latency(us)",
+                "p99 latency(us)", "max latency(us)");
+        for (int componentCount = 10; componentCount <= 10000; componentCount *= 10) {
+            SyntheticStartupGraph graph = new SyntheticStartupGraph(componentCount, componentCount, 4,
+                    FanOut.SKEWED, 0.1, 10, 42);
+            Result result = graph.newResolution(mode, 20).run(TimeUnit.MINUTES.toMillis(10));
+            System.out.printf("%-8s %-8d %14.2f %14.2f %14.2f %14.2f%n", mode, componentCount,
+                    result.getResolutionTime() / 1e6, result.getNotificationLatency(50) / 1e3,
+                    result.getNotificationLatency(99) / 1e3, result.getNotificationLatency(100) / 1e3);
+        }
+    }
+}
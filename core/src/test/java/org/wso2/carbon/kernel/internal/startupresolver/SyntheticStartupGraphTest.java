@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * This class tests the Startup Order Resolver against synthetic startup dependency graphs generated by
+ * org.wso2.carbon.kernel.internal.startupresolver.SyntheticStartupGraph.
+ *
+ * @since 5.3.5
+ */
+public class SyntheticStartupGraphTest {
+    private static final long TIMEOUT = 60000;
+
+    @Test
+    public void testEventModeResolvesSkewedGraph() throws InterruptedException {
+        SyntheticStartupGraph graph = new SyntheticStartupGraph(500, 800, 5,
+                SyntheticStartupGraph.FanOut.SKEWED, 0.2, 5, 7);
+        assertDependencyOrder(graph, graph.newResolution(StartupResolverConstants.EVENT_RESOLVER_MODE, 0)
+                .run(TIMEOUT));
+    }
+
+    @Test
+    public void testTimerModeResolvesUniformGraph() throws InterruptedException {
+        SyntheticStartupGraph graph = new SyntheticStartupGraph(50, 50, 3,
+                SyntheticStartupGraph.FanOut.UNIFORM, 0.5, 3, 11);
+        assertDependencyOrder(graph, graph.newResolution(StartupResolverConstants.TIMER_RESOLVER_MODE, 5)
+                .run(TIMEOUT));
+    }
+
+    @Test
+    public void testGraphIsReproducible() {
+        SyntheticStartupGraph graph = new SyntheticStartupGraph(100, 100, 4,
+                SyntheticStartupGraph.FanOut.UNIFORM, 0.1, 2, 3);
+        SyntheticStartupGraph sameGraph = new SyntheticStartupGraph(100, 100, 4,
+                SyntheticStartupGraph.FanOut.UNIFORM, 0.1, 2, 3);
+
+        for (int i = 0; i < graph.getComponentCount(); i++) {
+            Assert.assertTrue(Arrays.equals(graph.getRequiredCapabilities(i), sameGraph.getRequiredCapabilities(i)));
+        }
+    }
+
+    private void assertDependencyOrder(SyntheticStartupGraph graph, SyntheticStartupGraph.Result result) {
+        for (int i = 0; i < graph.getComponentCount(); i++) {
+            for (int j : graph.getRequiredCapabilities(i)) {
+                int provider = graph.getCapabilityProvider(j);
+                Assert.assertTrue(result.getNotificationOrder(provider) < result.getNotificationOrder(i),
+                        SyntheticStartupGraph.getComponentName(i) + " is notified before " +
+                                SyntheticStartupGraph.getComponentName(provider));
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.internal.utils;
+
+import org.osgi.framework.BundleEvent;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.StartupResolverTestUtils;
+
+import java.security.AccessControlContext;
+import java.security.AccessControlException;
+import java.security.AllPermission;
+import java.security.CodeSource;
+import java.security.Permission;
+import java.security.PermissionCollection;
+import java.security.Permissions;
+import java.security.Policy;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test class for org.wso2.carbon.kernel.internal.utils.SecurityUtils.
+ *
+ * @since 5.3.5
+ */
+public class SecurityUtilsTest {
+
+    @AfterMethod
+    public void clearPermissionCache() {
+        SecurityUtils.clearPermissionCache();
+    }
+
+    @Test
+    public void testCheckSecurityWithoutSecurityManager() {
+        Assert.assertNull(System.getSecurityManager());
+        SecurityUtils.checkSecurity();
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 0);
+    }
+
+    @Test
+    public void testGrantedContextIsCached() {
+        Permissions permissions = new Permissions();
+        permissions.add(new AllPermission());
+        ProtectionDomain protectionDomain = createProtectionDomain(permissions);
+
+        // Each check gets a new access control context, which is equal if it has the same protection domains.
+        SecurityUtils.checkPermission(new AccessControlContext(new ProtectionDomain[]{protectionDomain}));
+        SecurityUtils.checkPermission(new AccessControlContext(new ProtectionDomain[]{protectionDomain}));
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 1);
+    }
+
+    @Test
+    public void testDeniedContextIsNotCached() {
+        AccessControlContext deniedContext =
+                new AccessControlContext(new ProtectionDomain[]{createProtectionDomain(new Permissions())});
+        for (int i = 0; i < 2; i++) {
+            try {
+                SecurityUtils.checkPermission(deniedContext);
+                Assert.fail("Permission should have been denied");
+            } catch (AccessControlException e) {
+                Assert.assertEquals(SecurityUtils.getCachedContextCount(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCacheIsClearedWhenBundleChanges() {
+        Permissions permissions = new Permissions();
+        permissions.add(new AllPermission());
+        SecurityUtils.checkPermission(
+                new AccessControlContext(new ProtectionDomain[]{createProtectionDomain(permissions)}));
+
+        SecurityUtils.onBundleChanged(
+                new BundleEvent(BundleEvent.STARTED, StartupResolverTestUtils.createBundle("started.bundle")));
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 1);
+
+        // The cached contexts may hold the class loader of the previous revision of an updated bundle.
+        SecurityUtils.onBundleChanged(
+                new BundleEvent(BundleEvent.UPDATED, StartupResolverTestUtils.createBundle("updated.bundle")));
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 0);
+    }
+
+    @Test
+    public void testGrantIsValidForPolicyAndTtl() {
+        RevocablePermissions permissions = new RevocablePermissions();
+        AccessControlContext context =
+                new AccessControlContext(new ProtectionDomain[]{createProtectionDomain(permissions)});
+        Policy policy = new Policy() {
+        };
+        long now = System.nanoTime();
+        SecurityUtils.checkPermission(context, policy, now);
+
+        // The cached grant is used until it expires, or the policy is replaced.
+        permissions.revoked = true;
+        SecurityUtils.checkPermission(context, policy, now + TimeUnit.MILLISECONDS.toNanos(500));
+        assertDenied(context, new Policy() {
+        }, now);
+        assertDenied(context, policy, now + TimeUnit.SECONDS.toNanos(2));
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 0);
+    }
+
+    @Test
+    public void testCacheEvictsEldestGrant() {
+        Policy policy = new Policy() {
+        };
+        long now = System.nanoTime();
+        RevocablePermissions eldestPermissions = new RevocablePermissions();
+        AccessControlContext eldest =
+                new AccessControlContext(new ProtectionDomain[]{createProtectionDomain(eldestPermissions)});
+        SecurityUtils.checkPermission(eldest, policy, now);
+        RevocablePermissions latestPermissions = new RevocablePermissions();
+        AccessControlContext latest = null;
+        for (int i = 1; i <= 300; i++) {
+            latest = new AccessControlContext(new ProtectionDomain[]{createProtectionDomain(latestPermissions)});
+            SecurityUtils.checkPermission(latest, policy, now + i);
+        }
+
+        // Grants are evicted one at a time, instead of clearing the whole cache once it is full.
+        Assert.assertEquals(SecurityUtils.getCachedContextCount(), 256);
+        eldestPermissions.revoked = true;
+        latestPermissions.revoked = true;
+        SecurityUtils.checkPermission(latest, policy, now + 300);
+        assertDenied(eldest, policy, now + 300);
+    }
+
+    private void assertDenied(AccessControlContext context, Policy policy, long now) {
+        try {
+            SecurityUtils.checkPermission(context, policy, now);
+            Assert.fail("Permission should have been denied");
+        } catch (AccessControlException e) {
+            Assert.assertTrue(e.getMessage().contains("control"), e.getMessage());
+        }
+    }
+
+    private ProtectionDomain createProtectionDomain(PermissionCollection permissions) {
+        return new ProtectionDomain(new CodeSource(null, (Certificate[]) null), permissions);
+    }
+
+    /**
+     * Permissions which grant all the permissions until they are revoked.
+     */
+    private static class RevocablePermissions extends PermissionCollection {
+        private volatile boolean revoked;
+
+        @Override
+        public void add(Permission permission) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean implies(Permission permission) {
+            return !revoked;
+        }
+
+        @Override
+        public Enumeration<Permission> elements() {
+            return Collections.emptyEnumeration();
+        }
+    }
+}
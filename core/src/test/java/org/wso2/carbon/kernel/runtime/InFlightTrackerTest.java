@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.runtime;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for org.wso2.carbon.kernel.runtime.InFlightTracker.
+ *
+ * @since 5.3.5
+ */
+public class InFlightTrackerTest {
+
+    @Test
+    public void testEnterAndExit() {
+        InFlightTracker inFlightTracker = new InFlightTracker();
+        Assert.assertTrue(inFlightTracker.tryEnter());
+        Assert.assertTrue(inFlightTracker.tryEnter());
+        Assert.assertEquals(inFlightTracker.getInFlightCount(), 2);
+
+        inFlightTracker.exit();
+        inFlightTracker.exit();
+        Assert.assertEquals(inFlightTracker.getInFlightCount(), 0);
+    }
+
+    @Test
+    public void testDrainIdle() throws InterruptedException {
+        InFlightTracker inFlightTracker = new InFlightTracker();
+        long startTime = System.nanoTime();
+        Assert.assertEquals(inFlightTracker.drain(10, TimeUnit.SECONDS), 0);
+        Assert.assertTrue(System.nanoTime() - startTime < TimeUnit.SECONDS.toNanos(5));
+
+        // New requests are not admitted until the tracker admits them again.
+        Assert.assertFalse(inFlightTracker.tryEnter());
+        Assert.assertEquals(inFlightTracker.getInFlightCount(), 0);
+        inFlightTracker.admit();
+        Assert.assertTrue(inFlightTracker.isAdmitting());
+        Assert.assertTrue(inFlightTracker.tryEnter());
+    }
+
+    @Test
+    public void testStopAdmitting() throws InterruptedException {
+        InFlightTracker inFlightTracker = new InFlightTracker();
+        Assert.assertTrue(inFlightTracker.tryEnter());
+        inFlightTracker.stopAdmitting();
+
+        // The in-flight request is not waited for, while new requests are rejected.
+        Assert.assertFalse(inFlightTracker.isAdmitting());
+        Assert.assertFalse(inFlightTracker.tryEnter());
+        Assert.assertEquals(inFlightTracker.getInFlightCount(), 1);
+        inFlightTracker.exit();
+        Assert.assertEquals(inFlightTracker.drain(10, TimeUnit.SECONDS), 0);
+    }
+
+    @Test
+    public void testDrainWaitsForInFlightRequests() throws InterruptedException {
+        InFlightTracker inFlightTracker = new InFlightTracker();
+        Assert.assertTrue(inFlightTracker.tryEnter());
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlightTracker.exit();
+        });
+        thread.start();
+
+        Assert.assertEquals(inFlightTracker.drain(10, TimeUnit.SECONDS), 0);
+        Assert.assertEquals(inFlightTracker.getInFlightCount(), 0);
+        thread.join();
+    }
+
+    @Test
+    public void testDrainTimeout() throws InterruptedException {
+        InFlightTracker inFlightTracker = new InFlightTracker();
+        Assert.assertTrue(inFlightTracker.tryEnter());
+        Assert.assertTrue(inFlightTracker.tryEnter());
+
+        Assert.assertEquals(inFlightTracker.drain(20, TimeUnit.MILLISECONDS), 2);
+        Assert.assertFalse(inFlightTracker.isAdmitting());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.kernel.startupresolver.manifest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time taken by {@link ManifestElement#parseHeader(String, String, org.osgi.framework.Bundle)} to parse
+ * Carbon-Component and Provide-Capability headers of the sizes found in Carbon bundles.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.wso2.carbon.kernel.startupresolver.manifest.ManifestElementParseBenchmark}. Add
+ * {@code -prof gc} to the JMH options to compare the allocation rates.
+ *
+ * @since 5.3.5
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ManifestElementParseBenchmark {
+
+    private static final String CARBON_COMPONENT_HEADER = "startup.listener;" +
+            "componentName=\"carbon-sample-runtime-mgt\";" +
+            "requiredService=\"org.wso2.carbon.sample.runtime.mgt.Runtime\"," +
+            "osgi.service;objectClass=\"org.wso2.carbon.sample.runtime.mgt.RuntimeManager\";" +
+            "requiredByComponentName=\"carbon-sample-deployment-engine, carbon-sample-transport-mgt\"," +
+            "osgi.service;objectClass=\"org.wso2.carbon.kernel.startupresolver.CapabilityProvider\";" +
+            "capabilityName=\"org.wso2.carbon.sample.transport.mgt.Transport\"";
+
+    private static final String PROVIDE_CAPABILITY_HEADER = "osgi.service;effective:=active;" +
+            "objectClass:List<String>=\"org.wso2.carbon.kernel.CarbonRuntime,org.wso2.carbon.kernel.Runtime\";" +
+            "uses:=\"org.wso2.carbon.kernel\"," +
+            "osgi.service;effective:=active;objectClass=\"org.wso2.carbon.kernel.startupresolver." +
+            "RequiredCapabilityListener\";component-key=carbon-sample-transport-mgt," +
+            "osgi.extender;osgi.extender=\"osgi.component\";version:Version=\"1.3\";" +
+            "uses:=\"org.osgi.service.component\"";
+
+    @Param({"Carbon-Component", "Provide-Capability"})
+    public String header;
+
+    private String headerValue;
+
+    @Setup
+    public void setUp() {
+        headerValue = "Carbon-Component".equals(header) ? CARBON_COMPONENT_HEADER : PROVIDE_CAPABILITY_HEADER;
+    }
+
+    @Benchmark
+    public List<ManifestElement> parseHeader() throws ManifestElementParserException {
+        return ManifestElement.parseHeader(header, headerValue, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ManifestElementParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
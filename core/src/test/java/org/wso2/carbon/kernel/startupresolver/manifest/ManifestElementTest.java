@@ -18,6 +18,12 @@ package org.wso2.carbon.kernel.startupresolver.manifest;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -85,4 +91,47 @@ public class ManifestElementTest {
             Assert.assertTrue(false);
         }
     }
+
+    @Test
+    public void testWriteAndReadManifestElement() throws ManifestElementParserException, IOException {
+        String key = "osgi.service;objectClass=org.wso2.carbon.Transport;attr=value1;attr=value2;effective:=active";
+        ManifestElement manifestElement = ManifestElement.parseHeader(PROVIDE_CAPABILITY, key, null).get(0);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifestElement.writeTo(new DataOutputStream(outputStream));
+        ManifestElement readElement = ManifestElement.readFrom(
+                new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())), null);
+
+        Assert.assertEquals(readElement.getManifestHeaderName(), PROVIDE_CAPABILITY);
+        Assert.assertEquals(readElement.getValue(), "osgi.service");
+        Assert.assertEquals(readElement.getAttribute("objectClass"), "org.wso2.carbon.Transport");
+        Assert.assertEquals(readElement.getAttributes("attr"), new String[]{"value1", "value2"});
+        Assert.assertEquals(readElement.getDirectives("effective"), new String[]{"active"});
+    }
+
+    @Test
+    public void testParseHeaderWithMultipleComponentsAndElements() throws ManifestElementParserException {
+        String key = "code1.jar; \"code2;2.jar\" ;code3.jar;attr=\"a\\\"b\";attr = c , second;dir:=d";
+        List<ManifestElement> elements = ManifestElement.parseHeader(PROVIDE_CAPABILITY, key, null);
+
+        Assert.assertEquals(elements.size(), 2);
+        Assert.assertEquals(elements.get(0).getValue(), "code1.jar;code2;2.jar;code3.jar");
+        Assert.assertEquals(elements.get(0).getAttributes("attr"), new String[]{"a\"b", "c"});
+        Assert.assertEquals(elements.get(0).getAttribute("attr"), "c");
+        Assert.assertNull(elements.get(0).getDirectiveKeys());
+        Assert.assertEquals(elements.get(1).getValue(), "second");
+        Assert.assertNull(elements.get(1).getKeys());
+        Assert.assertEquals(elements.get(1).getDirectives("dir"), new String[]{"d"});
+    }
+
+    @Test
+    public void testParseHeaderWithListAttribute() throws ManifestElementParserException {
+        String key = "osgi.service;names:List<String>=\"a\\,b,c\";name=\"a\\,b\"";
+        ManifestElement manifestElement = ManifestElement.parseHeader(PROVIDE_CAPABILITY, key, null).get(0);
+
+        Assert.assertEquals(manifestElement.getAttribute("names:List<String>"), "a\\,b,c");
+        Assert.assertEquals(manifestElement.getAttribute("name"), "a,b");
+        Assert.assertEquals(Collections.list(manifestElement.getKeys()),
+                Arrays.asList("names:List<String>", "name"));
+    }
 }
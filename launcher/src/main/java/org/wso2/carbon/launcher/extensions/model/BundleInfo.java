@@ -53,6 +53,10 @@ public class BundleInfo {
         return bundleVersion;
     }
 
+    public String getBundlePath() {
+        return bundlePath;
+    }
+
     public BundleLocation isFromOSGiLib() {
         return isFromOSGiLib;
     }
@@ -21,6 +21,7 @@ import org.wso2.carbon.tools.osgilib.OSGiLibDeployerTool;
 import org.wso2.carbon.tools.spi.ICFProviderTool;
 import org.wso2.carbon.tools.spi.NativeLibraryProvider;
 import org.wso2.carbon.tools.spi.SPIProviderTool;
+import org.wso2.carbon.tools.startupresolver.StartupResolutionPlanTool;
 
 import java.util.Optional;
 import java.util.logging.Level;
@@ -88,6 +89,9 @@ public class CarbonToolExecutor {
             case "install-jars":
                 carbonTool = new InstallJarsTool();
                 break;
+            case "startup-resolution-plan":
+                carbonTool = new StartupResolutionPlanTool();
+                break;
             default:
                 carbonTool = null;
         }
@@ -34,6 +34,7 @@ public class Constants {
     public static final String EXPORT_PACKAGE = "Export-Package";
     public static final String BUNDLE_CLASSPATH = "Bundle-ClassPath";
     public static final String DYNAMIC_IMPORT_PACKAGE = "DynamicImport-Package";
+    public static final String CARBON_COMPONENT = "Carbon-Component";
 
     //  file path name and extension constants
     public static final String JAR_TO_BUNDLE_TEMP_DIRECTORY_NAME = "temp";
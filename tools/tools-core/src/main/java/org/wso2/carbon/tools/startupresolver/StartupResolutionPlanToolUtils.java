@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.startupresolver;
+
+import org.wso2.carbon.kernel.internal.startupresolver.StartOrderResolverException;
+import org.wso2.carbon.kernel.internal.startupresolver.StartupResolutionPlan;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.launcher.extensions.OSGiLibBundleDeployerUtils;
+import org.wso2.carbon.launcher.extensions.model.BundleInfo;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.wso2.carbon.tools.Constants.CARBON_COMPONENT;
+import static org.wso2.carbon.tools.Constants.JAR_MANIFEST_FOLDER;
+import static org.wso2.carbon.tools.Constants.MANIFEST_FILE_NAME;
+
+/**
+ * A Java class which defines utility functions used within the startup resolution plan tool.
+ *
+ * @since 5.3.5
+ */
+class StartupResolutionPlanToolUtils {
+    private static final Logger logger = Logger.getLogger(StartupResolutionPlanToolUtils.class.getName());
+
+    private static final String CONFIGURATION_DIRECTORY = "configuration";
+    private static final String SIMPLE_CONFIGURATOR_DIRECTORY = "org.eclipse.equinox.simpleconfigurator";
+    //  the OSGi framework is the system bundle at runtime, which is not part of the plan
+    private static final String OSGI_FRAMEWORK_SYMBOLIC_NAME = "org.eclipse.osgi";
+
+    /**
+     * Executes the WSO2 Carbon startup resolution plan tool.
+     *
+     * @param carbonHome the {@link String} value of carbon.home
+     * @param profile    the Carbon Runtime identifier
+     * @throws CarbonToolException if the {@code carbonHome} is invalid
+     * @throws IOException         if an I/O error occurs when extracting the Carbon Runtime names
+     */
+    static void executeTool(String carbonHome, String profile) throws CarbonToolException, IOException {
+        if ((carbonHome == null) || (carbonHome.isEmpty())) {
+            throw new CarbonToolException("Invalid Carbon home specified: " + carbonHome);
+        }
+
+        if (profile != null) {
+            List<String> profiles = profile.equals("ALL") ?
+                    OSGiLibBundleDeployerUtils.getCarbonProfiles(carbonHome) : Collections.singletonList(profile);
+            for (String carbonProfile : profiles) {
+                try {
+                    generatePlan(carbonHome, carbonProfile);
+                } catch (CarbonToolException | IOException e) {
+                    logger.log(Level.SEVERE,
+                            "Failed to generate the startup resolution plan of Carbon Runtime: " + carbonProfile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the startup resolution plan of a Carbon Runtime from the bundles listed in its bundles.info file and
+     * writes it to the configuration directory of the Carbon Runtime.
+     *
+     * @param carbonHome the {@link String} value of carbon.home
+     * @param profile    the Carbon Runtime identifier
+     * @return the path of the generated plan
+     * @throws CarbonToolException if a Carbon-Component manifest header is invalid
+     * @throws IOException         if an I/O error occurs when reading the bundles or writing the plan
+     */
+    static Path generatePlan(String carbonHome, String profile) throws CarbonToolException, IOException {
+        Path profilePath = Paths.get(carbonHome, Constants.PROFILE_REPOSITORY, profile);
+        Path bundlesInfoFile = Paths.get(profilePath.toString(), CONFIGURATION_DIRECTORY,
+                SIMPLE_CONFIGURATOR_DIRECTORY, Constants.BUNDLES_INFO);
+
+        List<BundleInfo> bundlesInfo = Files.readAllLines(bundlesInfoFile)
+                .stream()
+                .filter(line -> !line.trim().isEmpty() && !line.startsWith("#"))
+                .map(BundleInfo::getInstance)
+                .filter(bundleInfo -> !OSGI_FRAMEWORK_SYMBOLIC_NAME.equals(bundleInfo.getBundleSymbolicName()))
+                .collect(Collectors.toList());
+
+        StartupResolutionPlan.Builder builder = new StartupResolutionPlan.Builder();
+        for (BundleInfo bundleInfo : bundlesInfo) {
+            Path bundlePath = getBundlePath(profilePath, bundleInfo.getBundlePath());
+            try {
+                builder.addBundle(bundleInfo.getBundleSymbolicName(), bundleInfo.getBundleVersion(),
+                        getCarbonComponentHeader(bundlePath));
+            } catch (StartOrderResolverException | IllegalArgumentException e) {
+                throw new CarbonToolException("Invalid OSGi bundle: " + bundlePath, e);
+            }
+        }
+
+        StartupResolutionPlan startupResolutionPlan = builder.build();
+        Path planFile = Paths.get(profilePath.toString(), CONFIGURATION_DIRECTORY,
+                StartupResolutionPlan.STARTUP_RESOLUTION_PLAN_FILE);
+        startupResolutionPlan.writeTo(planFile);
+        logger.log(Level.INFO, String.format("Successfully generated the startup resolution plan of Carbon Runtime: "
+                        + "%s with %d startup components in %d layers", profile,
+                startupResolutionPlan.getComponentCount(), startupResolutionPlan.getLayers().size()));
+        return planFile;
+    }
+
+    /**
+     * Resolves a bundle location in a bundles.info file, which is either a file URI or a path relative to the
+     * Carbon Runtime directory.
+     *
+     * @param profilePath    path of the Carbon Runtime directory
+     * @param bundleLocation the bundle location
+     * @return the path of the bundle
+     */
+    private static Path getBundlePath(Path profilePath, String bundleLocation) {
+        if (bundleLocation.startsWith("file:")) {
+            return Paths.get(URI.create(bundleLocation));
+        }
+        return profilePath.resolve(bundleLocation).normalize();
+    }
+
+    /**
+     * Returns the value of the Carbon-Component manifest header of the specified bundle, which is either a JAR file
+     * or a directory.
+     *
+     * @param bundlePath path of the bundle
+     * @return the header value, or null if the bundle does not have the header
+     * @throws IOException if an I/O error occurs or the bundle does not exist
+     */
+    private static String getCarbonComponentHeader(Path bundlePath) throws IOException {
+        if (!Files.exists(bundlePath)) {
+            throw new IOException("OSGi bundle does not exist: " + bundlePath);
+        }
+
+        Manifest manifest;
+        if (Files.isDirectory(bundlePath)) {
+            Path manifestFile = Paths.get(bundlePath.toString(), JAR_MANIFEST_FOLDER, MANIFEST_FILE_NAME);
+            if (!Files.exists(manifestFile)) {
+                return null;
+            }
+            try (InputStream inputStream = Files.newInputStream(manifestFile)) {
+                manifest = new Manifest(inputStream);
+            }
+        } else {
+            try (JarFile jarFile = new JarFile(bundlePath.toFile())) {
+                manifest = jarFile.getManifest();
+            }
+        }
+        return (manifest != null) ? manifest.getMainAttributes().getValue(CARBON_COMPONENT) : null;
+    }
+
+    /**
+     * Returns a help message for the startup resolution plan tool usage.
+     *
+     * @return a help message for the startup resolution plan tool usage
+     */
+    static String getHelpMessage() {
+        return "Incorrect usage of the startup resolution plan tool.\n\n" +
+                "Instructions: sh startup-resolution-plan.sh [profile]\n" +
+                "profile - name of the Carbon Runtime of which the startup resolution plan is to be generated\n\n" +
+                "Keyword option for profile:\n" +
+                "ALL\tGenerate the startup resolution plans of all Carbon Runtimes " +
+                "(ex: sh startup-resolution-plan.sh ALL/startup-resolution-plan.bat ALL)\n";
+    }
+}
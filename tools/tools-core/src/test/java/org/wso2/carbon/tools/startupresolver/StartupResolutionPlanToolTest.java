@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.startupresolver;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.StartupResolutionPlan;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.tools.CarbonToolExecutor;
+import org.wso2.carbon.tools.TestConstants;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * This class defines the unit test cases for the Carbon startup resolution plan tool.
+ *
+ * @since 5.3.5
+ */
+public class StartupResolutionPlanToolTest {
+    private static final Path carbonHome = Paths.get(TestConstants.TARGET_FOLDER, "plan-carbon-home");
+    private static final Path profile = Paths.get(carbonHome.toString(), Constants.PROFILE_REPOSITORY,
+            Constants.DEFAULT_PROFILE);
+    private static final Path bundlesInfo = Paths.get(profile.toString(), "configuration",
+            "org.eclipse.equinox.simpleconfigurator", Constants.BUNDLES_INFO);
+    private static final String CARBON_COMPONENT_HEADER = "startup.listener;componentName=\"transport-mgt\";" +
+            "requiredService=\"org.wso2.Transport\",osgi.service;objectClass=\"org.wso2.Transport\";serviceCount=\"2\"";
+
+    @BeforeClass
+    public static void initTestClass() throws IOException {
+        Files.createDirectories(bundlesInfo.getParent());
+        Path osgiLib = Paths.get(carbonHome.toString(), Constants.OSGI_LIB);
+        Files.createDirectories(osgiLib);
+        createBundle(Paths.get(osgiLib.toString(), "transport.bundle_1.0.0.jar"), "transport.bundle",
+                CARBON_COMPONENT_HEADER);
+        createBundle(Paths.get(osgiLib.toString(), "plain.bundle_2.1.0.jar"), "plain.bundle", null);
+    }
+
+    @Test(description = "Attempts to generate the startup resolution plan with null Carbon home",
+            expectedExceptions = {CarbonToolException.class})
+    public void testGeneratingPlanWithInvalidCarbonHome() throws CarbonToolException, IOException {
+        StartupResolutionPlanToolUtils.executeTool(null, Constants.DEFAULT_PROFILE);
+    }
+
+    @Test(description = "Attempts to generate the startup resolution plan when a listed bundle does not exist",
+            expectedExceptions = {IOException.class}, priority = 1)
+    public void testGeneratingPlanWithMissingBundle() throws CarbonToolException, IOException {
+        Files.write(bundlesInfo, Arrays.asList(
+                "transport.bundle,1.0.0,../../lib/transport.bundle_1.0.0.jar,4,true",
+                "missing.bundle,1.0.0,../../lib/missing.bundle_1.0.0.jar,4,true"));
+        StartupResolutionPlanToolUtils.generatePlan(carbonHome.toString(), Constants.DEFAULT_PROFILE);
+    }
+
+    @Test(description = "Attempts to generate the startup resolution plan of a Carbon Runtime", priority = 2)
+    public void testGeneratingPlan() throws IOException {
+        Files.write(bundlesInfo, Arrays.asList(
+                "#version=1",
+                "org.eclipse.osgi,3.14.0,../lib/plugins/org.eclipse.osgi_3.14.0.jar,-1,true",
+                "transport.bundle,1.0.0,../../lib/transport.bundle_1.0.0.jar,4,true",
+                "plain.bundle,2.1.0,../../lib/plain.bundle_2.1.0.jar,4,true"));
+
+        System.setProperty(org.wso2.carbon.tools.Constants.CARBON_TOOL_SYSTEM_PROPERTY, "startup-resolution-plan");
+        CarbonToolExecutor.main(new String[]{Constants.DEFAULT_PROFILE, carbonHome.toString()});
+
+        Path planFile = Paths.get(profile.toString(), "configuration",
+                StartupResolutionPlan.STARTUP_RESOLUTION_PLAN_FILE);
+        Assert.assertTrue(Files.exists(planFile));
+
+        StartupResolutionPlan startupResolutionPlan = StartupResolutionPlan.readFrom(planFile);
+        Assert.assertEquals(startupResolutionPlan.getBundleCount(), 2);
+        Assert.assertEquals(startupResolutionPlan.getComponentCount(), 1);
+        Assert.assertEquals(startupResolutionPlan.getExpectedServiceCount("org.wso2.Transport"), 2);
+    }
+
+    private static void createBundle(Path bundlePath, String symbolicName, String carbonComponentHeader)
+            throws IOException {
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.putValue(org.wso2.carbon.tools.Constants.BUNDLE_SYMBOLIC_NAME, symbolicName);
+        if (carbonComponentHeader != null) {
+            attributes.putValue(org.wso2.carbon.tools.Constants.CARBON_COMPONENT, carbonComponentHeader);
+        }
+
+        try (OutputStream outputStream = Files.newOutputStream(bundlePath);
+             JarOutputStream ignored = new JarOutputStream(outputStream, manifest)) {
+            // Only the manifest is required.
+        }
+    }
+}